@@ -0,0 +1,477 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.regex.Pattern;
+
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaDate;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaNumber;
+
+/**
+ * A {@link Condition} compiled against a fixed row layout.
+ * <p>
+ * {@link Condition#evaluate(RowMetaInterface, Object[])} walks the condition tree for every row, looks up the field
+ * positions by name and dispatches on the function code. When the row metadata doesn't change from row to row (which is
+ * the case for almost every step) all of that can be done once: this class turns the tree into a tree of small
+ * evaluators with resolved field indexes, pre-converted constants, pre-compiled regular expressions and, for plain
+ * Integer, Number and Date values, comparisons that don't go through {@link ValueMetaInterface#compare}.
+ * <p>
+ * Anything the compiler doesn't know how to specialize is evaluated by a private clone of the original atomic
+ * condition so the results are always identical to {@link Condition#evaluate(RowMetaInterface, Object[])}.
+ * <p>
+ * An instance is immutable once compiled and can be shared between threads as long as the row layout is the same.
+ *
+ * @since 10.3
+ */
+public class CompiledCondition {
+
+  /**
+   * A node in the compiled evaluation tree.
+   */
+  private interface Evaluator {
+    boolean evaluate( Object[] r ) throws KettleValueException;
+  }
+
+  private static final Evaluator TRUE = r -> true;
+  private static final Evaluator FALSE = r -> false;
+
+  private final Condition condition;
+  private final RowMetaInterface rowMeta;
+  private final boolean treatNullsAsNotZero;
+  private final Evaluator root;
+
+  private CompiledCondition( Condition condition, RowMetaInterface rowMeta ) {
+    this.condition = condition;
+    this.rowMeta = rowMeta;
+    this.treatNullsAsNotZero =
+      "Y".equalsIgnoreCase( System.getProperty( Const.KETTLE_FILTER_TREAT_NULLS_AS_NOT_ZERO, "N" ) );
+    this.root = compileCondition( condition );
+  }
+
+  /**
+   * Compile the given condition for rows described by the given row metadata.
+   *
+   * @param condition
+   *          the condition to compile
+   * @param rowMeta
+   *          the layout of the rows that will be evaluated
+   * @return the compiled condition
+   */
+  public static CompiledCondition compile( Condition condition, RowMetaInterface rowMeta ) {
+    return new CompiledCondition( condition, rowMeta );
+  }
+
+  /**
+   * @return the row metadata this condition was compiled for
+   */
+  public RowMetaInterface getRowMeta() {
+    return rowMeta;
+  }
+
+  /**
+   * @return true if the whole condition folded into a constant and the row data is never looked at.
+   */
+  public boolean isConstant() {
+    return root == TRUE || root == FALSE;
+  }
+
+  /**
+   * Evaluate the condition for a row with the layout given at compile time.
+   *
+   * @param r
+   *          the row data
+   * @return true if the condition evaluates to true.
+   */
+  public boolean evaluate( Object[] r ) {
+    try {
+      return root.evaluate( r );
+    } catch ( Exception e ) {
+      throw new RuntimeException( "Unexpected error evaluation condition [" + condition.toString() + "]", e );
+    }
+  }
+
+  private Evaluator compileCondition( Condition c ) {
+    if ( c.isAtomic() ) {
+      return compileAtomic( c );
+    }
+    return compileComposite( c );
+  }
+
+  private Evaluator compileComposite( Condition c ) {
+    int size = c.nrConditions();
+    Evaluator[] children = new Evaluator[ size ];
+    int[] operators = new int[ size ];
+    for ( int i = 0; i < size; i++ ) {
+      Condition sub = c.getCondition( i );
+      children[ i ] = compileCondition( sub );
+      operators[ i ] = sub.getOperator();
+    }
+    boolean negate = c.isNegated();
+
+    if ( size == 1 ) {
+      return negate( children[ 0 ], negate );
+    }
+    if ( isFolded( children ) ) {
+      // Everything is known at compile time, evaluate once.
+      //
+      try {
+        return constant( evaluateComposite( children, operators, null ) != negate );
+      } catch ( KettleValueException e ) {
+        // Can't happen on constants, fall through to the row-by-row version
+      }
+    }
+    return r -> evaluateComposite( children, operators, r ) != negate;
+  }
+
+  private static boolean isFolded( Evaluator[] children ) {
+    for ( Evaluator child : children ) {
+      if ( child != TRUE && child != FALSE ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean evaluateComposite( Evaluator[] children, int[] operators, Object[] r )
+    throws KettleValueException {
+    boolean retval = children[ 0 ].evaluate( r );
+    for ( int i = 1; i < children.length; i++ ) {
+      switch ( operators[ i ] ) {
+        case Condition.OPERATOR_OR:
+          retval = retval || children[ i ].evaluate( r );
+          break;
+        case Condition.OPERATOR_AND:
+          retval = retval && children[ i ].evaluate( r );
+          break;
+        case Condition.OPERATOR_OR_NOT:
+          retval = retval || !children[ i ].evaluate( r );
+          break;
+        case Condition.OPERATOR_AND_NOT:
+          retval = retval && !children[ i ].evaluate( r );
+          break;
+        case Condition.OPERATOR_XOR:
+          retval = retval ^ children[ i ].evaluate( r );
+          break;
+        default:
+          break;
+      }
+    }
+    return retval;
+  }
+
+  private Evaluator compileAtomic( Condition c ) {
+    final boolean negate = c.isNegated();
+    final int function = c.getFunction();
+
+    if ( function == Condition.FUNC_TRUE ) {
+      return constant( !negate );
+    }
+
+    // A missing left field always evaluates to false, negated or not.
+    //
+    final int leftIndex = indexOf( c.getLeftValuename() );
+    if ( leftIndex < 0 ) {
+      return FALSE;
+    }
+    final ValueMetaInterface leftMeta = rowMeta.getValueMeta( leftIndex );
+
+    // Right hand side: either a constant or a field
+    //
+    ValueMetaInterface rightMeta = c.getRightExact() != null ? c.getRightExact().getValueMeta() : null;
+    Object rightConstant = c.getRightExact() != null ? c.getRightExact().getValueData() : null;
+    int rightIndex = -1;
+    if ( rightConstant == null ) {
+      rightIndex = indexOf( c.getRightValuename() );
+      if ( rightIndex >= 0 ) {
+        rightMeta = rowMeta.getValueMeta( rightIndex );
+      }
+    }
+    final boolean rightIsConstant = rightConstant != null;
+
+    Evaluator evaluator = null;
+    try {
+      switch ( function ) {
+        case Condition.FUNC_EQUAL:
+        case Condition.FUNC_NOT_EQUAL:
+        case Condition.FUNC_SMALLER:
+        case Condition.FUNC_SMALLER_EQUAL:
+        case Condition.FUNC_LARGER:
+        case Condition.FUNC_LARGER_EQUAL:
+          evaluator = compileComparison( function, leftIndex, leftMeta, rightIndex, rightMeta, rightConstant );
+          break;
+        case Condition.FUNC_NULL:
+          evaluator = r -> leftMeta.isNull( r[ leftIndex ] );
+          break;
+        case Condition.FUNC_NOT_NULL:
+          evaluator = r -> !leftMeta.isNull( r[ leftIndex ] );
+          break;
+        case Condition.FUNC_REGEXP:
+          if ( rightIsConstant ) {
+            Pattern pattern = Pattern.compile( rightMeta.getCompatibleString( rightConstant ) );
+            evaluator = r -> matches( pattern, leftMeta, r[ leftIndex ] );
+          }
+          break;
+        case Condition.FUNC_LIKE:
+          if ( rightIsConstant ) {
+            String regex = rightMeta.getCompatibleString( rightConstant );
+            regex = regex.replace( "%", ".*" );
+            regex = regex.replace( "?", "." );
+            Pattern pattern = Pattern.compile( regex );
+            evaluator = r -> matches( pattern, leftMeta, r[ leftIndex ] );
+          }
+          break;
+        case Condition.FUNC_IN_LIST:
+          if ( rightIsConstant ) {
+            String[] inList = Const.splitString( rightMeta.getString( rightConstant ), ';', true );
+            for ( int i = 0; i < inList.length; i++ ) {
+              inList[ i ] = inList[ i ] == null ? null : inList[ i ].replace( "\\", "" );
+            }
+            Arrays.sort( inList );
+            evaluator = r -> {
+              String searchString = leftMeta.getCompatibleString( r[ leftIndex ] );
+              return searchString != null && Arrays.binarySearch( inList, searchString ) >= 0;
+            };
+          }
+          break;
+        case Condition.FUNC_CONTAINS:
+          if ( rightIsConstant ) {
+            String contains = rightMeta.getCompatibleString( rightConstant );
+            if ( contains != null ) {
+              evaluator = r -> {
+                String s = leftMeta.getCompatibleString( r[ leftIndex ] );
+                return s != null && s.contains( contains );
+              };
+            }
+          }
+          break;
+        case Condition.FUNC_STARTS_WITH:
+          if ( rightIsConstant ) {
+            String prefix = rightMeta.getCompatibleString( rightConstant );
+            if ( prefix != null ) {
+              evaluator = r -> {
+                String s = leftMeta.getCompatibleString( r[ leftIndex ] );
+                return s != null && s.startsWith( prefix );
+              };
+            }
+          }
+          break;
+        case Condition.FUNC_ENDS_WITH:
+          if ( rightIsConstant ) {
+            String suffix = rightMeta.getCompatibleString( rightConstant );
+            if ( suffix != null ) {
+              evaluator = r -> {
+                String s = leftMeta.getCompatibleString( r[ leftIndex ] );
+                return s != null && !s.isEmpty() && s.endsWith( suffix );
+              };
+            }
+          }
+          break;
+        default:
+          return constant( negate );
+      }
+    } catch ( KettleValueException | RuntimeException e ) {
+      // Let the interpreted version deal with (and report) the problem at evaluation time.
+      //
+      evaluator = null;
+    }
+
+    if ( evaluator == null ) {
+      evaluator = interpreted( c );
+      // The interpreted condition takes care of negation itself.
+      //
+      return evaluator;
+    }
+    return negate( evaluator, negate );
+  }
+
+  private Evaluator compileComparison( int function, int leftIndex, ValueMetaInterface leftMeta, int rightIndex,
+    ValueMetaInterface rightMeta, Object rightConstant ) {
+    if ( rightMeta == null ) {
+      // Nothing to compare with: let the interpreted version report the problem
+      return null;
+    }
+    final boolean nullsNotZero =
+      treatNullsAsNotZero && ( function == Condition.FUNC_SMALLER || function == Condition.FUNC_SMALLER_EQUAL );
+
+    final Comparison comparison = specializedComparison( leftIndex, leftMeta, rightIndex, rightMeta, rightConstant );
+    if ( comparison == null ) {
+      return null;
+    }
+
+    switch ( function ) {
+      case Condition.FUNC_EQUAL:
+        return r -> comparison.compare( r ) == 0;
+      case Condition.FUNC_NOT_EQUAL:
+        return r -> comparison.compare( r ) != 0;
+      case Condition.FUNC_SMALLER:
+        if ( nullsNotZero ) {
+          return r -> r[ leftIndex ] != null && comparison.compare( r ) < 0;
+        }
+        return r -> comparison.compare( r ) < 0;
+      case Condition.FUNC_SMALLER_EQUAL:
+        if ( nullsNotZero ) {
+          return r -> r[ leftIndex ] != null && comparison.compare( r ) <= 0;
+        }
+        return r -> comparison.compare( r ) <= 0;
+      case Condition.FUNC_LARGER:
+        return r -> comparison.compare( r ) > 0;
+      case Condition.FUNC_LARGER_EQUAL:
+        return r -> comparison.compare( r ) >= 0;
+      default:
+        return null;
+    }
+  }
+
+  private interface Comparison {
+    int compare( Object[] r ) throws KettleValueException;
+  }
+
+  /**
+   * Build a comparison that doesn't go through {@link ValueMetaInterface#compare(Object, ValueMetaInterface, Object)}.
+   * This is only done for the plain Integer, Number and Date value types in normal storage with default sort order.
+   * These have a simple, well known ordering: null values sort first, the rest by their natural order.
+   *
+   * @return the specialized comparison or null if the generic comparison needs to be used.
+   */
+  private Comparison specializedComparison( int leftIndex, ValueMetaInterface leftMeta, int rightIndex,
+    ValueMetaInterface rightMeta, Object rightConstant ) {
+    if ( !isPlain( leftMeta ) || !isPlain( rightMeta ) || leftMeta.getClass() != rightMeta.getClass() ) {
+      return null;
+    }
+    if ( rightConstant != null ) {
+      switch ( leftMeta.getType() ) {
+        case ValueMetaInterface.TYPE_INTEGER:
+          if ( !( rightConstant instanceof Long ) ) {
+            return null;
+          }
+          final long longConstant = ( (Long) rightConstant ).longValue();
+          return r -> {
+            Long left = (Long) r[ leftIndex ];
+            return left == null ? -1 : Long.compare( left.longValue(), longConstant );
+          };
+        case ValueMetaInterface.TYPE_NUMBER:
+          if ( !( rightConstant instanceof Double ) ) {
+            return null;
+          }
+          final double doubleConstant = ( (Double) rightConstant ).doubleValue();
+          return r -> {
+            Double left = (Double) r[ leftIndex ];
+            return left == null ? -1 : Double.compare( left.doubleValue(), doubleConstant );
+          };
+        case ValueMetaInterface.TYPE_DATE:
+          if ( !( rightConstant instanceof Date ) ) {
+            return null;
+          }
+          final long timeConstant = ( (Date) rightConstant ).getTime();
+          return r -> {
+            Date left = (Date) r[ leftIndex ];
+            return left == null ? -1 : Long.compare( left.getTime(), timeConstant );
+          };
+        default:
+          return null;
+      }
+    }
+    if ( rightIndex < 0 ) {
+      return null;
+    }
+    switch ( leftMeta.getType() ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        return r -> {
+          Long left = (Long) r[ leftIndex ];
+          Long right = (Long) r[ rightIndex ];
+          return left == null || right == null ? compareNulls( left, right ) : Long.compare( left, right );
+        };
+      case ValueMetaInterface.TYPE_NUMBER:
+        return r -> {
+          Double left = (Double) r[ leftIndex ];
+          Double right = (Double) r[ rightIndex ];
+          return left == null || right == null ? compareNulls( left, right ) : Double.compare( left, right );
+        };
+      case ValueMetaInterface.TYPE_DATE:
+        return r -> {
+          Date left = (Date) r[ leftIndex ];
+          Date right = (Date) r[ rightIndex ];
+          return left == null || right == null
+            ? compareNulls( left, right ) : Long.compare( left.getTime(), right.getTime() );
+        };
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Only the exact value meta classes are considered: subclasses and plugins can override the comparison.
+   */
+  private static boolean isPlain( ValueMetaInterface meta ) {
+    Class<?> clazz = meta.getClass();
+    return ( clazz == ValueMetaInteger.class || clazz == ValueMetaNumber.class || clazz == ValueMetaDate.class )
+      && meta.isStorageNormal() && !meta.isSortedDescending();
+  }
+
+  private static int compareNulls( Object left, Object right ) {
+    if ( left == null && right == null ) {
+      return 0;
+    }
+    return left == null ? -1 : 1;
+  }
+
+  private static boolean matches( Pattern pattern, ValueMetaInterface meta, Object data )
+    throws KettleValueException {
+    if ( meta.isNull( data ) ) {
+      return false;
+    }
+    return pattern.matcher( meta.getCompatibleString( data ) ).matches();
+  }
+
+  private Evaluator interpreted( Condition c ) {
+    // Use a private copy: Condition caches field positions and IN LIST values while evaluating.
+    //
+    final Condition copy = (Condition) c.clone();
+    return r -> {
+      synchronized ( copy ) {
+        return copy.evaluate( rowMeta, r );
+      }
+    };
+  }
+
+  private int indexOf( String valueName ) {
+    if ( valueName == null || valueName.length() == 0 ) {
+      return -1;
+    }
+    return rowMeta.indexOfValue( valueName );
+  }
+
+  private static Evaluator negate( Evaluator evaluator, boolean negate ) {
+    if ( !negate ) {
+      return evaluator;
+    }
+    if ( evaluator == TRUE ) {
+      return FALSE;
+    }
+    if ( evaluator == FALSE ) {
+      return TRUE;
+    }
+    return r -> !evaluator.evaluate( r );
+  }
+
+  private static Evaluator constant( boolean value ) {
+    return value ? TRUE : FALSE;
+  }
+}
@@ -1708,6 +1708,97 @@ public class Const {
    */
   public static final String KETTLE_PUC_SCHEDULE_GATHER_METRICS_OVERRIDE_VALUE = "KETTLE_PUC_SCHEDULE_GATHER_METRICS_OVERRIDE_VALUE";
 
+  /**
+   * Set this variable to N to have the Modified JavaScript Value step compile its scripts in every step copy instead of
+   * using the JVM wide cache of compiled scripts.
+   */
+  public static final String KETTLE_JAVASCRIPT_SCRIPT_CACHE = "KETTLE_JAVASCRIPT_SCRIPT_CACHE";
+
+  /**
+   * Set this variable to Y to have the copies of the Modified JavaScript Value step share one set of sealed standard
+   * JavaScript objects. Scripts that modify the standard objects (String.prototype, ...) will fail in this mode.
+   */
+  public static final String KETTLE_JAVASCRIPT_SHARED_SCOPE = "KETTLE_JAVASCRIPT_SHARED_SCOPE";
+
+  /**
+   * Set this variable to Y to have the Transformation Executor step initialize the transformation of the next group
+   * while the current group is running. Only used when the parameters don't use fields and the transformation is safe
+   * to initialize ahead, see StepMetaInterface.isSafeToInitializeAhead().
+   */
+  public static final String KETTLE_TRANS_EXECUTOR_PREPARE_AHEAD = "KETTLE_TRANS_EXECUTOR_PREPARE_AHEAD";
+
+  /**
+   * Set this variable to Y to have the JSON Input step read documents as a stream when the paths of its fields allow
+   * it, instead of loading each document in memory.
+   */
+  public static final String KETTLE_JSON_INPUT_STREAMING = "KETTLE_JSON_INPUT_STREAMING";
+
+  /**
+   * Set this variable to Y to have the Get Data From XML step process files in streaming mode when no prune path is set
+   * and the loop and field XPaths allow it.
+   */
+  public static final String KETTLE_XML_INPUT_STREAMING = "KETTLE_XML_INPUT_STREAMING";
+
+  /**
+   * Set this variable to Y to have the copies of an Avro Input step reading a container file share its blocks instead of
+   * each reading the whole file.
+   */
+  public static final String KETTLE_AVRO_INPUT_SPLIT_BLOCKS = "KETTLE_AVRO_INPUT_SPLIT_BLOCKS";
+
+  /**
+   * Set this variable to Y to have the copies of a Text File Input step share the lines of uncompressed local files
+   * instead of each reading all the files.
+   */
+  public static final String KETTLE_TEXT_FILE_INPUT_PARALLEL = "KETTLE_TEXT_FILE_INPUT_PARALLEL";
+
+  /**
+   * Set this variable to Y to decompress compressed input files on a background thread, ahead of the step parsing
+   * them.
+   */
+  public static final String KETTLE_COMPRESSED_INPUT_READ_AHEAD = "KETTLE_COMPRESSED_INPUT_READ_AHEAD";
+
+  /**
+   * Set this variable to Y to have Text File Output compress and write its buffers on a background thread.
+   */
+  public static final String KETTLE_TEXT_FILE_OUTPUT_ASYNC_WRITER = "KETTLE_TEXT_FILE_OUTPUT_ASYNC_WRITER";
+
+  /**
+   * Set this variable to Y to have the copies of a Microsoft Excel Input step each read a part of the sheets instead of
+   * each reading all of them.
+   */
+  public static final String KETTLE_EXCEL_INPUT_PARALLEL_SHEETS = "KETTLE_EXCEL_INPUT_PARALLEL_SHEETS";
+
+  /**
+   * The number of requests an HTTP Client step copy keeps in flight on background threads. The default is 1: one request
+   * at a time, on the step thread.
+   */
+  public static final String KETTLE_HTTP_MAX_IN_FLIGHT = "KETTLE_HTTP_MAX_IN_FLIGHT";
+
+  /**
+   * The number of times an HTTP Client step tries a request again after an I/O error. The default is 0.
+   */
+  public static final String KETTLE_HTTP_RETRIES = "KETTLE_HTTP_RETRIES";
+
+  /**
+   * The memory in MB the Unique Rows (HashSet) step can use for the keys it has seen. When set, the keys are kept as
+   * serialized bytes and the rows with new keys are written to temporary files once the limit is reached.
+   */
+  public static final String KETTLE_UNIQUE_ROWS_HASH_SET_MEMORY_MB = "KETTLE_UNIQUE_ROWS_HASH_SET_MEMORY_MB";
+
+  /**
+   * The number of input row sets a Sorted Merge step merges on one thread. With more inputs than this, the inputs are
+   * merged in groups on separate threads and the step merges the groups. The default is 0: all inputs on the step
+   * thread.
+   */
+  public static final String KETTLE_SORTED_MERGE_GROUP_SIZE = "KETTLE_SORTED_MERGE_GROUP_SIZE";
+
+  /**
+   * Set this variable to Y to have the streaming consumer steps (MQTT, JMS, ...) keep a sub-transformation initialized
+   * in the background for every parallel batch. Only used when the sub-transformation doesn't use unique connections
+   * and all of its steps are safe to initialize ahead, see StepMetaInterface.isSafeToInitializeAhead().
+   */
+  public static final String KETTLE_STREAMING_PREPARE_AHEAD = "KETTLE_STREAMING_PREPARE_AHEAD";
+
   /**
    Value to Configure if we want to export only the used connections to the XML file
    */
@@ -14,16 +14,26 @@
 package org.pentaho.di.core.hash;
 
 import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.util.HashUtil;
 
+/**
+ * A long/long hash index with open addressing: the keys and values are kept in two arrays of primitives, 16 bytes per
+ * slot and no object per entry. Key 0 marks an empty slot, its value is kept on the side.
+ */
 public class LongHashIndex {
 
   private static final int STANDARD_INDEX_SIZE = 512;
   private static final float STANDARD_LOAD_FACTOR = 0.78f;
+  private static final int MINIMUM_INDEX_SIZE = 16;
 
-  private LongHashIndexEntry[] index;
+  private long[] keys;
+  private long[] values;
   private int size;
   private int resizeThresHold;
 
+  private boolean hasZeroKey;
+  private long zeroKeyValue;
+
   /**
    * Create a new long/long hash index
    * 
@@ -33,14 +43,15 @@ public class LongHashIndex {
   public LongHashIndex( int size ) {
 
     // Find a suitable capacity being a factor of 2:
-    int factor2Size = 1;
+    int factor2Size = MINIMUM_INDEX_SIZE;
     while ( factor2Size < size ) {
       factor2Size <<= 1; // Multiply by 2
     }
 
     this.resizeThresHold = (int) ( factor2Size * STANDARD_LOAD_FACTOR );
 
-    index = new LongHashIndexEntry[factor2Size];
+    keys = new long[factor2Size];
+    values = new long[factor2Size];
   }
 
   /**
@@ -59,53 +70,50 @@ public class LongHashIndex {
   }
 
   public Long get( long key ) throws KettleValueException {
-    int hashCode = generateHashCode( key );
-
-    int indexPointer = indexFor( hashCode, index.length );
-    LongHashIndexEntry check = index[indexPointer];
-
-    while ( check != null ) {
-      if ( check.hashCode == hashCode && check.equalsKey( key ) ) {
-        return check.value;
-      }
-      check = check.nextEntry;
+    if ( key == 0L ) {
+      return hasZeroKey ? zeroKeyValue : null;
     }
-    return null;
+    int slot = find( key );
+    return keys[slot] == 0L ? null : values[slot];
   }
 
   public void put( long key, Long value ) throws KettleValueException {
-    int hashCode = generateHashCode( key );
-    int indexPointer = indexFor( hashCode, index.length );
-
-    LongHashIndexEntry check = index[indexPointer];
-    LongHashIndexEntry previousCheck = null;
-
-    while ( check != null ) {
-
-      // If there is an identical entry in there, we replace the entry
-      // And then we just return...
-      //
-      if ( check.hashCode == hashCode && check.equalsKey( key ) ) {
-        check.value = value;
-        return;
+    if ( key == 0L ) {
+      if ( !hasZeroKey ) {
+        hasZeroKey = true;
+        size++;
       }
-      previousCheck = check;
-      check = check.nextEntry;
+      zeroKeyValue = value;
+      return;
     }
 
-    // Don't forget to link to the previous check entry if there was any...
-    //
-    if ( previousCheck != null ) {
-      previousCheck.nextEntry = new LongHashIndexEntry( hashCode, key, value, null );
-    } else {
-      index[indexPointer] = new LongHashIndexEntry( hashCode, key, value, null );
+    int slot = find( key );
+    if ( keys[slot] == key ) {
+      // If there is an identical entry in there, we replace the value
+      //
+      values[slot] = value;
+      return;
     }
+    keys[slot] = key;
+    values[slot] = value;
 
     // If required, resize the table...
     //
     resize();
   }
 
+  /**
+   * @return the slot of the key, or the empty slot where it goes
+   */
+  private int find( long key ) {
+    int mask = keys.length - 1;
+    int slot = indexFor( generateHashCode( key ), keys.length );
+    while ( keys[slot] != 0L && keys[slot] != key ) {
+      slot = ( slot + 1 ) & mask;
+    }
+    return slot;
+  }
+
   private final void resize() {
     // Increase the size of the index...
     //
@@ -115,77 +123,39 @@ public class LongHashIndex {
     //
     if ( size >= resizeThresHold ) {
 
-      LongHashIndexEntry[] oldIndex = index;
+      long[] oldKeys = keys;
+      long[] oldValues = values;
 
       // Double the size to keep the size of the index a factor of 2...
-      // Allocate the new array...
       //
-      int newSize = 2 * index.length;
-
-      LongHashIndexEntry[] newIndex = new LongHashIndexEntry[newSize];
+      int newSize = 2 * keys.length;
+      keys = new long[newSize];
+      values = new long[newSize];
 
       // Loop over the old index and re-distribute the entries
-      // We want to make sure that the calculation
-      // entry.hashCode & ( size - 1)
-      // ends up in the right location after re-sizing...
       //
-      for ( int i = 0; i < oldIndex.length; i++ ) {
-        LongHashIndexEntry entry = oldIndex[i];
-        if ( entry != null ) {
-          oldIndex[i] = null;
-
-          // Make sure we follow all the linked entries...
-          // This is a bit of extra work, TODO: see how we can avoid it!
-          //
-          do {
-            LongHashIndexEntry next = entry.nextEntry;
-            int indexPointer = indexFor( entry.hashCode, newSize );
-            entry.nextEntry = newIndex[indexPointer];
-            newIndex[indexPointer] = entry;
-            entry = next;
-          } while ( entry != null );
+      for ( int i = 0; i < oldKeys.length; i++ ) {
+        if ( oldKeys[i] != 0L ) {
+          int slot = find( oldKeys[i] );
+          keys[slot] = oldKeys[i];
+          values[slot] = oldValues[i];
         }
       }
 
-      // Replace the old index with the new one we just created...
-      //
-      index = newIndex;
-
       // Also change the resize threshold...
       //
       resizeThresHold = (int) ( newSize * STANDARD_LOAD_FACTOR );
     }
   }
 
-  public static int generateHashCode( Long key ) throws KettleValueException {
-    return key.hashCode();
+  /**
+   * The key is mixed so that keys following a pattern, like multiples of a power of 2, still spread over the index.
+   */
+  public static int generateHashCode( Long key ) {
+    return (int) HashUtil.hash64( key );
   }
 
   public static int indexFor( int hash, int length ) {
     return hash & ( length - 1 );
   }
-
-  private static final class LongHashIndexEntry {
-    private int hashCode;
-    private long key;
-    private long value;
-    private LongHashIndexEntry nextEntry;
-
-    /**
-     * @param hashCode
-     * @param key
-     * @param value
-     * @param nextEntry
-     */
-    public LongHashIndexEntry( int hashCode, Long key, Long value, LongHashIndexEntry nextEntry ) {
-      this.hashCode = hashCode;
-      this.key = key;
-      this.value = value;
-      this.nextEntry = nextEntry;
-    }
-
-    public boolean equalsKey( long cmpKey ) {
-      return key == cmpKey;
-    }
-  }
 }
@@ -0,0 +1,262 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.hash;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pentaho.di.core.util.HashUtil;
+
+/**
+ * A hash index of serialized keys and values, like {@link ByteArrayHashIndex} but without an object per entry.
+ * <p>
+ * Every entry is written in large pages of bytes as the length of the key, the length of the value, the key and the
+ * value. An open addressing table holds the 64 bit hash of the key and the address of the entry, 16 bytes per slot.
+ * Two keys are the same when their bytes are the same. Values are only copied out of the pages when they are asked
+ * for.
+ * <p>
+ * The index can also be used as a set of keys, see {@link #add(long, byte[], int)}. When the entries are not stored
+ * only the hashes are kept and compared.
+ */
+public class PackedByteArrayHashIndex {
+
+  public static final int PAGE_SIZE = 1024 * 1024;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private static final int HEADER_SIZE = 8;
+
+  private static final byte[] NO_VALUE = new byte[ 0 ];
+
+  private final boolean storeEntries;
+
+  // the hash of the key in every slot, and the address of the entry plus 1: 0 is an empty slot
+  private long[] hashes;
+  private long[] addresses;
+  private int size;
+
+  private final List<byte[]> pages = new ArrayList<>();
+  private byte[] page;
+  private int pagePosition;
+  private long pageBytes;
+
+  public PackedByteArrayHashIndex() {
+    this( true );
+  }
+
+  /**
+   * @param storeEntries
+   *          false to keep only the hashes of the keys: keys with the same 64 bit hash are taken as the same key and
+   *          values can't be stored
+   */
+  public PackedByteArrayHashIndex( boolean storeEntries ) {
+    this.storeEntries = storeEntries;
+    clear();
+  }
+
+  /**
+   * @return the number of keys in the index
+   */
+  public int getSize() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return the number of bytes taken by the table and the pages of entries
+   */
+  public long getMemoryUsage() {
+    return 16L * addresses.length + pageBytes;
+  }
+
+  /**
+   * Removes all keys and releases the pages.
+   */
+  public void clear() {
+    hashes = new long[ INITIAL_CAPACITY ];
+    addresses = new long[ INITIAL_CAPACITY ];
+    size = 0;
+    pages.clear();
+    page = null;
+    pagePosition = 0;
+    pageBytes = 0;
+  }
+
+  /**
+   * @return a copy of the value stored for the key, or null if the key is not in the index
+   */
+  public byte[] get( byte[] key ) {
+    long address = addresses[ find( HashUtil.hash64( key, key.length ), key, key.length ) ];
+    if ( address == 0 ) {
+      return null;
+    }
+    byte[] entryPage = pages.get( (int) ( ( address - 1 ) >>> 32 ) );
+    int offset = (int) ( address - 1 );
+    int keyLength = readInt( entryPage, offset );
+    int valueLength = readInt( entryPage, offset + 4 );
+    byte[] value = new byte[ valueLength ];
+    System.arraycopy( entryPage, offset + HEADER_SIZE + keyLength, value, 0, valueLength );
+    return value;
+  }
+
+  /**
+   * Stores the value for the key, the value of a key that is already in the index is replaced.
+   */
+  public void put( byte[] key, byte[] value ) {
+    if ( !storeEntries ) {
+      throw new IllegalStateException( "The index only keeps the hashes of the keys" );
+    }
+    long hash = HashUtil.hash64( key, key.length );
+    int slot = find( hash, key, key.length );
+    if ( addresses[ slot ] != 0 ) {
+      long address = addresses[ slot ] - 1;
+      byte[] entryPage = pages.get( (int) ( address >>> 32 ) );
+      int offset = (int) address;
+      if ( value.length <= readInt( entryPage, offset + 4 ) ) {
+        // the new value fits where the old one was
+        writeInt( entryPage, offset + 4, value.length );
+        System.arraycopy( value, 0, entryPage, offset + HEADER_SIZE + key.length, value.length );
+      } else {
+        addresses[ slot ] = store( key, key.length, value ) + 1;
+      }
+      return;
+    }
+    insert( slot, hash, store( key, key.length, value ) + 1 );
+  }
+
+  /**
+   * Adds a key without a value, for an index used as a set.
+   *
+   * @param hash
+   *          the hash of the key, {@link HashUtil#hash64(byte[], int)} when the index also uses {@link #get(byte[])}
+   *          or {@link #put(byte[], byte[])}
+   * @param key
+   *          a buffer starting with the bytes of the key, it is copied
+   * @param length
+   *          the length of the key in the buffer
+   * @return true if the key was not in the index yet
+   */
+  public boolean add( long hash, byte[] key, int length ) {
+    int slot = find( hash, key, length );
+    if ( addresses[ slot ] != 0 ) {
+      return false;
+    }
+    insert( slot, hash, storeEntries ? store( key, length, NO_VALUE ) + 1 : 1 );
+    return true;
+  }
+
+  /**
+   * @return true if the key is in the index, see {@link #add(long, byte[], int)} for the parameters
+   */
+  public boolean contains( long hash, byte[] key, int length ) {
+    return addresses[ find( hash, key, length ) ] != 0;
+  }
+
+  private void insert( int slot, long hash, long address ) {
+    hashes[ slot ] = hash;
+    addresses[ slot ] = address;
+    if ( ++size > addresses.length * 3 / 4 ) {
+      grow();
+    }
+  }
+
+  /**
+   * @return the slot of the key, or the empty slot where it goes
+   */
+  private int find( long hash, byte[] key, int length ) {
+    int mask = addresses.length - 1;
+    int slot = slotOf( hash, mask );
+    while ( addresses[ slot ] != 0 ) {
+      if ( hashes[ slot ] == hash && ( !storeEntries || equalsStored( addresses[ slot ] - 1, key, length ) ) ) {
+        return slot;
+      }
+      slot = ( slot + 1 ) & mask;
+    }
+    return slot;
+  }
+
+  private static int slotOf( long hash, int mask ) {
+    return (int) ( hash ^ ( hash >>> 32 ) ) & mask;
+  }
+
+  private void grow() {
+    long[] oldHashes = hashes;
+    long[] oldAddresses = addresses;
+    hashes = new long[ oldAddresses.length * 2 ];
+    addresses = new long[ oldAddresses.length * 2 ];
+    int mask = addresses.length - 1;
+    for ( int i = 0; i < oldAddresses.length; i++ ) {
+      if ( oldAddresses[ i ] != 0 ) {
+        int slot = slotOf( oldHashes[ i ], mask );
+        while ( addresses[ slot ] != 0 ) {
+          slot = ( slot + 1 ) & mask;
+        }
+        hashes[ slot ] = oldHashes[ i ];
+        addresses[ slot ] = oldAddresses[ i ];
+      }
+    }
+  }
+
+  /**
+   * Writes an entry in the current page, or in a page of its own when it is that large.
+   *
+   * @return the page number in the high and the offset in the low 32 bits
+   */
+  private long store( byte[] key, int keyLength, byte[] value ) {
+    int needed = HEADER_SIZE + keyLength + value.length;
+    if ( page == null || pagePosition + needed > page.length ) {
+      page = new byte[ Math.max( PAGE_SIZE, needed ) ];
+      pages.add( page );
+      pagePosition = 0;
+      pageBytes += page.length;
+    }
+    long address = ( (long) ( pages.size() - 1 ) << 32 ) | pagePosition;
+    writeInt( page, pagePosition, keyLength );
+    writeInt( page, pagePosition + 4, value.length );
+    System.arraycopy( key, 0, page, pagePosition + HEADER_SIZE, keyLength );
+    System.arraycopy( value, 0, page, pagePosition + HEADER_SIZE + keyLength, value.length );
+    pagePosition += needed;
+    return address;
+  }
+
+  private boolean equalsStored( long address, byte[] key, int length ) {
+    byte[] entryPage = pages.get( (int) ( address >>> 32 ) );
+    int offset = (int) address;
+    if ( readInt( entryPage, offset ) != length ) {
+      return false;
+    }
+    offset += HEADER_SIZE;
+    for ( int i = 0; i < length; i++ ) {
+      if ( entryPage[ offset + i ] != key[ i ] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int readInt( byte[] bytes, int offset ) {
+    return ( ( bytes[ offset ] & 0xFF ) << 24 ) | ( ( bytes[ offset + 1 ] & 0xFF ) << 16 )
+      | ( ( bytes[ offset + 2 ] & 0xFF ) << 8 ) | ( bytes[ offset + 3 ] & 0xFF );
+  }
+
+  private static void writeInt( byte[] bytes, int offset, int value ) {
+    bytes[ offset ] = (byte) ( value >>> 24 );
+    bytes[ offset + 1 ] = (byte) ( value >>> 16 );
+    bytes[ offset + 2 ] = (byte) ( value >>> 8 );
+    bytes[ offset + 3 ] = (byte) value;
+  }
+}
@@ -125,6 +125,15 @@ public class Metrics implements MetricsInterface {
   public static Metrics METRIC_STEP_INIT_STOP = new Metrics(
     MetricsSnapshotType.STOP, "METRIC_STEP_INIT", "Initialize a step" );
 
+  // Scripting
+  //
+  public static Metrics METRIC_JAVASCRIPT_EXECUTION_SUM_TIME = new Metrics(
+    MetricsSnapshotType.SUM, "METRIC_JAVASCRIPT_EXECUTION_SUM_TIME", "Time consumed executing JavaScript (ms)" );
+  public static Metrics METRIC_JAVA_COMPILE_SUM_TIME = new Metrics(
+    MetricsSnapshotType.SUM, "METRIC_JAVA_COMPILE_SUM_TIME", "Time consumed compiling Java code (ms)" );
+  public static Metrics METRIC_JAVA_COMPILE_COUNT = new Metrics(
+    MetricsSnapshotType.COUNT, "METRIC_JAVA_COMPILE_COUNT", "Number of times Java code was compiled" );
+
   // Logging back-end
   //
   public static Metrics METRIC_CENTRAL_LOG_STORE_TIMEOUT_CLEAN_TIME = new Metrics(
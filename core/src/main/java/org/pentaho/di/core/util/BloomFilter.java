@@ -0,0 +1,254 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+
+/**
+ * A Bloom filter: tells if a key might have been added, or certainly not, in a fixed number of bits.
+ * <p>
+ * Every key sets a number of bits chosen by its 64 bit hash. A key that was added is always reported as possibly
+ * present, a key that wasn't is reported as present with the false positive rate the filter was sized for.
+ * <p>
+ * Filters can be serialized with {@link #toBytes()} and merged when they have the same size, the merge of the filters
+ * of a number of streams holds the keys of all of them.
+ */
+public class BloomFilter {
+
+  private static final byte[] MAGIC = { 'B', 'L', 'M' };
+
+  /** the version of the serialized format */
+  public static final byte FORMAT_VERSION = 1;
+
+  private static final int VERSION_OFFSET = MAGIC.length;
+
+  private static final int HASHES_OFFSET = VERSION_OFFSET + 1;
+
+  private static final int WORDS_OFFSET = HASHES_OFFSET + 1;
+
+  private static final int HEADER_LENGTH = WORDS_OFFSET + 4;
+
+  /** the words are followed by a 64 bit hash of them */
+  private static final int CHECKSUM_LENGTH = 8;
+
+  private static final int MAX_HASHES = 30;
+
+  /** the number of words is kept below the largest byte array the filter can be serialized in */
+  private static final int MAX_WORDS = ( Integer.MAX_VALUE - HEADER_LENGTH - CHECKSUM_LENGTH ) / 8;
+
+  private static final long NULL_HASH = 0x2545F4914F6CDD1DL;
+
+  private final int hashCount;
+
+  private final long[] words;
+
+  private final long bitCount;
+
+  /**
+   * Sizes the filter with the optimal number of bits and hash functions.
+   *
+   * @param expectedKeys
+   *          the number of distinct keys that will be added
+   * @param falsePositiveRate
+   *          the rate of keys that weren't added but are reported as present, with the expected number of keys,
+   *          between 0 and 1
+   */
+  public BloomFilter( long expectedKeys, double falsePositiveRate ) {
+    if ( !( falsePositiveRate > 0 && falsePositiveRate < 1 ) ) {
+      throw new IllegalArgumentException( "The false positive rate of a Bloom filter has to be between 0 and 1, not "
+        + falsePositiveRate );
+    }
+    long keys = Math.max( 1, expectedKeys );
+    double bits = -keys * Math.log( falsePositiveRate ) / ( Math.log( 2 ) * Math.log( 2 ) );
+    long nrWords = Math.min( MAX_WORDS, Math.max( 1, (long) Math.ceil( bits / 64 ) ) );
+    this.words = new long[ (int) nrWords ];
+    this.bitCount = nrWords * 64;
+    this.hashCount =
+      (int) Math.max( 1, Math.min( MAX_HASHES, Math.round( (double) bitCount / keys * Math.log( 2 ) ) ) );
+  }
+
+  private BloomFilter( int hashCount, long[] words ) {
+    this.hashCount = hashCount;
+    this.words = words;
+    this.bitCount = words.length * 64L;
+  }
+
+  public int getHashCount() {
+    return hashCount;
+  }
+
+  public long getBitCount() {
+    return bitCount;
+  }
+
+  /**
+   * Adds a key by its 64 bit hash.
+   */
+  public void add( long hash ) {
+    // the bits are picked with double hashing, the second hash is odd so all the bits can be reached
+    long hash2 = Long.rotateLeft( hash, 32 ) | 1L;
+    long combined = hash;
+    for ( int i = 0; i < hashCount; i++ ) {
+      long bit = ( combined & Long.MAX_VALUE ) % bitCount;
+      words[ (int) ( bit >>> 6 ) ] |= 1L << bit;
+      combined += hash2;
+    }
+  }
+
+  /**
+   * @return false if the key with this hash was certainly not added, true if it might have been
+   */
+  public boolean mightContain( long hash ) {
+    long hash2 = Long.rotateLeft( hash, 32 ) | 1L;
+    long combined = hash;
+    for ( int i = 0; i < hashCount; i++ ) {
+      long bit = ( combined & Long.MAX_VALUE ) % bitCount;
+      if ( ( words[ (int) ( bit >>> 6 ) ] & ( 1L << bit ) ) == 0 ) {
+        return false;
+      }
+      combined += hash2;
+    }
+    return true;
+  }
+
+  /**
+   * Adds the keys of another filter of the same size.
+   *
+   * @throws IllegalArgumentException
+   *           when the filters don't have the same number of bits and hash functions
+   */
+  public void merge( BloomFilter other ) {
+    if ( other.hashCount != hashCount || other.words.length != words.length ) {
+      throw new IllegalArgumentException( "Only Bloom filters of the same size can be merged: " + bitCount + " bits and "
+        + hashCount + " hashes with " + other.bitCount + " bits and " + other.hashCount + " hashes" );
+    }
+    for ( int i = 0; i < words.length; i++ ) {
+      words[ i ] |= other.words[ i ];
+    }
+  }
+
+  /**
+   * A 64 bit hash of the key fields of a row. Integer values hash the same whether they are stored as an Integer, a
+   * Number or a BigNumber, other values hash by their type: both sides of a lookup need the same key types.
+   *
+   * @param rowMeta
+   *          the layout of the row
+   * @param row
+   *          the row
+   * @param fieldnrs
+   *          the indexes of the key fields in the row
+   */
+  public static long hashKey( RowMetaInterface rowMeta, Object[] row, int[] fieldnrs ) throws KettleValueException {
+    long hash = HashUtil.hash64( fieldnrs.length );
+    for ( int fieldnr : fieldnrs ) {
+      hash = HashUtil.hash64( Long.rotateLeft( hash, 31 ) ^ hashValue( rowMeta.getValueMeta( fieldnr ),
+        row[ fieldnr ] ) );
+    }
+    return hash;
+  }
+
+  private static long hashValue( ValueMetaInterface valueMeta, Object value ) throws KettleValueException {
+    if ( valueMeta.isNull( value ) ) {
+      return NULL_HASH;
+    }
+    switch ( valueMeta.getType() ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        return HashUtil.hash64( valueMeta.getInteger( value ) );
+      case ValueMetaInterface.TYPE_NUMBER:
+        double number = valueMeta.getNumber( value );
+        if ( number == Math.rint( number ) && Math.abs( number ) < 0x1p63 ) {
+          return HashUtil.hash64( (long) number );
+        }
+        return HashUtil.hash64( Double.doubleToLongBits( number ) );
+      case ValueMetaInterface.TYPE_BIGNUMBER:
+        BigDecimal bigNumber = valueMeta.getBigNumber( value ).stripTrailingZeros();
+        if ( bigNumber.scale() <= 0 && bigNumber.bitLength() < 64 ) {
+          return HashUtil.hash64( bigNumber.longValueExact() );
+        }
+        return hashBytes( bigNumber.toString().getBytes( StandardCharsets.UTF_8 ) );
+      case ValueMetaInterface.TYPE_DATE:
+      case ValueMetaInterface.TYPE_TIMESTAMP:
+        return HashUtil.hash64( valueMeta.getDate( value ).getTime() );
+      case ValueMetaInterface.TYPE_BOOLEAN:
+        return HashUtil.hash64( valueMeta.getBoolean( value ) ? 1L : 0L );
+      case ValueMetaInterface.TYPE_BINARY:
+        return hashBytes( valueMeta.getBinary( value ) );
+      default:
+        return hashBytes( valueMeta.getString( value ).getBytes( StandardCharsets.UTF_8 ) );
+    }
+  }
+
+  private static long hashBytes( byte[] bytes ) {
+    return HashUtil.hash64( bytes, bytes.length );
+  }
+
+  /**
+   * @return the filter as the magic bytes, the format version, the number of hash functions, the number of 64 bit
+   *         words, the words and a checksum of them
+   */
+  public byte[] toBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate( HEADER_LENGTH + words.length * 8 + CHECKSUM_LENGTH );
+    buffer.put( MAGIC );
+    buffer.put( FORMAT_VERSION );
+    buffer.put( (byte) hashCount );
+    buffer.putInt( words.length );
+    for ( long word : words ) {
+      buffer.putLong( word );
+    }
+    byte[] bytes = buffer.array();
+    buffer.putLong( HashUtil.hash64( Arrays.copyOfRange( bytes, HEADER_LENGTH, HEADER_LENGTH + words.length * 8 ),
+      words.length * 8 ) );
+    return bytes;
+  }
+
+  /**
+   * @return true if the bytes are a filter serialized with {@link #toBytes()} in the current format
+   */
+  public static boolean isBloomFilter( byte[] bytes ) {
+    if ( bytes == null || bytes.length < HEADER_LENGTH + 8 + CHECKSUM_LENGTH
+      || !Arrays.equals( MAGIC, Arrays.copyOf( bytes, MAGIC.length ) ) || bytes[ VERSION_OFFSET ] != FORMAT_VERSION ) {
+      return false;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap( bytes );
+    int hashCount = bytes[ HASHES_OFFSET ];
+    int nrWords = buffer.getInt( WORDS_OFFSET );
+    if ( hashCount < 1 || hashCount > MAX_HASHES || nrWords < 1 || nrWords > MAX_WORDS
+      || bytes.length != HEADER_LENGTH + nrWords * 8 + CHECKSUM_LENGTH ) {
+      return false;
+    }
+    long checksum = buffer.getLong( HEADER_LENGTH + nrWords * 8 );
+    return checksum == HashUtil.hash64( Arrays.copyOfRange( bytes, HEADER_LENGTH, HEADER_LENGTH + nrWords * 8 ),
+      nrWords * 8 );
+  }
+
+  public static BloomFilter fromBytes( byte[] bytes ) {
+    if ( !isBloomFilter( bytes ) ) {
+      throw new IllegalArgumentException( "The bytes are not a serialized Bloom filter" );
+    }
+    ByteBuffer buffer = ByteBuffer.wrap( bytes );
+    long[] words = new long[ buffer.getInt( WORDS_OFFSET ) ];
+    buffer.position( HEADER_LENGTH );
+    for ( int i = 0; i < words.length; i++ ) {
+      words[ i ] = buffer.getLong();
+    }
+    return new BloomFilter( bytes[ HASHES_OFFSET ], words );
+  }
+}
@@ -0,0 +1,64 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+/**
+ * 64 bit hash functions for keys that are counted or looked up in large numbers, where the 32 bit
+ * {@link Object#hashCode()} collides too often.
+ */
+public class HashUtil {
+
+  private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME_3 = 0x165667B19E3779F9L;
+
+  private HashUtil() {
+  }
+
+  /**
+   * A 64 bit hash of the bytes, read 8 at a time and mixed with multiplications and rotations.
+   */
+  public static long hash64( byte[] bytes, int length ) {
+    long hash = PRIME_3 + length;
+    int i = 0;
+    for ( ; i + 8 <= length; i += 8 ) {
+      long word = ( bytes[ i ] & 0xFFL ) | ( bytes[ i + 1 ] & 0xFFL ) << 8 | ( bytes[ i + 2 ] & 0xFFL ) << 16
+        | ( bytes[ i + 3 ] & 0xFFL ) << 24 | ( bytes[ i + 4 ] & 0xFFL ) << 32 | ( bytes[ i + 5 ] & 0xFFL ) << 40
+        | ( bytes[ i + 6 ] & 0xFFL ) << 48 | ( bytes[ i + 7 ] & 0xFFL ) << 56;
+      hash ^= Long.rotateLeft( word * PRIME_2, 31 ) * PRIME_1;
+      hash = Long.rotateLeft( hash, 27 ) * PRIME_1 + PRIME_3;
+    }
+    for ( ; i < length; i++ ) {
+      hash ^= ( bytes[ i ] & 0xFFL ) * PRIME_3;
+      hash = Long.rotateLeft( hash, 11 ) * PRIME_1;
+    }
+    return mix( hash );
+  }
+
+  /**
+   * A 64 bit hash of a long value, spreading every bit of it over the whole result.
+   */
+  public static long hash64( long value ) {
+    return mix( ( PRIME_3 + 8 ) ^ Long.rotateLeft( value * PRIME_2, 31 ) * PRIME_1 );
+  }
+
+  private static long mix( long hash ) {
+    hash ^= hash >>> 33;
+    hash *= PRIME_2;
+    hash ^= hash >>> 29;
+    hash *= PRIME_3;
+    hash ^= hash >>> 32;
+    return hash;
+  }
+}
@@ -0,0 +1,261 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.ValueMetaInterface;
+
+/**
+ * A HyperLogLog sketch: estimates the number of distinct values it was offered in a fixed amount of memory.
+ * <p>
+ * The first <i>precision</i> bits of the 64 bit hash of a value pick one of 2^precision registers, the register keeps
+ * the highest position of the first 1 bit in the rest of the hash. The relative error of the estimate is about
+ * 1.04 / sqrt( 2^precision ), 0.8% with the default precision of 14 and its 16KB of registers.
+ * <p>
+ * Sketches can be serialized with {@link #toBytes()} and merged, the merge of the sketches of a number of streams
+ * gives the estimate of the distinct values over all of them.
+ */
+public class HyperLogLog {
+
+  public static final int MIN_PRECISION = 4;
+
+  public static final int MAX_PRECISION = 18;
+
+  public static final int DEFAULT_PRECISION = 14;
+
+  private static final byte[] MAGIC = { 'H', 'L', 'L' };
+
+  /** the version of the serialized format, sketches written in another format are not merged */
+  public static final byte FORMAT_VERSION = 2;
+
+  private static final int VERSION_OFFSET = MAGIC.length;
+
+  private static final int PRECISION_OFFSET = VERSION_OFFSET + 1;
+
+  private static final int HEADER_LENGTH = PRECISION_OFFSET + 1;
+
+  /** the registers are followed by a 64 bit hash of them */
+  private static final int CHECKSUM_LENGTH = 8;
+
+  private int precision;
+
+  private byte[] registers;
+
+  /**
+   * @param precision
+   *          the number of hash bits used to pick a register, between {@link #MIN_PRECISION} and
+   *          {@link #MAX_PRECISION}
+   */
+  public HyperLogLog( int precision ) {
+    if ( precision < MIN_PRECISION || precision > MAX_PRECISION ) {
+      throw new IllegalArgumentException( "The precision of a HyperLogLog sketch has to be between " + MIN_PRECISION
+        + " and " + MAX_PRECISION + ", not " + precision );
+    }
+    this.precision = precision;
+    this.registers = new byte[ 1 << precision ];
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * Adds a value by its 64 bit hash.
+   */
+  public void add( long hash ) {
+    int index = (int) ( hash >>> ( 64 - precision ) );
+    // the sentinel bit limits the rank when all the remaining bits are 0
+    int rank = Long.numberOfLeadingZeros( ( hash << precision ) | ( 1L << ( precision - 1 ) ) ) + 1;
+    if ( rank > registers[ index ] ) {
+      registers[ index ] = (byte) rank;
+    }
+  }
+
+  /**
+   * Adds a value of the given type. Null values are not counted, a binary value holding a serialized sketch is merged.
+   */
+  public void add( ValueMetaInterface valueMeta, Object value ) throws KettleValueException {
+    if ( valueMeta.isNull( value ) ) {
+      return;
+    }
+    switch ( valueMeta.getType() ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        add( HashUtil.hash64( valueMeta.getInteger( value ) ) );
+        break;
+      case ValueMetaInterface.TYPE_NUMBER:
+        add( HashUtil.hash64( Double.doubleToLongBits( valueMeta.getNumber( value ) ) ) );
+        break;
+      case ValueMetaInterface.TYPE_DATE:
+        add( HashUtil.hash64( valueMeta.getDate( value ).getTime() ) );
+        break;
+      case ValueMetaInterface.TYPE_BOOLEAN:
+        add( HashUtil.hash64( valueMeta.getBoolean( value ) ? 1L : 0L ) );
+        break;
+      case ValueMetaInterface.TYPE_BIGNUMBER:
+        add( valueMeta.getBigNumber( value ).stripTrailingZeros().toString() );
+        break;
+      case ValueMetaInterface.TYPE_BINARY:
+        byte[] bytes = valueMeta.getBinary( value );
+        if ( isSketch( bytes ) ) {
+          merge( fromBytes( bytes ) );
+        } else {
+          add( HashUtil.hash64( bytes, bytes.length ) );
+        }
+        break;
+      default:
+        add( valueMeta.getString( value ) );
+        break;
+    }
+  }
+
+  private void add( String value ) {
+    byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+    add( HashUtil.hash64( bytes, bytes.length ) );
+  }
+
+  /**
+   * Adds the values of another sketch. When the precisions differ the result gets the lowest of the two.
+   */
+  public void merge( HyperLogLog other ) {
+    byte[] otherRegisters = other.registers;
+    if ( other.precision > precision ) {
+      otherRegisters = fold( otherRegisters, other.precision, precision );
+    } else if ( other.precision < precision ) {
+      registers = fold( registers, precision, other.precision );
+      precision = other.precision;
+    }
+    for ( int i = 0; i < registers.length; i++ ) {
+      if ( otherRegisters[ i ] > registers[ i ] ) {
+        registers[ i ] = otherRegisters[ i ];
+      }
+    }
+  }
+
+  /**
+   * Brings registers to a lower precision: the index bits that are dropped become the first bits of the rest of the
+   * hash.
+   */
+  private static byte[] fold( byte[] registers, int from, int to ) {
+    int dropped = from - to;
+    byte[] folded = new byte[ 1 << to ];
+    for ( int i = 0; i < registers.length; i++ ) {
+      if ( registers[ i ] == 0 ) {
+        continue;
+      }
+      int droppedBits = i & ( ( 1 << dropped ) - 1 );
+      int rank = droppedBits != 0
+        ? Integer.numberOfLeadingZeros( droppedBits ) - ( 32 - dropped ) + 1 : dropped + registers[ i ];
+      int index = i >>> dropped;
+      if ( rank > folded[ index ] ) {
+        folded[ index ] = (byte) rank;
+      }
+    }
+    return folded;
+  }
+
+  /**
+   * @return the estimated number of distinct values
+   */
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for ( byte register : registers ) {
+      sum += 1.0 / ( 1L << register );
+      if ( register == 0 ) {
+        zeros++;
+      }
+    }
+    double alpha;
+    switch ( m ) {
+      case 16:
+        alpha = 0.673;
+        break;
+      case 32:
+        alpha = 0.697;
+        break;
+      case 64:
+        alpha = 0.709;
+        break;
+      default:
+        alpha = 0.7213 / ( 1 + 1.079 / m );
+        break;
+    }
+    double estimate = alpha * m * m / sum;
+    if ( estimate <= 2.5 * m && zeros > 0 ) {
+      // linear counting is more accurate for small numbers of values
+      estimate = m * Math.log( (double) m / zeros );
+    }
+    return Math.round( estimate );
+  }
+
+  /**
+   * @return the sketch as the magic bytes, the format version, the precision, the registers and a checksum of them
+   */
+  public byte[] toBytes() {
+    byte[] bytes = new byte[ HEADER_LENGTH + registers.length + CHECKSUM_LENGTH ];
+    System.arraycopy( MAGIC, 0, bytes, 0, MAGIC.length );
+    bytes[ VERSION_OFFSET ] = FORMAT_VERSION;
+    bytes[ PRECISION_OFFSET ] = (byte) precision;
+    System.arraycopy( registers, 0, bytes, HEADER_LENGTH, registers.length );
+    long checksum = HashUtil.hash64( registers, registers.length );
+    for ( int i = 0; i < CHECKSUM_LENGTH; i++ ) {
+      bytes[ HEADER_LENGTH + registers.length + i ] = (byte) ( checksum >>> ( 8 * i ) );
+    }
+    return bytes;
+  }
+
+  /**
+   * A binary value is only taken for a sketch when the magic bytes, the format version, the length, every register
+   * and the checksum match, so that other binary values starting with the same bytes are counted as values.
+   *
+   * @return true if the bytes are a sketch serialized with {@link #toBytes()} in the current format
+   */
+  public static boolean isSketch( byte[] bytes ) {
+    if ( bytes == null || bytes.length < HEADER_LENGTH
+      || !Arrays.equals( MAGIC, Arrays.copyOf( bytes, MAGIC.length ) ) || bytes[ VERSION_OFFSET ] != FORMAT_VERSION ) {
+      return false;
+    }
+    int precision = bytes[ PRECISION_OFFSET ];
+    if ( precision < MIN_PRECISION || precision > MAX_PRECISION
+      || bytes.length != HEADER_LENGTH + ( 1 << precision ) + CHECKSUM_LENGTH ) {
+      return false;
+    }
+    // a rank can't be larger than the number of hash bits left after the index, plus the sentinel
+    int maxRank = 64 - precision + 1;
+    for ( int i = HEADER_LENGTH; i < HEADER_LENGTH + ( 1 << precision ); i++ ) {
+      if ( bytes[ i ] < 0 || bytes[ i ] > maxRank ) {
+        return false;
+      }
+    }
+    long checksum = 0;
+    for ( int i = 0; i < CHECKSUM_LENGTH; i++ ) {
+      checksum |= ( bytes[ HEADER_LENGTH + ( 1 << precision ) + i ] & 0xFFL ) << ( 8 * i );
+    }
+    byte[] registers = Arrays.copyOfRange( bytes, HEADER_LENGTH, HEADER_LENGTH + ( 1 << precision ) );
+    return checksum == HashUtil.hash64( registers, registers.length );
+  }
+
+  public static HyperLogLog fromBytes( byte[] bytes ) {
+    if ( !isSketch( bytes ) ) {
+      throw new IllegalArgumentException( "The bytes are not a serialized HyperLogLog sketch" );
+    }
+    HyperLogLog sketch = new HyperLogLog( bytes[ PRECISION_OFFSET ] );
+    System.arraycopy( bytes, HEADER_LENGTH, sketch.registers, 0, sketch.registers.length );
+    return sketch;
+  }
+}
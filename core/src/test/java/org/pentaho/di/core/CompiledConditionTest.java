@@ -0,0 +1,146 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaAndData;
+import org.pentaho.di.core.row.value.ValueMetaDate;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaNumber;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.junit.rules.RestorePDIEnvironment;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledConditionTest {
+  @ClassRule public static RestorePDIEnvironment env = new RestorePDIEnvironment();
+
+  private static RowMetaInterface createRowMeta() {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "int1" ) );
+    rowMeta.addValueMeta( new ValueMetaInteger( "int2" ) );
+    rowMeta.addValueMeta( new ValueMetaNumber( "num" ) );
+    rowMeta.addValueMeta( new ValueMetaString( "str" ) );
+    rowMeta.addValueMeta( new ValueMetaDate( "date" ) );
+    return rowMeta;
+  }
+
+  private static Object[][] createRows() {
+    return new Object[][] {
+      { 1L, 2L, 1.5, "abc", new Date( 1000L ) },
+      { 2L, 2L, -1.0, "xyz", new Date( 2000L ) },
+      { null, 5L, null, null, null },
+      { 7L, null, 0.0, "", new Date( 0L ) },
+      { -3L, -3L, 10.0, "aBc", new Date( 3000L ) },
+    };
+  }
+
+  private static void assertSameAsInterpreted( Condition condition ) {
+    RowMetaInterface rowMeta = createRowMeta();
+    CompiledCondition compiled = CompiledCondition.compile( condition, rowMeta );
+    for ( Object[] row : createRows() ) {
+      assertEquals( condition.toString(), condition.evaluate( rowMeta, row ), compiled.evaluate( row ) );
+    }
+  }
+
+  @Test
+  public void testComparisonsWithConstantsMatchInterpreted() throws Exception {
+    ValueMetaAndData intConstant = new ValueMetaAndData( new ValueMetaInteger( "c" ), 2L );
+    ValueMetaAndData numConstant = new ValueMetaAndData( new ValueMetaNumber( "c" ), 0.0 );
+    ValueMetaAndData dateConstant = new ValueMetaAndData( new ValueMetaDate( "c" ), new Date( 1000L ) );
+    for ( int function = Condition.FUNC_EQUAL; function <= Condition.FUNC_LARGER_EQUAL; function++ ) {
+      assertSameAsInterpreted( new Condition( "int1", function, null, intConstant ) );
+      assertSameAsInterpreted( new Condition( "num", function, null, numConstant ) );
+      assertSameAsInterpreted( new Condition( "date", function, null, dateConstant ) );
+      assertSameAsInterpreted( new Condition( true, "int1", function, null, intConstant ) );
+    }
+  }
+
+  @Test
+  public void testFieldComparisonsMatchInterpreted() throws Exception {
+    for ( int function = Condition.FUNC_EQUAL; function <= Condition.FUNC_LARGER_EQUAL; function++ ) {
+      assertSameAsInterpreted( new Condition( "int1", function, "int2", null ) );
+      assertSameAsInterpreted( new Condition( "int1", function, "num", null ) );
+      assertSameAsInterpreted( new Condition( "str", function, "str", null ) );
+    }
+  }
+
+  @Test
+  public void testStringFunctionsMatchInterpreted() throws Exception {
+    ValueMetaAndData constant = new ValueMetaAndData( new ValueMetaString( "c" ), "b" );
+    ValueMetaAndData like = new ValueMetaAndData( new ValueMetaString( "c" ), "a%" );
+    ValueMetaAndData regexp = new ValueMetaAndData( new ValueMetaString( "c" ), "[a-z]B?c" );
+    ValueMetaAndData inList = new ValueMetaAndData( new ValueMetaString( "c" ), "xyz;abc;def" );
+
+    assertSameAsInterpreted( new Condition( "str", Condition.FUNC_CONTAINS, null, constant ) );
+    assertSameAsInterpreted( new Condition( "str", Condition.FUNC_STARTS_WITH, null, constant ) );
+    assertSameAsInterpreted( new Condition( "str", Condition.FUNC_ENDS_WITH, null, constant ) );
+    assertSameAsInterpreted( new Condition( "str", Condition.FUNC_LIKE, null, like ) );
+    assertSameAsInterpreted( new Condition( "str", Condition.FUNC_REGEXP, null, regexp ) );
+    assertSameAsInterpreted( new Condition( "str", Condition.FUNC_IN_LIST, null, inList ) );
+    assertSameAsInterpreted( new Condition( "str", Condition.FUNC_NULL, null, null ) );
+    assertSameAsInterpreted( new Condition( true, "str", Condition.FUNC_NOT_NULL, null, null ) );
+  }
+
+  @Test
+  public void testCompositeMatchesInterpreted() throws Exception {
+    ValueMetaAndData intConstant = new ValueMetaAndData( new ValueMetaInteger( "c" ), 1L );
+    ValueMetaAndData constant = new ValueMetaAndData( new ValueMetaString( "c" ), "a" );
+
+    int[] operators = { Condition.OPERATOR_OR, Condition.OPERATOR_AND, Condition.OPERATOR_OR_NOT,
+      Condition.OPERATOR_AND_NOT, Condition.OPERATOR_XOR };
+    for ( int operator : operators ) {
+      Condition condition = new Condition();
+      condition.addCondition( new Condition( "int1", Condition.FUNC_LARGER, null, intConstant ) );
+      condition.addCondition(
+        new Condition( operator, "str", Condition.FUNC_STARTS_WITH, null, constant ) );
+      assertSameAsInterpreted( condition );
+
+      condition.negate();
+      assertSameAsInterpreted( condition );
+    }
+  }
+
+  @Test
+  public void testConstantFolding() throws Exception {
+    Condition condition = new Condition();
+    condition.addCondition( new Condition( "int1", Condition.FUNC_TRUE, null, null ) );
+    condition.addCondition(
+      new Condition( Condition.OPERATOR_AND, "int2", Condition.FUNC_TRUE, null, null ) );
+
+    CompiledCondition compiled = CompiledCondition.compile( condition, createRowMeta() );
+    assertTrue( compiled.isConstant() );
+    assertTrue( compiled.evaluate( createRows()[ 0 ] ) );
+
+    condition.negate();
+    compiled = CompiledCondition.compile( condition, createRowMeta() );
+    assertTrue( compiled.isConstant() );
+    assertFalse( compiled.evaluate( createRows()[ 0 ] ) );
+  }
+
+  @Test
+  public void testMissingFieldEvaluatesAsFalse() throws Exception {
+    Condition condition = new Condition( true, "unknown", Condition.FUNC_NULL, null, null );
+    CompiledCondition compiled = CompiledCondition.compile( condition, createRowMeta() );
+    assertFalse( compiled.evaluate( createRows()[ 0 ] ) );
+    assertSameAsInterpreted( condition );
+  }
+}
@@ -101,4 +101,18 @@ public class LongHashIndexTest {
     assertThat( "Not empty index should return false.", index.isEmpty(), is( false ) );
   }
 
+  @Test
+  public void testZeroKeyAndGrowing() throws KettleValueException {
+    LongHashIndex index = new LongHashIndex();
+    index.put( 0L, 7L );
+    for ( long i = 1; i <= 100000; i++ ) {
+      index.put( i << 20, i );
+    }
+    index.put( 0L, 8L );
+    assertThat( "Some elements were not added.", index.getSize(), equalTo( 100001 ) );
+    assertThat( "Element has uncorrect value.", index.get( 0L ), equalTo( 8L ) );
+    assertThat( "Element has uncorrect value.", index.get( 12345L << 20 ), equalTo( 12345L ) );
+    assertThat( "Element should not be found.", index.get( 1L ), nullValue() );
+  }
+
 }
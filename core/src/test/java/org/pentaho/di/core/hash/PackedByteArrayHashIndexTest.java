@@ -0,0 +1,97 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.hash;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.pentaho.di.core.util.HashUtil;
+
+public class PackedByteArrayHashIndexTest {
+
+  private static byte[] bytes( String value ) {
+    return value.getBytes( StandardCharsets.UTF_8 );
+  }
+
+  @Test
+  public void testGetAndPut() {
+    PackedByteArrayHashIndex index = new PackedByteArrayHashIndex();
+    assertTrue( index.isEmpty() );
+    assertNull( index.get( new byte[] { 10 } ) );
+
+    index.put( new byte[] { 10 }, new byte[] { 53, 12 } );
+    assertArrayEquals( new byte[] { 53, 12 }, index.get( new byte[] { 10 } ) );
+    assertNull( index.get( new byte[] { 10, 0 } ) );
+    assertEquals( 1, index.getSize() );
+  }
+
+  @Test
+  public void testManyKeys() {
+    PackedByteArrayHashIndex index = new PackedByteArrayHashIndex();
+    for ( int i = 0; i < 200000; i++ ) {
+      index.put( bytes( "key-" + i ), bytes( "value-" + i ) );
+    }
+    assertEquals( 200000, index.getSize() );
+    for ( int i = 0; i < 200000; i += 13 ) {
+      assertArrayEquals( bytes( "value-" + i ), index.get( bytes( "key-" + i ) ) );
+    }
+    assertNull( index.get( bytes( "key-200000" ) ) );
+    assertTrue( index.getMemoryUsage() >= PackedByteArrayHashIndex.PAGE_SIZE );
+  }
+
+  @Test
+  public void testPutReplacesTheValue() {
+    PackedByteArrayHashIndex index = new PackedByteArrayHashIndex();
+    index.put( bytes( "key" ), bytes( "first" ) );
+    index.put( bytes( "key" ), bytes( "2nd" ) );
+    assertArrayEquals( bytes( "2nd" ), index.get( bytes( "key" ) ) );
+    index.put( bytes( "key" ), bytes( "a longer value" ) );
+    assertArrayEquals( bytes( "a longer value" ), index.get( bytes( "key" ) ) );
+    assertEquals( 1, index.getSize() );
+  }
+
+  @Test
+  public void testEntryLargerThanAPage() {
+    PackedByteArrayHashIndex index = new PackedByteArrayHashIndex();
+    byte[] large = new byte[ PackedByteArrayHashIndex.PAGE_SIZE + 10 ];
+    large[ large.length - 1 ] = 1;
+    index.put( bytes( "small" ), bytes( "value" ) );
+    index.put( bytes( "large" ), large );
+    assertArrayEquals( large, index.get( bytes( "large" ) ) );
+    assertArrayEquals( bytes( "value" ), index.get( bytes( "small" ) ) );
+  }
+
+  @Test
+  public void testUsedAsASet() {
+    PackedByteArrayHashIndex index = new PackedByteArrayHashIndex();
+    byte[] buffer = new byte[ 16 ];
+    System.arraycopy( bytes( "key" ), 0, buffer, 0, 3 );
+    long hash = HashUtil.hash64( buffer, 3 );
+    assertTrue( index.add( hash, buffer, 3 ) );
+    assertFalse( index.add( hash, bytes( "key" ), 3 ) );
+    assertTrue( index.contains( hash, bytes( "key" ), 3 ) );
+    // a key added to the set has an empty value
+    assertArrayEquals( new byte[ 0 ], index.get( bytes( "key" ) ) );
+
+    index.clear();
+    assertTrue( index.isEmpty() );
+    assertFalse( index.contains( hash, buffer, 3 ) );
+  }
+}
@@ -0,0 +1,117 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaBigNumber;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaNumber;
+import org.pentaho.di.core.row.value.ValueMetaString;
+
+public class BloomFilterTest {
+
+  @Test
+  public void testAddedKeysArePresent() {
+    BloomFilter filter = new BloomFilter( 100000, 0.01 );
+    for ( int i = 0; i < 100000; i++ ) {
+      filter.add( HashUtil.hash64( i ) );
+    }
+    for ( int i = 0; i < 100000; i++ ) {
+      assertTrue( filter.mightContain( HashUtil.hash64( i ) ) );
+    }
+  }
+
+  @Test
+  public void testFalsePositiveRate() {
+    BloomFilter filter = new BloomFilter( 100000, 0.01 );
+    assertEquals( 7, filter.getHashCount() );
+    for ( int i = 0; i < 100000; i++ ) {
+      filter.add( HashUtil.hash64( i ) );
+    }
+    int falsePositives = 0;
+    for ( int i = 100000; i < 200000; i++ ) {
+      if ( filter.mightContain( HashUtil.hash64( i ) ) ) {
+        falsePositives++;
+      }
+    }
+    assertTrue( "False positives " + falsePositives, falsePositives < 1500 );
+  }
+
+  @Test
+  public void testMerge() {
+    BloomFilter first = new BloomFilter( 1000, 0.01 );
+    BloomFilter second = new BloomFilter( 1000, 0.01 );
+    for ( int i = 0; i < 1000; i++ ) {
+      ( i % 2 == 0 ? first : second ).add( HashUtil.hash64( i ) );
+    }
+    first.merge( second );
+    for ( int i = 0; i < 1000; i++ ) {
+      assertTrue( first.mightContain( HashUtil.hash64( i ) ) );
+    }
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testMergeNeedsTheSameSize() {
+    new BloomFilter( 1000, 0.01 ).merge( new BloomFilter( 2000, 0.01 ) );
+  }
+
+  @Test
+  public void testSerialization() {
+    BloomFilter filter = new BloomFilter( 1000, 0.05 );
+    for ( int i = 0; i < 1000; i++ ) {
+      filter.add( HashUtil.hash64( i ) );
+    }
+    byte[] bytes = filter.toBytes();
+    assertTrue( BloomFilter.isBloomFilter( bytes ) );
+    BloomFilter copy = BloomFilter.fromBytes( bytes );
+    assertEquals( filter.getBitCount(), copy.getBitCount() );
+    assertEquals( filter.getHashCount(), copy.getHashCount() );
+    for ( int i = 0; i < 1000; i++ ) {
+      assertTrue( copy.mightContain( HashUtil.hash64( i ) ) );
+    }
+
+    byte[] changed = bytes.clone();
+    changed[ 20 ]++;
+    assertFalse( BloomFilter.isBloomFilter( changed ) );
+    assertFalse( BloomFilter.isBloomFilter( "value".getBytes() ) );
+  }
+
+  @Test
+  public void testHashKey() throws Exception {
+    RowMeta rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "integer" ) );
+    rowMeta.addValueMeta( new ValueMetaNumber( "number" ) );
+    rowMeta.addValueMeta( new ValueMetaBigNumber( "bignumber" ) );
+    rowMeta.addValueMeta( new ValueMetaString( "string" ) );
+    Object[] row = { 42L, 42.0, new BigDecimal( "42.00" ), "42" };
+
+    // whole numbers hash the same whatever their type
+    long hash = BloomFilter.hashKey( rowMeta, row, new int[] { 0 } );
+    assertEquals( hash, BloomFilter.hashKey( rowMeta, row, new int[] { 1 } ) );
+    assertEquals( hash, BloomFilter.hashKey( rowMeta, row, new int[] { 2 } ) );
+    assertNotEquals( hash, BloomFilter.hashKey( rowMeta, row, new int[] { 3 } ) );
+
+    // the order of the key fields matters
+    assertNotEquals( BloomFilter.hashKey( rowMeta, row, new int[] { 0, 3 } ),
+      BloomFilter.hashKey( rowMeta, row, new int[] { 3, 0 } ) );
+  }
+}
@@ -0,0 +1,48 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class HashUtilTest {
+
+  @Test
+  public void testHashUsesAllBytes() {
+    byte[] bytes = new byte[ 19 ];
+    long hash = HashUtil.hash64( bytes, bytes.length );
+    for ( int i = 0; i < bytes.length; i++ ) {
+      bytes[ i ] = 1;
+      assertNotEquals( hash, HashUtil.hash64( bytes, bytes.length ) );
+      bytes[ i ] = 0;
+    }
+    assertNotEquals( hash, HashUtil.hash64( bytes, bytes.length - 1 ) );
+  }
+
+  @Test
+  public void testHashOnlyReadsTheLength() {
+    byte[] bytes = { 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+    byte[] longer = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 };
+    assertEquals( HashUtil.hash64( bytes, bytes.length ), HashUtil.hash64( longer, bytes.length ) );
+  }
+
+  @Test
+  public void testLongHashSpreadsTheBits() {
+    assertNotEquals( HashUtil.hash64( 1L ), HashUtil.hash64( 2L ) );
+    // consecutive values differ in the top bits too
+    assertNotEquals( HashUtil.hash64( 1L ) >>> 60, HashUtil.hash64( 2L ) >>> 60 );
+  }
+}
@@ -0,0 +1,123 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+  private static void assertEstimate( long expected, HyperLogLog sketch, double error ) {
+    long estimate = sketch.estimate();
+    assertTrue( "Estimate " + estimate + " of " + expected, Math.abs( estimate - expected ) <= expected * error );
+  }
+
+  @Test
+  public void testEstimate() {
+    HyperLogLog sketch = new HyperLogLog( HyperLogLog.DEFAULT_PRECISION );
+    assertEquals( 0, sketch.estimate() );
+    for ( int i = 0; i < 1000000; i++ ) {
+      // every value twice
+      sketch.add( HashUtil.hash64( i % 500000 ) );
+    }
+    assertEstimate( 500000, sketch, 0.03 );
+  }
+
+  @Test
+  public void testSmallNumbersAreAlmostExact() {
+    HyperLogLog sketch = new HyperLogLog( HyperLogLog.DEFAULT_PRECISION );
+    for ( int i = 0; i < 100; i++ ) {
+      sketch.add( HashUtil.hash64( i ) );
+    }
+    assertEstimate( 100, sketch, 0.02 );
+  }
+
+  @Test
+  public void testMerge() {
+    HyperLogLog first = new HyperLogLog( 12 );
+    HyperLogLog second = new HyperLogLog( 12 );
+    HyperLogLog all = new HyperLogLog( 12 );
+    for ( int i = 0; i < 200000; i++ ) {
+      long hash = HashUtil.hash64( i );
+      ( i < 120000 ? first : second ).add( hash );
+      all.add( hash );
+    }
+    first.merge( second );
+    assertArrayEquals( all.toBytes(), first.toBytes() );
+  }
+
+  @Test
+  public void testMergeLowersThePrecision() {
+    HyperLogLog high = new HyperLogLog( 14 );
+    HyperLogLog low = new HyperLogLog( 10 );
+    HyperLogLog expected = new HyperLogLog( 10 );
+    for ( int i = 0; i < 50000; i++ ) {
+      long hash = HashUtil.hash64( i );
+      ( i % 2 == 0 ? high : low ).add( hash );
+      expected.add( hash );
+    }
+    high.merge( low );
+    assertEquals( 10, high.getPrecision() );
+    assertArrayEquals( expected.toBytes(), high.toBytes() );
+  }
+
+  @Test
+  public void testSerialization() {
+    HyperLogLog sketch = new HyperLogLog( 8 );
+    for ( int i = 0; i < 1000; i++ ) {
+      sketch.add( HashUtil.hash64( i ) );
+    }
+    byte[] bytes = sketch.toBytes();
+    assertTrue( HyperLogLog.isSketch( bytes ) );
+    HyperLogLog copy = HyperLogLog.fromBytes( bytes );
+    assertEquals( 8, copy.getPrecision() );
+    assertEquals( sketch.estimate(), copy.estimate() );
+
+    assertFalse( HyperLogLog.isSketch( new byte[] { 'H', 'L', 'L', HyperLogLog.FORMAT_VERSION, 8 } ) );
+    assertFalse( HyperLogLog.isSketch( "value".getBytes() ) );
+  }
+
+  @Test
+  public void testOtherBinaryValuesAreNotSketches() {
+    HyperLogLog sketch = new HyperLogLog( 8 );
+    for ( int i = 0; i < 1000; i++ ) {
+      sketch.add( HashUtil.hash64( i ) );
+    }
+    byte[] bytes = sketch.toBytes();
+
+    // another format version
+    byte[] otherVersion = bytes.clone();
+    otherVersion[ 3 ] = 1;
+    assertFalse( HyperLogLog.isSketch( otherVersion ) );
+
+    // same header and length, other content
+    byte[] changed = bytes.clone();
+    changed[ 10 ]++;
+    assertFalse( HyperLogLog.isSketch( changed ) );
+
+    // a register no hash can produce
+    byte[] impossible = bytes.clone();
+    impossible[ 10 ] = 100;
+    assertFalse( HyperLogLog.isSketch( impossible ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testPrecisionOutOfRange() {
+    new HyperLogLog( HyperLogLog.MAX_PRECISION + 1 );
+  }
+}
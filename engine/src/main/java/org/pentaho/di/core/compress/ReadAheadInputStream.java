@@ -0,0 +1,202 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.compress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.pentaho.di.core.util.ExecutorUtil;
+
+/**
+ * Reads another stream on a background thread into a bounded number of buffers.
+ * <p>
+ * This is used on top of a decompressing stream: the background thread inflates the next buffers while the step
+ * parses the current one, instead of the step thread doing both one after the other. When the step doesn't keep up,
+ * the background thread waits until a buffer is free again, so memory use stays limited to the buffers.
+ */
+public class ReadAheadInputStream extends InputStream {
+
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  public static final int DEFAULT_NR_BUFFERS = 8;
+
+  private static final Chunk END = new Chunk( new byte[ 0 ], -1, null );
+
+  private final InputStream in;
+  private final int bufferSize;
+  private final BlockingQueue<Chunk> filled;
+  private final BlockingQueue<byte[]> free;
+  private final Future<?> producer;
+
+  private volatile boolean closed;
+  private Chunk current;
+  private int position;
+
+  public ReadAheadInputStream( InputStream in ) {
+    this( in, DEFAULT_BUFFER_SIZE, DEFAULT_NR_BUFFERS );
+  }
+
+  /**
+   * @param in
+   *          the stream to read on the background thread
+   * @param bufferSize
+   *          the size of a buffer
+   * @param nrBuffers
+   *          the number of buffers that can be read ahead
+   */
+  public ReadAheadInputStream( InputStream in, int bufferSize, int nrBuffers ) {
+    this.in = in;
+    this.bufferSize = bufferSize;
+    this.filled = new ArrayBlockingQueue<>( nrBuffers );
+    this.free = new ArrayBlockingQueue<>( nrBuffers + 2 );
+    this.producer = ExecutorUtil.getExecutor().submit( this::readAhead );
+  }
+
+  private void readAhead() {
+    try {
+      while ( !closed ) {
+        byte[] buffer = free.poll();
+        if ( buffer == null ) {
+          buffer = new byte[ bufferSize ];
+        }
+        int n = in.read( buffer, 0, bufferSize );
+        if ( n < 0 ) {
+          put( END );
+          return;
+        }
+        if ( n > 0 ) {
+          put( new Chunk( buffer, n, null ) );
+        }
+      }
+    } catch ( IOException | RuntimeException e ) {
+      put( new Chunk( null, -1, e ) );
+    }
+  }
+
+  private void put( Chunk chunk ) {
+    try {
+      while ( !closed && !filled.offer( chunk, 100, TimeUnit.MILLISECONDS ) ) {
+        // wait for the reader to take a buffer, or to close the stream
+      }
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return false if there is nothing more to read
+   */
+  private boolean fill() throws IOException {
+    if ( current != null && position < current.length ) {
+      return true;
+    }
+    if ( current == END ) {
+      return false;
+    }
+    if ( current != null ) {
+      free.offer( current.buffer );
+    }
+    try {
+      current = filled.take();
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException( "Interrupted while waiting for data" );
+    }
+    position = 0;
+    if ( current.error != null ) {
+      Exception error = current.error;
+      current = END;
+      if ( error instanceof IOException ) {
+        throw (IOException) error;
+      }
+      throw new IOException( error );
+    }
+    return current != END;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if ( !fill() ) {
+      return -1;
+    }
+    return current.buffer[ position++ ] & 0xFF;
+  }
+
+  @Override
+  public int read( byte[] b, int off, int len ) throws IOException {
+    if ( len == 0 ) {
+      return 0;
+    }
+    if ( !fill() ) {
+      return -1;
+    }
+    int n = Math.min( len, current.length - position );
+    System.arraycopy( current.buffer, position, b, off, n );
+    position += n;
+    return n;
+  }
+
+  @Override
+  public long skip( long n ) throws IOException {
+    long skipped = 0;
+    while ( skipped < n && fill() ) {
+      int step = (int) Math.min( n - skipped, current.length - position );
+      position += step;
+      skipped += step;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return current == null || current == END ? 0 : current.length - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if ( closed ) {
+      return;
+    }
+    closed = true;
+    filled.clear();
+    try {
+      // Don't close the stream while the background thread is still reading it
+      producer.get();
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    } catch ( ExecutionException e ) {
+      // the error was handed to the reader already
+    } finally {
+      in.close();
+    }
+  }
+
+  private static class Chunk {
+    private final byte[] buffer;
+    private final int length;
+    private final Exception error;
+
+    Chunk( byte[] buffer, int length, Exception error ) {
+      this.buffer = buffer;
+      this.length = length;
+      this.error = error;
+    }
+  }
+}
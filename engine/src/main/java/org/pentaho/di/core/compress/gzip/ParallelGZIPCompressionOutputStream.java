@@ -0,0 +1,152 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.compress.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import org.pentaho.di.core.compress.CompressionOutputStream;
+import org.pentaho.di.core.compress.CompressionProvider;
+import org.pentaho.di.core.util.ExecutorUtil;
+
+/**
+ * Writes gzip data compressed by several threads.
+ * <p>
+ * The data is cut in blocks that are each compressed as a separate gzip member. The blocks are compressed at the same
+ * time and written in order. A gzip file can hold any number of members one after the other, they are read back as one
+ * stream by gzip and by {@link java.util.zip.GZIPInputStream}. The file is a little larger than when it's compressed as
+ * a single member because every block starts with an empty dictionary.
+ */
+public class ParallelGZIPCompressionOutputStream extends CompressionOutputStream {
+
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+  private final int blockSize;
+  private final int nrThreads;
+  private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+  private byte[] block;
+  private int count;
+
+  public ParallelGZIPCompressionOutputStream( OutputStream out, CompressionProvider provider ) {
+    this( out, provider, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors() );
+  }
+
+  /**
+   * @param out
+   *          the stream to write the compressed data to
+   * @param provider
+   *          the gzip compression provider
+   * @param blockSize
+   *          the number of bytes compressed as one gzip member
+   * @param nrThreads
+   *          the number of blocks compressed at the same time
+   */
+  public ParallelGZIPCompressionOutputStream( OutputStream out, CompressionProvider provider, int blockSize,
+    int nrThreads ) {
+    super( out, provider );
+    this.blockSize = blockSize;
+    this.nrThreads = Math.max( 1, nrThreads );
+    this.block = new byte[ blockSize ];
+  }
+
+  @Override
+  public void write( int b ) throws IOException {
+    if ( count == blockSize ) {
+      compressBlock();
+    }
+    block[ count++ ] = (byte) b;
+  }
+
+  @Override
+  public void write( byte[] b ) throws IOException {
+    write( b, 0, b.length );
+  }
+
+  @Override
+  public void write( byte[] b, int off, int len ) throws IOException {
+    while ( len > 0 ) {
+      if ( count == blockSize ) {
+        compressBlock();
+      }
+      int n = Math.min( len, blockSize - count );
+      System.arraycopy( b, off, block, count, n );
+      count += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  private void compressBlock() throws IOException {
+    final byte[] input = block;
+    final int length = count;
+    pending.add( ExecutorUtil.getExecutor().submit( () -> compress( input, length ) ) );
+    block = new byte[ blockSize ];
+    count = 0;
+    while ( pending.size() > nrThreads ) {
+      writeCompressedBlock();
+    }
+  }
+
+  private void writeCompressedBlock() throws IOException {
+    try {
+      delegate.write( pending.poll().get() );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException( "Interrupted while compressing" );
+    } catch ( ExecutionException e ) {
+      throw new IOException( "Unable to compress block", e.getCause() );
+    }
+  }
+
+  static byte[] compress( byte[] input, int length ) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream( length / 4 + 64 );
+    try ( GZIPOutputStream gzip = new GZIPOutputStream( compressed ) ) {
+      gzip.write( input, 0, length );
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * Compresses and writes all the data written so far. The data written after this goes to a new gzip member.
+   */
+  @Override
+  public void flush() throws IOException {
+    if ( count > 0 ) {
+      compressBlock();
+    }
+    while ( !pending.isEmpty() ) {
+      writeCompressedBlock();
+    }
+    delegate.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      pending.forEach( future -> future.cancel( false ) );
+      pending.clear();
+      delegate.close();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans;
+
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.HashUtil;
+import org.pentaho.di.core.util.Utils;
+
+/**
+ * Partitions on the hash of a field with jump consistent hashing. The keys are spread evenly whatever the values look
+ * like, where the remainder of sequential or patterned values piles up on some partitions. When a partition is added
+ * only the keys that go to the new partition move, the other keys stay where they were.
+ */
+public class ConsistentHashPartitioner extends ModPartitioner {
+
+  public ConsistentHashPartitioner() {
+    super();
+  }
+
+  @Override
+  public Partitioner getInstance() {
+    Partitioner partitioner = new ConsistentHashPartitioner();
+    partitioner.setId( getId() );
+    partitioner.setDescription( getDescription() );
+    return partitioner;
+  }
+
+  @Override
+  public int getPartition( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    init( rowMeta );
+    return jumpConsistentHash( getKeyHash( rowMeta, row ), nrPartitions );
+  }
+
+  /**
+   * @return a well mixed 64-bit hash of the partitioning field
+   */
+  protected long getKeyHash( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    int columnIndex = getPartitionColumnIndex( rowMeta );
+    ValueMetaInterface valueMeta = rowMeta.getValueMeta( columnIndex );
+    if ( valueMeta.getType() == ValueMetaInterface.TYPE_INTEGER ) {
+      Long value = rowMeta.getInteger( row, columnIndex );
+      if ( value != null ) {
+        return HashUtil.hash64( value );
+      }
+    }
+    return HashUtil.hash64( valueMeta.hashCode( row[columnIndex] ) );
+  }
+
+  /**
+   * The jump consistent hash of Lamping and Veach.
+   *
+   * @return the bucket of the key, between 0 and the number of buckets
+   */
+  static int jumpConsistentHash( long key, int buckets ) {
+    long bucket = -1;
+    long next = 0;
+    while ( next < buckets ) {
+      bucket = next;
+      key = key * 2862933555777941757L + 1;
+      next = (long) ( ( bucket + 1 ) * ( (double) ( 1L << 31 ) / (double) ( ( key >>> 33 ) + 1 ) ) );
+    }
+    return (int) bucket;
+  }
+
+  @Override
+  public String getDescription() {
+    String description = "Consistent hash partitioner";
+    if ( !Utils.isEmpty( getFieldName() ) ) {
+      description += "(" + getFieldName() + ")";
+    }
+    return description;
+  }
+}
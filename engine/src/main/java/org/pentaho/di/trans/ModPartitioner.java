@@ -51,9 +51,10 @@ public class ModPartitioner extends BasePartitioner {
     return "org.pentaho.di.ui.trans.dialog.ModPartitionerDialog";
   }
 
-  public int getPartition( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
-    init( rowMeta );
-
+  /**
+   * @return the index of the partitioning field in the row
+   */
+  protected int getPartitionColumnIndex( RowMetaInterface rowMeta ) throws KettleException {
     if ( partitionColumnIndex < 0 ) {
       partitionColumnIndex = rowMeta.indexOfValue( fieldName );
       if ( partitionColumnIndex < 0 ) {
@@ -61,15 +62,22 @@ public class ModPartitioner extends BasePartitioner {
           + fieldName + "] in the output row..." + rowMeta );
       }
     }
+    return partitionColumnIndex;
+  }
+
+  public int getPartition( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    init( rowMeta );
+
+    int columnIndex = getPartitionColumnIndex( rowMeta );
 
     long value;
 
-    ValueMetaInterface valueMeta = rowMeta.getValueMeta( partitionColumnIndex );
-    Object valueData = row[partitionColumnIndex];
+    ValueMetaInterface valueMeta = rowMeta.getValueMeta( columnIndex );
+    Object valueData = row[columnIndex];
 
     switch ( valueMeta.getType() ) {
       case ValueMetaInterface.TYPE_INTEGER:
-        Long longValue = rowMeta.getInteger( row, partitionColumnIndex );
+        Long longValue = rowMeta.getInteger( row, columnIndex );
         if ( longValue == null ) {
           value = valueMeta.hashCode( valueData );
         } else {
@@ -0,0 +1,180 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleXMLException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.core.xml.XMLHandler;
+import org.pentaho.di.repository.ObjectId;
+import org.pentaho.di.repository.Repository;
+import org.w3c.dom.Node;
+
+/**
+ * Partitions on ranges of the values of a field. The boundaries are the first values of the second, third, ...
+ * partition in ascending order, so partition n gets the values from boundary n-1 up to but not including boundary n.
+ * Null values go to the first partition. With the rows of every partition sorted, the partitions one after the other
+ * are sorted as a whole.
+ */
+public class RangePartitioner extends ModPartitioner {
+
+  private String[] boundaries = new String[0];
+
+  // the boundaries converted to the type of the field the first time a row is partitioned, the copies of the previous
+  // step partition rows at the same time so the converted boundaries are published all at once
+  private volatile ConvertedBoundaries convertedBoundaries;
+
+  public RangePartitioner() {
+    super();
+  }
+
+  @Override
+  public Partitioner getInstance() {
+    Partitioner partitioner = new RangePartitioner();
+    partitioner.setId( getId() );
+    partitioner.setDescription( getDescription() );
+    return partitioner;
+  }
+
+  @Override
+  public RangePartitioner clone() {
+    RangePartitioner rangePartitioner = (RangePartitioner) super.clone();
+    rangePartitioner.boundaries = boundaries.clone();
+    return rangePartitioner;
+  }
+
+  @Override
+  public String getDialogClassName() {
+    return "org.pentaho.di.ui.trans.dialog.RangePartitionerDialog";
+  }
+
+  @Override
+  public int getPartition( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    init( rowMeta );
+
+    int columnIndex = getPartitionColumnIndex( rowMeta );
+    ValueMetaInterface valueMeta = rowMeta.getValueMeta( columnIndex );
+    Object value = valueMeta.convertToNormalStorageType( row[columnIndex] );
+    if ( value == null ) {
+      return 0;
+    }
+
+    ConvertedBoundaries converted = convertedBoundaries;
+    if ( converted == null ) {
+      // threads racing here convert the same boundaries, whichever is published last is as good as the others
+      converted = new ConvertedBoundaries( valueMeta, boundaries );
+      convertedBoundaries = converted;
+    }
+    ValueMetaInterface compareMeta = converted.meta;
+    Object[] values = converted.values;
+
+    // the number of boundaries not above the value
+    int low = 0;
+    int high = values.length;
+    while ( low < high ) {
+      int middle = ( low + high ) >>> 1;
+      if ( compareMeta.compare( value, values[middle] ) >= 0 ) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return Math.min( low, nrPartitions - 1 );
+  }
+
+  @Override
+  public String getDescription() {
+    String description = "Range partitioner";
+    if ( !Utils.isEmpty( getFieldName() ) ) {
+      description += "(" + getFieldName() + ")";
+    }
+    return description;
+  }
+
+  @Override
+  public String getXML() {
+    StringBuilder xml = new StringBuilder( super.getXML() );
+    xml.append( "           " ).append( XMLHandler.openTag( "boundaries" ) ).append( Const.CR );
+    for ( String boundary : boundaries ) {
+      xml.append( "             " ).append( XMLHandler.addTagValue( "boundary", boundary ) );
+    }
+    xml.append( "           " ).append( XMLHandler.closeTag( "boundaries" ) ).append( Const.CR );
+    return xml.toString();
+  }
+
+  @Override
+  public void loadXML( Node partitioningMethodNode ) throws KettleXMLException {
+    super.loadXML( partitioningMethodNode );
+    Node boundariesNode = XMLHandler.getSubNode( partitioningMethodNode, "boundaries" );
+    int nrBoundaries = XMLHandler.countNodes( boundariesNode, "boundary" );
+    boundaries = new String[nrBoundaries];
+    for ( int i = 0; i < nrBoundaries; i++ ) {
+      boundaries[i] = XMLHandler.getNodeValue( XMLHandler.getSubNodeByNr( boundariesNode, "boundary", i ) );
+    }
+    convertedBoundaries = null;
+  }
+
+  @Override
+  public void saveRep( Repository rep, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
+    super.saveRep( rep, id_transformation, id_step );
+    for ( int i = 0; i < boundaries.length; i++ ) {
+      rep.saveStepAttribute( id_transformation, id_step, i, "PARTITIONING_BOUNDARY", boundaries[i] );
+    }
+  }
+
+  @Override
+  public void loadRep( Repository rep, ObjectId id_step ) throws KettleException {
+    super.loadRep( rep, id_step );
+    int nrBoundaries = rep.countNrStepAttributes( id_step, "PARTITIONING_BOUNDARY" );
+    boundaries = new String[nrBoundaries];
+    for ( int i = 0; i < nrBoundaries; i++ ) {
+      boundaries[i] = rep.getStepAttributeString( id_step, i, "PARTITIONING_BOUNDARY" );
+    }
+    convertedBoundaries = null;
+  }
+
+  /**
+   * @return the first values of the second and following partitions, in ascending order
+   */
+  public String[] getBoundaries() {
+    return boundaries;
+  }
+
+  public void setBoundaries( String[] boundaries ) {
+    this.boundaries = boundaries;
+    convertedBoundaries = null;
+  }
+
+  /**
+   * The boundaries converted to the type of the partitioning field, never modified once created.
+   */
+  private static final class ConvertedBoundaries {
+    private final ValueMetaInterface meta;
+    private final Object[] values;
+
+    private ConvertedBoundaries( ValueMetaInterface fieldMeta, String[] boundaries ) throws KettleException {
+      meta = fieldMeta.clone();
+      meta.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+      values = new Object[boundaries.length];
+      ValueMetaInterface stringMeta = new ValueMetaString( fieldMeta.getName() );
+      for ( int i = 0; i < boundaries.length; i++ ) {
+        values[i] = meta.convertData( stringMeta, boundaries[i] );
+      }
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans;
+
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.Utils;
+
+/**
+ * Partitions on the consistent hash of a field, except for the keys that are a large share of the rows. The rows of
+ * such a heavy key go to all partitions in turn so no copy gets most of the work.
+ * <p>
+ * The rows of a key no longer all end up in the same copy, so this is only to be picked for a step of which the results
+ * of the copies are combined afterwards, for example a partitioned Memory Group By with a sum followed by a group by
+ * that adds up the sums of the copies. Checking the transformation warns about partitioned steps that don't declare
+ * such results with {@link org.pentaho.di.trans.step.StepPartialResultsInterface}.
+ * <p>
+ * The heavy keys are found with a count-min sketch of the keys: a few rows of counters, every key adds one to a counter
+ * in each row and the smallest of its counters is an estimate of its count that is never too low. The counters are
+ * halved from time to time so the keys that were heavy a while ago stop being spread. Every thread that partitions
+ * rows keeps its own counters.
+ */
+public class SkewAwareHashPartitioner extends ConsistentHashPartitioner {
+
+  /** The number of rows of counters in the sketch */
+  static final int SKETCH_DEPTH = 4;
+
+  /** The number of counters per row of the sketch, a power of 2 */
+  static final int SKETCH_WIDTH = 1024;
+
+  /** The number of rows counted before any key is considered heavy */
+  static final long MINIMUM_ROWS = 1000;
+
+  /** The number of rows counted after which all counters are halved */
+  static final long DECAY_ROWS = 1L << 20;
+
+  private final ThreadLocal<KeyCounts> keyCounts = ThreadLocal.withInitial( KeyCounts::new );
+
+  public SkewAwareHashPartitioner() {
+    super();
+  }
+
+  @Override
+  public Partitioner getInstance() {
+    Partitioner partitioner = new SkewAwareHashPartitioner();
+    partitioner.setId( getId() );
+    partitioner.setDescription( getDescription() );
+    return partitioner;
+  }
+
+  @Override
+  public int getPartition( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    init( rowMeta );
+    long hash = getKeyHash( rowMeta, row );
+    KeyCounts counts = keyCounts.get();
+    if ( counts.isHeavy( hash, nrPartitions ) ) {
+      return counts.nextPartition( nrPartitions );
+    }
+    return jumpConsistentHash( hash, nrPartitions );
+  }
+
+  /**
+   * The count-min sketch of the keys seen by one thread.
+   */
+  static class KeyCounts {
+    private final int[][] counters = new int[ SKETCH_DEPTH ][ SKETCH_WIDTH ];
+    private long rows;
+    private int next;
+
+    /**
+     * Counts the key.
+     *
+     * @return true if the estimated count of the key is over half of what one partition gets on average
+     */
+    boolean isHeavy( long hash, int nrPartitions ) {
+      if ( ++rows > DECAY_ROWS ) {
+        for ( int[] counter : counters ) {
+          for ( int i = 0; i < counter.length; i++ ) {
+            counter[ i ] >>>= 1;
+          }
+        }
+        rows >>>= 1;
+      }
+
+      int hash1 = (int) hash;
+      int hash2 = (int) ( hash >>> 32 );
+      int estimate = Integer.MAX_VALUE;
+      for ( int i = 0; i < SKETCH_DEPTH; i++ ) {
+        int index = ( hash1 + i * hash2 ) & ( SKETCH_WIDTH - 1 );
+        estimate = Math.min( estimate, ++counters[ i ][ index ] );
+      }
+      return nrPartitions > 1 && rows >= MINIMUM_ROWS && 2L * estimate * nrPartitions > rows;
+    }
+
+    int nextPartition( int nrPartitions ) {
+      next = ( next + 1 ) % nrPartitions;
+      return next;
+    }
+  }
+
+  @Override
+  public String getDescription() {
+    String description = "Skew-aware hash partitioner";
+    if ( !Utils.isEmpty( getFieldName() ) ) {
+      description += "(" + getFieldName() + ")";
+    }
+    return description;
+  }
+}
@@ -12,12 +12,14 @@
 
 package org.pentaho.di.trans;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.eclipse.jetty.util.ConcurrentHashSet;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.Result;
 import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.step.BaseStepData.StepExecutionStatus;
@@ -32,8 +34,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Will run the given sub-transformation with the rows passed to execute
@@ -52,6 +58,16 @@ public class SubtransExecutor {
   private Semaphore semaphore;
   private final int prefetchCount;
 
+  // sub-transformations initialized in the background, ready to run the next batches
+  private final Queue<Trans> prepared = new ConcurrentLinkedQueue<>();
+  // the sub-transformations prepared plus the ones being prepared
+  private final AtomicInteger preparing = new AtomicInteger();
+  private volatile int prepareAhead;
+
+  // every batch running at the same time takes a free lane of the stream, there are as many lanes as parallel batches
+  private final List<LaneStatistics> lanes = new CopyOnWriteArrayList<>();
+  private final Queue<LaneStatistics> freeLanes = new ConcurrentLinkedQueue<>();
+
   public SubtransExecutor( String subTransName, Trans parentTrans, TransMeta subtransMeta, boolean shareVariables,
                            TransExecutorParameters parameters, String subStep, int prefetchCount ) {
     this.subTransName = subTransName;
@@ -70,19 +86,47 @@ public class SubtransExecutor {
     if ( rows.isEmpty() || stopped ) {
       return Optional.empty();
     }
+    LaneStatistics lane = takeLane();
+    try {
+      return execute( rows, lane );
+    } finally {
+      freeLanes.add( lane );
+    }
+  }
 
-    Trans subtrans = this.createSubtrans();
+  private Optional<Result> execute( List<RowMetaAndData> rows, LaneStatistics lane ) throws KettleException {
+    long start = System.nanoTime();
+
+    // Use a sub-transformation prepared in the background if one is ready, the parameters were passed before the
+    // preparation as they don't depend on the rows.
+    Trans subtrans = prepared.poll();
+    boolean isPrepared = subtrans != null;
+    if ( isPrepared ) {
+      preparing.decrementAndGet();
+    }
+    prepareSubtrans();
+    if ( !isPrepared ) {
+      subtrans = this.createSubtrans();
+    }
     running.add( subtrans );
     parentTrans.addActiveSubTransformation( subTransName, subtrans );
 
-    // Pass parameter values
-    passParametersToTrans( subtrans, rows.get( 0 ) );
+    if ( !isPrepared ) {
+      // Pass parameter values
+      passParametersToTrans( subtrans, rows.get( 0 ) );
+    }
 
-    Result result = new Result();
+    // A prepared sub-transformation already handed its previous result to the steps in their init
+    Result result = isPrepared ? subtrans.getPreviousResult() : null;
+    if ( result == null ) {
+      result = new Result();
+      subtrans.setPreviousResult( result );
+    }
     result.setRows( rows );
-    subtrans.setPreviousResult( result );
 
-    subtrans.prepareExecution( this.parentTrans.getArguments() );
+    if ( !isPrepared ) {
+      subtrans.prepareExecution( this.parentTrans.getArguments() );
+    }
     List<RowMetaAndData> rowMetaAndData = new ArrayList<>();
     subtrans.getSteps().stream()
       .filter( c -> c.step.getStepname().equalsIgnoreCase( subStep ) )
@@ -101,6 +145,7 @@ public class SubtransExecutor {
     Result subtransResult = subtrans.getResult();
     subtransResult.setRows( rowMetaAndData  );
     releaseBufferPermits( rows.size() );
+    lane.add( rows.size(), System.nanoTime() - start );
     return Optional.of( subtransResult );
   }
 
@@ -137,6 +182,103 @@ public class SubtransExecutor {
     return subTrans;
   }
 
+  /**
+   * Keep the given number of sub-transformations initialized in the background, typically one per parallel lane, so a
+   * batch only has to start the steps. This is only possible when the parameters don't use fields and the
+   * sub-transformation is safe to initialize ahead, see {@link TransMeta#isSafeToInitializeAhead()}.
+   *
+   * @return false if the sub-transformation can't be prepared ahead
+   */
+  public boolean setPrepareAhead( int prepareAhead ) {
+    if ( prepareAhead > 0 && !isPrepareAheadPossible() ) {
+      return false;
+    }
+    this.prepareAhead = prepareAhead;
+    prepareSubtrans();
+    return true;
+  }
+
+  private boolean isPrepareAheadPossible() {
+    if ( !subtransMeta.isSafeToInitializeAhead() ) {
+      return false;
+    }
+    String[] fields = parameters.getField();
+    if ( fields != null ) {
+      for ( String field : fields ) {
+        if ( !Utils.isEmpty( Const.trim( field ) ) ) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Start preparing sub-transformations until the number to keep prepared is reached.
+   */
+  private void prepareSubtrans() {
+    while ( !stopped && preparing.get() < prepareAhead ) {
+      if ( preparing.incrementAndGet() > prepareAhead ) {
+        preparing.decrementAndGet();
+        return;
+      }
+      ExecutorUtil.getExecutor().execute( this::prepareOneSubtrans );
+    }
+  }
+
+  private void prepareOneSubtrans() {
+    try {
+      Trans subtrans = createSubtrans();
+      passParametersToTrans( subtrans, null );
+      subtrans.setPreviousResult( new Result() );
+      subtrans.prepareExecution( parentTrans.getArguments() );
+      prepared.add( subtrans );
+    } catch ( KettleException e ) {
+      // Not fatal, the batch will prepare its sub-transformation itself and report the error there.
+      preparing.decrementAndGet();
+      parentTrans.getLogChannel().logError( BaseMessages.getString( PKG, "SubtransExecutor.Log.PreparationFailed" ), e );
+    }
+    if ( stopped || prepareAhead == 0 ) {
+      discardPreparedSubtrans();
+    }
+  }
+
+  /**
+   * Stop preparing sub-transformations ahead and release the steps and connections of the ones that weren't used.
+   */
+  public void discardPreparedSubtrans() {
+    prepareAhead = 0;
+    Trans subtrans;
+    while ( ( subtrans = prepared.poll() ) != null ) {
+      preparing.decrementAndGet();
+      subtrans.cleanup();
+    }
+  }
+
+  @VisibleForTesting
+  int getPreparedSubtransCount() {
+    return prepared.size();
+  }
+
+  /**
+   * @return a lane no running batch uses, a new one if all are in use
+   */
+  private synchronized LaneStatistics takeLane() {
+    LaneStatistics laneStatistics = freeLanes.poll();
+    if ( laneStatistics == null ) {
+      laneStatistics = new LaneStatistics( lanes.size() + 1 );
+      lanes.add( laneStatistics );
+    }
+    return laneStatistics;
+  }
+
+  /**
+   * @return the statistics of the batches run so far, per lane
+   */
+  public List<LaneStatistics> getLaneStatistics() {
+    return lanes;
+  }
+
   private void passParametersToTrans( Trans internalTrans, RowMetaAndData rowMetaAndData ) throws KettleException {
     internalTrans.clearParameters();
     String[] parameterNames = internalTrans.listParameters();
@@ -170,6 +312,7 @@ public class SubtransExecutor {
 
   public void stop() {
     stopped = true;
+    discardPreparedSubtrans();
     for ( Trans subTrans : running ) {
       subTrans.stopAll();
     }
@@ -195,7 +338,77 @@ public class SubtransExecutor {
     semaphore.acquire();
   }
 
+  /**
+   * @return true if a permit was available, false if the prefetch limit is reached
+   */
+  public boolean tryAcquireBufferPermit() {
+    return semaphore.tryAcquire();
+  }
+
   public int getPrefetchCount() {
     return prefetchCount;
   }
+
+  /**
+   * @return the number of rows accepted from the source that are not part of a finished batch yet
+   */
+  public int getBufferedRowCount() {
+    return prefetchCount - semaphore.availablePermits();
+  }
+
+  /**
+   * @return true if a batch is running
+   */
+  public boolean hasRunningBatches() {
+    return !running.isEmpty();
+  }
+
+  /**
+   * The number of batches and rows run by one lane and how long the batches took. A lane runs one batch at a time.
+   */
+  public static class LaneStatistics {
+    private final int lane;
+    private long batches;
+    private long rows;
+    private long nanos;
+    private long maxNanos;
+
+    LaneStatistics( int lane ) {
+      this.lane = lane;
+    }
+
+    synchronized void add( int batchRows, long batchNanos ) {
+      batches++;
+      rows += batchRows;
+      nanos += batchNanos;
+      maxNanos = Math.max( maxNanos, batchNanos );
+    }
+
+    public int getLane() {
+      return lane;
+    }
+
+    public synchronized long getBatches() {
+      return batches;
+    }
+
+    public synchronized long getRows() {
+      return rows;
+    }
+
+    public synchronized long getAverageMillis() {
+      return batches == 0 ? 0 : nanos / batches / 1000000L;
+    }
+
+    public synchronized long getMaxMillis() {
+      return maxNanos / 1000000L;
+    }
+
+    /**
+     * @return the rows per second while the lane was running batches
+     */
+    public synchronized long getRowsPerSecond() {
+      return nanos == 0 ? 0 : rows * 1000000000L / nanos;
+    }
+  }
 }
@@ -5451,6 +5451,26 @@ public class TransMeta extends AbstractMeta
     return usingUniqueConnections;
   }
 
+  /**
+   * Checks if the transformation can be initialized while an earlier run of it is still running, like the executors do
+   * to prepare the next run. That takes separate connections per run and steps that don't change anything outside of
+   * the transformation in their init.
+   *
+   * @return true if none of the steps has side effects when it is initialized and no unique connections are used
+   * @see StepMetaInterface#isSafeToInitializeAhead()
+   */
+  public boolean isSafeToInitializeAhead() {
+    if ( isUsingUniqueConnections() ) {
+      return false;
+    }
+    for ( StepMeta stepMeta : getSteps() ) {
+      if ( !stepMeta.getStepMetaInterface().isSafeToInitializeAhead() ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Sets whether the transformation is using unique database connections.
    *
@@ -765,6 +765,9 @@ public class StepMeta extends SharedObjectBase implements Cloneable, Comparable<
       String[] output, RowMetaInterface info, VariableSpace space, Repository repository, IMetaStore metaStore ) {
     stepMetaInterface.check( remarks, transMeta, this, prev, input, output, info );
     stepMetaInterface.check( remarks, transMeta, this, prev, input, output, info, space, repository, metaStore );
+    if ( isPartitioned() ) {
+      stepPartitioningMeta.check( remarks, this );
+    }
   }
 
   @Override
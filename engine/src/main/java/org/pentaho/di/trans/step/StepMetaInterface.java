@@ -747,6 +747,18 @@ public interface StepMetaInterface {
     return false;
   }
 
+  /**
+   * True if initializing the step changes nothing outside of the transformation, so the step can be initialized while
+   * an earlier run of the same transformation is still running, like the Transformation Executor and the streaming
+   * steps do to prepare the next run. Steps that write, delete or truncate anything in their init must return false,
+   * which is the default for steps that don't declare it.
+   *
+   * @return true if the step can be initialized ahead of its run
+   */
+  default boolean isSafeToInitializeAhead() {
+    return false;
+  }
+
   /**
    * Allows for someone to fetch the related TransMeta object. Returns null if not found (or not implemented)
    * @param stepMeta StepMetaInterface object
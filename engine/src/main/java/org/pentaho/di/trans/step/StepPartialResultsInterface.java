@@ -0,0 +1,28 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.step;
+
+/**
+ * Implemented by the metadata of steps whose copies can receive rows of the same key and still give results that can
+ * be combined afterwards, for example the sums of a group by that a second group by adds up. Only such steps can be
+ * partitioned with a partitioner that spreads the rows of a key over several copies, like the
+ * {@link org.pentaho.di.trans.SkewAwareHashPartitioner}.
+ */
+public interface StepPartialResultsInterface {
+
+  /**
+   * @return true if the results of the copies can be combined with the current settings of the step
+   */
+  boolean hasCombinablePartialResults();
+}
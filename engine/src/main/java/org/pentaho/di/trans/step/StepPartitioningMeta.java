@@ -15,6 +15,8 @@ package org.pentaho.di.trans.step;
 
 import java.util.List;
 
+import org.pentaho.di.core.CheckResult;
+import org.pentaho.di.core.CheckResultInterface;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.exception.KettleException;
@@ -25,11 +27,15 @@ import org.pentaho.di.core.plugins.PluginRegistry;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.xml.XMLHandler;
 import org.pentaho.di.core.xml.XMLInterface;
+import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.partition.PartitionSchema;
 import org.pentaho.di.trans.Partitioner;
+import org.pentaho.di.trans.SkewAwareHashPartitioner;
 import org.w3c.dom.Node;
 
 public class StepPartitioningMeta implements XMLInterface, Cloneable {
+  private static Class<?> PKG = StepPartitioningMeta.class; // for i18n purposes, needed by Translator2!!
+
   public static final int PARTITIONING_METHOD_NONE = 0;
   public static final int PARTITIONING_METHOD_MIRROR = 1;
   public static final int PARTITIONING_METHOD_SPECIAL = 2;
@@ -315,6 +321,26 @@ public class StepPartitioningMeta implements XMLInterface, Cloneable {
     return 0;
   }
 
+  /**
+   * Checks that the partitioned step can handle the rows the partitioner sends to its copies.
+   *
+   * @param remarks
+   *          the list to add the remarks to
+   * @param stepMeta
+   *          the partitioned step
+   */
+  public void check( List<CheckResultInterface> remarks, StepMeta stepMeta ) {
+    if ( partitioner instanceof SkewAwareHashPartitioner ) {
+      // the rows of a heavy key are spread over all the copies
+      StepMetaInterface stepMetaInterface = stepMeta.getStepMetaInterface();
+      if ( !( stepMetaInterface instanceof StepPartialResultsInterface )
+        || !( (StepPartialResultsInterface) stepMetaInterface ).hasCombinablePartialResults() ) {
+        remarks.add( new CheckResult( CheckResultInterface.TYPE_RESULT_WARNING, BaseMessages.getString( PKG,
+          "StepPartitioningMeta.CheckResult.KeysSpreadOverCopies", partitioner.getDescription() ), stepMeta ) );
+      }
+    }
+  }
+
   public Partitioner getPartitioner() {
     return partitioner;
   }
@@ -0,0 +1,114 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterbuild;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.util.BloomFilter;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStep;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaInterface;
+
+/**
+ * Builds a Bloom filter of the keys of the input rows, see {@link BloomFilterBuildMeta}.
+ */
+public class BloomFilterBuild extends BaseStep implements StepInterface {
+  private static Class<?> PKG = BloomFilterBuildMeta.class; // for i18n purposes, needed by Translator2!!
+
+  private BloomFilterBuildMeta meta;
+  private BloomFilterBuildData data;
+
+  public BloomFilterBuild( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta,
+                           Trans trans ) {
+    super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
+  }
+
+  public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
+    meta = (BloomFilterBuildMeta) smi;
+    data = (BloomFilterBuildData) sdi;
+
+    Object[] r = getRow(); // get row, set busy!
+    if ( r == null ) {
+      // no more input: the filter is the only output row, also when there was no input at all
+      data.outputRowMeta = new RowMeta();
+      meta.getFields( data.outputRowMeta, getStepname(), null, null, this, repository, metaStore );
+      putRow( data.outputRowMeta, new Object[] { data.filter.toBytes() } );
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "BloomFilterBuild.Log.FilterBuilt", getLinesRead(),
+          data.filter.getBitCount(), data.filter.getHashCount() ) );
+      }
+      setOutputDone();
+      return false;
+    }
+
+    if ( first ) {
+      first = false;
+
+      data.keynrs = new int[meta.getKeyFields().length];
+      for ( int i = 0; i < data.keynrs.length; i++ ) {
+        data.keynrs[i] = getInputRowMeta().indexOfValue( meta.getKeyFields()[i] );
+        if ( data.keynrs[i] < 0 ) {
+          throw new KettleStepException( BaseMessages.getString(
+            PKG, "BloomFilterBuild.Exception.KeyFieldNotFound", meta.getKeyFields()[i] ) );
+        }
+      }
+    }
+
+    data.filter.add( BloomFilter.hashKey( getInputRowMeta(), r, data.keynrs ) );
+
+    if ( checkFeedback( getLinesRead() ) ) {
+      if ( log.isBasic() ) {
+        logBasic( BaseMessages.getString( PKG, "BloomFilterBuild.Log.LineNumber", getLinesRead() ) );
+      }
+    }
+
+    return true;
+  }
+
+  public boolean init( StepMetaInterface smi, StepDataInterface sdi ) {
+    meta = (BloomFilterBuildMeta) smi;
+    data = (BloomFilterBuildData) sdi;
+
+    if ( super.init( smi, sdi ) ) {
+      long expectedKeys = Const.toLong( environmentSubstitute( meta.getExpectedKeys() ), -1L );
+      double falsePositiveRate = Const.toDouble( environmentSubstitute( meta.getFalsePositiveRate() ), -1.0 );
+      if ( expectedKeys <= 0 ) {
+        logError( BaseMessages.getString( PKG, "BloomFilterBuild.Log.InvalidExpectedKeys",
+          environmentSubstitute( meta.getExpectedKeys() ) ) );
+        return false;
+      }
+      if ( !( falsePositiveRate > 0 && falsePositiveRate < 1 ) ) {
+        logError( BaseMessages.getString( PKG, "BloomFilterBuild.Log.InvalidFalsePositiveRate",
+          environmentSubstitute( meta.getFalsePositiveRate() ) ) );
+        return false;
+      }
+      data.filter = new BloomFilter( expectedKeys, falsePositiveRate );
+      return true;
+    }
+    return false;
+  }
+
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    data = (BloomFilterBuildData) sdi;
+    data.filter = null;
+    super.dispose( smi, sdi );
+  }
+}
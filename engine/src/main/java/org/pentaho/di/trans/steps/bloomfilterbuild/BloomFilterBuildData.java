@@ -0,0 +1,29 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterbuild;
+
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.BloomFilter;
+import org.pentaho.di.trans.step.BaseStepData;
+import org.pentaho.di.trans.step.StepDataInterface;
+
+public class BloomFilterBuildData extends BaseStepData implements StepDataInterface {
+  public BloomFilter filter;
+  public int[] keynrs;
+  public RowMetaInterface outputRowMeta;
+
+  public BloomFilterBuildData() {
+    super();
+  }
+}
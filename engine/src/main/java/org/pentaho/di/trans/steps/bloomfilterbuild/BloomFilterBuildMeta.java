@@ -0,0 +1,262 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterbuild;
+
+import java.util.List;
+
+import org.pentaho.di.core.CheckResult;
+import org.pentaho.di.core.CheckResultInterface;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.exception.KettleXMLException;
+import org.pentaho.di.core.injection.Injection;
+import org.pentaho.di.core.injection.InjectionSupported;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaBinary;
+import org.pentaho.di.core.variables.VariableSpace;
+import org.pentaho.di.core.xml.XMLHandler;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.repository.ObjectId;
+import org.pentaho.di.repository.Repository;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStepMeta;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaInterface;
+import org.pentaho.metastore.api.IMetaStore;
+import org.w3c.dom.Node;
+
+/**
+ * Adds the keys of all the input rows to a Bloom filter and outputs one row with the serialized filter. The filters
+ * of several step copies, or stored in a file or a table, can be merged by the Bloom filter probe step.
+ */
+@InjectionSupported( localizationPrefix = "BloomFilterBuild.Injection." )
+public class BloomFilterBuildMeta extends BaseStepMeta implements StepMetaInterface {
+  private static Class<?> PKG = BloomFilterBuildMeta.class; // for i18n purposes, needed by Translator2!!
+
+  public static final String DEFAULT_EXPECTED_KEYS = "1000000";
+  public static final String DEFAULT_FALSE_POSITIVE_RATE = "0.01";
+  public static final String DEFAULT_FILTER_FIELD = "bloom_filter";
+
+  /** The fields the key is made of */
+  @Injection( name = "KEY_FIELD" )
+  private String[] keyFields;
+
+  /** The number of distinct keys the filter is sized for */
+  @Injection( name = "EXPECTED_KEYS" )
+  private String expectedKeys;
+
+  /** The rate of absent keys reported as present, with the expected number of keys */
+  @Injection( name = "FALSE_POSITIVE_RATE" )
+  private String falsePositiveRate;
+
+  /** The name of the binary output field holding the filter */
+  @Injection( name = "FILTER_FIELD" )
+  private String filterField;
+
+  public BloomFilterBuildMeta() {
+    super(); // allocate BaseStepMeta
+  }
+
+  public String[] getKeyFields() {
+    return keyFields;
+  }
+
+  public void setKeyFields( String[] keyFields ) {
+    this.keyFields = keyFields;
+  }
+
+  /**
+   * @return the number of distinct keys the filter is sized for, can contain a variable
+   */
+  public String getExpectedKeys() {
+    return expectedKeys;
+  }
+
+  public void setExpectedKeys( String expectedKeys ) {
+    this.expectedKeys = expectedKeys;
+  }
+
+  /**
+   * @return the false positive rate the filter is sized for, between 0 and 1, can contain a variable
+   */
+  public String getFalsePositiveRate() {
+    return falsePositiveRate;
+  }
+
+  public void setFalsePositiveRate( String falsePositiveRate ) {
+    this.falsePositiveRate = falsePositiveRate;
+  }
+
+  public String getFilterField() {
+    return filterField;
+  }
+
+  public void setFilterField( String filterField ) {
+    this.filterField = filterField;
+  }
+
+  public void allocate( int nrKeys ) {
+    keyFields = new String[nrKeys];
+  }
+
+  public void loadXML( Node stepnode, List<DatabaseMeta> databases, IMetaStore metaStore ) throws KettleXMLException {
+    readData( stepnode );
+  }
+
+  public Object clone() {
+    BloomFilterBuildMeta retval = (BloomFilterBuildMeta) super.clone();
+    int nrKeys = keyFields.length;
+    retval.allocate( nrKeys );
+    System.arraycopy( keyFields, 0, retval.keyFields, 0, nrKeys );
+    return retval;
+  }
+
+  public String getXML() {
+    StringBuilder retval = new StringBuilder();
+
+    retval.append( "    " + XMLHandler.addTagValue( "expected_keys", expectedKeys ) );
+    retval.append( "    " + XMLHandler.addTagValue( "false_positive_rate", falsePositiveRate ) );
+    retval.append( "    " + XMLHandler.addTagValue( "filter_field", filterField ) );
+
+    retval.append( "    <fields>" + Const.CR );
+    for ( int i = 0; i < keyFields.length; i++ ) {
+      retval.append( "      <field>" + Const.CR );
+      retval.append( "        " + XMLHandler.addTagValue( "name", keyFields[i] ) );
+      retval.append( "      </field>" + Const.CR );
+    }
+    retval.append( "    </fields>" + Const.CR );
+
+    return retval.toString();
+  }
+
+  private void readData( Node stepnode ) throws KettleXMLException {
+    try {
+      expectedKeys = XMLHandler.getTagValue( stepnode, "expected_keys" );
+      falsePositiveRate = XMLHandler.getTagValue( stepnode, "false_positive_rate" );
+      filterField = XMLHandler.getTagValue( stepnode, "filter_field" );
+
+      Node fields = XMLHandler.getSubNode( stepnode, "fields" );
+      int nrKeys = XMLHandler.countNodes( fields, "field" );
+
+      allocate( nrKeys );
+
+      for ( int i = 0; i < nrKeys; i++ ) {
+        Node fnode = XMLHandler.getSubNodeByNr( fields, "field", i );
+        keyFields[i] = XMLHandler.getTagValue( fnode, "name" );
+      }
+    } catch ( Exception e ) {
+      throw new KettleXMLException(
+        BaseMessages.getString( PKG, "BloomFilterBuildMeta.Exception.UnableToLoadStepInfo" ), e );
+    }
+  }
+
+  public void setDefault() {
+    expectedKeys = DEFAULT_EXPECTED_KEYS;
+    falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+    filterField = DEFAULT_FILTER_FIELD;
+    allocate( 0 );
+  }
+
+  public void readRep( Repository rep, IMetaStore metaStore, ObjectId id_step, List<DatabaseMeta> databases ) throws KettleException {
+    try {
+      expectedKeys = rep.getStepAttributeString( id_step, "expected_keys" );
+      falsePositiveRate = rep.getStepAttributeString( id_step, "false_positive_rate" );
+      filterField = rep.getStepAttributeString( id_step, "filter_field" );
+
+      int nrKeys = rep.countNrStepAttributes( id_step, "field_name" );
+      allocate( nrKeys );
+      for ( int i = 0; i < nrKeys; i++ ) {
+        keyFields[i] = rep.getStepAttributeString( id_step, i, "field_name" );
+      }
+    } catch ( Exception e ) {
+      throw new KettleException( BaseMessages.getString(
+        PKG, "BloomFilterBuildMeta.Exception.UnexpectedErrorReadingStepInfo" ), e );
+    }
+  }
+
+  public void saveRep( Repository rep, IMetaStore metaStore, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
+    try {
+      rep.saveStepAttribute( id_transformation, id_step, "expected_keys", expectedKeys );
+      rep.saveStepAttribute( id_transformation, id_step, "false_positive_rate", falsePositiveRate );
+      rep.saveStepAttribute( id_transformation, id_step, "filter_field", filterField );
+      for ( int i = 0; i < keyFields.length; i++ ) {
+        rep.saveStepAttribute( id_transformation, id_step, i, "field_name", keyFields[i] );
+      }
+    } catch ( Exception e ) {
+      throw new KettleException( BaseMessages.getString( PKG, "BloomFilterBuildMeta.Exception.UnableToSaveStepInfo" )
+        + id_step, e );
+    }
+  }
+
+  /**
+   * The output is one row with the filter, the input fields are not passed on.
+   */
+  public void getFields( RowMetaInterface row, String name, RowMetaInterface[] info, StepMeta nextStep,
+                         VariableSpace space, Repository repository, IMetaStore metaStore ) throws KettleStepException {
+    row.clear();
+    ValueMetaInterface filter = new ValueMetaBinary( space.environmentSubstitute( filterField ) );
+    filter.setOrigin( name );
+    row.addValueMeta( filter );
+  }
+
+  public void check( List<CheckResultInterface> remarks, TransMeta transMeta, StepMeta stepMeta,
+                     RowMetaInterface prev, String[] input, String[] output, RowMetaInterface info, VariableSpace space,
+                     Repository repository, IMetaStore metaStore ) {
+    CheckResult cr;
+    if ( keyFields.length == 0 ) {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+        PKG, "BloomFilterBuildMeta.CheckResult.NoKeys" ), stepMeta );
+      remarks.add( cr );
+    } else if ( prev != null && prev.size() > 0 ) {
+      StringBuilder missing = new StringBuilder();
+      for ( String keyField : keyFields ) {
+        if ( prev.indexOfValue( keyField ) < 0 ) {
+          missing.append( Const.CR ).append( "\t\t" ).append( keyField );
+        }
+      }
+      if ( missing.length() > 0 ) {
+        cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+          PKG, "BloomFilterBuildMeta.CheckResult.KeysNotFound" ) + missing, stepMeta );
+      } else {
+        cr = new CheckResult( CheckResultInterface.TYPE_RESULT_OK, BaseMessages.getString(
+          PKG, "BloomFilterBuildMeta.CheckResult.KeysOK" ), stepMeta );
+      }
+      remarks.add( cr );
+    }
+
+    if ( input.length > 0 ) {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_OK, BaseMessages.getString(
+        PKG, "BloomFilterBuildMeta.CheckResult.ReceivingInput" ), stepMeta );
+    } else {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+        PKG, "BloomFilterBuildMeta.CheckResult.NoInput" ), stepMeta );
+    }
+    remarks.add( cr );
+  }
+
+  public StepInterface getStep( StepMeta stepMeta, StepDataInterface stepDataInterface, int cnr, TransMeta tr,
+                                Trans trans ) {
+    return new BloomFilterBuild( stepMeta, stepDataInterface, cnr, tr, trans );
+  }
+
+  public StepDataInterface getStepData() {
+    return new BloomFilterBuildData();
+  }
+}
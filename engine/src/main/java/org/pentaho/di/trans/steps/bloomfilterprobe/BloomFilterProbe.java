@@ -0,0 +1,176 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterprobe;
+
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.row.RowDataUtil;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.BloomFilter;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStep;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaInterface;
+
+/**
+ * Probes the keys of the input rows against a Bloom filter, see {@link BloomFilterProbeMeta}.
+ */
+public class BloomFilterProbe extends BaseStep implements StepInterface {
+  private static Class<?> PKG = BloomFilterProbeMeta.class; // for i18n purposes, needed by Translator2!!
+
+  private BloomFilterProbeMeta meta;
+  private BloomFilterProbeData data;
+
+  public BloomFilterProbe( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta,
+                           Trans trans ) {
+    super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
+  }
+
+  /**
+   * Reads all the rows of the filter step and merges their filters.
+   */
+  private boolean readFilter() throws KettleException {
+    data.infoStream = meta.getStepIOMeta().getInfoStreams().get( 0 );
+    if ( data.infoStream.getStepMeta() == null ) {
+      logError( BaseMessages.getString( PKG, "BloomFilterProbe.Log.NoFilterStepSpecified" ) );
+      return false;
+    }
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "BloomFilterProbe.Log.ReadingFilter", data.infoStream.getStepname() ) );
+    }
+
+    RowSet rowSet = findInputRowSet( data.infoStream.getStepname() );
+    int filterIndex = -1;
+    Object[] rowData = getRowFrom( rowSet );
+    while ( rowData != null ) {
+      RowMetaInterface infoMeta = rowSet.getRowMeta();
+      if ( filterIndex < 0 ) {
+        filterIndex = infoMeta.indexOfValue( environmentSubstitute( meta.getFilterField() ) );
+        if ( filterIndex < 0 ) {
+          throw new KettleStepException( BaseMessages.getString( PKG, "BloomFilterProbe.Exception.FilterFieldNotFound",
+            environmentSubstitute( meta.getFilterField() ), data.infoStream.getStepname() ) );
+        }
+      }
+
+      byte[] bytes = infoMeta.getValueMeta( filterIndex ).getBinary( rowData[filterIndex] );
+      if ( bytes != null ) {
+        if ( !BloomFilter.isBloomFilter( bytes ) ) {
+          throw new KettleStepException( BaseMessages.getString( PKG, "BloomFilterProbe.Exception.NotABloomFilter",
+            environmentSubstitute( meta.getFilterField() ) ) );
+        }
+        BloomFilter filter = BloomFilter.fromBytes( bytes );
+        if ( data.filter == null ) {
+          data.filter = filter;
+        } else {
+          try {
+            data.filter.merge( filter );
+          } catch ( IllegalArgumentException e ) {
+            throw new KettleStepException( BaseMessages.getString( PKG, "BloomFilterProbe.Exception.FilterSizes" ),
+              e );
+          }
+        }
+      }
+
+      rowData = getRowFrom( rowSet );
+    }
+
+    if ( data.filter == null && log.isBasic() ) {
+      logBasic( BaseMessages.getString( PKG, "BloomFilterProbe.Log.NoFilter", data.infoStream.getStepname() ) );
+    }
+    return true;
+  }
+
+  public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
+    meta = (BloomFilterProbeMeta) smi;
+    data = (BloomFilterProbeData) sdi;
+
+    if ( data.readFilter ) {
+      data.readFilter = false;
+
+      if ( !readFilter() ) {
+        logError( BaseMessages.getString( PKG, "BloomFilterProbe.Log.UnableToReadFilter" ) );
+        setErrors( 1 );
+        stopAll();
+        return false;
+      }
+
+      return true;
+    }
+
+    Object[] r = getRow(); // get row, set busy!
+    if ( r == null ) {
+      setOutputDone();
+      return false;
+    }
+
+    if ( first ) {
+      first = false;
+
+      data.outputRowMeta = getInputRowMeta().clone();
+      meta.getFields( data.outputRowMeta, getStepname(), null, null, this, repository, metaStore );
+      data.addResult = !Utils.isEmpty( meta.getResultField() );
+
+      data.keynrs = new int[meta.getKeyFields().length];
+      for ( int i = 0; i < data.keynrs.length; i++ ) {
+        data.keynrs[i] = getInputRowMeta().indexOfValue( meta.getKeyFields()[i] );
+        if ( data.keynrs[i] < 0 ) {
+          throw new KettleStepException( BaseMessages.getString(
+            PKG, "BloomFilterProbe.Exception.KeyFieldNotFound", meta.getKeyFields()[i] ) );
+        }
+      }
+    }
+
+    // without a filter no key was added, so none can be present
+    boolean mightContain =
+      data.filter != null && data.filter.mightContain( BloomFilter.hashKey( getInputRowMeta(), r, data.keynrs ) );
+
+    if ( data.addResult ) {
+      Object[] outputRow = RowDataUtil.addValueData( r, getInputRowMeta().size(), mightContain );
+      putRow( data.outputRowMeta, outputRow );
+    } else if ( mightContain ) {
+      putRow( data.outputRowMeta, r );
+    }
+
+    if ( checkFeedback( getLinesRead() ) ) {
+      if ( log.isBasic() ) {
+        logBasic( BaseMessages.getString( PKG, "BloomFilterProbe.Log.LineNumber", getLinesRead() ) );
+      }
+    }
+
+    return true;
+  }
+
+  public boolean init( StepMetaInterface smi, StepDataInterface sdi ) {
+    meta = (BloomFilterProbeMeta) smi;
+    data = (BloomFilterProbeData) sdi;
+
+    if ( super.init( smi, sdi ) ) {
+      data.readFilter = true;
+      return true;
+    }
+    return false;
+  }
+
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    data = (BloomFilterProbeData) sdi;
+    data.filter = null;
+    super.dispose( smi, sdi );
+  }
+}
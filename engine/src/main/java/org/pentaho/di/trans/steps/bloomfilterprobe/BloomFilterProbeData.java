@@ -0,0 +1,36 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterprobe;
+
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.BloomFilter;
+import org.pentaho.di.trans.step.BaseStepData;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.errorhandling.StreamInterface;
+
+public class BloomFilterProbeData extends BaseStepData implements StepDataInterface {
+  public boolean readFilter;
+  public StreamInterface infoStream;
+
+  /** The merge of all the filters read, null when the info step sent none */
+  public BloomFilter filter;
+
+  public int[] keynrs;
+  public RowMetaInterface outputRowMeta;
+  public boolean addResult;
+
+  public BloomFilterProbeData() {
+    super();
+  }
+}
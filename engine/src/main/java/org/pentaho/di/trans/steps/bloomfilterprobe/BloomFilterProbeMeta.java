@@ -0,0 +1,299 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterprobe;
+
+import java.util.List;
+
+import org.pentaho.di.core.CheckResult;
+import org.pentaho.di.core.CheckResultInterface;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.exception.KettleXMLException;
+import org.pentaho.di.core.injection.Injection;
+import org.pentaho.di.core.injection.InjectionSupported;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaBoolean;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.core.variables.VariableSpace;
+import org.pentaho.di.core.xml.XMLHandler;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.repository.ObjectId;
+import org.pentaho.di.repository.Repository;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStepMeta;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepIOMeta;
+import org.pentaho.di.trans.step.StepIOMetaInterface;
+import org.pentaho.di.trans.step.StepInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaInterface;
+import org.pentaho.di.trans.step.errorhandling.Stream;
+import org.pentaho.di.trans.step.errorhandling.StreamIcon;
+import org.pentaho.di.trans.step.errorhandling.StreamInterface;
+import org.pentaho.di.trans.step.errorhandling.StreamInterface.StreamType;
+import org.pentaho.metastore.api.IMetaStore;
+import org.w3c.dom.Node;
+
+/**
+ * Checks the keys of the input rows against the Bloom filters read from an info step, usually a Bloom filter build
+ * step. All the filter rows are merged before the first input row is probed. Rows whose key is certainly not in the
+ * filter are dropped, or flagged in a result field when one is set.
+ */
+@InjectionSupported( localizationPrefix = "BloomFilterProbe.Injection." )
+public class BloomFilterProbeMeta extends BaseStepMeta implements StepMetaInterface {
+  private static Class<?> PKG = BloomFilterProbeMeta.class; // for i18n purposes, needed by Translator2!!
+
+  /** The fields the key is made of, in the order they were added to the filter */
+  @Injection( name = "KEY_FIELD" )
+  private String[] keyFields;
+
+  /** The binary field of the info step holding the filter */
+  @Injection( name = "FILTER_FIELD" )
+  private String filterField;
+
+  /** The boolean field telling if the key might be in the filter, rows are dropped when it is empty */
+  @Injection( name = "RESULT_FIELD" )
+  private String resultField;
+
+  public BloomFilterProbeMeta() {
+    super(); // allocate BaseStepMeta
+  }
+
+  public String[] getKeyFields() {
+    return keyFields;
+  }
+
+  public void setKeyFields( String[] keyFields ) {
+    this.keyFields = keyFields;
+  }
+
+  public String getFilterField() {
+    return filterField;
+  }
+
+  public void setFilterField( String filterField ) {
+    this.filterField = filterField;
+  }
+
+  public String getResultField() {
+    return resultField;
+  }
+
+  public void setResultField( String resultField ) {
+    this.resultField = resultField;
+  }
+
+  public void allocate( int nrKeys ) {
+    keyFields = new String[nrKeys];
+  }
+
+  public void loadXML( Node stepnode, List<DatabaseMeta> databases, IMetaStore metaStore ) throws KettleXMLException {
+    readData( stepnode );
+  }
+
+  public Object clone() {
+    BloomFilterProbeMeta retval = (BloomFilterProbeMeta) super.clone();
+    StreamInterface thisInfoStream = getStepIOMeta().getInfoStreams().get( 0 );
+    StreamInterface thatInfoStream = retval.getStepIOMeta().getInfoStreams().get( 0 );
+    thatInfoStream.setStepMeta( thisInfoStream.getStepMeta() );
+    thatInfoStream.setSubject( thisInfoStream.getSubject() );
+
+    int nrKeys = keyFields.length;
+    retval.allocate( nrKeys );
+    System.arraycopy( keyFields, 0, retval.keyFields, 0, nrKeys );
+    return retval;
+  }
+
+  public String getXML() {
+    StringBuilder retval = new StringBuilder();
+
+    StreamInterface infoStream = getStepIOMeta().getInfoStreams().get( 0 );
+    retval.append( "    " + XMLHandler.addTagValue( "from", infoStream.getStepname() ) );
+    retval.append( "    " + XMLHandler.addTagValue( "filter_field", filterField ) );
+    retval.append( "    " + XMLHandler.addTagValue( "result_field", resultField ) );
+
+    retval.append( "    <fields>" + Const.CR );
+    for ( int i = 0; i < keyFields.length; i++ ) {
+      retval.append( "      <field>" + Const.CR );
+      retval.append( "        " + XMLHandler.addTagValue( "name", keyFields[i] ) );
+      retval.append( "      </field>" + Const.CR );
+    }
+    retval.append( "    </fields>" + Const.CR );
+
+    return retval.toString();
+  }
+
+  private void readData( Node stepnode ) throws KettleXMLException {
+    try {
+      StreamInterface infoStream = getStepIOMeta().getInfoStreams().get( 0 );
+      infoStream.setSubject( XMLHandler.getTagValue( stepnode, "from" ) );
+      filterField = XMLHandler.getTagValue( stepnode, "filter_field" );
+      resultField = XMLHandler.getTagValue( stepnode, "result_field" );
+
+      Node fields = XMLHandler.getSubNode( stepnode, "fields" );
+      int nrKeys = XMLHandler.countNodes( fields, "field" );
+
+      allocate( nrKeys );
+
+      for ( int i = 0; i < nrKeys; i++ ) {
+        Node fnode = XMLHandler.getSubNodeByNr( fields, "field", i );
+        keyFields[i] = XMLHandler.getTagValue( fnode, "name" );
+      }
+    } catch ( Exception e ) {
+      throw new KettleXMLException(
+        BaseMessages.getString( PKG, "BloomFilterProbeMeta.Exception.UnableToLoadStepInfo" ), e );
+    }
+  }
+
+  public void setDefault() {
+    filterField = "bloom_filter";
+    resultField = null;
+    allocate( 0 );
+  }
+
+  public void readRep( Repository rep, IMetaStore metaStore, ObjectId id_step, List<DatabaseMeta> databases ) throws KettleException {
+    try {
+      StreamInterface infoStream = getStepIOMeta().getInfoStreams().get( 0 );
+      infoStream.setSubject( rep.getStepAttributeString( id_step, "lookup_from_step" ) );
+      filterField = rep.getStepAttributeString( id_step, "filter_field" );
+      resultField = rep.getStepAttributeString( id_step, "result_field" );
+
+      int nrKeys = rep.countNrStepAttributes( id_step, "field_name" );
+      allocate( nrKeys );
+      for ( int i = 0; i < nrKeys; i++ ) {
+        keyFields[i] = rep.getStepAttributeString( id_step, i, "field_name" );
+      }
+    } catch ( Exception e ) {
+      throw new KettleException( BaseMessages.getString(
+        PKG, "BloomFilterProbeMeta.Exception.UnexpectedErrorReadingStepInfo" ), e );
+    }
+  }
+
+  public void saveRep( Repository rep, IMetaStore metaStore, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
+    try {
+      StreamInterface infoStream = getStepIOMeta().getInfoStreams().get( 0 );
+      rep.saveStepAttribute( id_transformation, id_step, "lookup_from_step", infoStream.getStepname() );
+      rep.saveStepAttribute( id_transformation, id_step, "filter_field", filterField );
+      rep.saveStepAttribute( id_transformation, id_step, "result_field", resultField );
+      for ( int i = 0; i < keyFields.length; i++ ) {
+        rep.saveStepAttribute( id_transformation, id_step, i, "field_name", keyFields[i] );
+      }
+    } catch ( Exception e ) {
+      throw new KettleException( BaseMessages.getString( PKG, "BloomFilterProbeMeta.Exception.UnableToSaveStepInfo" )
+        + id_step, e );
+    }
+  }
+
+  @Override
+  public void searchInfoAndTargetSteps( List<StepMeta> steps ) {
+    for ( StreamInterface stream : getStepIOMeta().getInfoStreams() ) {
+      stream.setStepMeta( StepMeta.findStep( steps, (String) stream.getSubject() ) );
+    }
+  }
+
+  public void getFields( RowMetaInterface row, String name, RowMetaInterface[] info, StepMeta nextStep,
+                         VariableSpace space, Repository repository, IMetaStore metaStore ) throws KettleStepException {
+    if ( !Utils.isEmpty( resultField ) ) {
+      ValueMetaInterface result = new ValueMetaBoolean( space.environmentSubstitute( resultField ) );
+      result.setOrigin( name );
+      row.addValueMeta( result );
+    }
+  }
+
+  public void check( List<CheckResultInterface> remarks, TransMeta transMeta, StepMeta stepMeta,
+                     RowMetaInterface prev, String[] input, String[] output, RowMetaInterface info, VariableSpace space,
+                     Repository repository, IMetaStore metaStore ) {
+    CheckResult cr;
+    if ( keyFields.length == 0 ) {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+        PKG, "BloomFilterProbeMeta.CheckResult.NoKeys" ), stepMeta );
+      remarks.add( cr );
+    } else if ( prev != null && prev.size() > 0 ) {
+      StringBuilder missing = new StringBuilder();
+      for ( String keyField : keyFields ) {
+        if ( prev.indexOfValue( keyField ) < 0 ) {
+          missing.append( Const.CR ).append( "\t\t" ).append( keyField );
+        }
+      }
+      if ( missing.length() > 0 ) {
+        cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+          PKG, "BloomFilterProbeMeta.CheckResult.KeysNotFound" ) + missing, stepMeta );
+      } else {
+        cr = new CheckResult( CheckResultInterface.TYPE_RESULT_OK, BaseMessages.getString(
+          PKG, "BloomFilterProbeMeta.CheckResult.KeysOK" ), stepMeta );
+      }
+      remarks.add( cr );
+    }
+
+    StreamInterface infoStream = getStepIOMeta().getInfoStreams().get( 0 );
+    if ( infoStream.getStepMeta() == null ) {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+        PKG, "BloomFilterProbeMeta.CheckResult.FilterStepNotSelected" ), stepMeta );
+    } else if ( info != null && info.searchValueMeta( filterField ) == null ) {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+        PKG, "BloomFilterProbeMeta.CheckResult.FilterFieldNotFound", filterField, infoStream.getStepname() ),
+        stepMeta );
+    } else {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_OK, BaseMessages.getString(
+        PKG, "BloomFilterProbeMeta.CheckResult.FilterStepOK", infoStream.getStepname() ), stepMeta );
+    }
+    remarks.add( cr );
+
+    if ( input.length > 0 ) {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_OK, BaseMessages.getString(
+        PKG, "BloomFilterProbeMeta.CheckResult.ReceivingInput" ), stepMeta );
+    } else {
+      cr = new CheckResult( CheckResultInterface.TYPE_RESULT_ERROR, BaseMessages.getString(
+        PKG, "BloomFilterProbeMeta.CheckResult.NoInput" ), stepMeta );
+    }
+    remarks.add( cr );
+  }
+
+  public StepInterface getStep( StepMeta stepMeta, StepDataInterface stepDataInterface, int cnr, TransMeta tr,
+                                Trans trans ) {
+    return new BloomFilterProbe( stepMeta, stepDataInterface, cnr, tr, trans );
+  }
+
+  public StepDataInterface getStepData() {
+    return new BloomFilterProbeData();
+  }
+
+  /**
+   * The filter is read from the info stream, the rows to probe from the other input.
+   */
+  @Override
+  public StepIOMetaInterface getStepIOMeta() {
+    StepIOMetaInterface ioMeta = super.getStepIOMeta( false );
+    if ( ioMeta == null ) {
+      ioMeta = new StepIOMeta( true, true, false, false, false, false );
+
+      StreamInterface stream =
+        new Stream( StreamType.INFO, null, BaseMessages.getString(
+          PKG, "BloomFilterProbeMeta.InfoStream.Description" ), StreamIcon.INFO, null );
+      ioMeta.addStream( stream );
+      setStepIOMeta( ioMeta );
+    }
+
+    return ioMeta;
+  }
+
+  @Override
+  public void resetStepIoMeta() {
+    // Do nothing, don't reset as there is no need to do this.
+  }
+}
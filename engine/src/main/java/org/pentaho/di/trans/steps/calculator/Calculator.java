@@ -54,6 +54,13 @@ public class Calculator extends BaseStep implements StepInterface {
     public int indexC;
   }
 
+  /**
+   * A calculation specialized for the data types of its arguments, see {@link #prepareCalculations(RowMetaInterface)}.
+   */
+  interface FastCalculation {
+    Object calculate( Object dataA, Object dataB );
+  }
+
   private CalculatorMeta meta;
   private CalculatorData data;
 
@@ -148,6 +155,8 @@ public class Calculator extends BaseStep implements StepInterface {
       for ( int i = 0; i < data.getTempIndexes().length; i++ ) {
         data.getTempIndexes()[i] = tempIndexes.get( i );
       }
+
+      prepareCalculations( getInputRowMeta() );
     }
 
     if ( log.isRowLevel() ) {
@@ -180,6 +189,115 @@ public class Calculator extends BaseStep implements StepInterface {
     return true;
   }
 
+  /**
+   * Work out everything that doesn't change from row to row, once for the whole stream:
+   * <ul>
+   * <li>the normal storage metadata of the arguments, so we don't have to clone it for every row</li>
+   * <li>temporary fields that nobody uses, those don't need to be calculated at all</li>
+   * <li>simple arithmetic on two Integer or two Number arguments, done without going through {@link ValueDataUtil}</li>
+   * </ul>
+   *
+   * @param inputRowMeta
+   *          the input row metadata
+   */
+  private void prepareCalculations( RowMetaInterface inputRowMeta ) {
+    CalculatorMetaFunction[] calculation = meta.getCalculation();
+    FieldIndexes[] fieldIndexes = data.getFieldIndexes();
+
+    data.setNormalMetasA( new ValueMetaInterface[calculation.length] );
+    data.setNormalMetasB( new ValueMetaInterface[calculation.length] );
+    data.setResultMetas( new ValueMetaInterface[calculation.length] );
+    data.setFastCalculations( new FastCalculation[calculation.length] );
+    data.setUnusedTemporaries( new boolean[calculation.length] );
+
+    for ( int i = 0; i < calculation.length; i++ ) {
+      CalculatorMetaFunction fn = calculation[i];
+      ValueMetaInterface metaA = null;
+      ValueMetaInterface metaB = null;
+      if ( fieldIndexes[i].indexA >= 0 ) {
+        metaA = data.getCalcRowMeta().getValueMeta( fieldIndexes[i].indexA ).clone();
+        metaA.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+        data.getNormalMetasA()[i] = metaA;
+      }
+      if ( fieldIndexes[i].indexB >= 0 ) {
+        metaB = data.getCalcRowMeta().getValueMeta( fieldIndexes[i].indexB ).clone();
+        metaB.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+        data.getNormalMetasB()[i] = metaB;
+      }
+
+      ValueMetaInterface targetMeta = data.getCalcRowMeta().getValueMeta( inputRowMeta.size() + i );
+      data.getFastCalculations()[i] = getFastCalculation( fn.getCalcType(), metaA, metaB, targetMeta );
+      data.getUnusedTemporaries()[i] = fn.isRemovedFromResult() && !hasSideEffects( fn.getCalcType() )
+        && !isReferenced( inputRowMeta.size() + i );
+    }
+  }
+
+  private boolean isReferenced( int index ) {
+    for ( FieldIndexes fieldIndexes : data.getFieldIndexes() ) {
+      if ( fieldIndexes.indexA == index || fieldIndexes.indexB == index || fieldIndexes.indexC == index ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * These calculations read files and can fail the step, they are always executed.
+   */
+  private static boolean hasSideEffects( int calcType ) {
+    switch ( calcType ) {
+      case CalculatorMetaFunction.CALC_CRC32:
+      case CalculatorMetaFunction.CALC_ADLER32:
+      case CalculatorMetaFunction.CALC_MD5:
+      case CalculatorMetaFunction.CALC_SHA1:
+      case CalculatorMetaFunction.CALC_LOAD_FILE_CONTENT_BINARY:
+      case CalculatorMetaFunction.CALC_CHECK_XML_FILE_WELL_FORMED:
+      case CalculatorMetaFunction.CALC_GET_FILE_ENCODING:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Addition, subtraction and multiplication of two Integer or two Number values into a field of the same type give
+   * exactly the same result as {@link ValueDataUtil} without the type dispatching and argument conversions.
+   *
+   * @return the specialized calculation or null if the generic calculation needs to be used.
+   */
+  static FastCalculation getFastCalculation( int calcType, ValueMetaInterface metaA, ValueMetaInterface metaB,
+                                             ValueMetaInterface targetMeta ) {
+    if ( metaA == null || metaB == null || targetMeta == null || metaA.getType() != metaB.getType()
+      || metaA.getType() != targetMeta.getType() ) {
+      return null;
+    }
+    if ( metaA.getType() == ValueMetaInterface.TYPE_INTEGER ) {
+      switch ( calcType ) {
+        case CalculatorMetaFunction.CALC_ADD:
+          return ( a, b ) -> a == null || b == null ? null : Long.valueOf( (Long) a + (Long) b );
+        case CalculatorMetaFunction.CALC_SUBTRACT:
+          return ( a, b ) -> a == null || b == null ? null : Long.valueOf( (Long) a - (Long) b );
+        case CalculatorMetaFunction.CALC_MULTIPLY:
+          return ( a, b ) -> a == null || b == null ? null : Long.valueOf( (Long) a * (Long) b );
+        default:
+          return null;
+      }
+    }
+    if ( metaA.getType() == ValueMetaInterface.TYPE_NUMBER ) {
+      switch ( calcType ) {
+        case CalculatorMetaFunction.CALC_ADD:
+          return ( a, b ) -> a == null || b == null ? null : Double.valueOf( (Double) a + (Double) b );
+        case CalculatorMetaFunction.CALC_SUBTRACT:
+          return ( a, b ) -> a == null || b == null ? null : Double.valueOf( (Double) a - (Double) b );
+        case CalculatorMetaFunction.CALC_MULTIPLY:
+          return ( a, b ) -> a == null || b == null ? null : Double.valueOf( (Double) a * (Double) b );
+        default:
+          return null;
+      }
+    }
+    return null;
+  }
+
   /**
    * @param inputRowMeta
    *          the input row metadata
@@ -197,6 +315,10 @@ public class Calculator extends BaseStep implements StepInterface {
     for ( int i = 0, index = inputRowMeta.size() + i; i < meta.getCalculation().length; i++, index++ ) {
       CalculatorMetaFunction fn = meta.getCalculation()[i];
       if ( !Utils.isEmpty( fn.getFieldName() ) ) {
+        if ( data.getUnusedTemporaries()[i] ) {
+          // Removed from the result and not used by any other calculation
+          continue;
+        }
         ValueMetaInterface targetMeta = data.getCalcRowMeta().getValueMeta( index );
 
         // Get the metadata & the data...
@@ -205,26 +327,28 @@ public class Calculator extends BaseStep implements StepInterface {
         Object dataA = null;
 
         if ( data.getFieldIndexes()[i].indexA >= 0 ) {
-          metaA = data.getCalcRowMeta().getValueMeta( data.getFieldIndexes()[ i ].indexA );
-          dataA = metaA.convertToNormalStorageType( calcData[ data.getFieldIndexes()[i].indexA] );
+          dataA = data.getCalcRowMeta().getValueMeta( data.getFieldIndexes()[ i ].indexA )
+            .convertToNormalStorageType( calcData[ data.getFieldIndexes()[i].indexA] );
           // We changed the storage type of the data and, thus, we need meta to have that information
           // We can't change the original meta as it refers to the original data!
-          // So we clone and change the new one.
-          metaA = metaA.clone();
-          metaA.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+          // So we use the normal storage copy made on the first row.
+          metaA = data.getNormalMetasA()[i];
         }
 
         ValueMetaInterface metaB = null;
         Object dataB = null;
 
         if ( data.getFieldIndexes()[i].indexB >= 0 ) {
-          metaB = data.getCalcRowMeta().getValueMeta( data.getFieldIndexes()[ i ].indexB );
-          dataB = metaB.convertToNormalStorageType( calcData[ data.getFieldIndexes()[i].indexB] );
-          // We changed the storage type of the data and, thus, we need meta to have that information
-          // We can't change the original meta as it refers to the original data!
-          // So we clone and change the new one.
-          metaB = metaB.clone();
-          metaB.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+          dataB = data.getCalcRowMeta().getValueMeta( data.getFieldIndexes()[ i ].indexB )
+            .convertToNormalStorageType( calcData[ data.getFieldIndexes()[i].indexB] );
+          metaB = data.getNormalMetasB()[i];
+        }
+
+        FastCalculation fastCalculation = data.getFastCalculations()[i];
+        if ( fastCalculation != null ) {
+          // Same type in, same type out: no conversion of the result needed
+          calcData[index] = fastCalculation.calculate( dataA, dataB );
+          continue;
         }
 
         ValueMetaInterface metaC = null;
@@ -621,17 +745,22 @@ public class Calculator extends BaseStep implements StepInterface {
         //
         if ( calcData[index] != null ) {
           if ( targetMeta.getType() != resultType ) {
-            ValueMetaInterface resultMeta;
-            try {
-              // clone() is not necessary as one data instance belongs to one step instance and no race condition occurs
-              resultMeta = data.getValueMetaFor( resultType, "result" );
-            } catch ( Exception exception ) {
-              throw new KettleValueException( "Error creating value" );
+            // Keep one configured result metadata per calculation: changing the masks on every row would throw
+            // away the date and number formatters it caches.
+            //
+            ValueMetaInterface resultMeta = data.getResultMetas()[i];
+            if ( resultMeta == null || resultMeta.getType() != resultType ) {
+              try {
+                resultMeta = data.getValueMetaFor( resultType, "result" ).clone();
+              } catch ( Exception exception ) {
+                throw new KettleValueException( "Error creating value" );
+              }
+              resultMeta.setConversionMask( fn.getConversionMask() );
+              resultMeta.setGroupingSymbol( fn.getGroupingSymbol() );
+              resultMeta.setDecimalSymbol( fn.getDecimalSymbol() );
+              resultMeta.setCurrencySymbol( fn.getCurrencySymbol() );
+              data.getResultMetas()[i] = resultMeta;
             }
-            resultMeta.setConversionMask( fn.getConversionMask() );
-            resultMeta.setGroupingSymbol( fn.getGroupingSymbol() );
-            resultMeta.setDecimalSymbol( fn.getDecimalSymbol() );
-            resultMeta.setCurrencySymbol( fn.getCurrencySymbol() );
             try {
               calcData[index] = targetMeta.convertData( resultMeta, calcData[index] );
             } catch ( Exception ex ) {
@@ -35,6 +35,12 @@ public class CalculatorData extends BaseStepData implements StepDataInterface {
 
   private int[] tempIndexes;
 
+  private ValueMetaInterface[] normalMetasA;
+  private ValueMetaInterface[] normalMetasB;
+  private ValueMetaInterface[] resultMetas;
+  private Calculator.FastCalculation[] fastCalculations;
+  private boolean[] unusedTemporaries;
+
   private final Map<Integer, ValueMetaInterface> resultMetaMapping;
 
   public CalculatorData() {
@@ -74,6 +80,58 @@ public class CalculatorData extends BaseStepData implements StepDataInterface {
     this.tempIndexes = tempIndexes;
   }
 
+  /**
+   * @return the metadata of the first argument of each calculation, in normal storage.
+   */
+  public ValueMetaInterface[] getNormalMetasA() {
+    return normalMetasA;
+  }
+
+  public void setNormalMetasA( ValueMetaInterface[] normalMetasA ) {
+    this.normalMetasA = normalMetasA;
+  }
+
+  /**
+   * @return the metadata of the second argument of each calculation, in normal storage.
+   */
+  public ValueMetaInterface[] getNormalMetasB() {
+    return normalMetasB;
+  }
+
+  public void setNormalMetasB( ValueMetaInterface[] normalMetasB ) {
+    this.normalMetasB = normalMetasB;
+  }
+
+  /**
+   * @return the configured metadata used to convert the result of each calculation to its target type.
+   */
+  public ValueMetaInterface[] getResultMetas() {
+    return resultMetas;
+  }
+
+  public void setResultMetas( ValueMetaInterface[] resultMetas ) {
+    this.resultMetas = resultMetas;
+  }
+
+  Calculator.FastCalculation[] getFastCalculations() {
+    return fastCalculations;
+  }
+
+  void setFastCalculations( Calculator.FastCalculation[] fastCalculations ) {
+    this.fastCalculations = fastCalculations;
+  }
+
+  /**
+   * @return for each calculation, true if it's a temporary field no other calculation uses.
+   */
+  public boolean[] getUnusedTemporaries() {
+    return unusedTemporaries;
+  }
+
+  public void setUnusedTemporaries( boolean[] unusedTemporaries ) {
+    this.unusedTemporaries = unusedTemporaries;
+  }
+
   public ValueMetaInterface getValueMetaFor( int resultType, String name ) throws KettlePluginException {
     // don't need any synchronization as data instance belongs only to one step instance
     ValueMetaInterface meta = resultMetaMapping.get( resultType );
@@ -250,4 +250,9 @@ public class CalculatorMeta extends BaseStepMeta implements StepMetaInterface {
   public StepDataInterface getStepData() {
     return new CalculatorData();
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -436,4 +436,9 @@ public class ConstantMeta extends BaseStepMeta implements StepMetaInterface {
   public StepDataInterface getStepData() {
     return new ConstantData();
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -0,0 +1,91 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.csvinput;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Finds the next byte in a buffer that is one of a few bytes (the first byte of the delimiter, the enclosure, carriage
+ * return and line feed) so the bytes in between can be skipped in one go.
+ * <p>
+ * The buffer is read 8 bytes at a time as a long. For each byte we look for, the long is XORed with the byte repeated 8
+ * times, which turns the matching bytes into zero bytes. The classic "has zero byte" bit trick then sets the high bit
+ * of the lowest zero byte, so the number of trailing zeros gives its position.
+ */
+public class CsvByteScanner {
+
+  private static final VarHandle LONG_VIEW =
+    MethodHandles.byteArrayViewVarHandle( long[].class, ByteOrder.LITTLE_ENDIAN );
+
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGHS = 0x8080808080808080L;
+
+  private final byte[] targets;
+  private final long[] patterns;
+
+  /**
+   * @param targets
+   *          the bytes to look for
+   */
+  public CsvByteScanner( byte... targets ) {
+    this.targets = targets.clone();
+    this.patterns = new long[ targets.length ];
+    for ( int i = 0; i < targets.length; i++ ) {
+      patterns[ i ] = ONES * ( targets[ i ] & 0xFF );
+    }
+  }
+
+  /**
+   * Find the first of the target bytes.
+   *
+   * @param buffer
+   *          the bytes to scan
+   * @param from
+   *          the first position to look at
+   * @param to
+   *          the position after the last one to look at
+   * @return the position of the first target byte, or to if there is none
+   */
+  public int indexOf( byte[] buffer, int from, int to ) {
+    int i = from;
+    for ( ; i + Long.BYTES <= to; i += Long.BYTES ) {
+      long word = (long) LONG_VIEW.get( buffer, i );
+      long found = 0;
+      for ( long pattern : patterns ) {
+        long x = word ^ pattern;
+        found |= ( x - ONES ) & ~x & HIGHS;
+      }
+      if ( found != 0 ) {
+        return i + ( Long.numberOfTrailingZeros( found ) >>> 3 );
+      }
+    }
+    for ( ; i < to; i++ ) {
+      if ( isTarget( buffer[ i ] ) ) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private boolean isTarget( byte b ) {
+    for ( byte target : targets ) {
+      if ( b == target ) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -673,6 +673,10 @@ public class CsvInput extends BaseStep implements StepInterface, CsvInputAwareSt
                   enclosureFound = false;
                   break;
                 }
+                if ( data.enclosedScanner != null && data.skipToNextByte( data.enclosedScanner ) ) {
+                  enclosureFound = false;
+                  break;
+                }
                 keepGoing = !data.enclosureFound();
                 if ( !keepGoing ) {
                   // We found an enclosure character.
@@ -708,6 +712,12 @@ public class CsvInput extends BaseStep implements StepInterface, CsvInputAwareSt
               endOfBuffer = true;
               break;
             }
+            // Bytes that can't start a delimiter, an enclosure or a new line are part of the field
+            //
+            if ( data.fieldScanner != null && data.skipToNextByte( data.fieldScanner ) ) {
+              endOfBuffer = true;
+              break;
+            }
           }
         }
 
@@ -964,6 +974,19 @@ public class CsvInput extends BaseStep implements StepInterface, CsvInputAwareSt
           break;
       }
 
+      // With a single byte encoding we can look for the interesting bytes 8 bytes at a time
+      //
+      if ( data.encodingType.getLength() == 1 && data.delimiter.length > 0 ) {
+        if ( data.enclosure == null ) {
+          data.fieldScanner = new CsvByteScanner( data.delimiter[ 0 ], (byte) '\r', (byte) '\n' );
+          data.enclosedScanner = null;
+        } else {
+          data.fieldScanner =
+            new CsvByteScanner( data.delimiter[ 0 ], data.enclosure[ 0 ], (byte) '\r', (byte) '\n' );
+          data.enclosedScanner = new CsvByteScanner( data.enclosure[ 0 ] );
+        }
+      }
+
       return true;
 
     }
@@ -72,6 +72,16 @@ public class CsvInputData extends BaseStepData implements StepDataInterface {
   public PatternMatcherInterface enclosureMatcher;
   public CrLfMatcherInterface crLfMatcher;
 
+  /**
+   * Finds the bytes that can start a delimiter, an enclosure or a new line, null if bytes are checked one by one
+   */
+  public CsvByteScanner fieldScanner;
+
+  /**
+   * Finds the bytes that can start an enclosure, null if bytes are checked one by one
+   */
+  public CsvByteScanner enclosedScanner;
+
   public FieldsMapping fieldsMapping;
 
   /**
@@ -192,6 +202,31 @@ public class CsvInputData extends BaseStepData implements StepDataInterface {
     return moveEndBufferPointer( true );
   }
 
+  /**
+   * Moves the endBuffer pointer to the next byte the scanner looks for, reading more data if needed.<br>
+   * The bytes skipped are counted as read.
+   *
+   * @return true if we reached the end of the data.
+   * @throws IOException
+   *           In case we get an error reading from the input file.
+   */
+  boolean skipToNextByte( CsvByteScanner scanner ) throws IOException {
+    while ( true ) {
+      int next = scanner.indexOf( byteBuffer, endBuffer, bufferSize );
+      totalBytesRead += next - endBuffer;
+      endBuffer = next;
+      if ( !endOfBuffer() ) {
+        return false;
+      }
+      if ( resizeBufferIfNeeded() ) {
+        return true;
+      }
+      if ( endOfBuffer() ) {
+        return false;
+      }
+    }
+  }
+
   void moveEndBufferPointerXTimes( int xTimes ) throws IOException {
     for ( int i = 0; i < xTimes; i++ ) {
       moveEndBufferPointer( true );
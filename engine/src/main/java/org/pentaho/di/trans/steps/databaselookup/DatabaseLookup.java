@@ -13,9 +13,12 @@
 
 package org.pentaho.di.trans.steps.databaselookup;
 
+import java.sql.ResultSet;
+import java.text.Normalizer;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -23,11 +26,13 @@ import com.google.common.annotations.VisibleForTesting;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.pentaho.di.core.Const;
+import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.database.Database;
 import org.pentaho.di.core.database.DatabaseMeta;
 import org.pentaho.di.core.exception.KettleDatabaseException;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.exception.KettleValueException;
 import org.pentaho.di.core.logging.LoggingObjectInterface;
 import org.pentaho.di.core.logging.LoggingObjectType;
 import org.pentaho.di.core.logging.SimpleLoggingObject;
@@ -38,6 +43,7 @@ import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.row.value.ValueMetaBase;
 import org.pentaho.di.core.row.value.ValueMetaFactory;
 import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.BloomFilter;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
@@ -58,6 +64,9 @@ import org.pentaho.di.trans.steps.databaselookup.readallcache.ReadAllCache;
 public class DatabaseLookup extends BaseStep implements StepInterface {
   private static Class<?> PKG = DatabaseLookupMeta.class; // for i18n purposes, needed by Translator2!!
 
+  /** The false positive rate of the Bloom filter of the table keys */
+  static final double BLOOM_FILTER_FALSE_POSITIVE_RATE = 0.01;
+
   private DatabaseLookupMeta meta;
   private DatabaseLookupData data;
 
@@ -135,16 +144,24 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
         // database when all rows
         // are in (exception LIKE
         // operator)
-        if ( log.isRowLevel() ) {
-          logRowlevel( BaseMessages.getString( PKG, "DatabaseLookup.Log.AddedValuesToLookupRow1" )
-            + meta.getStreamKeyField1().length
-            + BaseMessages.getString( PKG, "DatabaseLookup.Log.AddedValuesToLookupRow2" )
-            + data.lookupMeta.getString( lookupRow ) );
-        }
+        if ( data.keyFilter != null && !isInKeyFilter( data.lookupMeta, lookupRow ) ) {
+          // the key is certainly not in the table
+          if ( log.isRowLevel() ) {
+            logRowlevel( BaseMessages.getString( PKG, "DatabaseLookup.Log.KeyNotInBloomFilter",
+              data.lookupMeta.getString( lookupRow ) ) );
+          }
+        } else {
+          if ( log.isRowLevel() ) {
+            logRowlevel( BaseMessages.getString( PKG, "DatabaseLookup.Log.AddedValuesToLookupRow1" )
+              + meta.getStreamKeyField1().length
+              + BaseMessages.getString( PKG, "DatabaseLookup.Log.AddedValuesToLookupRow2" )
+              + data.lookupMeta.getString( lookupRow ) );
+          }
 
-        data.db.setValuesLookup( data.lookupMeta, lookupRow );
-        add = data.db.getLookup( meta.isFailingOnMultipleResults() );
-        cache_now = true;
+          data.db.setValuesLookup( data.lookupMeta, lookupRow );
+          add = data.db.getLookup( meta.isFailingOnMultipleResults() );
+          cache_now = true;
+        }
       }
     }
 
@@ -426,6 +443,12 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
       //
       if ( meta.isCached() && meta.isLoadingAllDataInCache() ) {
         loadAllTableDataIntoTheCache();
+      } else if ( meta.isUsingBloomFilter() ) {
+        if ( isKeyFilterApplicable() ) {
+          loadTableKeysIntoTheFilter();
+        } else if ( log.isBasic() ) {
+          logBasic( BaseMessages.getString( PKG, "DatabaseLookup.Log.BloomFilterNotApplicable" ) );
+        }
       }
 
     }
@@ -521,6 +544,109 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * A Bloom filter of the table keys only tells keys apart when each key field is compared with "=".
+   */
+  private boolean isKeyFilterApplicable() {
+    for ( int condition : data.conditions ) {
+      if ( condition != DatabaseLookupMeta.CONDITION_EQ ) {
+        return false;
+      }
+    }
+    return data.conditions.length > 0;
+  }
+
+  /**
+   * Reads the keys of all the table rows into a Bloom filter sized for the number of rows.
+   */
+  private void loadTableKeysIntoTheFilter() throws KettleException {
+    DatabaseMeta dbMeta = meta.getDatabaseMeta();
+    String schemaTable =
+      dbMeta.getQuotedSchemaTableCombination(
+        environmentSubstitute( meta.getSchemaName() ), environmentSubstitute( meta.getTablename() ) );
+
+    Database db = getDatabase( dbMeta );
+    connectDatabase( db );
+
+    ResultSet resultSet = null;
+    try {
+      RowMetaAndData count = db.getOneRow( "SELECT COUNT(*) FROM " + schemaTable );
+      long nrRows = count == null ? 0L : Const.NVL( count.getRowMeta().getInteger( count.getData(), 0 ), 0L );
+      BloomFilter filter = new BloomFilter( nrRows, BLOOM_FILTER_FALSE_POSITIVE_RATE );
+
+      StringBuilder sql = new StringBuilder( "SELECT " );
+      for ( int i = 0; i < meta.getTableKeyField().length; i++ ) {
+        if ( i > 0 ) {
+          sql.append( ", " );
+        }
+        sql.append( dbMeta.quoteField( meta.getTableKeyField()[ i ] ) );
+      }
+      sql.append( " FROM " ).append( schemaTable );
+
+      resultSet = db.openQuery( sql.toString() );
+      Object[] keyRow = db.getRow( resultSet );
+      RowMetaInterface keyMeta = db.getReturnRowMeta();
+      long nrKeys = 0;
+      while ( keyRow != null && !isStopped() ) {
+        // rows with a null key never match an equality
+        if ( !hasNullKey( keyMeta, keyRow ) ) {
+          filter.add( hashFilterKey( keyMeta, keyRow ) );
+          nrKeys++;
+        }
+        keyRow = db.getRow( resultSet );
+      }
+      data.keyFilter = filter;
+
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "DatabaseLookup.Log.BloomFilterLoaded", nrKeys,
+          filter.getBitCount() ) );
+      }
+    } catch ( Exception e ) {
+      throw new KettleException( e );
+    } finally {
+      if ( resultSet != null ) {
+        db.closeQuery( resultSet );
+      }
+      db.disconnect();
+    }
+  }
+
+  private boolean isInKeyFilter( RowMetaInterface keyMeta, Object[] key ) throws KettleValueException {
+    return !hasNullKey( keyMeta, key ) && data.keyFilter.mightContain( hashFilterKey( keyMeta, key ) );
+  }
+
+  private static boolean hasNullKey( RowMetaInterface keyMeta, Object[] key ) throws KettleValueException {
+    for ( int i = 0; i < keyMeta.size(); i++ ) {
+      if ( keyMeta.getValueMeta( i ).isNull( key[ i ] ) ) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Hashes a key for the Bloom filter of the table keys. Strings are trimmed on the right, stripped of their accents
+   * and lowercased first: a database collation can find such strings equal, so they must never be told apart.
+   */
+  static long hashFilterKey( RowMetaInterface keyMeta, Object[] key ) throws KettleValueException {
+    RowMetaInterface hashMeta = new RowMeta();
+    Object[] hashRow = new Object[ keyMeta.size() ];
+    int[] fieldnrs = new int[ keyMeta.size() ];
+    for ( int i = 0; i < keyMeta.size(); i++ ) {
+      ValueMetaInterface valueMeta = keyMeta.getValueMeta( i );
+      if ( valueMeta.isString() ) {
+        String normalized = Normalizer.normalize( Const.rtrim( valueMeta.getString( key[ i ] ) ), Normalizer.Form.NFD );
+        hashMeta.addValueMeta( new ValueMetaString( valueMeta.getName() ) );
+        hashRow[ i ] = normalized.replaceAll( "\\p{M}", "" ).toLowerCase( Locale.ROOT );
+      } else {
+        hashMeta.addValueMeta( valueMeta );
+        hashRow[ i ] = key[ i ];
+      }
+      fieldnrs[ i ] = i;
+    }
+    return BloomFilter.hashKey( hashMeta, hashRow, fieldnrs );
+  }
+
   private void putToDefaultCache( Database db, List<Object[]> rows ) {
     final int keysAmount = meta.getStreamKeyField1().length;
     RowMetaInterface prototype = copyValueMetasFrom( db.getReturnRowMeta(), keysAmount );
@@ -655,6 +781,7 @@ public class DatabaseLookup extends BaseStep implements StepInterface {
     // Recover memory immediately, allow in-memory data to be garbage collected
     //
     data.cache = null;
+    data.keyFilter = null;
 
     super.dispose( smi, sdi );
   }
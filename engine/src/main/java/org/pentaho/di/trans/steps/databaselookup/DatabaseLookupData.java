@@ -16,6 +16,7 @@ package org.pentaho.di.trans.steps.databaselookup;
 import org.pentaho.di.core.database.Database;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.BloomFilter;
 import org.pentaho.di.trans.step.BaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
 
@@ -40,6 +41,9 @@ public class DatabaseLookupData extends BaseStepData implements StepDataInterfac
   public int[] conditions;
   public boolean hasDBCondition;
 
+  /** The keys of the table when a Bloom filter is used, null otherwise */
+  public BloomFilter keyFilter;
+
   public DatabaseLookupData() {
     super();
 
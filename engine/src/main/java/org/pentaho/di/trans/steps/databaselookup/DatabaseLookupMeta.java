@@ -111,6 +111,9 @@ public class DatabaseLookupMeta extends BaseStepMeta implements StepMetaInterfac
   /** Flag to make it load all data into the cache at startup */
   private boolean loadingAllDataInCache;
 
+  /** Read the keys of the table into a Bloom filter at startup, keys not in it are not looked up */
+  private boolean usingBloomFilter;
+
   /** Have the lookup fail if multiple results were found, renders the orderByClause useless */
   private boolean failingOnMultipleResults;
 
@@ -386,6 +389,7 @@ public class DatabaseLookupMeta extends BaseStepMeta implements StepMetaInterfac
       databaseMeta = DatabaseMeta.findDatabase( databases, con );
       cached = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "cache" ) );
       loadingAllDataInCache = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "cache_load_all" ) );
+      usingBloomFilter = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "bloom_filter" ) );
       csize = XMLHandler.getTagValue( stepnode, "cache_size" );
       cacheSize = Const.toInt( csize, 0 );
       schemaName = XMLHandler.getTagValue( stepnode, "lookup", "schema" );
@@ -442,6 +446,7 @@ public class DatabaseLookupMeta extends BaseStepMeta implements StepMetaInterfac
     databaseMeta = null;
     cached = false;
     cacheSize = 0;
+    usingBloomFilter = false;
     schemaName = "";
     tablename = BaseMessages.getString( PKG, "DatabaseLookupMeta.Default.TableName" );
 
@@ -506,6 +511,7 @@ public class DatabaseLookupMeta extends BaseStepMeta implements StepMetaInterfac
         XMLHandler.addTagValue( "connection", databaseMeta == null ? "" : databaseMeta.getName() ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( "cache", cached ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( "cache_load_all", loadingAllDataInCache ) );
+    retval.append( "    " ).append( XMLHandler.addTagValue( "bloom_filter", usingBloomFilter ) );
     retval.append( "    " ).append( XMLHandler.addTagValue( "cache_size", cacheSize ) );
     retval.append( "    <lookup>" ).append( Const.CR );
     retval.append( "      " ).append( XMLHandler.addTagValue( "schema", schemaName ) );
@@ -545,6 +551,7 @@ public class DatabaseLookupMeta extends BaseStepMeta implements StepMetaInterfac
 
       cached = rep.getStepAttributeBoolean( id_step, "cache" );
       loadingAllDataInCache = rep.getStepAttributeBoolean( id_step, "cache_load_all" );
+      usingBloomFilter = rep.getStepAttributeBoolean( id_step, "bloom_filter" );
       cacheSize = (int) rep.getStepAttributeInteger( id_step, "cache_size" );
       schemaName = rep.getStepAttributeString( id_step, "lookup_schema" );
       tablename = rep.getStepAttributeString( id_step, "lookup_table" );
@@ -583,6 +590,7 @@ public class DatabaseLookupMeta extends BaseStepMeta implements StepMetaInterfac
       rep.saveDatabaseMetaStepAttribute( id_transformation, id_step, "id_connection", databaseMeta );
       rep.saveStepAttribute( id_transformation, id_step, "cache", cached );
       rep.saveStepAttribute( id_transformation, id_step, "cache_load_all", loadingAllDataInCache );
+      rep.saveStepAttribute( id_transformation, id_step, "bloom_filter", usingBloomFilter );
       rep.saveStepAttribute( id_transformation, id_step, "cache_size", cacheSize );
       rep.saveStepAttribute( id_transformation, id_step, "lookup_schema", schemaName );
       rep.saveStepAttribute( id_transformation, id_step, "lookup_table", tablename );
@@ -888,6 +896,23 @@ public class DatabaseLookupMeta extends BaseStepMeta implements StepMetaInterfac
     this.loadingAllDataInCache = loadingAllDataInCache;
   }
 
+  /**
+   * @return true if the keys of the table are read into a Bloom filter at startup, the keys that are certainly not in
+   *         the table are then not looked up. Only used when all the conditions are equalities and not all the data is
+   *         loaded in the cache.
+   */
+  public boolean isUsingBloomFilter() {
+    return usingBloomFilter;
+  }
+
+  /**
+   * @param usingBloomFilter
+   *          true to read the keys of the table into a Bloom filter at startup
+   */
+  public void setUsingBloomFilter( boolean usingBloomFilter ) {
+    this.usingBloomFilter = usingBloomFilter;
+  }
+
   @Override public RowMeta getRowMeta( StepDataInterface stepData ) {
     return (RowMeta) ( (DatabaseLookupData) stepData ).returnMeta;
   }
@@ -519,4 +519,9 @@ public class DataGridMeta extends BaseStepMeta implements StepMetaInterface {
   public StepMetaInjectionInterface getStepMetaInjectionInterface() {
     return new DataGridMetaInjection( this );
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -113,4 +113,8 @@ public class DummyTransMeta extends BaseStepMeta implements StepMetaInterface {
     return new DummyTransData();
   }
 
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
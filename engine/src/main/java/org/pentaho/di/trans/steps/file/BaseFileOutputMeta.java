@@ -115,6 +115,14 @@ public abstract class BaseFileOutputMeta extends BaseFileMeta {
 
   public abstract void setSplitEvery( int splitEvery );
 
+  /**
+   * @param space for variable substitution, can be null
+   * @return true if the output is split over several files, which get the split number in their names
+   */
+  public boolean isSplitting( VariableSpace space ) {
+    return getSplitEvery( space ) > 0;
+  }
+
   public boolean isFileAsCommand() {
     return fileAsCommand;
   }
@@ -193,7 +201,7 @@ public abstract class BaseFileOutputMeta extends BaseFileMeta {
         parts = 3;
       }
 
-      if ( getSplitEvery() != 0 ) {
+      if ( isSplitting( null ) ) {
         splits = 3;
       }
 
@@ -307,7 +315,7 @@ public abstract class BaseFileOutputMeta extends BaseFileMeta {
     if ( meta.isPartNrInFilename() ) {
       retval += "_" + partnr;
     }
-    if ( meta.getSplitEvery( space ) > 0 ) {
+    if ( meta.isSplitting( space ) ) {
       retval += "_" + splitnr;
     }
 
@@ -42,6 +42,7 @@ import org.pentaho.di.core.logging.LogChannelInterface;
 import org.pentaho.di.core.playlist.FilePlayListAll;
 import org.pentaho.di.core.playlist.FilePlayListReplay;
 import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.vfs.KettleVFS;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
@@ -107,9 +108,65 @@ public class TextFileInput extends BaseFileInputStep<TextFileInputMeta, TextFile
       return false;
     }
 
+    data.stepNumber = getUniqueStepNrAcrossSlaves();
+    data.totalNumberOfSteps = getUniqueStepCountAcrossSlaves();
+    data.parallel = data.totalNumberOfSteps > 1
+      && "Y".equalsIgnoreCase( getVariable( Const.KETTLE_TEXT_FILE_INPUT_PARALLEL, "N" ) );
+    if ( data.parallel ) {
+      String reason = getParallelNotPossibleReason( meta );
+      if ( reason != null ) {
+        data.parallel = false;
+        logBasic( BaseMessages.getString( PKG, "TextFileInput.Log.ParallelNotPossible", reason ) );
+      } else if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "TextFileInput.Log.Parallel", data.stepNumber + 1,
+          data.totalNumberOfSteps ) );
+      }
+    }
+
+    data.readAhead = "Y".equalsIgnoreCase( getVariable( Const.KETTLE_COMPRESSED_INPUT_READ_AHEAD, "N" ) );
+
     return true;
   }
 
+  /**
+   * The copies of the step can only share the lines of a file when every line can be processed without knowing the
+   * lines read by the other copies.
+   *
+   * @return the option that prevents reading in parallel, or null if the step can read in parallel
+   */
+  String getParallelNotPossibleReason( TextFileInputMeta meta ) {
+    if ( meta.inputFiles.acceptingFilenames ) {
+      return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.AcceptingFilenames" );
+    }
+    if ( !Utils.isEmpty( meta.content.fileCompression ) && !"None".equals( meta.content.fileCompression ) ) {
+      return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.Compression" );
+    }
+    if ( meta.content.layoutPaged || meta.content.lineWrapped ) {
+      return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.PagedLayout" );
+    }
+    if ( meta.content.footer ) {
+      return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.Footer" );
+    }
+    if ( meta.content.includeRowNumber || meta.content.rowLimit > 0 ) {
+      return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.RowNumberOrLimit" );
+    }
+    if ( !Utils.isEmpty( meta.errorHandling.lineNumberFilesDestinationDirectory )
+      || data.filePlayList != FilePlayListAll.INSTANCE ) {
+      return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.LineNumberFiles" );
+    }
+    for ( BaseFileField field : meta.inputFields ) {
+      if ( field.isRepeated() ) {
+        return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.RepeatedField", field.getName() );
+      }
+    }
+    for ( TextFileFilter filter : meta.getFilter() ) {
+      if ( filter.isFilterLastLine() ) {
+        return BaseMessages.getString( PKG, "TextFileInput.ParallelNotPossible.FilterLastLine" );
+      }
+    }
+    return null;
+  }
+
   @SuppressWarnings( "java:S1144" ) // Using reflection this method is being invoked
   public JSONObject setMinimalWidthAction( Map<String, String> queryParams ) throws JsonProcessingException {
     JSONObject jsonObject = new JSONObject();
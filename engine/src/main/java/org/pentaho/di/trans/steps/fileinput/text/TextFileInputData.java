@@ -62,6 +62,20 @@ public class TextFileInputData extends BaseFileInputStepData {
 
   public EncodingType encodingType;
 
+  /**
+   * The copies of the step read different parts of the files
+   */
+  public boolean parallel;
+
+  public int stepNumber;
+
+  public int totalNumberOfSteps;
+
+  /**
+   * Compressed files are decompressed on a background thread
+   */
+  public boolean readAhead;
+
   public TextFileInputData() {
     // linked list is better, as usually .remove(0) is applied to this list
     lineBuffer = new LinkedList<TextFileLine>();
@@ -20,6 +20,7 @@ import org.apache.commons.vfs2.FileObject;
 import org.pentaho.di.core.compress.CompressionInputStream;
 import org.pentaho.di.core.compress.CompressionProvider;
 import org.pentaho.di.core.compress.CompressionProviderFactory;
+import org.pentaho.di.core.compress.ReadAheadInputStream;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleFileException;
 import org.pentaho.di.core.logging.LogChannelInterface;
@@ -44,12 +45,22 @@ public class TextFileInputReader implements IBaseFileInputReader {
 
   private final CompressionInputStream in;
 
+  /**
+   * Decompresses the file on a background thread, null if the file isn't read ahead
+   */
+  private final ReadAheadInputStream readAhead;
+
   private final BufferedInputStreamReader isr;
 
   protected long lineInFile;
 
   private boolean first;
 
+  /**
+   * The part of the file read has header lines
+   */
+  private final boolean header;
+
   protected long lineNumberInFile;
 
   protected long linesWritten;
@@ -69,16 +80,36 @@ public class TextFileInputReader implements IBaseFileInputReader {
       log.logDetailed( "This is a compressed file being handled by the " + provider.getName() + " provider" );
     }
 
-    in = provider.createInputStream( KettleVFS.getInputStream( file ) );
+    String bomCharset = null;
+    if ( data.parallel ) {
+      // only read the part of the file that belongs to this step copy
+      TextFileRange range = TextFileRange.create( file, data.currentFileIndex, meta, data );
+      header = meta.content.header && range.getStart() == 0;
+      bomCharset = range.getBomCharset();
+      in = provider.createInputStream( range.getInputStream() );
+    } else {
+      header = meta.content.header;
+      in = provider.createInputStream( KettleVFS.getInputStream( file ) );
+    }
 
     in.nextEntry();
 
-    BufferedInputStream inStream = new BufferedInputStream( in, BUFFER_SIZE_INPUT_STREAM );
+    if ( data.readAhead && !"None".equals( provider.getName() ) ) {
+      readAhead = new ReadAheadInputStream( in );
+    } else {
+      readAhead = null;
+    }
+
+    BufferedInputStream inStream =
+      new BufferedInputStream( readAhead != null ? readAhead : in, BUFFER_SIZE_INPUT_STREAM );
     BOMDetector bom = new BOMDetector( inStream );
 
     if ( bom.bomExist() ) {
       // if BOM exist, use it instead defined charset
       isr = new BufferedInputStreamReader( new InputStreamReader( inStream, bom.getCharset() ) );
+    } else if ( bomCharset != null ) {
+      // the BOM is at the start of the file, in the part of another step copy
+      isr = new BufferedInputStreamReader( new InputStreamReader( inStream, bomCharset ) );
     } else if ( meta.getEncoding() != null && meta.getEncoding().length() > 0 ) {
       isr = new BufferedInputStreamReader( new InputStreamReader( inStream, meta.getEncoding() ) );
     } else {
@@ -92,7 +123,7 @@ public class TextFileInputReader implements IBaseFileInputReader {
   }
 
   protected void readInitial() throws Exception {
-    data.doneWithHeader = !meta.content.header;
+    data.doneWithHeader = !header;
     // /////////////////////////////////////////////////////////////////////////////
     // Read the first lines...
 
@@ -105,7 +136,7 @@ public class TextFileInputReader implements IBaseFileInputReader {
      * OK, read a number of lines in the buffer: The header rows The nr rows in the page : optional The footer rows
      */
     int bufferSize = 1;
-    bufferSize += meta.content.header ? meta.content.nrHeaderLines : 0;
+    bufferSize += header ? meta.content.nrHeaderLines : 0;
     bufferSize +=
         meta.content.layoutPaged ? meta.content.nrLinesPerPage * ( Math.max( 0, meta.content.nrWraps ) + 1 ) : Math.max(
             0, meta.content.nrWraps ); // it helps when we have wrapped input w/o header
@@ -119,7 +150,7 @@ public class TextFileInputReader implements IBaseFileInputReader {
     }
 
     for ( int i = 0; i < bufferSize && !data.doneReading; i++ ) {
-      boolean wasNotFiltered = tryToReadLine( !meta.content.header || i >= meta.content.nrHeaderLines );
+      boolean wasNotFiltered = tryToReadLine( !header || i >= meta.content.nrHeaderLines );
       if ( !wasNotFiltered ) {
         // grab another line, this one got filtered
         bufferSize++;
@@ -374,6 +405,10 @@ public class TextFileInputReader implements IBaseFileInputReader {
          * } else if ( sFileCompression != null && sFileCompression.equals( "Snappy" ) && data.sis != null ) {
          * data.sis.close(); }
          */
+        if ( readAhead != null ) {
+          // stops the background thread before the file is closed
+          BaseStep.closeQuietly( readAhead );
+        }
         if ( in != null ) {
           BaseStep.closeQuietly( in );
         }
@@ -0,0 +1,354 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.fileinput.text;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.vfs2.FileObject;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.row.value.ValueMetaBase;
+import org.pentaho.di.core.util.EnvUtil;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.core.vfs.KettleVFS;
+
+/**
+ * The part of a text file that a copy of the Text File Input step reads when the step runs in parallel.
+ * <p>
+ * A local file is cut in byte ranges of the same size, one per step copy. Every cut is moved forward to the next line
+ * feed that isn't enclosed: the number of enclosures from the start of the file up to that line feed has to be even,
+ * the same rule {@link TextFileInputUtils#getLine} uses to join lines with an enclosed line break. Without enclosure
+ * the cut is simply moved to the next line feed, without reading the file before it. The header lines always belong
+ * to the first copy. The range is read through memory mapped buffers.
+ * <p>
+ * Files that can't be cut (not local, or in an encoding where a line feed or enclosure isn't a single byte) are handed
+ * out whole to the copies in turn.
+ */
+public class TextFileRange {
+
+  /**
+   * The size of the memory mapped windows on the file.
+   */
+  static final int MAP_SIZE = 64 * 1024 * 1024;
+
+  private final long start;
+  private final long end;
+  private final String bomCharset;
+  private final InputStream inputStream;
+
+  private TextFileRange( long start, long end, String bomCharset, InputStream inputStream ) {
+    this.start = start;
+    this.end = end;
+    this.bomCharset = bomCharset;
+    this.inputStream = inputStream;
+  }
+
+  /**
+   * Find the part of a file a step copy reads.
+   *
+   * @param file
+   *          the file to read
+   * @param fileIndex
+   *          the index of the file in the list of files of the step
+   * @param meta
+   *          the step metadata
+   * @param data
+   *          the step data with the step number and the total number of steps
+   * @return the range to read, can be empty
+   * @throws IOException
+   *           in case the file can't be read
+   */
+  public static TextFileRange create( FileObject file, int fileIndex, TextFileInputMeta meta,
+    TextFileInputData data ) throws IOException {
+    boolean ownFile = fileIndex % data.totalNumberOfSteps == data.stepNumber;
+
+    if ( !"file".equals( file.getName().getScheme() ) ) {
+      return ownFile ? wholeFile( KettleVFS.getInputStream( file ) ) : empty();
+    }
+
+    FileChannel channel =
+      FileChannel.open( new File( KettleVFS.getFilename( file ) ).toPath(), StandardOpenOption.READ );
+    try {
+      long length = channel.size();
+
+      BOMDetector bom = new BOMDetector( new BufferedInputStream( new MappedInputStream( channel, 0,
+        Math.min( 16, length ) ) ) );
+      String charset = bom.bomExist() ? bom.getCharset() : meta.getEncoding();
+      int enclosure = getSingleByte( data.enclosure, charset );
+      int escape = getSingleByte( data.escapeCharacter, charset );
+
+      if ( !isSplittable( charset ) || enclosure == -2 || escape == -2 ) {
+        if ( ownFile ) {
+          return wholeFile( new MappedInputStream( channel, 0, length ) );
+        }
+        channel.close();
+        return empty();
+      }
+      if ( ValueMetaBase.convertStringToBoolean( Const.NVL( EnvUtil.getSystemProperty(
+        Const.KETTLE_COMPATIBILITY_TEXT_FILE_INPUT_USE_LENIENT_ENCLOSURE_HANDLING ), "N" ) ) ) {
+        enclosure = -1;
+      }
+
+      int headerLines = meta.content.header ? Math.max( 0, meta.content.nrHeaderLines ) : 0;
+      long[] range = findRange( channel, length, data.stepNumber, data.totalNumberOfSteps, enclosure, escape,
+        headerLines );
+      return new TextFileRange( range[ 0 ], range[ 1 ], range[ 0 ] > 0 ? bom.getCharset() : null,
+        new MappedInputStream( channel, range[ 0 ], range[ 1 ] ) );
+    } catch ( IOException | RuntimeException e ) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Find the start and end of the part of a file a step copy reads.
+   *
+   * @param channel
+   *          the file
+   * @param length
+   *          the length of the file
+   * @param stepNumber
+   *          the number of the step copy
+   * @param totalNumberOfSteps
+   *          the number of step copies
+   * @param enclosure
+   *          the enclosure byte, -1 if there is no enclosure
+   * @param escape
+   *          the escape byte, -1 if there is no escape character
+   * @param headerLines
+   *          the number of header lines in the file
+   * @return the start and end of the range
+   * @throws IOException
+   *           in case the file can't be read
+   */
+  static long[] findRange( FileChannel channel, long length, int stepNumber, int totalNumberOfSteps, int enclosure,
+    int escape, int headerLines ) throws IOException {
+    long nominalStart = length * stepNumber / totalNumberOfSteps;
+    long nominalEnd = length * ( stepNumber + 1 ) / totalNumberOfSteps;
+
+    long start = stepNumber == 0 ? 0 : -1;
+    long end = stepNumber == totalNumberOfSteps - 1 ? length : -1;
+    if ( end == length && start == 0 ) {
+      return new long[] { start, end };
+    }
+    if ( enclosure < 0 ) {
+      // Without enclosure every line feed ends a line: only the header and the lines at the cuts are read
+      //
+      long headerEnd = 0;
+      for ( int i = 0; i < headerLines; i++ ) {
+        headerEnd = nextLine( channel, length, headerEnd );
+      }
+      if ( start < 0 ) {
+        start = nextLine( channel, length, Math.max( nominalStart, headerEnd ) );
+      }
+      if ( end < 0 ) {
+        end = nextLine( channel, length, Math.max( nominalEnd, headerEnd ) );
+      }
+      return new long[] { start, Math.max( start, end ) };
+    }
+    if ( escape == enclosure ) {
+      // doubled enclosures don't change the number of enclosures being even or odd
+      escape = -1;
+    }
+
+    // Scan from the start of the file: whether a line feed is enclosed depends on everything before it
+    //
+    boolean enclosed = false;
+    int linesLeftInHeader = headerLines;
+    long position = 0;
+    int previous = -1;
+    while ( position < length && ( start < 0 || end < 0 ) ) {
+      long size = Math.min( MAP_SIZE, length - position );
+      MappedByteBuffer buffer = channel.map( FileChannel.MapMode.READ_ONLY, position, size );
+      for ( int i = 0; i < size; i++ ) {
+        int b = buffer.get( i ) & 0xFF;
+        if ( escape >= 0 && b == escape && previous == escape ) {
+          // an escaped escape character, doesn't escape what follows
+          previous = -1;
+          continue;
+        }
+        if ( b == enclosure && ( escape < 0 || previous != escape ) ) {
+          enclosed = !enclosed;
+        } else if ( b == '\n' && !enclosed ) {
+          long next = position + i + 1;
+          if ( linesLeftInHeader > 0 ) {
+            linesLeftInHeader--;
+          } else {
+            if ( start < 0 && next > nominalStart ) {
+              start = next;
+            }
+            if ( end < 0 && next > nominalEnd ) {
+              end = next;
+              break;
+            }
+          }
+        }
+        previous = b;
+      }
+      position += size;
+    }
+    if ( start < 0 ) {
+      start = length;
+    }
+    if ( end < 0 ) {
+      end = length;
+    }
+    return new long[] { start, Math.max( start, end ) };
+  }
+
+  /**
+   * @return the position after the first line feed at or after the given position, the length if there is none
+   */
+  private static long nextLine( FileChannel channel, long length, long from ) throws IOException {
+    long position = from;
+    while ( position < length ) {
+      long size = Math.min( MAP_SIZE, length - position );
+      MappedByteBuffer buffer = channel.map( FileChannel.MapMode.READ_ONLY, position, size );
+      for ( int i = 0; i < size; i++ ) {
+        if ( buffer.get( i ) == '\n' ) {
+          return position + i + 1;
+        }
+      }
+      position += size;
+    }
+    return length;
+  }
+
+  /**
+   * A file can be cut at a line feed byte when the encoding never uses the bytes of a line feed, enclosure or escape
+   * character inside another character.
+   */
+  static boolean isSplittable( String charset ) {
+    Charset cs = Utils.isEmpty( charset ) ? Charset.defaultCharset() : Charset.forName( charset );
+    return cs.equals( StandardCharsets.UTF_8 ) || cs.newEncoder().maxBytesPerChar() == 1.0f;
+  }
+
+  /**
+   * @return the single byte of a character in the charset, -1 for an empty string, -2 if it takes more than one byte
+   */
+  static int getSingleByte( String character, String charset ) {
+    if ( Utils.isEmpty( character ) ) {
+      return -1;
+    }
+    Charset cs = Utils.isEmpty( charset ) ? Charset.defaultCharset() : Charset.forName( charset );
+    byte[] bytes = character.getBytes( cs );
+    if ( bytes.length != 1 || bytes[ 0 ] == '\n' || bytes[ 0 ] == '\r' ) {
+      return -2;
+    }
+    return bytes[ 0 ] & 0xFF;
+  }
+
+  private static TextFileRange wholeFile( InputStream inputStream ) {
+    return new TextFileRange( 0, -1, null, inputStream );
+  }
+
+  private static TextFileRange empty() {
+    return new TextFileRange( 0, 0, null, new ByteArrayInputStream( new byte[ 0 ] ) );
+  }
+
+  /**
+   * @return the position of the first byte in the file, 0 for the first part of the file
+   */
+  public long getStart() {
+    return start;
+  }
+
+  /**
+   * @return the position after the last byte, -1 if the whole file is read
+   */
+  public long getEnd() {
+    return end;
+  }
+
+  /**
+   * @return the charset of the byte order mark at the start of the file when this range doesn't include it, or null
+   */
+  public String getBomCharset() {
+    return bomCharset;
+  }
+
+  /**
+   * @return the stream with the bytes of the range, closing it closes the file
+   */
+  public InputStream getInputStream() {
+    return inputStream;
+  }
+
+  /**
+   * Reads a range of a file through memory mapped windows.
+   */
+  static class MappedInputStream extends InputStream {
+    private final FileChannel channel;
+    private final long end;
+    private long position;
+    private MappedByteBuffer buffer;
+
+    MappedInputStream( FileChannel channel, long start, long end ) {
+      this.channel = channel;
+      this.position = start;
+      this.end = end;
+    }
+
+    private boolean ensureBuffer() throws IOException {
+      if ( buffer != null && buffer.hasRemaining() ) {
+        return true;
+      }
+      if ( position >= end ) {
+        return false;
+      }
+      long size = Math.min( MAP_SIZE, end - position );
+      buffer = channel.map( FileChannel.MapMode.READ_ONLY, position, size );
+      position += size;
+      return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return ensureBuffer() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read( byte[] b, int off, int len ) throws IOException {
+      if ( len == 0 ) {
+        return 0;
+      }
+      if ( !ensureBuffer() ) {
+        return -1;
+      }
+      int n = Math.min( len, buffer.remaining() );
+      buffer.get( b, off, n );
+      return n;
+    }
+
+    @Override
+    public int available() {
+      long remaining = ( buffer == null ? 0 : buffer.remaining() ) + ( end - position );
+      return (int) Math.min( Integer.MAX_VALUE, remaining );
+    }
+
+    @Override
+    public void close() throws IOException {
+      buffer = null;
+      channel.close();
+    }
+  }
+}
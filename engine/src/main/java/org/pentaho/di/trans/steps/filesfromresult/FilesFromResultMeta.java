@@ -119,4 +119,8 @@ public class FilesFromResultMeta extends BaseStepMeta implements StepMetaInterfa
     return new FilesFromResultData();
   }
 
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
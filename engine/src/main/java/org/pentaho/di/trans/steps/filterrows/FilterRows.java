@@ -15,6 +15,7 @@ package org.pentaho.di.trans.steps.filterrows;
 
 import java.util.List;
 
+import org.pentaho.di.core.CompiledCondition;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.exception.KettleException;
@@ -48,6 +49,9 @@ public class FilterRows extends BaseStep implements StepInterface {
 
   private synchronized boolean keepRow( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
     try {
+      if ( data.compiledCondition != null ) {
+        return data.compiledCondition.evaluate( row );
+      }
       return meta.getCondition().evaluate( rowMeta, row );
     } catch ( Exception e ) {
       String message =
@@ -81,6 +85,10 @@ public class FilterRows extends BaseStep implements StepInterface {
       // if filter refers to non-existing fields, throw exception
       checkNonExistingFields();
 
+      // Resolve field positions, constants and comparisons once for the whole stream.
+      //
+      data.compiledCondition = CompiledCondition.compile( meta.getCondition(), getInputRowMeta() );
+
       // Cache the position of the RowSet for the output.
       //
       if ( data.chosesTargetSteps ) {
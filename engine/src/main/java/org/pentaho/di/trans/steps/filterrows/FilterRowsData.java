@@ -13,6 +13,7 @@
 
 package org.pentaho.di.trans.steps.filterrows;
 
+import org.pentaho.di.core.CompiledCondition;
 import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.trans.step.BaseStepData;
@@ -31,6 +32,7 @@ public class FilterRowsData extends BaseStepData implements StepDataInterface {
   public boolean chosesTargetSteps;
   public String trueStepname;
   public String falseStepname;
+  public CompiledCondition compiledCondition;
 
   public FilterRowsData() {
     super();
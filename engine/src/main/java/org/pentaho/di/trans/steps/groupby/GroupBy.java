@@ -43,11 +43,13 @@ import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueDataUtil;
 import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.row.value.ValueMetaBase;
+import org.pentaho.di.core.row.value.ValueMetaBinary;
 import org.pentaho.di.core.row.value.ValueMetaFactory;
 import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaNone;
 import org.pentaho.di.core.row.value.ValueMetaNumber;
 import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.HyperLogLog;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.vfs.KettleVFS;
 import org.pentaho.di.i18n.BaseMessages;
@@ -472,6 +474,10 @@ public class GroupBy extends BaseStep implements StepInterface {
             }
           }
           break;
+        case GroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX:
+        case GroupByMeta.TYPE_GROUP_DISTINCT_SKETCH:
+          ( (HyperLogLog) value ).add( subjMeta, subj );
+          break;
         case GroupByMeta.TYPE_GROUP_COUNT_ALL:
           if ( !subjMeta.isNull( subj ) ) {
             data.counts[ i ]++;
@@ -614,6 +620,14 @@ public class GroupBy extends BaseStep implements StepInterface {
         case GroupByMeta.TYPE_GROUP_COUNT_ALL:
           vMeta = new ValueMetaInteger( meta.getAggregateField()[ i ] );
           break;
+        case GroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX:
+          vMeta = new ValueMetaInteger( meta.getAggregateField()[ i ] );
+          v = new HyperLogLog( getSketchPrecision( i ) );
+          break;
+        case GroupByMeta.TYPE_GROUP_DISTINCT_SKETCH:
+          vMeta = new ValueMetaBinary( meta.getAggregateField()[ i ] );
+          v = new HyperLogLog( getSketchPrecision( i ) );
+          break;
         case GroupByMeta.TYPE_GROUP_FIRST:
         case GroupByMeta.TYPE_GROUP_LAST:
         case GroupByMeta.TYPE_GROUP_FIRST_INCL_NULL:
@@ -640,7 +654,9 @@ public class GroupBy extends BaseStep implements StepInterface {
       if ( ( subjMeta != null )
           && ( aggType != GroupByMeta.TYPE_GROUP_COUNT_ALL
           && aggType != GroupByMeta.TYPE_GROUP_COUNT_DISTINCT
-          && aggType != GroupByMeta.TYPE_GROUP_COUNT_ANY ) ) {
+          && aggType != GroupByMeta.TYPE_GROUP_COUNT_ANY
+          && aggType != GroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX
+          && aggType != GroupByMeta.TYPE_GROUP_DISTINCT_SKETCH ) ) {
         vMeta.setLength( subjMeta.getLength(), subjMeta.getPrecision() );
       }
       data.agg[ i ] = v;
@@ -658,6 +674,15 @@ public class GroupBy extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * @return the precision of the HyperLogLog sketch of an aggregate, given in its value field
+   */
+  private int getSketchPrecision( int i ) {
+    int precision = Const.toInt( Const.trim( environmentSubstitute( meta.getValueField()[ i ] ) ),
+      HyperLogLog.DEFAULT_PRECISION );
+    return Math.max( HyperLogLog.MIN_PRECISION, Math.min( HyperLogLog.MAX_PRECISION, precision ) );
+  }
+
   private Object[] buildResult( Object[] r ) throws KettleValueException {
     Object[] result = null;
     if ( r != null || meta.isAlwaysGivingBackOneRow() ) {
@@ -738,6 +763,12 @@ public class GroupBy extends BaseStep implements StepInterface {
           break;
         case GroupByMeta.TYPE_GROUP_COUNT_DISTINCT:
           break;
+        case GroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX:
+          ag = ( (HyperLogLog) ag ).estimate();
+          break;
+        case GroupByMeta.TYPE_GROUP_DISTINCT_SKETCH:
+          ag = ( (HyperLogLog) ag ).toBytes();
+          break;
         case GroupByMeta.TYPE_GROUP_MIN:
           break;
         case GroupByMeta.TYPE_GROUP_MAX:
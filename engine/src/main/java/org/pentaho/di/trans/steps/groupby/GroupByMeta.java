@@ -42,6 +42,7 @@ import org.pentaho.di.trans.step.StepInterface;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.step.StepMetaInjectionInterface;
 import org.pentaho.di.trans.step.StepMetaInterface;
+import org.pentaho.di.trans.step.StepPartialResultsInterface;
 import org.pentaho.metastore.api.IMetaStore;
 import org.w3c.dom.Node;
 
@@ -49,7 +50,7 @@ import org.w3c.dom.Node;
  * Created on 02-jun-2003
  */
 
-public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
+public class GroupByMeta extends BaseStepMeta implements StepMetaInterface, StepPartialResultsInterface {
   private static Class<?> PKG = GroupByMeta.class; // for i18n purposes, needed by Translator2!!
 
   public static final int TYPE_GROUP_NONE = 0;
@@ -94,11 +95,15 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
 
   public static final int TYPE_GROUP_PERCENTILE_NEAREST_RANK = 20;
 
+  public static final int TYPE_GROUP_COUNT_DISTINCT_APPROX = 21;
+
+  public static final int TYPE_GROUP_DISTINCT_SKETCH = 22;
+
   public static final String[] typeGroupCode = /* WARNING: DO NOT TRANSLATE THIS. WE ARE SERIOUS, DON'T TRANSLATE! */
   {
     "-", "SUM", "AVERAGE", "MEDIAN", "PERCENTILE", "MIN", "MAX", "COUNT_ALL", "CONCAT_COMMA", "FIRST", "LAST",
     "FIRST_INCL_NULL", "LAST_INCL_NULL", "CUM_SUM", "CUM_AVG", "STD_DEV", "CONCAT_STRING", "COUNT_DISTINCT",
-    "COUNT_ANY", "STD_DEV_SAMPLE", "PERCENTILE_NEAREST_RANK" };
+    "COUNT_ANY", "STD_DEV_SAMPLE", "PERCENTILE_NEAREST_RANK", "COUNT_DISTINCT_APPROX", "DISTINCT_SKETCH" };
 
   public static final String[] typeGroupLongDesc = {
     "-", BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.SUM" ),
@@ -120,7 +125,9 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
     BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.COUNT_DISTINCT" ),
     BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.COUNT_ANY" ),
     BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.STANDARD_DEVIATION_SAMPLE" ),
-    BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.PERCENTILE_NEAREST_RANK" )
+    BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.PERCENTILE_NEAREST_RANK" ),
+    BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.COUNT_DISTINCT_APPROX" ),
+    BaseMessages.getString( PKG, "GroupByMeta.TypeGroupLongDesc.DISTINCT_SKETCH" )
   };
 
 
@@ -249,6 +256,31 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
     this.aggregateType = aggregateType;
   }
 
+  /**
+   * The sums, minimums, maximums, counts and distinct sketches of several copies can be combined afterwards, the other
+   * aggregates can't.
+   */
+  @Override
+  public boolean hasCombinablePartialResults() {
+    if ( passAllRows ) {
+      return false;
+    }
+    for ( int type : aggregateType ) {
+      switch ( type ) {
+        case TYPE_GROUP_SUM:
+        case TYPE_GROUP_MIN:
+        case TYPE_GROUP_MAX:
+        case TYPE_GROUP_COUNT_ALL:
+        case TYPE_GROUP_COUNT_ANY:
+        case TYPE_GROUP_DISTINCT_SKETCH:
+          break;
+        default:
+          return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * @return Returns the groupField.
    */
@@ -373,7 +405,8 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
         aggregateType[ i ] = getType( XMLHandler.getTagValue( fnode, "type" ) );
 
         if ( aggregateType[ i ] == TYPE_GROUP_COUNT_ALL
-            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[ i ] == TYPE_GROUP_COUNT_ANY ) {
+            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[ i ] == TYPE_GROUP_COUNT_ANY
+            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT_APPROX ) {
           hasNumberOfValues = true;
         }
 
@@ -483,8 +516,12 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
           case TYPE_GROUP_COUNT_DISTINCT:
           case TYPE_GROUP_COUNT_ANY:
           case TYPE_GROUP_COUNT_ALL:
+          case TYPE_GROUP_COUNT_DISTINCT_APPROX:
             valueType = ValueMetaInterface.TYPE_INTEGER;
             break;
+          case TYPE_GROUP_DISTINCT_SKETCH:
+            valueType = ValueMetaInterface.TYPE_BINARY;
+            break;
           case TYPE_GROUP_CONCAT_COMMA:
             valueType = ValueMetaInterface.TYPE_STRING;
             break;
@@ -509,7 +546,8 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
           precision = -1;
           length = -1;
         } else if ( aggregateType[ i ] == TYPE_GROUP_COUNT_ALL
-            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[ i ] == TYPE_GROUP_COUNT_ANY ) {
+            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[ i ] == TYPE_GROUP_COUNT_ANY
+            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT_APPROX ) {
           length = ValueMetaInterface.DEFAULT_INTEGER_LENGTH;
           precision = 0;
         } else if ( aggregateType[ i ] == TYPE_GROUP_SUM
@@ -621,7 +659,8 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
         aggregateType[ i ] = getType( rep.getStepAttributeString( id_step, i, "aggregate_type" ) );
 
         if ( aggregateType[ i ] == TYPE_GROUP_COUNT_ALL
-            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[ i ] == TYPE_GROUP_COUNT_ANY ) {
+            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[ i ] == TYPE_GROUP_COUNT_ANY
+            || aggregateType[ i ] == TYPE_GROUP_COUNT_DISTINCT_APPROX ) {
           hasNumberOfValues = true;
         }
         valueField[ i ] = rep.getStepAttributeString( id_step, i, "aggregate_value_field" );
@@ -773,4 +812,9 @@ public class GroupByMeta extends BaseStepMeta implements StepMetaInterface {
   public TransMeta.TransformationType[] getSupportedTransformationTypes() {
     return new TransMeta.TransformationType[] { TransMeta.TransformationType.Normal };
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -0,0 +1,391 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.hashjoin;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.row.RowDataUtil;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.HashUtil;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStep;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaInterface;
+import org.pentaho.di.trans.step.errorhandling.StreamInterface;
+
+/**
+ * Joins two unsorted streams on their key fields. The second stream is read into memory first, then the rows of the
+ * first stream are looked up in it as they arrive.
+ * <p>
+ * When the second stream holds more rows than allowed in memory both streams are split in {@link #NR_PARTITIONS}
+ * partitions on the hash of the key and written to temporary files. Rows with the same key end up in the same
+ * partition, so the partitions can be joined one at a time. A partition that still does not fit is split again, up to
+ * {@link #MAX_DEPTH} times.
+ */
+public class HashJoin extends BaseStep implements StepInterface {
+  private static Class<?> PKG = HashJoinMeta.class; // for i18n purposes, needed by Translator2!!
+
+  /** The number of partitions the streams are split in, the top 4 bits of the partitioning hash */
+  static final int NR_PARTITIONS = 16;
+
+  /** The number of times a partition is split again before it is joined in memory anyway */
+  static final int MAX_DEPTH = 4;
+
+  private HashJoinMeta meta;
+  private HashJoinData data;
+
+  public HashJoin( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta,
+    Trans trans ) {
+    super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
+  }
+
+  public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
+    meta = (HashJoinMeta) smi;
+    data = (HashJoinData) sdi;
+
+    Object[] one;
+    if ( first ) {
+      first = false;
+
+      List<StreamInterface> infoStreams = meta.getStepIOMeta().getInfoStreams();
+      data.oneRowSet = findRowSet( infoStreams.get( 0 ).getStepname() );
+      data.twoRowSet = findRowSet( infoStreams.get( 1 ).getStepname() );
+
+      readSecondStream( infoStreams.get( 1 ).getStepname() );
+
+      one = getRowFrom( data.oneRowSet );
+      if ( one != null ) {
+        data.oneMeta = data.oneRowSet.getRowMeta();
+      } else {
+        data.oneMeta = getTransMeta().getStepFields( infoStreams.get( 0 ).getStepname() );
+      }
+      data.keyNrs1 = findKeys( data.oneMeta, meta.getKeyFields1() );
+      checkKeyTypes();
+
+      // just for speed: oneMeta+twoMeta
+      //
+      data.outputRowMeta = new RowMeta();
+      data.outputRowMeta.mergeRowMeta( data.oneMeta.clone() );
+      data.outputRowMeta.mergeRowMeta( data.twoMeta.clone() );
+    } else {
+      one = getRowFrom( data.oneRowSet );
+    }
+
+    if ( one == null ) {
+      joinRemainingRows();
+      setOutputDone();
+      return false;
+    }
+
+    HashJoinTable.Key key = data.table.getKey( data.oneMeta, data.keyNrs1, one );
+    if ( data.partitions != null ) {
+      data.partitions[ getPartition( key, 0 ) ].writeProbeRow( data.oneMeta, one );
+    } else {
+      joinRow( key, one );
+    }
+
+    if ( checkFeedback( getLinesRead() ) ) {
+      logBasic( BaseMessages.getString( PKG, "HashJoin.Log.LineNumber" ) + getLinesRead() );
+    }
+
+    return true;
+  }
+
+  private RowSet findRowSet( String stepname ) throws KettleException {
+    RowSet rowSet = findInputRowSet( stepname );
+    if ( rowSet == null ) {
+      throw new KettleException( BaseMessages.getString(
+        PKG, "HashJoin.Exception.UnableToFindSpecifiedStep", stepname ) );
+    }
+    return rowSet;
+  }
+
+  /**
+   * Reads all the rows of the second stream in the hash table, or in the partitions once they don't fit.
+   */
+  private void readSecondStream( String stepname ) throws KettleException {
+    Object[] two = getRowFrom( data.twoRowSet );
+    if ( two != null ) {
+      data.twoMeta = data.twoRowSet.getRowMeta();
+    } else {
+      data.twoMeta = getTransMeta().getStepFields( stepname );
+    }
+    data.keyNrs2 = findKeys( data.twoMeta, meta.getKeyFields2() );
+    data.table = new HashJoinTable( HashJoinTable.getKeyMetas( data.twoMeta, data.keyNrs2 ) );
+
+    while ( two != null && !isStopped() ) {
+      HashJoinTable.Key key = data.table.getKey( data.twoMeta, data.keyNrs2, two );
+      if ( data.partitions != null ) {
+        data.partitions[ getPartition( key, 0 ) ].writeBuildRow( data.twoMeta, two );
+      } else {
+        data.table.add( key, two );
+        if ( data.table.getRowCount() > data.rowsInMemory ) {
+          spillTable();
+        }
+      }
+      two = getRowFrom( data.twoRowSet );
+    }
+  }
+
+  /**
+   * Moves the rows of the second stream from memory to the partitions on disk.
+   */
+  private void spillTable() throws KettleException {
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString(
+        PKG, "HashJoin.Log.PartitioningToDisk", String.valueOf( data.rowsInMemory ), data.directory ) );
+    }
+    final HashJoinPartition[] partitions = createPartitions( 0 );
+    data.partitions = partitions;
+    data.table.drain( ( key, row ) -> partitions[ getPartition( key, 0 ) ].writeBuildRow( data.twoMeta, row ) );
+  }
+
+  private int[] findKeys( RowMetaInterface rowMeta, String[] keyFields ) throws KettleStepException {
+    int[] keyNrs = new int[ keyFields.length ];
+    for ( int i = 0; i < keyNrs.length; i++ ) {
+      keyNrs[ i ] = rowMeta.indexOfValue( keyFields[ i ] );
+      if ( keyNrs[ i ] < 0 ) {
+        String message =
+          BaseMessages.getString( PKG, "HashJoin.Exception.UnableToFindFieldInReferenceStream", keyFields[ i ] );
+        logError( message );
+        throw new KettleStepException( message );
+      }
+    }
+    return keyNrs;
+  }
+
+  /**
+   * The keys are hashed and compared by their values, so they need to be of the same type in both streams.
+   */
+  private void checkKeyTypes() throws KettleStepException {
+    if ( data.keyNrs1.length != data.keyNrs2.length ) {
+      throw new KettleStepException( BaseMessages.getString( PKG, "HashJoin.Exception.InvalidKeyLayoutDetected" ) );
+    }
+    for ( int i = 0; i < data.keyNrs1.length; i++ ) {
+      if ( data.oneMeta.getValueMeta( data.keyNrs1[ i ] ).getType()
+        != data.twoMeta.getValueMeta( data.keyNrs2[ i ] ).getType() ) {
+        throw new KettleStepException( BaseMessages.getString( PKG, "HashJoin.Exception.InvalidKeyLayoutDetected" ) );
+      }
+    }
+  }
+
+  /**
+   * Picks the partition of a key. Every depth mixes the key hash differently, so a partition that is split again
+   * spreads its rows over all of the new partitions.
+   */
+  private static int getPartition( HashJoinTable.Key key, int depth ) {
+    return (int) ( HashUtil.hash64( ( (long) depth << 32 ) | ( key.getHash() & 0xffffffffL ) ) >>> 60 );
+  }
+
+  private HashJoinPartition[] createPartitions( int depth ) {
+    HashJoinPartition[] partitions = new HashJoinPartition[ NR_PARTITIONS ];
+    for ( int i = 0; i < NR_PARTITIONS; i++ ) {
+      partitions[ i ] = new HashJoinPartition( depth, data.directory, data.prefix, getTransMeta() );
+    }
+    return partitions;
+  }
+
+  /**
+   * Joins a row of the first stream with the rows of the second stream in memory.
+   */
+  private void joinRow( HashJoinTable.Key key, Object[] one ) throws KettleException {
+    List<Object[]> matches = data.table.match( key );
+    if ( matches != null ) {
+      for ( Object[] two : matches ) {
+        putRow( data.outputRowMeta, join( one, two ) );
+      }
+    } else if ( data.two_optional ) {
+      putRow( data.outputRowMeta, join( one, null ) );
+    }
+  }
+
+  private Object[] join( Object[] one, Object[] two ) {
+    Object[] outputRowData = RowDataUtil.allocateRowData( data.outputRowMeta.size() );
+    if ( one != null ) {
+      System.arraycopy( one, 0, outputRowData, 0, data.oneMeta.size() );
+    }
+    if ( two != null ) {
+      System.arraycopy( two, 0, outputRowData, data.oneMeta.size(), data.twoMeta.size() );
+    }
+    return outputRowData;
+  }
+
+  private void putUnmatchedRows() throws KettleException {
+    if ( data.one_optional ) {
+      for ( Object[] two : data.table.getUnmatchedRows() ) {
+        putRow( data.outputRowMeta, join( null, two ) );
+      }
+    }
+    data.table.clear();
+  }
+
+  /**
+   * Called once the first stream is done: outputs the rows of the second stream that were never matched, or joins
+   * the partitions on disk.
+   */
+  private void joinRemainingRows() throws KettleException {
+    if ( data.partitions == null ) {
+      putUnmatchedRows();
+      return;
+    }
+    for ( HashJoinPartition partition : data.partitions ) {
+      data.pendingPartitions.add( partition );
+    }
+    data.partitions = null;
+
+    while ( !data.pendingPartitions.isEmpty() && !isStopped() ) {
+      HashJoinPartition partition = data.pendingPartitions.poll();
+      try {
+        joinPartition( partition );
+      } finally {
+        partition.delete();
+      }
+    }
+  }
+
+  private void joinPartition( HashJoinPartition partition ) throws KettleException {
+    partition.closeOutputs();
+    if ( ( partition.getBuildRows() == 0 && !data.two_optional )
+      || ( partition.getProbeRows() == 0 && !data.one_optional ) ) {
+      // nothing of this partition makes it to the output
+      return;
+    }
+
+    if ( partition.getBuildRows() > data.rowsInMemory ) {
+      if ( partition.getDepth() < MAX_DEPTH ) {
+        splitPartition( partition );
+        return;
+      }
+      logBasic( BaseMessages.getString( PKG, "HashJoin.Log.PartitionTooLarge",
+        String.valueOf( partition.getBuildRows() ), String.valueOf( MAX_DEPTH ) ) );
+    }
+
+    try {
+      if ( partition.getBuildRows() > 0 ) {
+        try ( DataInputStream input = partition.openBuildRows() ) {
+          for ( long n = 0; n < partition.getBuildRows() && !isStopped(); n++ ) {
+            Object[] two = data.twoMeta.readData( input );
+            data.table.add( data.table.getKey( data.twoMeta, data.keyNrs2, two ), two );
+          }
+        }
+      }
+      if ( partition.getProbeRows() > 0 ) {
+        try ( DataInputStream input = partition.openProbeRows() ) {
+          for ( long n = 0; n < partition.getProbeRows() && !isStopped(); n++ ) {
+            Object[] one = data.oneMeta.readData( input );
+            joinRow( data.table.getKey( data.oneMeta, data.keyNrs1, one ), one );
+          }
+        }
+      }
+    } catch ( IOException e ) {
+      throw new KettleException( e );
+    }
+    putUnmatchedRows();
+  }
+
+  /**
+   * Splits a partition that is too large to join in memory into partitions of the next depth.
+   */
+  private void splitPartition( HashJoinPartition partition ) throws KettleException {
+    int depth = partition.getDepth() + 1;
+    HashJoinPartition[] partitions = createPartitions( depth );
+    for ( HashJoinPartition newPartition : partitions ) {
+      data.pendingPartitions.add( newPartition );
+    }
+    try {
+      if ( partition.getBuildRows() > 0 ) {
+        try ( DataInputStream input = partition.openBuildRows() ) {
+          for ( long n = 0; n < partition.getBuildRows() && !isStopped(); n++ ) {
+            Object[] two = data.twoMeta.readData( input );
+            HashJoinTable.Key key = data.table.getKey( data.twoMeta, data.keyNrs2, two );
+            partitions[ getPartition( key, depth ) ].writeBuildRow( data.twoMeta, two );
+          }
+        }
+      }
+      if ( partition.getProbeRows() > 0 ) {
+        try ( DataInputStream input = partition.openProbeRows() ) {
+          for ( long n = 0; n < partition.getProbeRows() && !isStopped(); n++ ) {
+            Object[] one = data.oneMeta.readData( input );
+            HashJoinTable.Key key = data.table.getKey( data.oneMeta, data.keyNrs1, one );
+            partitions[ getPartition( key, depth ) ].writeProbeRow( data.oneMeta, one );
+          }
+        }
+      }
+    } catch ( IOException e ) {
+      throw new KettleException( e );
+    }
+  }
+
+  /**
+   * @see StepInterface#init(org.pentaho.di.trans.step.StepMetaInterface , org.pentaho.di.trans.step.StepDataInterface)
+   */
+  public boolean init( StepMetaInterface smi, StepDataInterface sdi ) {
+    meta = (HashJoinMeta) smi;
+    data = (HashJoinData) sdi;
+
+    if ( !super.init( smi, sdi ) ) {
+      return false;
+    }
+    List<StreamInterface> infoStreams = meta.getStepIOMeta().getInfoStreams();
+    if ( infoStreams.get( 0 ).getStepMeta() == null || infoStreams.get( 1 ).getStepMeta() == null ) {
+      logError( BaseMessages.getString( PKG, "HashJoin.Log.BothStreamsNeeded" ) );
+      return false;
+    }
+
+    data.rowsInMemory = Math.max( 1L, Const.toLong( environmentSubstitute( meta.getRowsInMemory() ),
+      Long.parseLong( HashJoinMeta.DEFAULT_ROWS_IN_MEMORY ) ) );
+    data.directory = environmentSubstitute( Const.NVL( meta.getDirectory(), "%%java.io.tmpdir%%" ) );
+    data.prefix = environmentSubstitute( Const.NVL( meta.getPrefix(), "hashjoin" ) );
+
+    String joinType = meta.getJoinType();
+    for ( int i = 0; i < HashJoinMeta.join_types.length; ++i ) {
+      if ( HashJoinMeta.join_types[i].equalsIgnoreCase( joinType ) ) {
+        data.one_optional = HashJoinMeta.one_optionals[i];
+        data.two_optional = HashJoinMeta.two_optionals[i];
+        return true;
+      }
+    }
+    logError( BaseMessages.getString( PKG, "HashJoin.Log.InvalidJoinType", meta.getJoinType() ) );
+    return false;
+  }
+
+  @Override
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    data = (HashJoinData) sdi;
+    if ( data.partitions != null ) {
+      for ( HashJoinPartition partition : data.partitions ) {
+        partition.delete();
+      }
+      data.partitions = null;
+    }
+    while ( !data.pendingPartitions.isEmpty() ) {
+      data.pendingPartitions.poll().delete();
+    }
+    if ( data.table != null ) {
+      data.table.clear();
+    }
+    super.dispose( smi, sdi );
+  }
+}
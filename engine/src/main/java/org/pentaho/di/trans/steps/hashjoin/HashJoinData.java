@@ -0,0 +1,56 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.hashjoin;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.trans.step.BaseStepData;
+import org.pentaho.di.trans.step.StepDataInterface;
+
+public class HashJoinData extends BaseStepData implements StepDataInterface {
+  public RowMetaInterface oneMeta, twoMeta;
+  public RowMetaInterface outputRowMeta; // just for speed: oneMeta+twoMeta
+  public boolean one_optional, two_optional;
+  public int[] keyNrs1;
+  public int[] keyNrs2;
+
+  public RowSet oneRowSet;
+  public RowSet twoRowSet;
+
+  /** The maximum number of rows of the second stream kept in memory */
+  public long rowsInMemory;
+  public String directory;
+  public String prefix;
+
+  /** The rows of the second stream being joined */
+  HashJoinTable table;
+
+  /** The partitions on disk once the second stream does not fit in memory, null as long as it does */
+  HashJoinPartition[] partitions;
+
+  /** The partitions left to join at the end */
+  Deque<HashJoinPartition> pendingPartitions = new ArrayDeque<>();
+
+  public HashJoinData() {
+    super();
+    one_optional = false;
+    two_optional = false;
+    keyNrs1 = null;
+    keyNrs2 = null;
+  }
+
+}
@@ -0,0 +1,161 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.hashjoin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.commons.vfs2.FileObject;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.variables.VariableSpace;
+import org.pentaho.di.core.vfs.KettleVFS;
+
+/**
+ * One hash partition of both streams of the join, written to a temporary file per stream when they do not fit in
+ * memory. The files are only created once a row is written to them.
+ */
+class HashJoinPartition {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final int depth;
+  private final String directory;
+  private final String prefix;
+  private final VariableSpace space;
+
+  private FileObject buildFile;
+  private DataOutputStream buildOutput;
+  private long buildRows;
+
+  private FileObject probeFile;
+  private DataOutputStream probeOutput;
+  private long probeRows;
+
+  /**
+   * @param depth
+   *          the number of times the rows were partitioned to end up here, starting at 0
+   * @param directory
+   *          the directory of the temporary files, variables already substituted
+   */
+  HashJoinPartition( int depth, String directory, String prefix, VariableSpace space ) {
+    this.depth = depth;
+    this.directory = directory;
+    this.prefix = prefix;
+    this.space = space;
+  }
+
+  int getDepth() {
+    return depth;
+  }
+
+  long getBuildRows() {
+    return buildRows;
+  }
+
+  long getProbeRows() {
+    return probeRows;
+  }
+
+  void writeBuildRow( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    if ( buildOutput == null ) {
+      buildFile = createFile();
+      buildOutput = open( buildFile );
+    }
+    rowMeta.writeData( buildOutput, row );
+    buildRows++;
+  }
+
+  void writeProbeRow( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    if ( probeOutput == null ) {
+      probeFile = createFile();
+      probeOutput = open( probeFile );
+    }
+    rowMeta.writeData( probeOutput, row );
+    probeRows++;
+  }
+
+  /**
+   * Flushes and closes the files, after this the rows can be read back.
+   */
+  void closeOutputs() throws KettleException {
+    try {
+      if ( buildOutput != null ) {
+        buildOutput.close();
+        buildOutput = null;
+      }
+      if ( probeOutput != null ) {
+        probeOutput.close();
+        probeOutput = null;
+      }
+    } catch ( IOException e ) {
+      throw new KettleException( e );
+    }
+  }
+
+  DataInputStream openBuildRows() throws KettleException {
+    return openInput( buildFile );
+  }
+
+  DataInputStream openProbeRows() throws KettleException {
+    return openInput( probeFile );
+  }
+
+  /**
+   * Closes and removes the files, never throws as it is called on the way out.
+   */
+  void delete() {
+    try {
+      closeOutputs();
+    } catch ( KettleException e ) {
+      // the files are removed anyway
+    }
+    buildFile = deleteFile( buildFile );
+    probeFile = deleteFile( probeFile );
+  }
+
+  private FileObject createFile() throws KettleException {
+    return KettleVFS.createTempFile( prefix, ".tmp", directory, space );
+  }
+
+  private static DataOutputStream open( FileObject file ) throws KettleException {
+    try {
+      return new DataOutputStream( new BufferedOutputStream( KettleVFS.getOutputStream( file, false ), BUFFER_SIZE ) );
+    } catch ( IOException e ) {
+      throw new KettleException( e );
+    }
+  }
+
+  private static DataInputStream openInput( FileObject file ) throws KettleException {
+    try {
+      return new DataInputStream( new BufferedInputStream( KettleVFS.getInputStream( file ), BUFFER_SIZE ) );
+    } catch ( IOException e ) {
+      throw new KettleException( e );
+    }
+  }
+
+  private static FileObject deleteFile( FileObject file ) {
+    if ( file != null ) {
+      try {
+        file.delete();
+      } catch ( IOException e ) {
+        // a temporary file, nothing to do about it
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,243 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.hashjoin;
+
+import java.math.BigDecimal;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+
+/**
+ * The in memory side of the hash join: the rows of the second stream grouped by their key.
+ * <p>
+ * Keys are compared the way the key fields of the second stream compare their values, so two null keys match like
+ * they do in the Merge Join step. The hash of a key is computed from the same normalized values: strings compared with
+ * a collator are hashed through a primary strength collation key of the same locale, strings compared ignoring the case
+ * are folded character by character the way {@link String#compareToIgnoreCase(String)} does.
+ */
+class HashJoinTable {
+
+  /** The key fields of the second stream in normal storage */
+  private final ValueMetaInterface[] keyMetas;
+
+  /** The collators hashing the string keys compared with a collator, null for the other keys */
+  private final Collator[] collators;
+
+  private final Map<Key, Bucket> buckets = new HashMap<>();
+
+  private long rowCount;
+
+  HashJoinTable( ValueMetaInterface[] keyMetas ) {
+    this.keyMetas = keyMetas;
+    this.collators = new Collator[ keyMetas.length ];
+    for ( int i = 0; i < keyMetas.length; i++ ) {
+      if ( keyMetas[ i ].isString() && !keyMetas[ i ].isCollatorDisabled() ) {
+        // values equal at the strength of the field are equal at the primary strength too
+        Locale locale = keyMetas[ i ].getCollatorLocale();
+        collators[ i ] = Collator.getInstance( locale == null ? Locale.getDefault() : locale );
+        collators[ i ].setStrength( Collator.PRIMARY );
+      }
+    }
+  }
+
+  /**
+   * @return the key fields of the given stream in normal storage, the metadata keys are compared with
+   */
+  static ValueMetaInterface[] getKeyMetas( RowMetaInterface rowMeta, int[] keyNrs ) {
+    ValueMetaInterface[] keyMetas = new ValueMetaInterface[ keyNrs.length ];
+    for ( int i = 0; i < keyNrs.length; i++ ) {
+      keyMetas[ i ] = rowMeta.getValueMeta( keyNrs[ i ] ).clone();
+      keyMetas[ i ].setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+    }
+    return keyMetas;
+  }
+
+  /**
+   * Reads the key of a row of either stream.
+   */
+  Key getKey( RowMetaInterface rowMeta, int[] keyNrs, Object[] row ) throws KettleValueException {
+    Object[] values = new Object[ keyNrs.length ];
+    int hash = 0;
+    for ( int i = 0; i < keyNrs.length; i++ ) {
+      values[ i ] = rowMeta.getValueMeta( keyNrs[ i ] ).convertToNormalStorageType( row[ keyNrs[ i ] ] );
+      hash = 31 * hash + hashCode( i, values[ i ] );
+    }
+    return new Key( values, hash );
+  }
+
+  void add( Key key, Object[] row ) {
+    Bucket bucket = buckets.get( key );
+    if ( bucket == null ) {
+      bucket = new Bucket();
+      buckets.put( key, bucket );
+    }
+    bucket.rows.add( row );
+    rowCount++;
+  }
+
+  /**
+   * @return the rows of the second stream with the key, marked as matched, or null if there are none
+   */
+  List<Object[]> match( Key key ) {
+    Bucket bucket = buckets.get( key );
+    if ( bucket == null ) {
+      return null;
+    }
+    bucket.matched = true;
+    return bucket.rows;
+  }
+
+  /**
+   * @return the rows of the second stream whose key was never matched
+   */
+  List<Object[]> getUnmatchedRows() {
+    List<Object[]> rows = new ArrayList<>();
+    for ( Bucket bucket : buckets.values() ) {
+      if ( !bucket.matched ) {
+        rows.addAll( bucket.rows );
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Hands every row to the consumer and empties the table, used to move the rows to disk.
+   */
+  void drain( RowConsumer consumer ) throws KettleException {
+    Iterator<Map.Entry<Key, Bucket>> iterator = buckets.entrySet().iterator();
+    while ( iterator.hasNext() ) {
+      Map.Entry<Key, Bucket> entry = iterator.next();
+      for ( Object[] row : entry.getValue().rows ) {
+        consumer.accept( entry.getKey(), row );
+      }
+      iterator.remove();
+    }
+    rowCount = 0;
+  }
+
+  long getRowCount() {
+    return rowCount;
+  }
+
+  void clear() {
+    buckets.clear();
+    rowCount = 0;
+  }
+
+  /**
+   * Hashes a normalized value of a key field consistently with {@link ValueMetaInterface#compare(Object, Object)}.
+   */
+  private int hashCode( int keyIndex, Object value ) throws KettleValueException {
+    ValueMetaInterface valueMeta = keyMetas[ keyIndex ];
+    if ( valueMeta.isNull( value ) ) {
+      // an empty string can be null too
+      return 0;
+    }
+    if ( value instanceof String ) {
+      String string = (String) value;
+      if ( valueMeta.isIgnoreWhitespace() ) {
+        string = string.trim();
+      }
+      if ( collators[ keyIndex ] != null ) {
+        return Arrays.hashCode( collators[ keyIndex ].getCollationKey( string ).toByteArray() );
+      }
+      if ( valueMeta.isCaseInsensitive() ) {
+        return foldCase( string ).hashCode();
+      }
+      return string.hashCode();
+    }
+    if ( value instanceof BigDecimal ) {
+      // 1.0 and 1.00 are the same number
+      return ( (BigDecimal) value ).stripTrailingZeros().hashCode();
+    }
+    if ( value instanceof Date ) {
+      return Long.hashCode( ( (Date) value ).getTime() );
+    }
+    if ( value instanceof byte[] ) {
+      return Arrays.hashCode( (byte[]) value );
+    }
+    return value.hashCode();
+  }
+
+  /**
+   * Folds the case of every character like {@link String#compareToIgnoreCase(String)} does, which unlike
+   * {@link String#toLowerCase()} never changes the length of the string nor depends on the default locale.
+   */
+  static String foldCase( String string ) {
+    StringBuilder folded = new StringBuilder( string.length() );
+    string.codePoints().forEach( codePoint -> folded.appendCodePoint(
+      Character.toLowerCase( Character.toUpperCase( codePoint ) ) ) );
+    return folded.toString();
+  }
+
+  interface RowConsumer {
+    void accept( Key key, Object[] row ) throws KettleException;
+  }
+
+  private static class Bucket {
+    private final List<Object[]> rows = new ArrayList<>( 1 );
+    private boolean matched;
+  }
+
+  class Key {
+    private final Object[] values;
+    private final int hash;
+
+    private Key( Object[] values, int hash ) {
+      this.values = values;
+      this.hash = hash;
+    }
+
+    int getHash() {
+      return hash;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals( Object obj ) {
+      if ( !( obj instanceof Key ) ) {
+        return false;
+      }
+      Key other = (Key) obj;
+      if ( hash != other.hash ) {
+        return false;
+      }
+      try {
+        for ( int i = 0; i < values.length; i++ ) {
+          if ( keyMetas[ i ].compare( values[ i ], other.values[ i ] ) != 0 ) {
+            return false;
+          }
+        }
+        return true;
+      } catch ( KettleValueException e ) {
+        throw new IllegalStateException( e );
+      }
+    }
+  }
+}
@@ -71,6 +71,12 @@ public class HTTP extends BaseStep implements StepInterface {
   }
 
   private Object[] execHttp( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    resolveArguments( rowMeta );
+
+    return callHttpService( rowMeta, row );
+  }
+
+  private void resolveArguments( RowMetaInterface rowMeta ) throws KettleException {
     if ( first ) {
       first = false;
       data.argnrs = new int[ meta.getArgumentField().length ];
@@ -84,12 +90,44 @@ public class HTTP extends BaseStep implements StepInterface {
         }
       }
     }
-
-    return callHttpService( rowMeta, row );
   }
 
   @VisibleForTesting
   Object[] callHttpService( RowMetaInterface rowMeta, Object[] rowData ) throws KettleException {
+    return callHttpService( rowMeta, rowData, createHttpGet( rowMeta, rowData ) );
+  }
+
+  /**
+   * Builds the request of a row. The values of the row are converted to strings here, on the step thread, since the
+   * value metadata of the row can't be used from the threads of the request pipeline.
+   */
+  private HttpGet createHttpGet( RowMetaInterface rowMeta, Object[] rowData ) throws KettleException {
+    URI uri = null;
+    try {
+      URIBuilder uriBuilder = constructUrlBuilder( rowMeta, rowData );
+
+      uri = uriBuilder.build();
+      HttpGet method = new HttpGet( uri );
+
+      // Add Custom HTTP headers
+      if ( data.useHeaderParameters ) {
+        for ( int i = 0; i < data.header_parameters_nrs.length; i++ ) {
+          String value = data.inputRowMeta.getString( rowData, data.header_parameters_nrs[ i ] );
+          method.addHeader( data.headerParameters[ i ].getName(), value );
+          if ( isDebug() ) {
+            log.logDebug( BaseMessages.getString( PKG, "HTTPDialog.Log.HeaderValue",
+              data.headerParameters[ i ].getName(), value ) );
+          }
+        }
+      }
+      return method;
+    } catch ( Exception e ) {
+      throw new KettleException( BaseMessages.getString( PKG, "HTTP.Log.UnableGetResult", uri ), e );
+    }
+  }
+
+  private Object[] callHttpService( RowMetaInterface rowMeta, Object[] rowData, HttpGet method )
+    throws KettleException {
     HttpClientManager.HttpClientBuilderFacade clientBuilder = HttpClientManager.getInstance().createBuilder();
 
     if ( data.realConnectionTimeout > -1 ) {
@@ -107,27 +145,8 @@ public class HTTP extends BaseStep implements StepInterface {
 
     CloseableHttpClient httpClient = clientBuilder.build();
 
-    // Prepare HTTP get
-    URI uri = null;
+    URI uri = method.getURI();
     try {
-      URIBuilder uriBuilder = constructUrlBuilder( rowMeta, rowData );
-
-      uri = uriBuilder.build();
-      HttpGet method = new HttpGet( uri );
-
-      // Add Custom HTTP headers
-      if ( data.useHeaderParameters ) {
-        for ( int i = 0; i < data.header_parameters_nrs.length; i++ ) {
-          method.addHeader( data.headerParameters[ i ].getName(), data.inputRowMeta.getString( rowData,
-            data.header_parameters_nrs[ i ] ) );
-          if ( isDebug() ) {
-            log.logDebug( BaseMessages.getString( PKG, "HTTPDialog.Log.HeaderValue",
-              data.headerParameters[ i ].getName(), data.inputRowMeta
-                .getString( rowData, data.header_parameters_nrs[ i ] ) ) );
-          }
-        }
-      }
-
       Object[] newRow = null;
       if ( rowData != null ) {
         newRow = rowData.clone();
@@ -285,6 +304,12 @@ public class HTTP extends BaseStep implements StepInterface {
 
     Object[] r = getRow(); // Get row from input rowset & set row busy!
     if ( r == null ) { // no more input to be expected...
+      // wait for the requests still in flight
+      while ( data.pipeline != null && !data.pipeline.isEmpty() ) {
+        if ( !putResult( data.pipeline.takeOldest() ) ) {
+          return false;
+        }
+      }
       setOutputDone();
       return false;
     }
@@ -343,35 +368,79 @@ public class HTTP extends BaseStep implements StepInterface {
 
     } // end if first
 
-    try {
-      Object[] outputRowData = execHttp( getInputRowMeta(), r ); // add new values to the row
-      putRow( data.outputRowMeta, outputRowData ); // copy row to output rowset(s);
+    if ( data.pipeline != null ) {
+      RowMetaInterface rowMeta = getInputRowMeta();
+      resolveArguments( rowMeta );
+      HttpGet method;
+      try {
+        method = createHttpGet( rowMeta, r );
+      } catch ( KettleException e ) {
+        return handleError( r, e );
+      }
+      // only the request and the response run on the pipeline
+      data.pipeline.submit( r, () -> callHttpService( rowMeta, r, method ) );
 
-      if ( checkFeedback( getLinesRead() ) ) {
-        if ( isDetailed() ) {
-          logDetailed( BaseMessages.getString( PKG, "HTTP.LineNumber" ) + getLinesRead() );
+      // pass on the rows of the requests that are done, in order
+      while ( data.pipeline.isFull() || data.pipeline.isOldestDone() ) {
+        if ( !putResult( data.pipeline.takeOldest() ) ) {
+          return false;
         }
       }
+      return true;
+    }
+
+    try {
+      Object[] outputRowData = execHttp( getInputRowMeta(), r ); // add new values to the row
+      putOutputRow( outputRowData );
     } catch ( KettleException e ) {
-      boolean sendToErrorRow = false;
-      String errorMessage = null;
+      return handleError( r, e );
+    }
 
-      if ( getStepMeta().isDoingErrorHandling() ) {
-        sendToErrorRow = true;
-        errorMessage = e.toString();
-      } else {
-        logError( BaseMessages.getString( PKG, "HTTP.ErrorInStepRunning" ) + e.getMessage() );
-        setErrors( 1 );
-        stopAll();
-        setOutputDone(); // signal end to receiver(s)
-        return false;
-      }
-      if ( sendToErrorRow ) {
-        // Simply add this row to the error row
-        putError( getInputRowMeta(), r, 1, errorMessage, null, "HTTP001" );
+    return true;
+  }
+
+  private boolean putResult( RequestPipeline.Result<Object[]> result ) throws KettleException {
+    if ( result.getError() != null ) {
+      return handleError( result.getRow(), result.getError() );
+    }
+    putOutputRow( result.getValue() );
+    return true;
+  }
+
+  private void putOutputRow( Object[] outputRowData ) throws KettleException {
+    putRow( data.outputRowMeta, outputRowData ); // copy row to output rowset(s);
+
+    if ( checkFeedback( getLinesRead() ) ) {
+      if ( isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "HTTP.LineNumber" ) + getLinesRead() );
       }
     }
+  }
 
+  /**
+   * @return false if the step stops because of the error
+   */
+  private boolean handleError( Object[] r, KettleException e ) throws KettleException {
+    boolean sendToErrorRow = false;
+    String errorMessage = null;
+
+    if ( getStepMeta().isDoingErrorHandling() ) {
+      sendToErrorRow = true;
+      errorMessage = e.toString();
+    } else {
+      logError( BaseMessages.getString( PKG, "HTTP.ErrorInStepRunning" ) + e.getMessage() );
+      if ( data.pipeline != null ) {
+        data.pipeline.cancel();
+      }
+      setErrors( 1 );
+      stopAll();
+      setOutputDone(); // signal end to receiver(s)
+      return false;
+    }
+    if ( sendToErrorRow ) {
+      // Simply add this row to the error row
+      putError( getInputRowMeta(), r, 1, errorMessage, null, "HTTP001" );
+    }
     return true;
   }
 
@@ -389,6 +458,12 @@ public class HTTP extends BaseStep implements StepInterface {
       data.realSocketTimeout = Const.toInt( environmentSubstitute( meta.getSocketTimeout() ), -1 );
       data.realConnectionTimeout = Const.toInt( environmentSubstitute( meta.getSocketTimeout() ), -1 );
 
+      int maxInFlight = Const.toInt( getVariable( Const.KETTLE_HTTP_MAX_IN_FLIGHT ), 1 );
+      int retries = Const.toInt( getVariable( Const.KETTLE_HTTP_RETRIES ), 0 );
+      if ( maxInFlight > 1 || retries > 0 ) {
+        data.pipeline = new RequestPipeline<>( maxInFlight, retries, RequestPipeline.DEFAULT_BACKOFF_MILLIS );
+      }
+
       return true;
     }
     return false;
@@ -398,6 +473,10 @@ public class HTTP extends BaseStep implements StepInterface {
     meta = (HTTPMeta) smi;
     data = (HTTPData) sdi;
 
+    if ( data.pipeline != null ) {
+      data.pipeline.cancel();
+    }
+
     super.dispose( smi, sdi );
   }
 
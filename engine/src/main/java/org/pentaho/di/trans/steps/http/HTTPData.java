@@ -40,6 +40,11 @@ public class HTTPData extends BaseStepData implements StepDataInterface {
   public int realConnectionTimeout;
   public int realcloseIdleConnectionsTime;
 
+  /**
+   * The requests in flight, null if the rows are called one at a time
+   */
+  public RequestPipeline<Object[]> pipeline;
+
   /**
    * Default constructor.
    */
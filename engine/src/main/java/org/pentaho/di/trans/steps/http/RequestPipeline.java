@@ -0,0 +1,181 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.http;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.util.ExecutorUtil;
+
+/**
+ * Keeps a number of requests of a step in flight on background threads and hands back their results in the order of
+ * the rows.
+ * <p>
+ * A request that fails because of an I/O error, like a refused connection or a timeout, is tried again after a pause
+ * that doubles every time.
+ *
+ * @param <T>
+ *          the result of a request
+ */
+public class RequestPipeline<T> {
+
+  public static final long DEFAULT_BACKOFF_MILLIS = 100;
+
+  public interface Request<T> {
+    T execute() throws KettleException;
+  }
+
+  public static class Result<T> {
+    private final Object[] row;
+    private final T value;
+    private final KettleException error;
+
+    Result( Object[] row, T value, KettleException error ) {
+      this.row = row;
+      this.value = value;
+      this.error = error;
+    }
+
+    /**
+     * @return the input row of the request
+     */
+    public Object[] getRow() {
+      return row;
+    }
+
+    public T getValue() {
+      return value;
+    }
+
+    /**
+     * @return the error of the request, or null if it succeeded
+     */
+    public KettleException getError() {
+      return error;
+    }
+  }
+
+  private static class Pending<T> {
+    private final Object[] row;
+    private final Future<T> future;
+
+    Pending( Object[] row, Future<T> future ) {
+      this.row = row;
+      this.future = future;
+    }
+  }
+
+  private final int maxInFlight;
+  private final int maxRetries;
+  private final long backoffMillis;
+  private final Deque<Pending<T>> inFlight = new ArrayDeque<>();
+
+  /**
+   * @param maxInFlight
+   *          the number of requests executed at the same time
+   * @param maxRetries
+   *          the number of times a request is tried again after an I/O error
+   * @param backoffMillis
+   *          the pause before the first retry
+   */
+  public RequestPipeline( int maxInFlight, int maxRetries, long backoffMillis ) {
+    this.maxInFlight = Math.max( 1, maxInFlight );
+    this.maxRetries = Math.max( 0, maxRetries );
+    this.backoffMillis = backoffMillis;
+  }
+
+  public void submit( Object[] row, Request<T> request ) {
+    inFlight.add( new Pending<>( row, ExecutorUtil.getExecutor().submit( () -> executeWithRetries( request ) ) ) );
+  }
+
+  /**
+   * @return true if the result of the oldest request has to be taken before another one is submitted
+   */
+  public boolean isFull() {
+    return inFlight.size() >= maxInFlight;
+  }
+
+  public boolean isEmpty() {
+    return inFlight.isEmpty();
+  }
+
+  /**
+   * @return true if the result of the oldest request can be taken without waiting
+   */
+  public boolean isOldestDone() {
+    return !inFlight.isEmpty() && inFlight.peek().future.isDone();
+  }
+
+  /**
+   * Waits for the oldest request to finish.
+   *
+   * @return the result of the oldest request
+   */
+  public Result<T> takeOldest() throws KettleException {
+    Pending<T> pending = inFlight.poll();
+    try {
+      return new Result<>( pending.row, pending.future.get(), null );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    } catch ( ExecutionException e ) {
+      Throwable cause = e.getCause();
+      return new Result<>( pending.row, null,
+        cause instanceof KettleException ? (KettleException) cause : new KettleException( cause ) );
+    }
+  }
+
+  /**
+   * Stops waiting for the requests in flight, their results are lost.
+   */
+  public void cancel() {
+    for ( Pending<T> pending : inFlight ) {
+      pending.future.cancel( true );
+    }
+    inFlight.clear();
+  }
+
+  T executeWithRetries( Request<T> request ) throws KettleException {
+    long backoff = backoffMillis;
+    for ( int retry = 0;; retry++ ) {
+      try {
+        return request.execute();
+      } catch ( KettleException e ) {
+        if ( retry >= maxRetries || !isIOError( e ) ) {
+          throw e;
+        }
+      }
+      try {
+        Thread.sleep( backoff );
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        throw new KettleException( e );
+      }
+      backoff *= 2;
+    }
+  }
+
+  private static boolean isIOError( Throwable e ) {
+    for ( Throwable cause = e; cause != null; cause = cause.getCause() ) {
+      if ( cause instanceof IOException ) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
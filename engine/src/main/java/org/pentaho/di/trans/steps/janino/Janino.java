@@ -152,14 +152,11 @@ public class Janino extends BaseStep implements StepInterface {
           if ( !Utils.isEmpty( fn.getFieldName() ) ) {
 
             // Create the expression evaluator: is relatively slow so we do it only for the first row...
+            // The cooked evaluators are shared by all copies and executions using the same formula.
             //
-            data.expressionEvaluators[m] = new ExpressionEvaluator();
-            data.expressionEvaluators[m].setParameters(
+            data.expressionEvaluators[m] = JaninoExpressionCache.getExpressionEvaluator( fn.getFormula(),
               parameterNames.toArray( new String[parameterNames.size()] ), parameterTypes
-                .toArray( new Class<?>[parameterTypes.size()] ) );
-            data.expressionEvaluators[m].setReturnType( Object.class );
-            data.expressionEvaluators[m].setThrownExceptions( new Class<?>[] { Exception.class } );
-            data.expressionEvaluators[m].cook( fn.getFormula() );
+                .toArray( new Class<?>[parameterTypes.size()] ), Object.class, log );
           } else {
             throw new KettleException( "Unable to find field name for formula ["
               + Const.NVL( fn.getFormula(), "" ) + "]" );
@@ -0,0 +1,160 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.janino;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.ExpressionEvaluator;
+import org.pentaho.di.core.logging.LogChannelInterface;
+import org.pentaho.di.core.logging.Metrics;
+import org.pentaho.di.core.variables.VariableSpace;
+import org.pentaho.di.core.variables.Variables;
+import org.pentaho.di.trans.steps.userdefinedjavaclass.UserDefinedJavaClass;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * JVM wide cache of cooked Janino expressions, shared by all copies and executions of the steps that evaluate Java
+ * expressions (User Defined Java Expression, Java Filter).
+ * <p>
+ * Cooking an expression compiles and loads a class, which easily costs more than processing all the rows of a short
+ * transformation. A cooked {@link ExpressionEvaluator} only invokes a static method of the generated class so the same
+ * instance can safely be used by several threads.
+ * <p>
+ * The key is made of the expression, the parameter names and types, the return type and the parent class loader. The
+ * size of the cache is set with the {@link UserDefinedJavaClass#KETTLE_DEFAULT_CLASS_CACHE_SIZE} variable, like the
+ * User Defined Java Class cache.
+ */
+public class JaninoExpressionCache {
+
+  private static final Cache<ExpressionKey, ExpressionEvaluator> expressionCache;
+
+  static {
+    VariableSpace vs = new Variables();
+    vs.initializeVariablesFrom( null ); // sets up the default variables
+    String maxSizeStr = vs.getVariable( UserDefinedJavaClass.KETTLE_DEFAULT_CLASS_CACHE_SIZE, "100" );
+    int maxCacheSize;
+    try {
+      maxCacheSize = Integer.parseInt( maxSizeStr );
+    } catch ( Exception ignored ) {
+      maxCacheSize = 100; // default to 100 if property not set
+    }
+    expressionCache = CacheBuilder.newBuilder().maximumSize( maxCacheSize ).build();
+  }
+
+  private JaninoExpressionCache() {
+  }
+
+  /**
+   * Get a cooked expression evaluator, cooking it if it isn't cached yet.
+   *
+   * @param expression
+   *          the Java expression
+   * @param parameterNames
+   *          the names of the parameters
+   * @param parameterTypes
+   *          the types of the parameters
+   * @param returnType
+   *          the return type of the expression
+   * @param log
+   *          the log channel to report the compilation time to, can be null
+   * @return the cooked evaluator, shared with other users of the same expression
+   * @throws CompileException
+   *           in case the expression doesn't compile
+   */
+  public static ExpressionEvaluator getExpressionEvaluator( String expression, String[] parameterNames,
+    Class<?>[] parameterTypes, Class<?> returnType, LogChannelInterface log ) throws CompileException {
+    ClassLoader parentClassLoader = Thread.currentThread().getContextClassLoader();
+    ExpressionKey key = new ExpressionKey( expression, parameterNames, parameterTypes, returnType, parentClassLoader );
+
+    ExpressionEvaluator evaluator = expressionCache.getIfPresent( key );
+    if ( evaluator != null ) {
+      return evaluator;
+    }
+
+    long startTime = System.currentTimeMillis();
+
+    evaluator = new ExpressionEvaluator();
+    if ( parentClassLoader != null ) {
+      evaluator.setParentClassLoader( parentClassLoader );
+    }
+    evaluator.setParameters( parameterNames, parameterTypes );
+    evaluator.setReturnType( returnType );
+    evaluator.setThrownExceptions( new Class<?>[] { Exception.class } );
+    evaluator.cook( expression );
+
+    if ( log != null && log.isGatheringMetrics() ) {
+      long time = System.currentTimeMillis() - startTime;
+      log.snap( Metrics.METRIC_JAVA_COMPILE_SUM_TIME, time );
+      log.snap( Metrics.METRIC_JAVA_COMPILE_COUNT );
+    }
+
+    expressionCache.put( key, evaluator );
+    return evaluator;
+  }
+
+  /**
+   * @return the number of cooked expressions in the cache
+   */
+  public static long size() {
+    return expressionCache.size();
+  }
+
+  /**
+   * Remove all cooked expressions from the cache.
+   */
+  public static void clear() {
+    expressionCache.invalidateAll();
+  }
+
+  private static final class ExpressionKey {
+    private final String expression;
+    private final String[] parameterNames;
+    private final Class<?>[] parameterTypes;
+    private final Class<?> returnType;
+    private final ClassLoader parentClassLoader;
+
+    ExpressionKey( String expression, String[] parameterNames, Class<?>[] parameterTypes, Class<?> returnType,
+      ClassLoader parentClassLoader ) {
+      this.expression = expression;
+      this.parameterNames = parameterNames.clone();
+      this.parameterTypes = parameterTypes.clone();
+      this.returnType = returnType;
+      this.parentClassLoader = parentClassLoader;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+      if ( this == o ) {
+        return true;
+      }
+      if ( !( o instanceof ExpressionKey ) ) {
+        return false;
+      }
+      ExpressionKey other = (ExpressionKey) o;
+      return parentClassLoader == other.parentClassLoader && returnType == other.returnType
+        && Objects.equals( expression, other.expression ) && Arrays.equals( parameterNames, other.parameterNames )
+        && Arrays.equals( parameterTypes, other.parameterTypes );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash( expression, Arrays.hashCode( parameterNames ), Arrays.hashCode( parameterTypes ),
+        returnType, System.identityHashCode( parentClassLoader ) );
+    }
+  }
+}
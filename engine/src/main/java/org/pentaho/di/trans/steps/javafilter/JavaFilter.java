@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import org.codehaus.janino.ExpressionEvaluator;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleValueException;
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -32,6 +31,7 @@ import org.pentaho.di.trans.step.StepInterface;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.step.StepMetaInterface;
 import org.pentaho.di.trans.step.errorhandling.StreamInterface;
+import org.pentaho.di.trans.steps.janino.JaninoExpressionCache;
 
 /**
  * Calculate new field values using pre-defined functions.
@@ -173,14 +173,11 @@ public class JavaFilter extends BaseStep implements StepInterface {
         }
 
         // Create the expression evaluator: is relatively slow so we do it only for the first row...
+        // The cooked evaluator is shared by all copies and executions using the same condition.
         //
-        data.expressionEvaluator = new ExpressionEvaluator();
-        data.expressionEvaluator.setParameters(
+        data.expressionEvaluator = JaninoExpressionCache.getExpressionEvaluator( realCondition,
           parameterNames.toArray( new String[parameterNames.size()] ), parameterTypes
-            .toArray( new Class<?>[parameterTypes.size()] ) );
-        data.expressionEvaluator.setReturnType( Object.class );
-        data.expressionEvaluator.setThrownExceptions( new Class<?>[] { Exception.class } );
-        data.expressionEvaluator.cook( realCondition );
+            .toArray( new Class<?>[parameterTypes.size()] ), Object.class, log );
 
         // Also create the argument data structure once...
         //
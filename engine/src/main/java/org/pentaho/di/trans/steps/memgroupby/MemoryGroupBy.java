@@ -22,6 +22,7 @@ import java.util.TreeSet;
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.commons.math.stat.descriptive.rank.Percentile;
 import org.pentaho.di.core.Const;
+import org.pentaho.di.core.util.HyperLogLog;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleValueException;
@@ -31,6 +32,7 @@ import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueDataUtil;
 import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.row.value.ValueMetaBase;
+import org.pentaho.di.core.row.value.ValueMetaBinary;
 import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaNumber;
 import org.pentaho.di.core.row.value.ValueMetaString;
@@ -220,7 +222,8 @@ public class MemoryGroupBy extends BaseStep implements StepInterface {
       for ( int i = 0; i < data.aggMeta.size(); i++ ) {
         if ( meta.getAggregateType()[i] == MemoryGroupByMeta.TYPE_GROUP_COUNT_ALL
           || meta.getAggregateType()[i] == MemoryGroupByMeta.TYPE_GROUP_COUNT_ANY
-          || meta.getAggregateType()[i] == MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT ) {
+          || meta.getAggregateType()[i] == MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT
+          || meta.getAggregateType()[i] == MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX ) {
           outputRowData[index++] = Long.valueOf( 0L );
         } else {
           outputRowData[index++] = null;
@@ -332,6 +335,10 @@ public class MemoryGroupBy extends BaseStep implements StepInterface {
           }
           aggregate.counts[i] = aggregate.distinctObjs[i].size();
           break;
+        case MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX:
+        case MemoryGroupByMeta.TYPE_GROUP_DISTINCT_SKETCH:
+          ( (HyperLogLog) value ).add( subjMeta, subj );
+          break;
         case MemoryGroupByMeta.TYPE_GROUP_COUNT_ALL:
           if ( !subjMeta.isNull( subj ) ) {
             aggregate.counts[i]++;
@@ -443,6 +450,14 @@ public class MemoryGroupBy extends BaseStep implements StepInterface {
         case MemoryGroupByMeta.TYPE_GROUP_COUNT_ALL:
           vMeta = new ValueMetaInteger( meta.getAggregateField()[i] );
           break;
+        case MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX:
+          vMeta = new ValueMetaInteger( meta.getAggregateField()[i] );
+          v = new HyperLogLog( getSketchPrecision( i ) );
+          break;
+        case MemoryGroupByMeta.TYPE_GROUP_DISTINCT_SKETCH:
+          vMeta = new ValueMetaBinary( meta.getAggregateField()[i] );
+          v = new HyperLogLog( getSketchPrecision( i ) );
+          break;
         case MemoryGroupByMeta.TYPE_GROUP_SUM:
         case MemoryGroupByMeta.TYPE_GROUP_AVERAGE:
           vMeta = !compatibilityMode && subjMeta.isNumeric() ? subjMeta.clone() : new ValueMetaNumber();
@@ -472,7 +487,9 @@ public class MemoryGroupBy extends BaseStep implements StepInterface {
 
       if ( meta.getAggregateType()[i] != MemoryGroupByMeta.TYPE_GROUP_COUNT_ALL
         && meta.getAggregateType()[i] != MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT
-        && meta.getAggregateType()[i] != MemoryGroupByMeta.TYPE_GROUP_COUNT_ANY ) {
+        && meta.getAggregateType()[i] != MemoryGroupByMeta.TYPE_GROUP_COUNT_ANY
+        && meta.getAggregateType()[i] != MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX
+        && meta.getAggregateType()[i] != MemoryGroupByMeta.TYPE_GROUP_DISTINCT_SKETCH ) {
         vMeta.setLength( subjMeta.getLength(), subjMeta.getPrecision() );
       }
       if ( aggregate == null ) {
@@ -483,6 +500,15 @@ public class MemoryGroupBy extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * @return the precision of the HyperLogLog sketch of an aggregate, given in its value field
+   */
+  private int getSketchPrecision( int i ) {
+    int precision = Const.toInt( Const.trim( environmentSubstitute( meta.getValueField()[i] ) ),
+      HyperLogLog.DEFAULT_PRECISION );
+    return Math.max( HyperLogLog.MIN_PRECISION, Math.min( HyperLogLog.MAX_PRECISION, precision ) );
+  }
+
   private void initGroupMeta( RowMetaInterface previousRowMeta ) throws KettleValueException {
     data.groupMeta = new RowMeta();
     data.entryMeta = new RowMeta();
@@ -539,6 +565,12 @@ public class MemoryGroupBy extends BaseStep implements StepInterface {
           case MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT:
             ag = aggregate.counts[i];
             break;
+          case MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX:
+            ag = ( (HyperLogLog) ag ).estimate();
+            break;
+          case MemoryGroupByMeta.TYPE_GROUP_DISTINCT_SKETCH:
+            ag = ( (HyperLogLog) ag ).toBytes();
+            break;
           case MemoryGroupByMeta.TYPE_GROUP_MIN:
             break;
           case MemoryGroupByMeta.TYPE_GROUP_MAX:
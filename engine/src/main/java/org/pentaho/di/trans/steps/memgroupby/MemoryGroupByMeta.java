@@ -44,6 +44,7 @@ import org.pentaho.di.trans.step.StepDataInterface;
 import org.pentaho.di.trans.step.StepInterface;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.step.StepMetaInterface;
+import org.pentaho.di.trans.step.StepPartialResultsInterface;
 import org.pentaho.metastore.api.IMetaStore;
 import org.w3c.dom.Node;
 
@@ -53,7 +54,7 @@ import org.w3c.dom.Node;
  */
 
 @InjectionSupported( localizationPrefix = "MemoryGroupBy.Injection.", groups = { "FIELDS", "AGGREGATES" } )
-public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface {
+public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface, StepPartialResultsInterface {
   private static Class<?> PKG = MemoryGroupByMeta.class; // for i18n purposes, needed by Translator2!!
 
   public static final int TYPE_GROUP_NONE = 0;
@@ -90,10 +91,15 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
 
   public static final int TYPE_GROUP_COUNT_ANY = 16;
 
+  public static final int TYPE_GROUP_COUNT_DISTINCT_APPROX = 17;
+
+  public static final int TYPE_GROUP_DISTINCT_SKETCH = 18;
+
   public static final String[] typeGroupCode = /* WARNING: DO NOT TRANSLATE THIS. WE ARE SERIOUS, DON'T TRANSLATE! */
   {
     "-", "SUM", "AVERAGE", "MEDIAN", "PERCENTILE", "MIN", "MAX", "COUNT_ALL", "CONCAT_COMMA", "FIRST", "LAST",
-    "FIRST_INCL_NULL", "LAST_INCL_NULL", "STD_DEV", "CONCAT_STRING", "COUNT_DISTINCT", "COUNT_ANY", };
+    "FIRST_INCL_NULL", "LAST_INCL_NULL", "STD_DEV", "CONCAT_STRING", "COUNT_DISTINCT", "COUNT_ANY",
+    "COUNT_DISTINCT_APPROX", "DISTINCT_SKETCH", };
 
   public static final String[] typeGroupLongDesc = {
     "-", BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.SUM" ),
@@ -111,7 +117,9 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
     BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.STANDARD_DEVIATION" ),
     BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.CONCAT_STRING" ),
     BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.COUNT_DISTINCT" ),
-    BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.COUNT_ANY" ), };
+    BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.COUNT_ANY" ),
+    BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.COUNT_DISTINCT_APPROX" ),
+    BaseMessages.getString( PKG, "MemoryGroupByMeta.TypeGroupLongDesc.DISTINCT_SKETCH" ), };
 
   @Injection( name = "GROUPFIELD", group = "FIELDS" )
   /** Fields to group over */
@@ -171,6 +179,28 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
     this.aggregateType = aggregateType;
   }
 
+  /**
+   * The sums, minimums, maximums, counts and distinct sketches of several copies can be combined afterwards, the other
+   * aggregates can't.
+   */
+  @Override
+  public boolean hasCombinablePartialResults() {
+    for ( int type : aggregateType ) {
+      switch ( type ) {
+        case TYPE_GROUP_SUM:
+        case TYPE_GROUP_MIN:
+        case TYPE_GROUP_MAX:
+        case TYPE_GROUP_COUNT_ALL:
+        case TYPE_GROUP_COUNT_ANY:
+        case TYPE_GROUP_DISTINCT_SKETCH:
+          break;
+        default:
+          return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * @return Returns the groupField.
    */
@@ -267,7 +297,8 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
         aggregateType[i] = getType( XMLHandler.getTagValue( fnode, "type" ) );
 
         if ( aggregateType[i] == TYPE_GROUP_COUNT_ALL
-          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[i] == TYPE_GROUP_COUNT_ANY ) {
+          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[i] == TYPE_GROUP_COUNT_ANY
+          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT_APPROX ) {
           hasNumberOfValues = true;
         }
 
@@ -365,8 +396,12 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
           case TYPE_GROUP_COUNT_DISTINCT:
           case TYPE_GROUP_COUNT_ALL:
           case TYPE_GROUP_COUNT_ANY:
+          case TYPE_GROUP_COUNT_DISTINCT_APPROX:
             value_type = ValueMetaInterface.TYPE_INTEGER;
             break;
+          case TYPE_GROUP_DISTINCT_SKETCH:
+            value_type = ValueMetaInterface.TYPE_BINARY;
+            break;
           case TYPE_GROUP_CONCAT_COMMA:
             value_type = ValueMetaInterface.TYPE_STRING;
             break;
@@ -391,7 +426,8 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
         }
 
         if ( aggregateType[i] == TYPE_GROUP_COUNT_ALL
-          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[i] == TYPE_GROUP_COUNT_ANY ) {
+          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[i] == TYPE_GROUP_COUNT_ANY
+          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT_APPROX ) {
           length = ValueMetaInterface.DEFAULT_INTEGER_LENGTH;
           precision = 0;
         } else if ( aggregateType[i] == TYPE_GROUP_SUM
@@ -478,7 +514,8 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
         aggregateType[i] = getType( rep.getStepAttributeString( id_step, i, "aggregate_type" ) );
 
         if ( aggregateType[i] == TYPE_GROUP_COUNT_ALL
-          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[i] == TYPE_GROUP_COUNT_ANY ) {
+          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT || aggregateType[i] == TYPE_GROUP_COUNT_ANY
+          || aggregateType[i] == TYPE_GROUP_COUNT_DISTINCT_APPROX ) {
           hasNumberOfValues = true;
         }
         valueField[i] = rep.getStepAttributeString( id_step, i, "aggregate_value_field" );
@@ -575,4 +612,9 @@ public class MemoryGroupByMeta extends BaseStepMeta implements StepMetaInterface
     int[][] normalizedIntArrays = Utils.normalizeArrays( nrFields, aggregateType );
     aggregateType = normalizedIntArrays[ 0 ];
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -18,16 +18,21 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.StringUtils;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.exception.KettleValueException;
 import org.pentaho.di.core.row.RowDataUtil;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
 import org.pentaho.di.trans.TransMeta;
@@ -55,6 +60,9 @@ import org.pentaho.di.trans.step.errorhandling.StreamInterface;
 public class MergeJoin extends BaseStep implements StepInterface {
   private static Class<?> PKG = MergeJoinMeta.class; // for i18n purposes, needed by Translator2!!
 
+  /** The minimum number of rows of both streams in a chunk when joining in parallel */
+  static final int CHUNK_SIZE = 10000;
+
   private MergeJoinMeta meta;
   private MergeJoinData data;
 
@@ -147,6 +155,10 @@ public class MergeJoin extends BaseStep implements StepInterface {
       data.two_dummy = new Object[data.twoMeta.size()];
     }
 
+    if ( data.parallelism > 1 ) {
+      return processChunk();
+    }
+
     if ( log.isRowLevel() ) {
       logRowlevel( BaseMessages.getString( PKG, "MergeJoin.Log.DataInfo", data.oneMeta.getString( data.one ) + "" )
         + data.twoMeta.getString( data.two ) );
@@ -390,6 +402,101 @@ public class MergeJoin extends BaseStep implements StepInterface {
     return true;
   }
 
+  /**
+   * Reads the next range of keys of both streams and joins it on the executor. The rows of the oldest chunk are passed
+   * on once more chunks than the parallelism are being joined, so the output stays sorted on the keys.
+   */
+  private boolean processChunk() throws KettleException {
+    if ( isJoinDone() ) {
+      while ( !data.chunks.isEmpty() && !isStopped() ) {
+        putChunkRows( data.chunks.removeFirst() );
+      }
+      // Before we stop processing, we have to make sure that all rows from both input streams are depleted!
+      // If we don't do this, the transformation can stall.
+      //
+      while ( data.one != null && !isStopped() ) {
+        data.one = getRowFrom( data.oneRowSet );
+      }
+      while ( data.two != null && !isStopped() ) {
+        data.two = getRowFrom( data.twoRowSet );
+      }
+
+      setOutputDone();
+      return false;
+    }
+
+    List<Object[]> ones = new ArrayList<>();
+    List<Object[]> twos = new ArrayList<>();
+    readChunk( ones, twos );
+    data.chunks.add( ExecutorUtil.getExecutor().submit( new MergeJoinChunk( data, ones, twos ) ) );
+    while ( data.chunks.size() > data.parallelism && !isStopped() ) {
+      putChunkRows( data.chunks.removeFirst() );
+    }
+
+    if ( checkFeedback( getLinesRead() ) ) {
+      logBasic( BaseMessages.getString( PKG, "MergeJoin.LineNumber" ) + getLinesRead() );
+    }
+    return true;
+  }
+
+  /**
+   * Reads the rows of both streams in the order of the keys until the chunk is large enough and the key changes, so
+   * all the rows of a key end up in the same chunk. The boundaries of the chunks follow the data: a range of keys with
+   * many rows in either stream gives more chunks.
+   */
+  private void readChunk( List<Object[]> ones, List<Object[]> twos ) throws KettleException {
+    Object[] last = null;
+    boolean lastFromOne = false;
+    while ( ( data.one != null || data.two != null ) && !isStopped() ) {
+      boolean fromOne = data.two == null || data.one != null && compareKeys( data.one, true, data.two, false ) <= 0;
+      Object[] row = fromOne ? data.one : data.two;
+      if ( last != null && ( ones.size() + twos.size() >= data.chunkSize || isJoinDone() )
+        && compareKeys( row, fromOne, last, lastFromOne ) != 0 ) {
+        break;
+      }
+      if ( fromOne ) {
+        ones.add( row );
+        data.one = getRowFrom( data.oneRowSet );
+      } else {
+        twos.add( row );
+        data.two = getRowFrom( data.twoRowSet );
+      }
+      last = row;
+      lastFromOne = fromOne;
+    }
+  }
+
+  private int compareKeys( Object[] row, boolean rowFromOne, Object[] other, boolean otherFromOne )
+    throws KettleValueException {
+    RowMetaInterface rowMeta = rowFromOne ? data.oneMeta : data.twoMeta;
+    RowMetaInterface otherMeta = otherFromOne ? data.oneMeta : data.twoMeta;
+    return rowMeta.compare( row, otherMeta, other, rowFromOne ? data.keyNrs1 : data.keyNrs2,
+      otherFromOne ? data.keyNrs1 : data.keyNrs2 );
+  }
+
+  /**
+   * @return true when the rows left in the streams can't give any more output rows
+   */
+  private boolean isJoinDone() {
+    return ( data.one == null && data.two == null )
+      || ( data.one == null && !data.one_optional ) || ( data.two == null && !data.two_optional );
+  }
+
+  private void putChunkRows( Future<List<Object[]>> chunk ) throws KettleException {
+    List<Object[]> rows;
+    try {
+      rows = chunk.get();
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    } catch ( ExecutionException e ) {
+      throw new KettleException( e.getCause() );
+    }
+    for ( Object[] row : rows ) {
+      putRow( data.outputRowMeta, row );
+    }
+  }
+
   /**
    * @see StepInterface#init(org.pentaho.di.trans.step.StepMetaInterface , org.pentaho.di.trans.step.StepDataInterface)
    */
@@ -403,6 +510,9 @@ public class MergeJoin extends BaseStep implements StepInterface {
         logError( BaseMessages.getString( PKG, "MergeJoin.Log.BothTrueAndFalseNeeded" ) );
         return false;
       }
+      data.parallelism = Math.max( 1, Const.toInt( environmentSubstitute( meta.getParallelism() ), 1 ) );
+      data.chunkSize = CHUNK_SIZE;
+
       String joinType = meta.getJoinType();
       for ( int i = 0; i < MergeJoinMeta.join_types.length; ++i ) {
         if ( joinType.equalsIgnoreCase( MergeJoinMeta.join_types[i] ) ) {
@@ -417,6 +527,16 @@ public class MergeJoin extends BaseStep implements StepInterface {
     return true;
   }
 
+  @Override
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    data = (MergeJoinData) sdi;
+    for ( Future<List<Object[]>> chunk : data.chunks ) {
+      chunk.cancel( true );
+    }
+    data.chunks.clear();
+    super.dispose( smi, sdi );
+  }
+
   /**
    * Checks whether incoming rows are join compatible. This essentially means that the keys being compared should be of
    * the same datatype and both rows should have the same number of keys specified
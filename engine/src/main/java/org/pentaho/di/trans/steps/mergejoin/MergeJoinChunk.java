@@ -0,0 +1,108 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.mergejoin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.pentaho.di.core.row.RowDataUtil;
+import org.pentaho.di.core.row.RowMetaInterface;
+
+/**
+ * Joins the rows of both streams in one range of keys. The rows of a key are always in one chunk, so the joined rows of
+ * the chunks one after the other are the rows a single merge join of the whole streams gives, in the same order.
+ */
+class MergeJoinChunk implements Callable<List<Object[]>> {
+  private final List<Object[]> ones;
+  private final List<Object[]> twos;
+
+  // every chunk compares with its own copy of the metadata as value metadata are not thread safe
+  private final RowMetaInterface oneMeta;
+  private final RowMetaInterface twoMeta;
+  private final int outputSize;
+  private final int[] keyNrs1;
+  private final int[] keyNrs2;
+  private final boolean oneOptional;
+  private final boolean twoOptional;
+  private final Object[] oneDummy;
+  private final Object[] twoDummy;
+
+  MergeJoinChunk( MergeJoinData data, List<Object[]> ones, List<Object[]> twos ) {
+    this.ones = ones;
+    this.twos = twos;
+    oneMeta = data.oneMeta.clone();
+    twoMeta = data.twoMeta.clone();
+    outputSize = data.outputRowMeta.size();
+    keyNrs1 = data.keyNrs1;
+    keyNrs2 = data.keyNrs2;
+    oneOptional = data.one_optional;
+    twoOptional = data.two_optional;
+    oneDummy = data.one_dummy;
+    twoDummy = data.two_dummy;
+  }
+
+  @Override
+  public List<Object[]> call() throws Exception {
+    List<Object[]> result = new ArrayList<>( Math.max( ones.size(), twos.size() ) );
+    int i = 0;
+    int j = 0;
+    while ( i < ones.size() || j < twos.size() ) {
+      int compare;
+      if ( i == ones.size() ) {
+        compare = 1;
+      } else if ( j == twos.size() ) {
+        compare = -1;
+      } else {
+        compare = oneMeta.compare( ones.get( i ), twoMeta, twos.get( j ), keyNrs1, keyNrs2 );
+      }
+
+      if ( compare < 0 ) {
+        // no row with this key in the second stream
+        if ( twoOptional ) {
+          result.add( join( ones.get( i ), twoDummy ) );
+        }
+        i++;
+      } else if ( compare > 0 ) {
+        // no row with this key in the first stream
+        if ( oneOptional ) {
+          result.add( join( oneDummy, twos.get( j ) ) );
+        }
+        j++;
+      } else {
+        int oneEnd = i + 1;
+        while ( oneEnd < ones.size() && oneMeta.compare( ones.get( i ), ones.get( oneEnd ), keyNrs1, keyNrs1 ) == 0 ) {
+          oneEnd++;
+        }
+        int twoEnd = j + 1;
+        while ( twoEnd < twos.size() && twoMeta.compare( twos.get( j ), twos.get( twoEnd ), keyNrs2, keyNrs2 ) == 0 ) {
+          twoEnd++;
+        }
+        for ( int one = i; one < oneEnd; one++ ) {
+          for ( int two = j; two < twoEnd; two++ ) {
+            result.add( join( ones.get( one ), twos.get( two ) ) );
+          }
+        }
+        i = oneEnd;
+        j = twoEnd;
+      }
+    }
+    return result;
+  }
+
+  private Object[] join( Object[] one, Object[] two ) {
+    Object[] outputRowData = RowDataUtil.createResizedCopy( one, outputSize );
+    return RowDataUtil.addRowData( outputRowData, oneMeta.size(), two );
+  }
+}
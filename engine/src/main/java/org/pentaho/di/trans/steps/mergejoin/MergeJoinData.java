@@ -13,7 +13,10 @@
 
 package org.pentaho.di.trans.steps.mergejoin;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -40,6 +43,15 @@ public class MergeJoinData extends BaseStepData implements StepDataInterface {
   public RowSet oneRowSet;
   public RowSet twoRowSet;
 
+  /** The number of chunks joined at the same time, 1 to join in the step thread */
+  public int parallelism;
+
+  /** The minimum number of rows of both streams in a chunk */
+  public int chunkSize;
+
+  /** The chunks being joined, oldest first */
+  Deque<Future<List<Object[]>>> chunks = new ArrayDeque<>();
+
   /**
    * Default initializer
    */
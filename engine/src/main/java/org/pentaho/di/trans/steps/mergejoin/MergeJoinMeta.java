@@ -69,6 +69,10 @@ public class MergeJoinMeta extends BaseStepMeta implements StepMetaInterface {
   @Injection( name = "KEY_FIELD2" )
   private String[] keyFields2;
 
+  /** The number of key ranges joined at the same time, 1 or empty to join in the step thread only */
+  @Injection( name = "PARALLELISM" )
+  private String parallelism;
+
   /**
    * The supported join types are INNER, LEFT OUTER, RIGHT OUTER and FULL OUTER
    *
@@ -115,6 +119,20 @@ public class MergeJoinMeta extends BaseStepMeta implements StepMetaInterface {
     this.keyFields2 = keyFields2;
   }
 
+  /**
+   * @return the number of key ranges of the sorted streams that are joined at the same time
+   */
+  public String getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * @param parallelism the number of key ranges of the sorted streams that are joined at the same time
+   */
+  public void setParallelism( String parallelism ) {
+    this.parallelism = parallelism;
+  }
+
   public boolean excludeFromRowLayoutVerification() {
     return true;
   }
@@ -157,6 +175,7 @@ public class MergeJoinMeta extends BaseStepMeta implements StepMetaInterface {
     List<StreamInterface> infoStreams = getStepIOMeta().getInfoStreams();
 
     retval.append( XMLHandler.addTagValue( "join_type", getJoinType() ) );
+    retval.append( XMLHandler.addTagValue( "parallelism", parallelism ) );
     retval.append( XMLHandler.addTagValue( "step1", infoStreams.get( 0 ).getStepname() ) );
     retval.append( XMLHandler.addTagValue( "step2", infoStreams.get( 1 ).getStepname() ) );
 
@@ -200,6 +219,7 @@ public class MergeJoinMeta extends BaseStepMeta implements StepMetaInterface {
       infoStreams.get( 0 ).setSubject( XMLHandler.getTagValue( stepnode, "step1" ) );
       infoStreams.get( 1 ).setSubject( XMLHandler.getTagValue( stepnode, "step2" ) );
       joinType = XMLHandler.getTagValue( stepnode, "join_type" );
+      parallelism = XMLHandler.getTagValue( stepnode, "parallelism" );
     } catch ( Exception e ) {
       throw new KettleXMLException(
         BaseMessages.getString( PKG, "MergeJoinMeta.Exception.UnableToLoadStepInfo" ), e );
@@ -208,6 +228,7 @@ public class MergeJoinMeta extends BaseStepMeta implements StepMetaInterface {
 
   public void setDefault() {
     joinType = join_types[0];
+    parallelism = "1";
     allocate( 0, 0 );
   }
 
@@ -229,6 +250,7 @@ public class MergeJoinMeta extends BaseStepMeta implements StepMetaInterface {
       infoStreams.get( 0 ).setSubject( rep.getStepAttributeString( id_step, "step1" ) );
       infoStreams.get( 1 ).setSubject( rep.getStepAttributeString( id_step, "step2" ) );
       joinType = rep.getStepAttributeString( id_step, "join_type" );
+      parallelism = rep.getStepAttributeString( id_step, "parallelism" );
     } catch ( Exception e ) {
       throw new KettleException( BaseMessages.getString(
         PKG, "MergeJoinMeta.Exception.UnexpectedErrorReadingStepInfo" ), e );
@@ -258,6 +280,7 @@ public class MergeJoinMeta extends BaseStepMeta implements StepMetaInterface {
       rep.saveStepAttribute( id_transformation, id_step, "step1", infoStreams.get( 0 ).getStepname() );
       rep.saveStepAttribute( id_transformation, id_step, "step2", infoStreams.get( 1 ).getStepname() );
       rep.saveStepAttribute( id_transformation, id_step, "join_type", getJoinType() );
+      rep.saveStepAttribute( id_transformation, id_step, "parallelism", parallelism );
     } catch ( Exception e ) {
       throw new KettleException( BaseMessages.getString( PKG, "MergeJoinMeta.Exception.UnableToSaveStepInfo" )
         + id_step, e );
@@ -19,7 +19,9 @@ import java.util.List;
 import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.vfs2.FileObject;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.ResultFile;
+import org.pentaho.di.core.compress.ReadAheadInputStream;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleFileException;
 import org.pentaho.di.core.row.RowDataUtil;
@@ -278,6 +280,9 @@ public class ParGzipCsvInput extends BaseStep implements StepInterface {
       }
 
       data.gzis = new GZIPInputStream( data.fis, data.bufferSize );
+      if ( "Y".equalsIgnoreCase( getVariable( Const.KETTLE_COMPRESSED_INPUT_READ_AHEAD, "N" ) ) ) {
+        data.gzis = new ReadAheadInputStream( data.gzis );
+      }
 
       clearBuffer();
       data.fileReadPosition = 0L;
@@ -15,7 +15,6 @@ package org.pentaho.di.trans.steps.parallelgzipcsv;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.GZIPInputStream;
 
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -46,7 +45,10 @@ public class ParGzipCsvInputData extends BaseStepData implements StepDataInterfa
   public boolean parallel;
   public int filenameFieldIndex;
   public int rownumFieldIndex;
-  public GZIPInputStream gzis;
+  /**
+   * The decompressed file, read ahead on a background thread when KETTLE_COMPRESSED_INPUT_READ_AHEAD is set
+   */
+  public InputStream gzis;
   public int bufferSize;
   public byte[] delimiter;
   public byte[] enclosure;
@@ -566,4 +566,8 @@ public class RowGeneratorMeta extends BaseStepMeta implements StepMetaInterface
     this.value = value;
   }
 
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -250,4 +250,8 @@ public class RowsFromResultMeta extends BaseStepMeta implements StepMetaInterfac
     return new RowsFromResultData();
   }
 
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -30,6 +30,7 @@ import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
 import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.logging.Metrics;
 import org.pentaho.di.core.row.RowDataUtil;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -129,6 +130,51 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
       logDetailed( BaseMessages.getString( PKG, "ScriptValuesMod.Log.UsingValuesFromInputStream", String
         .valueOf( data.fields_used.length ) ) );
     }
+
+    // Look up the metadata of the used fields once instead of for every row
+    //
+    data.fields_used_meta = new ValueMetaInterface[ data.fields_used.length ];
+    data.fields_used_names = new String[ data.fields_used.length ];
+    data.fields_used_normal = new boolean[ data.fields_used.length ];
+    for ( int i = 0; i < data.fields_used.length; i++ ) {
+      ValueMetaInterface valueMeta = row.getValueMeta( data.fields_used[ i ] );
+      data.fields_used_meta[ i ] = valueMeta;
+      data.fields_used_names[ i ] = valueMeta.getName();
+      data.fields_used_normal[ i ] = valueMeta.isStorageNormal();
+    }
+  }
+
+  /**
+   * Put the value of a used field in the scope, the same way for every row.
+   */
+  private void bindUsedField( int i, Object[] row ) throws KettleValueException {
+    Object valueData = row[ data.fields_used[ i ] ];
+    if ( meta.isCompatible() ) {
+      data.values_used[ i ] = data.fields_used_meta[ i ].createOriginalValue( valueData );
+
+      Scriptable jsarg = Context.toObject( data.values_used[ i ], data.scope );
+      data.scope.put( data.fields_used_names[ i ], data.scope, jsarg );
+    } else {
+      Object normalStorageValueData =
+        data.fields_used_normal[ i ] ? valueData : data.fields_used_meta[ i ].convertToNormalStorageType( valueData );
+      Scriptable jsarg;
+      if ( normalStorageValueData != null ) {
+        jsarg = Context.toObject( normalStorageValueData, data.scope );
+      } else {
+        jsarg = null;
+      }
+      data.scope.put( data.fields_used_names[ i ], data.scope, jsarg );
+    }
+  }
+
+  /**
+   * Get a compiled script, from the JVM wide cache unless disabled.
+   */
+  private Script compileScript( String source, String sourceName ) {
+    if ( data.useScriptCache ) {
+      return ScriptValuesScriptCache.getScript( data.cx, source, sourceName );
+    }
+    return data.cx.compileString( source, sourceName, 1, null );
   }
 
   private boolean addValues( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
@@ -188,7 +234,13 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
         throw new KettleException( iae.getMessage() );
       }
 
-      data.scope = data.cx.initStandardObjects( null, false );
+      // Sharing the sealed standard objects between step copies is optional: scripts can't modify them anymore.
+      //
+      if ( "Y".equalsIgnoreCase( getVariable( Const.KETTLE_JAVASCRIPT_SHARED_SCOPE, "N" ) ) ) {
+        data.scope = ScriptValuesScriptCache.newSharedScope( data.cx );
+      } else {
+        data.scope = data.cx.initStandardObjects( null, false );
+      }
 
       bFirstRun = true;
 
@@ -222,30 +274,13 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
         // Add the used fields...
         //
         for ( int i = 0; i < data.fields_used.length; i++ ) {
-          ValueMetaInterface valueMeta = rowMeta.getValueMeta( data.fields_used[ i ] );
-          Object valueData = row[ data.fields_used[ i ] ];
-
-          if ( meta.isCompatible() ) {
-            data.values_used[ i ] = valueMeta.createOriginalValue( valueData );
-
-            Scriptable jsarg = Context.toObject( data.values_used[ i ], data.scope );
-            data.scope.put( valueMeta.getName(), data.scope, jsarg );
-          } else {
-            Object normalStorageValueData = valueMeta.convertToNormalStorageType( valueData );
-            Scriptable jsarg;
-            if ( normalStorageValueData != null ) {
-              jsarg = Context.toObject( normalStorageValueData, data.scope );
-            } else {
-              jsarg = null;
-            }
-            data.scope.put( valueMeta.getName(), data.scope, jsarg );
-          }
+          bindUsedField( i, row );
         }
 
-        // also add the meta information for the whole row
+        // also add the meta information for the whole row, it's the same for every row
         //
-        Scriptable jsrowMeta = Context.toObject( rowMeta, data.scope );
-        data.scope.put( "rowMeta", data.scope, jsrowMeta );
+        data.jsRowMeta = Context.toObject( rowMeta, data.scope );
+        data.scope.put( "rowMeta", data.scope, data.jsRowMeta );
 
         // Modification for Additional Script parsing
         //
@@ -290,7 +325,7 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
         try {
           // Checking for StartScript
           if ( strStartScript != null && strStartScript.length() > 0 ) {
-            Script startScript = data.cx.compileString( strStartScript, "trans_Start", 1, null );
+            Script startScript = compileScript( strStartScript, "trans_Start" );
             startScript.exec( data.cx, data.scope );
             if ( log.isDetailed() ) {
               logDetailed( ( "Start Script found!" ) );
@@ -307,7 +342,7 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
 
         }
         // Now Compile our Script
-        data.script = data.cx.compileString( strTransformScript, "script", 1, null );
+        data.script = compileScript( strTransformScript, "script" );
       } catch ( Exception e ) {
         throw new KettleValueException( BaseMessages.getString(
           PKG, "ScriptValuesMod.Log.CouldNotCompileJavascript" ), e );
@@ -348,35 +383,19 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
         }
 
         for ( int i = 0; i < data.fields_used.length; i++ ) {
-          ValueMetaInterface valueMeta = rowMeta.getValueMeta( data.fields_used[ i ] );
-          Object valueData = row[ data.fields_used[ i ] ];
-
-          if ( meta.isCompatible() ) {
-            data.values_used[ i ] = valueMeta.createOriginalValue( valueData );
-
-            Scriptable jsarg = Context.toObject( data.values_used[ i ], data.scope );
-            data.scope.put( valueMeta.getName(), data.scope, jsarg );
-          } else {
-            Object normalStorageValueData = valueMeta.convertToNormalStorageType( valueData );
-            Scriptable jsarg;
-            if ( normalStorageValueData != null ) {
-              jsarg = Context.toObject( normalStorageValueData, data.scope );
-            } else {
-              jsarg = null;
-            }
-            data.scope.put( valueMeta.getName(), data.scope, jsarg );
-          }
+          bindUsedField( i, row );
         }
 
         // also add the meta information for the hole row
-        Scriptable jsrowMeta = Context.toObject( rowMeta, data.scope );
-        data.scope.put( "rowMeta", data.scope, jsrowMeta );
+        data.scope.put( "rowMeta", data.scope, data.jsRowMeta );
       } catch ( Exception e ) {
         throw new KettleValueException( BaseMessages.getString( PKG, "ScriptValuesMod.Log.UnexpectedeError" ), e );
       }
 
       // Executing our Script
+      long startTime = System.nanoTime();
       data.script.exec( data.cx, data.scope );
+      data.scriptTimeNanos += System.nanoTime() - startTime;
 
       if ( bFirstRun ) {
         bFirstRun = false;
@@ -502,7 +521,7 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
         if ( data.cx != null ) {
           // Checking for EndScript
           if ( strEndScript != null && strEndScript.length() > 0 ) {
-            Script endScript = data.cx.compileString( strEndScript, "trans_End", 1, null );
+            Script endScript = compileScript( strEndScript, "trans_End" );
             endScript.exec( data.cx, data.scope );
             if ( log.isDetailed() ) {
               logDetailed( ( "End Script found!" ) );
@@ -530,6 +549,15 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
         // logError(BaseMessages.getString(PKG, "System.Log.UnexpectedError"), er);
       }
 
+      long scriptTimeMs = data.scriptTimeNanos / 1000000L;
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "ScriptValuesMod.Log.ScriptExecutionTime", String
+          .valueOf( scriptTimeMs ) ) );
+      }
+      if ( log.isGatheringMetrics() ) {
+        log.snap( Metrics.METRIC_JAVASCRIPT_EXECUTION_SUM_TIME, getStepname(), scriptTimeMs );
+      }
+
       setOutputDone();
       return false;
     }
@@ -564,6 +592,8 @@ public class ScriptValuesMod extends BaseStep implements StepInterface {
 
     if ( super.init( smi, sdi ) ) {
 
+      data.useScriptCache = !"N".equalsIgnoreCase( getVariable( Const.KETTLE_JAVASCRIPT_SCRIPT_CACHE, "Y" ) );
+
       // Add init code here.
       // Get the actual Scripts from our MetaData
       jsScripts = meta.getJSScripts();
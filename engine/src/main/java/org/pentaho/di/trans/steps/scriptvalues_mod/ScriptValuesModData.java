@@ -18,6 +18,7 @@ import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
 import org.pentaho.di.compatibility.Value;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.trans.step.BaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
 
@@ -33,6 +34,16 @@ public class ScriptValuesModData extends BaseStepData implements StepDataInterfa
 
   public int[] fields_used;
   public Value[] values_used;
+  public ValueMetaInterface[] fields_used_meta;
+  public String[] fields_used_names;
+  public boolean[] fields_used_normal;
+  public Scriptable jsRowMeta;
+
+  /** Use the JVM wide cache of compiled scripts */
+  public boolean useScriptCache;
+
+  /** Total time spent executing the transform script */
+  public long scriptTimeNanos;
 
   public RowMetaInterface outputRowMeta;
   public int[] replaceIndex;
@@ -0,0 +1,138 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.scriptvalues_mod;
+
+import java.util.Objects;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * JVM wide cache of compiled JavaScript for the Modified JavaScript Value step.
+ * <p>
+ * Compiling a script with an optimization level of 0 or higher generates and loads a Java class, which is by far the
+ * most expensive part of starting the step. A compiled {@link Script} doesn't hold on to a scope, so the same instance
+ * can be executed by every copy of every transformation using the same script text.
+ * <p>
+ * This class also holds the sealed standard objects (Object, String, Math, ...) that step copies can share instead of
+ * each initializing their own.
+ */
+public class ScriptValuesScriptCache {
+
+  /**
+   * The maximum number of compiled scripts kept in memory, the least recently used ones are dropped first.
+   */
+  public static final int MAX_SIZE = 500;
+
+  private static final Cache<ScriptKey, Script> scripts = CacheBuilder.newBuilder().maximumSize( MAX_SIZE ).build();
+
+  private static ScriptableObject sharedScope;
+
+  private ScriptValuesScriptCache() {
+  }
+
+  /**
+   * Get the compiled version of a script, compiling it with the given context if it isn't cached yet.
+   *
+   * @param cx
+   *          the current context, its optimization level is part of the cache key
+   * @param source
+   *          the script text
+   * @param sourceName
+   *          the name of the script as reported in errors
+   * @return the compiled script
+   */
+  public static Script getScript( Context cx, String source, String sourceName ) {
+    ScriptKey key = new ScriptKey( source, sourceName, cx.getOptimizationLevel() );
+    Script script = scripts.getIfPresent( key );
+    if ( script == null ) {
+      // Compile with the context of the caller, outside of the cache: at worst the same script gets compiled twice.
+      //
+      script = cx.compileString( source, sourceName, 1, null );
+      scripts.put( key, script );
+    }
+    return script;
+  }
+
+  /**
+   * Create a new top level scope for a step copy. The scope has the shared, sealed standard objects as its prototype so
+   * creating it is cheap. Scripts can't modify the standard objects in this scope.
+   *
+   * @param cx
+   *          the current context
+   * @return a new top level scope
+   */
+  public static Scriptable newSharedScope( Context cx ) {
+    Scriptable scope = cx.newObject( getSharedScope( cx ) );
+    scope.setPrototype( getSharedScope( cx ) );
+    scope.setParentScope( null );
+    return scope;
+  }
+
+  private static synchronized ScriptableObject getSharedScope( Context cx ) {
+    if ( sharedScope == null ) {
+      sharedScope = cx.initStandardObjects( null, true );
+    }
+    return sharedScope;
+  }
+
+  /**
+   * @return the number of compiled scripts in the cache
+   */
+  public static long size() {
+    return scripts.size();
+  }
+
+  /**
+   * Remove all compiled scripts from the cache.
+   */
+  public static void clear() {
+    scripts.invalidateAll();
+  }
+
+  private static final class ScriptKey {
+    private final String source;
+    private final String sourceName;
+    private final int optimizationLevel;
+
+    ScriptKey( String source, String sourceName, int optimizationLevel ) {
+      this.source = source;
+      this.sourceName = sourceName;
+      this.optimizationLevel = optimizationLevel;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+      if ( this == o ) {
+        return true;
+      }
+      if ( !( o instanceof ScriptKey ) ) {
+        return false;
+      }
+      ScriptKey other = (ScriptKey) o;
+      return optimizationLevel == other.optimizationLevel && Objects.equals( source, other.source )
+        && Objects.equals( sourceName, other.sourceName );
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash( source, sourceName, optimizationLevel );
+    }
+  }
+}
@@ -962,4 +962,9 @@ public class SelectValuesMeta extends BaseStepMeta implements StepMetaInterface
       }
     }
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -0,0 +1,105 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.sortedmerge;
+
+import java.util.List;
+
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleValueException;
+
+/**
+ * Merges sorted sources with a tree of losers. Every inner node of the tree keeps the source that lost the match
+ * played there and the overall winner is kept apart. After the winner moved to its next row only the matches on the
+ * path from its leaf to the root are played again, that is about log2(k) comparisons per row for k sources. Rows with
+ * equal keys come from the source that is first in the list first.
+ */
+class LoserTree extends MergeSource {
+  private final MergeSource[] sources;
+  private final SortKeys sortKeys;
+
+  // the loser of the match played at every inner node: node 1 is the root, the children of node n are 2n and 2n+1,
+  // source i is the leaf at position k+i
+  private final int[] losers;
+  private int winner;
+
+  LoserTree( List<? extends MergeSource> sources, SortKeys sortKeys ) throws KettleException {
+    this.sources = sources.toArray( new MergeSource[ 0 ] );
+    this.sortKeys = sortKeys;
+    int k = this.sources.length;
+    losers = new int[ k ];
+    if ( k == 0 ) {
+      winner = -1;
+      return;
+    }
+    for ( MergeSource source : this.sources ) {
+      source.next();
+    }
+
+    // play all matches bottom up
+    int[] winners = new int[ 2 * k ];
+    for ( int i = 0; i < k; i++ ) {
+      winners[ k + i ] = i;
+    }
+    for ( int node = k - 1; node > 0; node-- ) {
+      int left = winners[ 2 * node ];
+      int right = winners[ 2 * node + 1 ];
+      if ( beats( left, right ) ) {
+        winners[ node ] = left;
+        losers[ node ] = right;
+      } else {
+        winners[ node ] = right;
+        losers[ node ] = left;
+      }
+    }
+    winner = k == 1 ? 0 : winners[ 1 ];
+  }
+
+  @Override
+  void next() throws KettleException {
+    if ( winner < 0 || sources[ winner ].row == null ) {
+      row = null;
+      keys = null;
+      return;
+    }
+    MergeSource source = sources[ winner ];
+    row = source.row;
+    keys = source.keys;
+    source.next();
+
+    // replay the matches of the previous winner up to the root
+    int candidate = winner;
+    for ( int node = ( winner + sources.length ) >>> 1; node > 0; node >>>= 1 ) {
+      if ( beats( losers[ node ], candidate ) ) {
+        int loser = candidate;
+        candidate = losers[ node ];
+        losers[ node ] = loser;
+      }
+    }
+    winner = candidate;
+  }
+
+  /**
+   * @return true if the current row of source a comes before the one of source b. A source without rows loses.
+   */
+  private boolean beats( int a, int b ) throws KettleValueException {
+    if ( sources[ b ].row == null ) {
+      return sources[ a ].row != null || a < b;
+    }
+    if ( sources[ a ].row == null ) {
+      return false;
+    }
+    int cmp = sortKeys.compare( sources[ a ].keys, sources[ b ].keys );
+    return cmp < 0 || cmp == 0 && a < b;
+  }
+}
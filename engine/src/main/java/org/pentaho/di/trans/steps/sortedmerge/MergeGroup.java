@@ -0,0 +1,137 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.sortedmerge;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.trans.step.StepInterface;
+
+/**
+ * Merges a group of the input row sets on a thread of its own and hands the merged rows to the step thread in
+ * batches, so the step thread only merges the groups. The rows come with their sort keys, which are not taken out of
+ * the rows again.
+ */
+class MergeGroup extends MergeSource implements Runnable {
+  /** The number of rows handed over at a time */
+  static final int BATCH_SIZE = 500;
+
+  /** The number of batches a group can be ahead of the step thread */
+  static final int QUEUE_SIZE = 4;
+
+  // handed over after the last batch
+  private static final Object[][] END = new Object[ 0 ][];
+
+  private final StepInterface step;
+  private final List<? extends MergeSource> sources;
+  private final SortKeys sortKeys;
+
+  // the batches hold the rows and their keys one after the other
+  private final BlockingQueue<Object[][]> batches = new ArrayBlockingQueue<>( QUEUE_SIZE );
+  private volatile Throwable failure;
+  private volatile boolean stopped;
+
+  // the batch the step thread is reading
+  private Object[][] batch;
+  private int position;
+
+  MergeGroup( StepInterface step, List<? extends MergeSource> sources, SortKeys sortKeys ) {
+    this.step = step;
+    this.sources = sources;
+    this.sortKeys = sortKeys;
+  }
+
+  @Override
+  public void run() {
+    try {
+      LoserTree tree = new LoserTree( sources, sortKeys );
+      Object[][] rows = new Object[ 2 * BATCH_SIZE ][];
+      int size = 0;
+      tree.next();
+      while ( tree.row != null && !stopped ) {
+        rows[ size++ ] = tree.row;
+        rows[ size++ ] = tree.keys;
+        if ( size == rows.length ) {
+          hand( rows );
+          rows = new Object[ 2 * BATCH_SIZE ][];
+          size = 0;
+        }
+        tree.next();
+      }
+      if ( size > 0 ) {
+        hand( Arrays.copyOf( rows, size ) );
+      }
+    } catch ( Throwable e ) {
+      failure = e;
+    } finally {
+      hand( END );
+    }
+  }
+
+  private void hand( Object[][] rows ) {
+    try {
+      while ( !stopped && !batches.offer( rows, 100, TimeUnit.MILLISECONDS ) ) {
+        // wait for the step thread to catch up
+      }
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      stopped = true;
+    }
+  }
+
+  @Override
+  void next() throws KettleException {
+    if ( batch == null || position == batch.length ) {
+      batch = take();
+      position = 0;
+      if ( batch == END ) {
+        if ( failure != null ) {
+          throw new KettleException( failure );
+        }
+        row = null;
+        keys = null;
+        return;
+      }
+    }
+    row = batch[ position++ ];
+    keys = batch[ position++ ];
+  }
+
+  private Object[][] take() throws KettleException {
+    try {
+      Object[][] rows = null;
+      while ( rows == null ) {
+        if ( stopped || step.isStopped() ) {
+          return END;
+        }
+        rows = batches.poll( 100, TimeUnit.MILLISECONDS );
+      }
+      return rows;
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    }
+  }
+
+  /**
+   * Stops merging, the rows not handed over yet are dropped.
+   */
+  void stop() {
+    stopped = true;
+  }
+}
@@ -0,0 +1,32 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.sortedmerge;
+
+import org.pentaho.di.core.exception.KettleException;
+
+/**
+ * A sorted stream of rows the Sorted Merge step merges, with the sort keys of the current row.
+ */
+abstract class MergeSource {
+  /** The current row, null once all rows were read */
+  Object[] row;
+
+  /** The sort fields of the current row, in normal storage */
+  Object[] keys;
+
+  /**
+   * Moves to the next row. Not called again once the current row is null.
+   */
+  abstract void next() throws KettleException;
+}
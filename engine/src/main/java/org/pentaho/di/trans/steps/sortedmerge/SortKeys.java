@@ -0,0 +1,62 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.sortedmerge;
+
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+
+/**
+ * Takes the sort fields out of the rows and compares them. The fields are converted to normal storage once per row, so
+ * binary string or indexed values are not converted again on every comparison. The value metadata are not thread safe:
+ * every thread that merges rows uses its own instance.
+ */
+class SortKeys {
+  private final int[] fieldIndices;
+
+  // the sort fields the way they are in the rows
+  private final ValueMetaInterface[] fieldMetas;
+
+  // the sort fields in normal storage, ascending or descending
+  private final ValueMetaInterface[] keyMetas;
+
+  SortKeys( RowMetaInterface rowMeta, int[] fieldIndices ) {
+    this.fieldIndices = fieldIndices;
+    fieldMetas = new ValueMetaInterface[ fieldIndices.length ];
+    keyMetas = new ValueMetaInterface[ fieldIndices.length ];
+    for ( int i = 0; i < fieldIndices.length; i++ ) {
+      fieldMetas[ i ] = rowMeta.getValueMeta( fieldIndices[ i ] ).clone();
+      keyMetas[ i ] = fieldMetas[ i ].clone();
+      keyMetas[ i ].setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+    }
+  }
+
+  Object[] getKeys( Object[] row ) throws KettleValueException {
+    Object[] keys = new Object[ fieldIndices.length ];
+    for ( int i = 0; i < fieldIndices.length; i++ ) {
+      keys[ i ] = fieldMetas[ i ].convertToNormalStorageType( row[ fieldIndices[ i ] ] );
+    }
+    return keys;
+  }
+
+  int compare( Object[] keys1, Object[] keys2 ) throws KettleValueException {
+    for ( int i = 0; i < keyMetas.length; i++ ) {
+      int cmp = keyMetas[ i ].compare( keys1[ i ], keys2[ i ] );
+      if ( cmp != 0 ) {
+        return cmp;
+      }
+    }
+    return 0;
+  }
+}
@@ -14,14 +14,13 @@
 package org.pentaho.di.trans.steps.sortedmerge;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
-import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
 import org.pentaho.di.trans.TransMeta;
@@ -50,136 +49,100 @@ public class SortedMerge extends BaseStep implements StepInterface {
 
   /**
    * We read from all streams in the partition merge mode For that we need at least one row on all input rowsets... If
-   * we don't have a row, we wait for one.
-   *
-   * TODO: keep the inputRowSets() list sorted and go from there. That should dramatically improve speed as you only
-   * need half as many comparisons.
-   *
-   * @return the next row
+   * we don't have a row, we wait for one. The first rows of the row sets are then merged with a tree of losers, as a
+   * whole or in groups on separate threads when there are more row sets than KETTLE_SORTED_MERGE_GROUP_SIZE.
    */
-  private synchronized Object[] getRowSorted() throws KettleException {
-    if ( first ) {
-      first = false;
-
-      // Verify that socket connections to all the remote input steps are opened
-      // before we start to read/write ...
-      //
-      openRemoteInputStepSocketsOnce();
-
-      // Read one row from all rowsets...
-      //
-      data.sortedBuffer = new ArrayList<RowSetRow>();
-      data.rowMeta = null;
-
-      // PDI-1212:
-      // If one of the inputRowSets holds a null row (the input yields
-      // 0 rows), then the null rowSet is removed from the InputRowSet buffer.. (BaseStep.getRowFrom())
-      // which throws this loop off by one (the next set never gets processed).
-      // Instead of modifying BaseStep, I figure reversing the loop here would
-      // effect change in less areas. If the reverse loop causes a problem, please
-      // re-open http://jira.pentaho.com/browse/PDI-1212.
-      List<RowSet> inputRowSets = getInputRowSets();
-      for ( int i = inputRowSets.size() - 1; i >= 0 && !isStopped(); i-- ) {
-
-        RowSet rowSet = inputRowSets.get( i );
-        Object[] row = getRowFrom( rowSet );
-        if ( row != null ) {
-          // Add this row to the sortedBuffer...
-          // Which is not yet sorted, we'll get to that later.
-          //
-          data.sortedBuffer.add( new RowSetRow( rowSet, rowSet.getRowMeta(), row ) );
-          if ( data.rowMeta == null ) {
-            data.rowMeta = rowSet.getRowMeta().clone();
-          }
+  private void startMerge() throws KettleException {
+    // Verify that socket connections to all the remote input steps are opened
+    // before we start to read/write ...
+    //
+    openRemoteInputStepSocketsOnce();
 
-          // What fields do we compare on and in what order?
-
-          // Better cache the location of the partitioning column
-          // First time operation only
-          //
-          if ( data.fieldIndices == null ) {
-            // Get the indexes of the specified sort fields...
-            data.fieldIndices = new int[meta.getFieldName().length];
-            for ( int f = 0; f < data.fieldIndices.length; f++ ) {
-              data.fieldIndices[f] = data.rowMeta.indexOfValue( meta.getFieldName()[f] );
-              if ( data.fieldIndices[f] < 0 ) {
-                throw new KettleStepException( "Unable to find fieldname ["
-                  + meta.getFieldName()[f] + "] in row : " + data.rowMeta );
-              }
-
-              data.rowMeta.getValueMeta( data.fieldIndices[f] ).setSortedDescending( !meta.getAscending()[f] );
-            }
-          }
-        }
+    // Read one row from all rowsets...
+    // The row sets that are done are removed from the input row sets (BaseStep.getRowFrom()), so loop over a copy.
+    //
+    data.rowMeta = null;
+    List<RowSet> rowSets = new ArrayList<>();
+    List<Object[]> firstRows = new ArrayList<>();
+    for ( RowSet rowSet : new ArrayList<>( getInputRowSets() ) ) {
+      if ( isStopped() ) {
+        break;
+      }
+      Object[] row = getRowFrom( rowSet );
+      if ( row == null ) {
+        continue;
+      }
+      rowSets.add( rowSet );
+      firstRows.add( row );
 
-        data.comparator = new Comparator<RowSetRow>() {
+      if ( data.rowMeta == null ) {
+        data.rowMeta = rowSet.getRowMeta().clone();
 
-          public int compare( RowSetRow o1, RowSetRow o2 ) {
-            try {
-              return o1.getRowMeta().compare( o1.getRowData(), o2.getRowData(), data.fieldIndices );
-            } catch ( KettleValueException e ) {
-              return 0; // TODO see if we should fire off alarms over here... Perhaps throw a RuntimeException.
-            }
+        // What fields do we compare on and in what order?
+        //
+        data.fieldIndices = new int[meta.getFieldName().length];
+        for ( int f = 0; f < data.fieldIndices.length; f++ ) {
+          data.fieldIndices[f] = data.rowMeta.indexOfValue( meta.getFieldName()[f] );
+          if ( data.fieldIndices[f] < 0 ) {
+            throw new KettleStepException( "Unable to find fieldname ["
+              + meta.getFieldName()[f] + "] in row : " + data.rowMeta );
           }
-        };
 
-        // Now sort the sortedBuffer for the first time.
-        //
-        Collections.sort( data.sortedBuffer, data.comparator );
+          data.rowMeta.getValueMeta( data.fieldIndices[f] ).setSortedDescending( !meta.getAscending()[f] );
+        }
       }
-    }
 
-    // If our sorted buffer is empty, it means we're done...
-    //
-    if ( data.sortedBuffer.isEmpty() ) {
-      return null;
-    }
-
-    // now that we have all rows sorted, all we need to do is find out what the smallest row is.
-    // The smallest row is the first in our case...
-    //
-    RowSetRow smallestRow = data.sortedBuffer.get( 0 );
-    data.sortedBuffer.remove( 0 );
-    Object[] outputRowData = smallestRow.getRowData();
-
-    // We read another row from the row set where the smallest row came from.
-    // That we we exhaust all row sets.
-    //
-    Object[] extraRow = getRowFrom( smallestRow.getRowSet() );
-
-    // Add it to the sorted buffer in the right position...
-    //
-    if ( extraRow != null ) {
-      // Add this one to the sortedBuffer
+      // optionally perform safe mode checking to prevent problems.
       //
-      RowSetRow add = new RowSetRow( smallestRow.getRowSet(), smallestRow.getRowSet().getRowMeta(), extraRow );
-      int index = Collections.binarySearch( data.sortedBuffer, add, data.comparator );
-      if ( index < 0 ) {
-        data.sortedBuffer.add( -index - 1, add );
-      } else {
-        data.sortedBuffer.add( index, add );
+      if ( getTrans().isSafeModeEnabled() ) {
+        safeModeChecking( rowSet.getRowMeta() );
       }
     }
 
-    // This concludes the regular program...
-    //
-
-    // optionally perform safe mode checking to prevent problems.
-    //
-    if ( getTrans().isSafeModeEnabled() ) {
-      // for checking we need to get data and meta
-      //
-      safeModeChecking( smallestRow.getRowMeta() );
+    List<MergeSource> sources = new ArrayList<>();
+    data.groups = new ArrayList<>();
+    if ( data.rowMeta == null ) {
+      data.merge = new LoserTree( sources, null );
+      return;
     }
-
-    return outputRowData;
+    data.sortKeys = new SortKeys( data.rowMeta, data.fieldIndices );
+
+    int groupSize = Const.toInt( getVariable( Const.KETTLE_SORTED_MERGE_GROUP_SIZE ), 0 );
+    if ( groupSize > 1 && rowSets.size() > groupSize ) {
+      for ( int start = 0; start < rowSets.size(); start += groupSize ) {
+        SortKeys groupKeys = new SortKeys( data.rowMeta, data.fieldIndices );
+        List<MergeSource> groupSources = new ArrayList<>();
+        for ( int i = start; i < Math.min( start + groupSize, rowSets.size() ); i++ ) {
+          groupSources.add( new RowSetSource( rowSets.get( i ), firstRows.get( i ), groupKeys ) );
+        }
+        MergeGroup group = new MergeGroup( this, groupSources, groupKeys );
+        data.groups.add( group );
+        ExecutorUtil.getExecutor().execute( group );
+        sources.add( group );
+      }
+      if ( log.isDetailed() ) {
+        logDetailed( BaseMessages.getString( PKG, "SortedMerge.Log.MergingInGroups", rowSets.size(), data.groups
+          .size() ) );
+      }
+    } else {
+      for ( int i = 0; i < rowSets.size(); i++ ) {
+        sources.add( new RowSetSource( rowSets.get( i ), firstRows.get( i ), data.sortKeys ) );
+      }
+    }
+    data.merge = new LoserTree( sources, data.sortKeys );
   }
 
   public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
     meta = (SortedMergeMeta) smi;
     data = (SortedMergeData) sdi;
 
-    Object[] row = getRowSorted(); // get row, sorted
+    if ( first ) {
+      first = false;
+      startMerge();
+    }
+
+    data.merge.next(); // get row, sorted
+    Object[] row = data.merge.row;
     if ( row == null ) { // no more input to be expected...
 
       setOutputDone();
@@ -208,4 +171,40 @@ public class SortedMerge extends BaseStep implements StepInterface {
     return false;
   }
 
+  @Override
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    data = (SortedMergeData) sdi;
+    if ( data.groups != null ) {
+      for ( MergeGroup group : data.groups ) {
+        group.stop();
+      }
+    }
+    super.dispose( smi, sdi );
+  }
+
+  /**
+   * An input row set, starting with the row that was already read from it.
+   */
+  private class RowSetSource extends MergeSource {
+    private final RowSet rowSet;
+    private final SortKeys sortKeys;
+    private Object[] firstRow;
+
+    RowSetSource( RowSet rowSet, Object[] firstRow, SortKeys sortKeys ) {
+      this.rowSet = rowSet;
+      this.firstRow = firstRow;
+      this.sortKeys = sortKeys;
+    }
+
+    @Override
+    void next() throws KettleException {
+      if ( firstRow != null ) {
+        row = firstRow;
+        firstRow = null;
+      } else {
+        row = getRowFrom( rowSet );
+      }
+      keys = row == null ? null : sortKeys.getKeys( row );
+    }
+  }
 }
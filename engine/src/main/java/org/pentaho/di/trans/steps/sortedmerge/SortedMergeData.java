@@ -13,7 +13,6 @@
 
 package org.pentaho.di.trans.steps.sortedmerge;
 
-import java.util.Comparator;
 import java.util.List;
 
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -29,8 +28,9 @@ public class SortedMergeData extends BaseStepData implements StepDataInterface {
   public int[] fieldIndices;
   // public RowComparator rowComparator;
   public RowMetaInterface rowMeta;
-  public List<RowSetRow> sortedBuffer;
-  public Comparator<RowSetRow> comparator;
+  SortKeys sortKeys;
+  MergeSource merge;
+  List<MergeGroup> groups;
 
   public SortedMergeData() {
     super();
@@ -16,13 +16,15 @@ package org.pentaho.di.trans.steps.streamlookup;
 import java.math.BigDecimal;
 import java.text.DateFormat;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
 import org.pentaho.di.core.exception.KettleValueException;
-import org.pentaho.di.core.hash.ByteArrayHashIndex;
+import org.pentaho.di.core.hash.PackedByteArrayHashIndex;
 import org.pentaho.di.core.row.RowDataUtil;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -209,9 +211,31 @@ public class StreamLookup extends BaseStep implements StepInterface {
       rowData = getRowFrom( rowSet );
     }
 
+    if ( meta.isMemoryPreservationActive() && meta.isUsingSortedList() ) {
+      sortList();
+    }
+
     return true;
   }
 
+  /**
+   * Sorts the lookup values once they are all read. The sort is stable so of the values with the same key the last
+   * one read is kept, like in a hash table.
+   */
+  private void sortList() {
+    List<KeyValue> list = data.list;
+    list.sort( data.comparator );
+    int unique = 0;
+    for ( int i = 0; i < list.size(); i++ ) {
+      if ( unique > 0 && data.comparator.compare( list.get( unique - 1 ), list.get( i ) ) == 0 ) {
+        list.set( unique - 1, list.get( i ) );
+      } else {
+        list.set( unique++, list.get( i ) );
+      }
+    }
+    list.subList( unique, list.size() ).clear();
+  }
+
   private Object[] lookupValues( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
     // See if we need to stop.
     if ( isStopped() ) {
@@ -287,20 +311,15 @@ public class StreamLookup extends BaseStep implements StepInterface {
     Object[] valueData ) throws KettleValueException {
     if ( meta.isMemoryPreservationActive() ) {
       if ( meta.isUsingSortedList() ) {
-        KeyValue keyValue = new KeyValue( keyData, valueData );
-        int idx = Collections.binarySearch( data.list, keyValue, data.comparator );
-        if ( idx < 0 ) {
-          int index = -idx - 1; // this is the insertion point
-          data.list.add( index, keyValue ); // insert to keep sorted.
-        } else {
-          data.list.set( idx, keyValue ); // Overwrite to simulate Hashtable behaviour
-        }
+        // sorted once all values are read
+        data.list.add( new KeyValue( keyData, valueData ) );
       } else {
         if ( meta.isUsingIntegerPair() ) {
           if ( !data.metadataVerifiedIntegerPair ) {
             data.metadataVerifiedIntegerPair = true;
             if ( keyMeta.size() != 1
-              || valueMeta.size() != 1 || !keyMeta.getValueMeta( 0 ).isInteger()
+              || valueMeta.size() != 1 || !( keyMeta.getValueMeta( 0 ).isInteger()
+              || keyMeta.getValueMeta( 0 ).getType() == ValueMetaInterface.TYPE_DATE )
               || !valueMeta.getValueMeta( 0 ).isInteger() ) {
 
               throw new KettleValueException( BaseMessages.getString(
@@ -308,12 +327,14 @@ public class StreamLookup extends BaseStep implements StepInterface {
             }
           }
 
-          Long key = keyMeta.getInteger( keyData, 0 );
-          Long value = valueMeta.getInteger( valueData, 0 );
-          data.longIndex.put( key, value );
+          Long key = getLongKey( keyMeta, keyData );
+          if ( key != null ) {
+            Long value = valueMeta.getInteger( valueData, 0 );
+            data.longIndex.put( key, value );
+          }
         } else {
           if ( data.hashIndex == null ) {
-            data.hashIndex = new ByteArrayHashIndex( keyMeta );
+            data.hashIndex = new PackedByteArrayHashIndex();
           }
           data.hashIndex
             .put( RowMeta.extractData( keyMeta, keyData ), RowMeta.extractData( valueMeta, valueData ) );
@@ -339,7 +360,8 @@ public class StreamLookup extends BaseStep implements StepInterface {
         return keyValue.getValue();
       } else {
         if ( meta.isUsingIntegerPair() ) {
-          Long value = data.longIndex.get( keyMeta.getInteger( keyData, 0 ) );
+          Long key = getLongKey( keyMeta, keyData );
+          Long value = key == null ? null : data.longIndex.get( key );
           if ( value == null ) {
             return null;
           }
@@ -362,6 +384,18 @@ public class StreamLookup extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * @return the integer key, or the milliseconds of a date key, of the integer pair algorithm
+   */
+  private static Long getLongKey( RowMetaInterface keyMeta, Object[] keyData ) throws KettleValueException {
+    ValueMetaInterface valueMeta = keyMeta.getValueMeta( 0 );
+    if ( valueMeta.getType() == ValueMetaInterface.TYPE_DATE ) {
+      Date date = valueMeta.getDate( keyData[0] );
+      return date == null ? null : date.getTime();
+    }
+    return valueMeta.getInteger( keyData[0] );
+  }
+
   @Override
   public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
     meta = (StreamLookupMeta) smi;
@@ -21,7 +21,7 @@ import java.util.Map;
 
 import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.exception.KettleValueException;
-import org.pentaho.di.core.hash.ByteArrayHashIndex;
+import org.pentaho.di.core.hash.PackedByteArrayHashIndex;
 import org.pentaho.di.core.hash.LongHashIndex;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.trans.step.BaseStepData;
@@ -62,7 +62,7 @@ public class StreamLookupData extends BaseStepData implements StepDataInterface
 
   public Comparator<KeyValue> comparator;
 
-  public ByteArrayHashIndex hashIndex;
+  public PackedByteArrayHashIndex hashIndex;
   public LongHashIndex longIndex;
 
   public RowMetaInterface lookupMeta;
@@ -660,4 +660,9 @@ public class TableInputMeta extends BaseDatabaseStepMeta implements StepMetaInte
   public StepMeta getLookupFromStep() {
     return getStepIOMeta().getInfoStreams().get( 0 ).getStepMeta();
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
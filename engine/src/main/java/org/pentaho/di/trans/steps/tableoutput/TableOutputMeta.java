@@ -1023,4 +1023,11 @@ public class TableOutputMeta extends BaseDatabaseStepMeta implements StepMetaInt
     }
   }
 
+  /**
+   * The table is truncated when the step is initialized.
+   */
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return !truncateTable;
+  }
 }
@@ -0,0 +1,122 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.textfileoutput;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.pentaho.di.core.util.ExecutorUtil;
+
+/**
+ * A buffered output stream that writes full buffers on a background thread.
+ * <p>
+ * There are two buffers: the step fills one while the other one is compressed and written to the file. The step only
+ * waits when it fills its buffer before the previous one is written. Errors of the background thread are thrown by the
+ * next write, flush or close.
+ */
+public class AsyncBufferedOutputStream extends BufferedOutputStream {
+
+  public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+  private byte[] spare;
+  private Future<?> pending;
+
+  public AsyncBufferedOutputStream( OutputStream out ) {
+    this( out, DEFAULT_BUFFER_SIZE );
+  }
+
+  public AsyncBufferedOutputStream( OutputStream out, int size ) {
+    super( out, size );
+    spare = new byte[ size ];
+  }
+
+  @Override
+  public void write( int b ) throws IOException {
+    if ( count == buf.length ) {
+      handOff();
+    }
+    buf[ count++ ] = (byte) b;
+  }
+
+  @Override
+  public void write( byte[] b, int off, int len ) throws IOException {
+    while ( len > 0 ) {
+      if ( count == buf.length ) {
+        handOff();
+      }
+      int n = Math.min( len, buf.length - count );
+      System.arraycopy( b, off, buf, count, n );
+      count += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  /**
+   * Give the full buffer to the background thread and continue in the other one.
+   */
+  private void handOff() throws IOException {
+    waitForWrite();
+    final byte[] full = buf;
+    final int length = count;
+    buf = spare;
+    spare = full;
+    count = 0;
+    pending = ExecutorUtil.getExecutor().submit( () -> {
+      out.write( full, 0, length );
+      return null;
+    } );
+  }
+
+  private void waitForWrite() throws IOException {
+    if ( pending == null ) {
+      return;
+    }
+    try {
+      pending.get();
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException( "Interrupted while writing" );
+    } catch ( ExecutionException e ) {
+      if ( e.getCause() instanceof IOException ) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException( e.getCause() );
+    } finally {
+      pending = null;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if ( count > 0 ) {
+      handOff();
+    }
+    waitForWrite();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      out.close();
+    }
+  }
+}
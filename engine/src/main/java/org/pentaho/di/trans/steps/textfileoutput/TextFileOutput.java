@@ -37,6 +37,8 @@ import org.pentaho.di.core.WriterOutputStream;
 import org.pentaho.di.core.compress.CompressionOutputStream;
 import org.pentaho.di.core.compress.CompressionProvider;
 import org.pentaho.di.core.compress.CompressionProviderFactory;
+import org.pentaho.di.core.compress.gzip.GZIPCompressionProvider;
+import org.pentaho.di.core.compress.gzip.ParallelGZIPCompressionOutputStream;
 import org.pentaho.di.core.compress.zip.ZIPCompressionProvider;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleFileException;
@@ -135,7 +137,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
       TextFileOutputData.FileStream fileStreams = null;
 
       try {
-        if ( data.splitEvery > 0 ) {
+        if ( isSplitting() ) {
           if ( filename.equals( data.getFileStreamsCollection().getLastFileName() ) ) {
             fileStreams = data.getFileStreamsCollection().getLastStream( );
           }
@@ -184,7 +186,8 @@ public class TextFileOutput extends BaseStep implements StepInterface {
 
           OutputStream fileOutputStream =
             getOutputStream( filename, getTransMeta(), !isZipFile && appendToExistingFile );
-          CompressionOutputStream compressionOutputStream = compressionProvider.createOutputStream( fileOutputStream );
+          CompressionOutputStream compressionOutputStream =
+            createCompressionOutputStream( compressionProvider, fileOutputStream );
 
           // The compression output stream may also archive entries. For this we create the filename
           // (with appropriate extension) and add it as an entry to the output stream. For providers
@@ -199,7 +202,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
             }
           }
 
-          BufferedOutputStream bufferedOutputStream = new BufferedOutputStream( compressionOutputStream, 5000 );
+          BufferedOutputStream bufferedOutputStream = createBufferedOutputStream( compressionOutputStream );
 
           fileStreams = data.new FileStream( fileOutputStream, compressionOutputStream, bufferedOutputStream );
 
@@ -217,9 +220,10 @@ public class TextFileOutput extends BaseStep implements StepInterface {
 
           OutputStream fileOutputStream = getOutputStream( filename, getTransMeta(), true );
           CompressionProvider compressionProvider = getCompressionProvider();
-          CompressionOutputStream compressionOutputStream = compressionProvider.createOutputStream( fileOutputStream );
+          CompressionOutputStream compressionOutputStream =
+            createCompressionOutputStream( compressionProvider, fileOutputStream );
           compressionOutputStream.addEntry( filename, environmentSubstitute( meta.getExtension() ) );
-          BufferedOutputStream bufferedOutputStream = new BufferedOutputStream( compressionOutputStream, 5000 );
+          BufferedOutputStream bufferedOutputStream = createBufferedOutputStream( compressionOutputStream );
 
           fileStreams.setFileOutputStream( fileOutputStream );
           fileStreams.setCompressedOutputStream( compressionOutputStream );
@@ -245,6 +249,27 @@ public class TextFileOutput extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * With the asynchronous writer, gzip files are compressed by several threads.
+   */
+  private CompressionOutputStream createCompressionOutputStream( CompressionProvider compressionProvider,
+    OutputStream fileOutputStream ) throws IOException {
+    if ( data.asyncWriter && compressionProvider instanceof GZIPCompressionProvider ) {
+      return new ParallelGZIPCompressionOutputStream( fileOutputStream, compressionProvider );
+    }
+    return compressionProvider.createOutputStream( fileOutputStream );
+  }
+
+  /**
+   * With the asynchronous writer, full buffers are compressed and written on a background thread.
+   */
+  private BufferedOutputStream createBufferedOutputStream( OutputStream compressionOutputStream ) {
+    if ( data.asyncWriter ) {
+      return new AsyncBufferedOutputStream( compressionOutputStream );
+    }
+    return new BufferedOutputStream( compressionOutputStream, 5000 );
+  }
+
   public String getOutputFileName( Object[] row ) throws KettleException {
     String filename = null;
     if ( row == null ) {
@@ -335,7 +360,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
     boolean writingToFileForFirstTime = first;
     boolean isWriteHeader = meta.isHeaderEnabled();
     if ( isWriteHeader ) {
-      if ( data.splitEvery > 0 ) {
+      if ( isSplitting() ) {
         writingToFileForFirstTime |= !filename.equals( data.getFileStreamsCollection().getLastFileName( ) );
       } else {
         writingToFileForFirstTime |= data.getFileStreamsCollection().getStream( filename ) == null;
@@ -360,10 +385,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
       }
 
       // If file has reached max user defined size. Close current file and open a new file.
-      if ( !meta.isFileNameInField()
-          && ( getLinesOutput() > 0 )
-          && ( data.splitEvery > 0 )
-          && ( ( getLinesOutput() + meta.getFooterShift() ) % data.splitEvery ) == 0 ) {
+      if ( !meta.isFileNameInField() && ( isSplitOnRows() || isSplitOnBytes() ) ) {
         // If needed write footer to file before closing it.
         if ( meta.isFooterEnabled() ) {
           writeHeader();
@@ -375,6 +397,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
         data.fos = null;
         data.out = null;
         data.writer = null;
+        data.bytesInFile = 0;
         filename = getOutputFileName( null );
         isWriteHeader = isWriteHeader( filename );
         initFileStreamWriter( filename );
@@ -428,6 +451,25 @@ public class TextFileOutput extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * @return true if the rows are split over numbered files, on the number of rows or on size
+   */
+  private boolean isSplitting() {
+    return data.splitEvery > 0 || data.splitEveryBytes > 0;
+  }
+
+  private boolean isSplitOnRows() {
+    return getLinesOutput() > 0 && data.splitEvery > 0
+      && ( ( getLinesOutput() + meta.getFooterShift() ) % data.splitEvery ) == 0;
+  }
+
+  /**
+   * The file is split before the row that follows the one that reached the size, a file can be a row larger.
+   */
+  private boolean isSplitOnBytes() {
+    return data.splitEveryBytes > 0 && data.bytesInFile >= data.splitEveryBytes;
+  }
+
   public void flushOpenFiles( boolean closeAfterFlush ) throws IOException {
     data.getFileStreamsCollection().flushOpenFiles( true );
   }
@@ -478,7 +520,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
          */
         for ( int i = 0; i < rowMeta.size(); i++ ) {
           if ( i > 0 && data.binarySeparator.length > 0 ) {
-            data.writer.write( data.binarySeparator );
+            write( data.binarySeparator );
           }
           ValueMetaInterface v = rowMeta.getValueMeta( i );
           Object valueData = r[i];
@@ -494,7 +536,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
          */
         for ( int i = 0; i < meta.getOutputFields().length; i++ ) {
           if ( i > 0 && data.binarySeparator.length > 0 ) {
-            data.writer.write( data.binarySeparator );
+            write( data.binarySeparator );
           }
 
           ValueMetaInterface v = meta.getMetaWithFieldOptions()[ i ];
@@ -503,7 +545,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
         }
       }
 
-      data.writer.write( data.binaryNewline );
+      write( data.binaryNewline );
 
       incrementLinesOutput();
 
@@ -512,6 +554,19 @@ public class TextFileOutput extends BaseStep implements StepInterface {
     }
   }
 
+  /**
+   * Write to the current file and keep track of its size for splitting on size.
+   */
+  private void write( byte[] bytes ) throws IOException {
+    data.writer.write( bytes );
+    data.bytesInFile += bytes.length;
+  }
+
+  private void write( byte[] bytes, int offset, int length ) throws IOException {
+    data.writer.write( bytes, offset, length );
+    data.bytesInFile += length;
+  }
+
   private byte[] formatField( ValueMetaInterface v, Object valueData ) throws KettleValueException {
     if ( v.isString() ) {
       if ( v.isStorageBinaryString() && v.getTrimType() == ValueMetaInterface.TRIM_TYPE_NONE && v.getLength() < 0
@@ -633,28 +688,28 @@ public class TextFileOutput extends BaseStep implements StepInterface {
         boolean writeEnclosures = isWriteEnclosureForWriteField( str );
 
         if ( writeEnclosures ) {
-          data.writer.write( data.binaryEnclosure );
+          write( data.binaryEnclosure );
           enclosures = getEnclosurePositions( str );
         }
 
         if ( enclosures == null ) {
-          data.writer.write( str );
+          write( str );
         } else {
           // Skip the enclosures, double them instead...
           int from = 0;
           for ( int i = 0; i < enclosures.size(); i++ ) {
             int position = enclosures.get( i );
-            data.writer.write( str, from, position + data.binaryEnclosure.length - from );
-            data.writer.write( data.binaryEnclosure ); // write enclosure a second time
+            write( str, from, position + data.binaryEnclosure.length - from );
+            write( data.binaryEnclosure ); // write enclosure a second time
             from = position + data.binaryEnclosure.length;
           }
           if ( from < str.length ) {
-            data.writer.write( str, from, str.length - from );
+            write( str, from, str.length - from );
           }
         }
 
         if ( writeEnclosures ) {
-          data.writer.write( data.binaryEnclosure );
+          write( data.binaryEnclosure );
         }
       }
     } catch ( Exception e ) {
@@ -692,7 +747,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
       String sLine = environmentSubstitute( meta.getEndedLine() );
       if ( sLine != null ) {
         if ( sLine.trim().length() > 0 ) {
-          data.writer.write( getBinaryString( sLine ) );
+          write( getBinaryString( sLine ) );
           incrementLinesOutput();
         }
       }
@@ -717,20 +772,20 @@ public class TextFileOutput extends BaseStep implements StepInterface {
           ValueMetaInterface v = r.searchValueMeta( fieldName );
 
           if ( i > 0 && data.binarySeparator.length > 0 ) {
-            data.writer.write( data.binarySeparator );
+            write( data.binarySeparator );
           }
 
           boolean writeEnclosure = isWriteEnclosureForFieldName( v, fieldName );
 
           if ( writeEnclosure ) {
-            data.writer.write( data.binaryEnclosure );
+            write( data.binaryEnclosure );
           }
-          data.writer.write( getBinaryString( fieldName ) );
+          write( getBinaryString( fieldName ) );
           if ( writeEnclosure ) {
-            data.writer.write( data.binaryEnclosure );
+            write( data.binaryEnclosure );
           }
         }
-        data.writer.write( data.binaryNewline );
+        write( data.binaryNewline );
       } else if ( r != null ) {
         //PDI-17902 - Concat Fields changes the output row meta, only input rows are desired
         if ( data.inputRowMeta != null ) {
@@ -739,23 +794,23 @@ public class TextFileOutput extends BaseStep implements StepInterface {
         // Just put all field names in the header/footer
         for ( int i = 0; i < r.size(); i++ ) {
           if ( i > 0 && data.binarySeparator.length > 0 ) {
-            data.writer.write( data.binarySeparator );
+            write( data.binarySeparator );
           }
           ValueMetaInterface v = r.getValueMeta( i );
 
           boolean writeEnclosure = isWriteEnclosureForValueMetaInterface( v );
 
           if ( writeEnclosure ) {
-            data.writer.write( data.binaryEnclosure );
+            write( data.binaryEnclosure );
           }
-          data.writer.write( getBinaryString( v.getName() ) );
+          write( getBinaryString( v.getName() ) );
           if ( writeEnclosure ) {
-            data.writer.write( data.binaryEnclosure );
+            write( data.binaryEnclosure );
           }
         }
-        data.writer.write( data.binaryNewline );
+        write( data.binaryNewline );
       } else {
-        data.writer.write( getBinaryString( "no rows selected" + Const.CR ) );
+        write( getBinaryString( "no rows selected" + Const.CR ) );
       }
     } catch ( Exception e ) {
       logError( "Error writing header line: " + e.toString() );
@@ -820,6 +875,13 @@ public class TextFileOutput extends BaseStep implements StepInterface {
 
     if ( super.init( smi, sdi ) ) {
       data.splitnr = 0;
+      if ( getUniqueStepCountAcrossSlaves() > 1 && !meta.isServletOutput() && !meta.isFileNameInField()
+        && !meta.isStepNrInFilename() && !meta.isPartNrInFilename() && !Utils.isEmpty( meta.getFileName() ) ) {
+        logBasic( BaseMessages.getString( PKG, "TextFileOutput.Log.CopiesWriteSameFile",
+          getUniqueStepCountAcrossSlaves() ) );
+      }
+      data.asyncWriter = !meta.isServletOutput()
+        && "Y".equalsIgnoreCase( getVariable( Const.KETTLE_TEXT_FILE_OUTPUT_ASYNC_WRITER, "N" ) );
       // In case user want to create file at first row
       // In that case, DO NOT create file at Init
       if ( !meta.isDoNotOpenNewFileInit() && !meta.isFileNameInField() ) {
@@ -906,6 +968,7 @@ public class TextFileOutput extends BaseStep implements StepInterface {
         }
       }
       data.splitEvery = meta.getSplitEvery( variables );
+      data.splitEveryBytes = meta.getSplitEveryBytes( variables );
     } catch ( Exception e ) {
       throw new KettleException( "Unexpected error while encoding binary fields", e );
     }
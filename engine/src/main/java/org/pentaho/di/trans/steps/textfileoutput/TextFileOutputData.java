@@ -115,12 +115,23 @@ public class TextFileOutputData extends BaseStepData implements StepDataInterfac
     }
 
     public void close() throws IOException {
-      setBufferedOutputStream( null );
-      getCompressedOutputStream().close();
-      setCompressedOutputStream( null );
-      getFileOutputStream().close();
-      setFileOutputStream( null );
-      isDirty = false;
+      try {
+        if ( bufferedOutputStream instanceof AsyncBufferedOutputStream ) {
+          // the background thread has to be done before the streams below are closed
+          bufferedOutputStream.flush();
+        }
+      } finally {
+        // a failed background write must not leave the file open
+        setBufferedOutputStream( null );
+        try {
+          getCompressedOutputStream().close();
+        } finally {
+          setCompressedOutputStream( null );
+          getFileOutputStream().close();
+          setFileOutputStream( null );
+          isDirty = false;
+        }
+      }
     }
 
     public boolean isOpen() {
@@ -408,6 +419,11 @@ public class TextFileOutputData extends BaseStepData implements StepDataInterfac
 
   public boolean hasEncoding;
 
+  /**
+   * Full buffers are compressed and written on a background thread
+   */
+  public boolean asyncWriter;
+
   public byte[][] binaryNullValue;
 
   public boolean oneFileOpened;
@@ -424,6 +440,13 @@ public class TextFileOutputData extends BaseStepData implements StepDataInterfac
 
   public int splitEvery;
 
+  public long splitEveryBytes;
+
+  /**
+   * The number of bytes written to the current file by this step, before compression
+   */
+  public long bytesInFile;
+
   public TextFileOutputData() {
     super();
 
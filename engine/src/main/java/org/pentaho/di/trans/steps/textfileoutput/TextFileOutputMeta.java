@@ -104,6 +104,7 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
   private static final String CONST_STRING_FILE_PAD = "file_pad";
   private static final String CONST_STRING_FILE_SERVLET_OUTPUT = "file_servlet_output";
   private static final String CONST_STRING_FILE_SPLIT_ROWS = "file_split_rows";
+  private static final String CONST_STRING_FILE_SPLIT_BYTES = "file_split_bytes";
   private static final String CONST_STRING_FOOTER = "footer";
   private static final String CONST_STRING_FORMAT = "format";
   private static final String CONST_STRING_GROUP = "group";
@@ -119,6 +120,7 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
   private static final String CONST_STRING_SPECIFY_FORMAT = "SpecifyFormat";
   private static final String CONST_STRING_SPLIT = "split";
   private static final String CONST_STRING_SPLITEVERY = "splitevery";
+  private static final String CONST_STRING_SPLITEVERY_BYTES = "splitevery_bytes";
   private static final String CONST_STRING_TRIM_TYPE = "trim_type";
   private static final String CONST_STRING_TYPE = "type";
   private static final String CONST_STRING_ZIPPED = "zipped";
@@ -189,6 +191,10 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
   @Injection( name = "SPLIT_EVERY" )
   private String splitEveryRows;
 
+  /** if this value is larger then 0, a new file is started once this number of bytes is written to the current one */
+  @Injection( name = "SPLIT_EVERY_BYTES" )
+  private String splitEveryBytes;
+
   /** Flag to indicate the we want to append to the end of an existing file (if it exists) */
   @Injection( name = "APPEND" )
   private boolean fileAppended;
@@ -501,6 +507,33 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
     splitEveryRows = value;
   }
 
+  /**
+   * @param varSpace for variable substitution
+   * @return After how many bytes to split into another file, 0 to not split on size.
+   */
+  public long getSplitEveryBytes( VariableSpace varSpace ) {
+    return Const.toLong( varSpace == null ? splitEveryBytes : varSpace.environmentSubstitute( splitEveryBytes ), 0L );
+  }
+
+  @Override
+  public boolean isSplitting( VariableSpace space ) {
+    return super.isSplitting( space ) || getSplitEveryBytes( space ) > 0;
+  }
+
+  /**
+   * @return After how many bytes to split into a new file.
+   */
+  public String getSplitEveryBytes() {
+    return splitEveryBytes;
+  }
+
+  /**
+   * @param value After how many bytes to split into a new file.
+   */
+  public void setSplitEveryBytes( String value ) {
+    splitEveryBytes = value;
+  }
+
   /**
    * @return <tt>1</tt> if <tt>isFooterEnabled()</tt> and <tt>0</tt> otherwise
    */
@@ -702,6 +735,7 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
       padded = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, CONST_STRING_FILE, CONST_STRING_PAD ) );
       fastDump = "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, CONST_STRING_FILE, CONST_STRING_FAST_DUMP ) );
       splitEveryRows = XMLHandler.getTagValue( stepnode, CONST_STRING_FILE, CONST_STRING_SPLITEVERY );
+      splitEveryBytes = XMLHandler.getTagValue( stepnode, CONST_STRING_FILE, CONST_STRING_SPLITEVERY_BYTES );
 
       newline = getNewLine( fileFormat );
 
@@ -865,6 +899,7 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
     retval.append( "      " ).append( XMLHandler.addTagValue( CONST_STRING_PAD, padded ) );
     retval.append( "      " ).append( XMLHandler.addTagValue( CONST_STRING_FAST_DUMP, fastDump ) );
     retval.append( "      " ).append( XMLHandler.addTagValue( CONST_STRING_SPLITEVERY, splitEveryRows ) );
+    retval.append( "      " ).append( XMLHandler.addTagValue( CONST_STRING_SPLITEVERY_BYTES, splitEveryBytes ) );
   }
 
   @Override
@@ -905,6 +940,7 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
           splitEveryRows = Long.toString( splitEvery );
         }
       }
+      splitEveryBytes = rep.getStepAttributeString( id_step, CONST_STRING_FILE_SPLIT_BYTES );
 
       stepNrInFilename = rep.getStepAttributeBoolean( id_step, CONST_STRING_FILE_ADD_STEPNR );
       partNrInFilename = rep.getStepAttributeBoolean( id_step, CONST_STRING_FILE_ADD_PARTNR );
@@ -967,6 +1003,7 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
       rep.saveStepAttribute( id_transformation, id_step, CONST_STRING_FILE_EXTENTION, extension );
       rep.saveStepAttribute( id_transformation, id_step, CONST_STRING_FILE_APPEND, fileAppended );
       rep.saveStepAttribute( id_transformation, id_step, CONST_STRING_FILE_SPLIT_ROWS, splitEveryRows );
+      rep.saveStepAttribute( id_transformation, id_step, CONST_STRING_FILE_SPLIT_BYTES, splitEveryBytes );
       rep.saveStepAttribute( id_transformation, id_step, CONST_STRING_FILE_ADD_STEPNR, stepNrInFilename );
       rep.saveStepAttribute( id_transformation, id_step, CONST_STRING_FILE_ADD_PARTNR, partNrInFilename );
       rep.saveStepAttribute( id_transformation, id_step, CONST_STRING_FILE_ADD_DATE, dateInFilename );
@@ -1188,4 +1225,12 @@ public class TextFileOutputMeta extends BaseFileOutputMeta implements StepMetaIn
 
     return metaWithFieldOptions;
   }
+
+  /**
+   * The file is created when the step is initialized, unless that waits for the first row.
+   */
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return isDoNotOpenNewFileInit();
+  }
 }
@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.json.simple.JSONArray;
@@ -34,6 +36,7 @@ import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.logging.KettleLogStore;
 import org.pentaho.di.core.row.RowDataUtil;
 import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.util.ExecutorUtil;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.job.DelegationListener;
@@ -201,9 +204,21 @@ public class TransExecutor extends BaseStep implements StepInterface {
       discardLogLines( transExecutorData );
     }
 
-    Trans executorTrans = createInternalTrans();
+    // Use the transformation prepared while the previous group was running, if any.
+    //
+    Trans executorTrans = takePreparedTrans();
+    boolean prepared = executorTrans != null;
+    if ( !prepared ) {
+      executorTrans = createInternalTrans();
+    }
     transExecutorData.setExecutorTrans( executorTrans );
-    if ( incomingFieldValues != null ) {
+    if ( prepared ) {
+      // The parameters don't depend on the incoming rows, they were passed before the preparation.
+      //
+      if ( log.isDebug() ) {
+        logDebug( BaseMessages.getString( PKG, "TransExecutor.Log.UsingPreparedTransformation" ) );
+      }
+    } else if ( incomingFieldValues != null ) {
       // Pass parameter values
       passParametersToTrans( incomingFieldValues );
     } else {
@@ -217,16 +232,29 @@ public class TransExecutor extends BaseStep implements StepInterface {
     // keep track for drill down in Spoon...
     getTrans().addActiveSubTransformation( getStepname(), executorTrans );
 
-    Result result = new Result();
+    // A prepared transformation got its previous result before its steps were initialized, only the rows are added.
+    //
+    Result result = prepared ? executorTrans.getPreviousResult() : null;
+    if ( result == null ) {
+      result = new Result();
+      executorTrans.setPreviousResult( result );
+    }
     result.setRows( transExecutorData.groupBuffer );
-    executorTrans.setPreviousResult( result );
 
     try {
-      executorTrans.prepareExecution( getTrans().getArguments() );
+      if ( !prepared ) {
+        executorTrans.prepareExecution( getTrans().getArguments() );
+      }
 
       // run transformation
       executorTrans.startThreads();
 
+      // Initialize the transformation for the next group while this one is running, unless this is the last group.
+      //
+      if ( transExecutorData.prepareAhead && incomingFieldValues != null ) {
+        prepareNextTrans();
+      }
+
       // Inform the parent transformation we started something here...
       for ( DelegationListener delegationListener : getTrans().getDelegationListeners() ) {
         // TODO: copy some settings in the transformation execution configuration, not strictly needed
@@ -267,7 +295,12 @@ public class TransExecutor extends BaseStep implements StepInterface {
 
   @VisibleForTesting
   Trans createInternalTrans() throws KettleException {
-    Trans executorTrans = new Trans( getData().getExecutorTransMeta(), this );
+    return createInternalTrans( getData().getExecutorTransMeta() );
+  }
+
+  @VisibleForTesting
+  Trans createInternalTrans( TransMeta executorTransMeta ) throws KettleException {
+    Trans executorTrans = new Trans( executorTransMeta, this );
 
     executorTrans.setParentTrans( getTrans() );
     executorTrans.setRepository( getTrans().getRepository() );
@@ -283,8 +316,92 @@ public class TransExecutor extends BaseStep implements StepInterface {
     return executorTrans;
   }
 
+  /**
+   * Create the transformation for the next group and initialize its steps in the background. This is only done when the
+   * parameters passed to the transformation don't depend on the incoming rows.
+   * <p>
+   * The next transformation is initialized on a copy of the metadata as the running one still uses the caches of the
+   * original. It gets its previous result before the initialization, steps like Get files from result read it in init.
+   * The rows of the group are added to that result when the group is complete.
+   */
+  @VisibleForTesting
+  void prepareNextTrans() {
+    try {
+      Trans nextTrans = createInternalTrans( (TransMeta) getData().getExecutorTransMeta().clone() );
+      passParametersToTrans( null, nextTrans );
+      nextTrans.setPreviousResult( new Result() );
+
+      String[] arguments = getTrans().getArguments();
+      getData().setPreparedTrans( ExecutorUtil.getExecutor().submit( () -> {
+        nextTrans.prepareExecution( arguments );
+        return nextTrans;
+      } ) );
+    } catch ( KettleException e ) {
+      // Not fatal, the next group will create its transformation in the foreground.
+      //
+      logError( BaseMessages.getString( PKG, "TransExecutor.Log.PreparationFailed" ), e );
+    }
+  }
+
+  /**
+   * @return the transformation prepared in the background for the current group or null if there is none or if its
+   *         preparation failed.
+   */
+  @VisibleForTesting
+  Trans takePreparedTrans() {
+    Future<Trans> preparedTrans = getData().getPreparedTrans();
+    if ( preparedTrans == null ) {
+      return null;
+    }
+    getData().setPreparedTrans( null );
+    try {
+      return preparedTrans.get();
+    } catch ( ExecutionException e ) {
+      // The steps were disposed by the failed preparation, we'll try again in the foreground and report the error there.
+      //
+      logError( BaseMessages.getString( PKG, "TransExecutor.Log.PreparationFailed" ), e.getCause() );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  /**
+   * Release the steps and connections of a transformation that was prepared but never started.
+   */
+  private void discardPreparedTrans() {
+    Trans preparedTrans = takePreparedTrans();
+    if ( preparedTrans != null ) {
+      preparedTrans.cleanup();
+    }
+  }
+
+  /**
+   * The transformation can be prepared before its group is complete only when it is safe to initialize ahead, see
+   * {@link TransMeta#isSafeToInitializeAhead()}, and its parameters don't use fields.
+   */
+  @VisibleForTesting
+  boolean isPrepareAheadPossible( TransMeta executorTransMeta ) {
+    if ( !executorTransMeta.isSafeToInitializeAhead() ) {
+      return false;
+    }
+    String[] fields = meta.getParameters().getField();
+    if ( fields != null ) {
+      for ( String field : fields ) {
+        if ( !Utils.isEmpty( Const.trim( field ) ) ) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   @VisibleForTesting
   void passParametersToTrans( List<String> incomingFieldValues ) throws KettleException {
+    passParametersToTrans( incomingFieldValues, getExecutorTrans() );
+  }
+
+  private void passParametersToTrans( List<String> incomingFieldValues, Trans trans ) throws KettleException {
     //The values of the incoming fields from the previous step.
     if ( incomingFieldValues == null ) {
       incomingFieldValues = new ArrayList<String>();
@@ -362,7 +479,6 @@ public class TransExecutor extends BaseStep implements StepInterface {
       inputFieldValues[i] = resolvingValuesMap.get( parameters.getVariable()[i] );
     }
 
-    Trans trans = getExecutorTrans();
     initializeVariablesFromParent( trans );
 
     StepWithMappingMeta
@@ -514,6 +630,13 @@ public class TransExecutor extends BaseStep implements StepInterface {
           if ( !Utils.isEmpty( meta.getGroupField() ) ) {
             transExecutorData.groupField = environmentSubstitute( meta.getGroupField() );
           }
+
+          // Should we initialize the transformation of the next group while the current one is running?
+          transExecutorData.prepareAhead = "Y".equalsIgnoreCase( getVariable( Const.KETTLE_TRANS_EXECUTOR_PREPARE_AHEAD, "N" ) );
+          if ( transExecutorData.prepareAhead && !isPrepareAheadPossible( transExecutorData.getExecutorTransMeta() ) ) {
+            logBasic( BaseMessages.getString( PKG, "TransExecutor.Log.PrepareAheadNotPossible" ) );
+            transExecutorData.prepareAhead = false;
+          }
           // That's all for now...
           return true;
         } else {
@@ -535,6 +658,7 @@ public class TransExecutor extends BaseStep implements StepInterface {
 
   public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
     TransExecutorData transExecutorData = getData();
+    discardPreparedTrans();
     transExecutorData.groupBuffer = null;
     super.dispose( smi, sdi );
   }
@@ -14,6 +14,7 @@
 package org.pentaho.di.trans.steps.transexecutor;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.RowSet;
@@ -50,6 +51,9 @@ public class TransExecutorData extends BaseStepData implements StepDataInterface
 
   public Object prevGroupFieldData;
 
+  public boolean prepareAhead;
+  private Future<Trans> preparedTrans;
+
   private RowSet executorStepOutputRowSet;
   private RowSet resultRowsRowSet;
   private RowSet resultFilesRowSet;
@@ -67,6 +71,17 @@ public class TransExecutorData extends BaseStepData implements StepDataInterface
     this.executorTrans = executorTrans;
   }
 
+  /**
+   * @return the transformation being prepared in the background for the next group, or null
+   */
+  public Future<Trans> getPreparedTrans() {
+    return preparedTrans;
+  }
+
+  public void setPreparedTrans( Future<Trans> preparedTrans ) {
+    this.preparedTrans = preparedTrans;
+  }
+
   public TransMeta getExecutorTransMeta() {
     return executorTransMeta;
   }
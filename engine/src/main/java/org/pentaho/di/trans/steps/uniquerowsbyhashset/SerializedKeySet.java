@@ -0,0 +1,31 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+import org.pentaho.di.core.hash.PackedByteArrayHashIndex;
+
+/**
+ * The set of row keys of the step: a {@link PackedByteArrayHashIndex} of the serialized keys, without values. When the
+ * key values are not stored only the 64 bit hashes are kept and compared.
+ */
+class SerializedKeySet extends PackedByteArrayHashIndex {
+
+  SerializedKeySet( boolean storeKeys ) {
+    super( storeKeys );
+  }
+
+  int size() {
+    return getSize();
+  }
+}
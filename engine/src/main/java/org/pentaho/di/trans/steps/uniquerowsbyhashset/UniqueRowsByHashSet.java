@@ -13,8 +13,18 @@
 
 package org.pentaho.di.trans.steps.uniquerowsbyhashset;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.commons.vfs2.FileObject;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.util.HashUtil;
 import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.core.vfs.KettleVFS;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
 import org.pentaho.di.trans.TransMeta;
@@ -38,8 +48,126 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
     data = (UniqueRowsByHashSetData) stepDataInterface; // create new data object.
   }
 
-  private boolean isUniqueRow( Object[] row ) {
-    return data.seen.add( new RowKey( row, data ) );
+  /** the number of files the rows are spread over when the keys don't fit in memory */
+  private static final int NR_SPILL_FILES = 16;
+
+  private boolean isUniqueRow( Object[] row ) throws KettleException {
+    if ( data.keySet == null ) {
+      return data.seen.add( new RowKey( row, data ) );
+    }
+    long hash = serializeKey( row );
+    boolean unique = data.keySet.add( hash, data.keyBytes.getBuffer(), data.keyBytes.size() );
+    if ( unique && data.memoryLimit > 0 && data.spillOutputs == null
+      && data.keySet.getMemoryUsage() > data.memoryLimit ) {
+      startSpilling();
+    }
+    return unique;
+  }
+
+  /**
+   * Writes the key fields of the row in the key buffer.
+   *
+   * @return the hash of the key
+   */
+  private long serializeKey( Object[] row ) throws KettleException {
+    data.keyBytes.reset();
+    if ( data.fieldnrs.length == 0 ) {
+      data.inputRowMeta.writeData( data.keyOutput, row );
+    } else {
+      for ( int fieldnr : data.fieldnrs ) {
+        data.inputRowMeta.getValueMeta( fieldnr ).writeData( data.keyOutput, row[ fieldnr ] );
+      }
+    }
+    return HashUtil.hash64( data.keyBytes.getBuffer(), data.keyBytes.size() );
+  }
+
+  /**
+   * From now on the keys in memory still filter duplicates right away. The rows with a new key are written to a file
+   * chosen by the hash of the key, so that all the copies of a key end up in the same file.
+   */
+  private void startSpilling() throws KettleException {
+    if ( log.isBasic() ) {
+      logBasic( BaseMessages.getString( PKG, "UniqueRowsByHashSet.Log.Spilling", data.keySet.size() ) );
+    }
+    data.spillFiles = new FileObject[ NR_SPILL_FILES ];
+    data.spillOutputs = new DataOutputStream[ NR_SPILL_FILES ];
+    data.spillCounts = new int[ NR_SPILL_FILES ];
+    try {
+      for ( int i = 0; i < NR_SPILL_FILES; i++ ) {
+        data.spillFiles[ i ] =
+          KettleVFS.createTempFile( "unique", ".tmp", environmentSubstitute( "%%java.io.tmpdir%%" ), getTransMeta() );
+        data.spillOutputs[ i ] = new DataOutputStream( new BufferedOutputStream(
+          KettleVFS.getOutputStream( data.spillFiles[ i ], false ), 64 * 1024 ) );
+      }
+    } catch ( IOException e ) {
+      throw new KettleException( e );
+    }
+  }
+
+  private void spillRow( Object[] row, long hash ) throws KettleException {
+    int file = (int) ( hash >>> 60 );
+    data.inputRowMeta.writeData( data.spillOutputs[ file ], row );
+    data.spillCounts[ file ]++;
+  }
+
+  /**
+   * Reads back the spilled rows one file at a time, the keys of a file are not in any other file.
+   */
+  private void processSpilledRows() throws KettleException {
+    try {
+      for ( DataOutputStream output : data.spillOutputs ) {
+        output.close();
+      }
+      for ( int i = 0; i < NR_SPILL_FILES && !isStopped(); i++ ) {
+        data.keySet.clear();
+        try ( DataInputStream input = new DataInputStream( new BufferedInputStream(
+          KettleVFS.getInputStream( data.spillFiles[ i ] ), 64 * 1024 ) ) ) {
+          for ( int n = 0; n < data.spillCounts[ i ]; n++ ) {
+            Object[] row = data.inputRowMeta.readData( input );
+            long hash = serializeKey( row );
+            if ( data.keySet.add( hash, data.keyBytes.getBuffer(), data.keyBytes.size() ) ) {
+              putRow( data.outputRowMeta, row );
+            } else {
+              rejectRow( row );
+            }
+          }
+        }
+      }
+    } catch ( IOException e ) {
+      throw new KettleException( e );
+    } finally {
+      deleteSpillFiles();
+    }
+  }
+
+  private void deleteSpillFiles() {
+    if ( data.spillFiles == null ) {
+      return;
+    }
+    for ( int i = 0; i < data.spillFiles.length; i++ ) {
+      try {
+        if ( data.spillOutputs[ i ] != null ) {
+          data.spillOutputs[ i ].close();
+        }
+        if ( data.spillFiles[ i ] != null ) {
+          data.spillFiles[ i ].delete();
+        }
+      } catch ( IOException e ) {
+        logError( BaseMessages.getString( PKG, "UniqueRowsByHashSet.Log.UnableToDeleteSpillFile",
+          data.spillFiles[ i ] ), e );
+      }
+    }
+    data.spillFiles = null;
+    data.spillOutputs = null;
+  }
+
+  private void rejectRow( Object[] r ) throws KettleException {
+    incrementLinesRejected();
+    if ( data.sendDuplicateRows ) {
+      // Simply add this row to the error row
+      putError( getInputRowMeta(), r, 1, data.realErrorDescription, Utils.isEmpty( data.compareFields )
+        ? null : data.compareFields, "UNRH001" );
+    }
   }
 
   public boolean processRow( StepMetaInterface smi, StepDataInterface sdi ) throws KettleException {
@@ -48,6 +176,9 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
 
     Object[] r = getRow(); // get row!
     if ( r == null ) { // no more input to be expected...
+      if ( data.spillOutputs != null ) {
+        processSpilledRows();
+      }
 
       data.clearHashSet();
       setOutputDone();
@@ -62,6 +193,11 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
       meta.getFields( data.outputRowMeta, getStepname(), null, null, this, repository, metaStore );
 
       data.storeValues = meta.getStoreValues();
+      if ( data.memoryLimit > 0 ) {
+        data.keySet = new SerializedKeySet( data.storeValues );
+        data.keyBytes = new UniqueRowsByHashSetData.KeyBytes();
+        data.keyOutput = new DataOutputStream( data.keyBytes );
+      }
 
       // Cache lookup of fields
       data.fieldnrs = new int[meta.getCompareFields().length];
@@ -86,15 +222,18 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
       }
     }
 
-    if ( isUniqueRow( r ) ) {
+    if ( data.spillOutputs != null ) {
+      // the keys in memory are known duplicates, the others are decided when the spilled rows are read back
+      long hash = serializeKey( r );
+      if ( data.keySet.contains( hash, data.keyBytes.getBuffer(), data.keyBytes.size() ) ) {
+        rejectRow( r );
+      } else {
+        spillRow( r, hash );
+      }
+    } else if ( isUniqueRow( r ) ) {
       putRow( data.outputRowMeta, r );
     } else {
-      incrementLinesRejected();
-      if ( data.sendDuplicateRows ) {
-        // Simply add this row to the error row
-        putError( getInputRowMeta(), r, 1, data.realErrorDescription, Utils.isEmpty( data.compareFields )
-          ? null : data.compareFields, "UNRH001" );
-      }
+      rejectRow( r );
     }
 
     if ( checkFeedback( getLinesRead() ) ) {
@@ -113,9 +252,19 @@ public class UniqueRowsByHashSet extends BaseStep implements StepInterface {
     if ( super.init( smi, sdi ) ) {
       // Add init code here.
       data.sendDuplicateRows = getStepMeta().getStepErrorMeta() != null && meta.supportsErrorHandling();
+      data.memoryLimit =
+        Const.toLong( getVariable( Const.KETTLE_UNIQUE_ROWS_HASH_SET_MEMORY_MB ), 0L ) * 1024 * 1024;
       return true;
     }
     return false;
   }
 
+  @Override
+  public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
+    data = (UniqueRowsByHashSetData) sdi;
+    deleteSpillFiles();
+    data.keySet = null;
+    super.dispose( smi, sdi );
+  }
+
 }
@@ -13,8 +13,11 @@
 
 package org.pentaho.di.trans.steps.uniquerowsbyhashset;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.util.HashSet;
 
+import org.apache.commons.vfs2.FileObject;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.trans.step.BaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
@@ -30,6 +33,27 @@ public class UniqueRowsByHashSetData extends BaseStepData implements StepDataInt
 
   public HashSet<RowKey> seen = new HashSet<RowKey>();
 
+  /**
+   * The keys seen as serialized bytes, used instead of {@link #seen} when a memory limit is set
+   */
+  SerializedKeySet keySet;
+  long memoryLimit;
+  KeyBytes keyBytes;
+  DataOutputStream keyOutput;
+
+  /**
+   * The files the rows with new keys are written to, by hash, once the memory limit is reached
+   */
+  FileObject[] spillFiles;
+  DataOutputStream[] spillOutputs;
+  int[] spillCounts;
+
+  static class KeyBytes extends ByteArrayOutputStream {
+    byte[] getBuffer() {
+      return buf;
+    }
+  }
+
   public UniqueRowsByHashSetData() {
     super();
   }
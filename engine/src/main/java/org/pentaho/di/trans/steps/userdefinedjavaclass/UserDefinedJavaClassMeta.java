@@ -29,6 +29,7 @@ import org.pentaho.di.core.injection.InjectionDeep;
 import org.pentaho.di.core.injection.InjectionSupported;
 import org.pentaho.di.core.injection.NullNumberConverter;
 import org.pentaho.di.core.logging.LogChannelInterface;
+import org.pentaho.di.core.logging.Metrics;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.row.value.ValueMetaFactory;
@@ -156,6 +157,8 @@ public class UserDefinedJavaClassMeta extends BaseStepMeta implements StepMetaIn
       return rtn;
     }
 
+    long startTime = System.currentTimeMillis();
+
     if ( Thread.currentThread().getContextClassLoader() == null ) {
       Thread.currentThread().setContextClassLoader( this.getClass().getClassLoader() );
     }
@@ -183,6 +186,12 @@ public class UserDefinedJavaClassMeta extends BaseStepMeta implements StepMetaIn
 
     cbe.cook( new Scanner( null, sr ) );
     rtn = cbe.getClazz();
+
+    if ( getLog().isGatheringMetrics() ) {
+      long time = System.currentTimeMillis() - startTime;
+      getLog().snap( Metrics.METRIC_JAVA_COMPILE_SUM_TIME, def.getClassName(), time );
+      getLog().snap( Metrics.METRIC_JAVA_COMPILE_COUNT, def.getClassName() );
+    }
     UserDefinedJavaClassMeta.classCache.put( checksum, rtn );
     return rtn;
   }
@@ -364,4 +364,8 @@ public class WriteToLogMeta extends BaseStepMeta implements StepMetaInterface {
     return new WriteToLogData();
   }
 
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return true;
+  }
 }
@@ -17,6 +17,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import org.pentaho.di.core.CheckResultInterface;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.Result;
 import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.exception.KettleException;
@@ -44,9 +45,15 @@ import java.util.List;
 public class BaseStreamStep extends BaseStep {
 
   private static final Class<?> PKG = BaseStreamStep.class;
+
+  // how often the statistics of the lanes are logged at the detailed level while the stream runs
+  static final long STATISTICS_INTERVAL_MILLIS = 60000L;
+
   protected BaseStreamStepMeta variablizedStepMeta;
 
   private SubtransExecutor subtransExecutor;
+  private int prepareAhead;
+  private long lastStatisticsTime;
   protected StreamWindow<List<Object>, Result> window;
   protected StreamSource<List<Object>> source;
 
@@ -76,6 +83,8 @@ public class BaseStreamStep extends BaseStep {
       subtransExecutor = new SubtransExecutor( getStepname(),
         getTrans(), transMeta, true,
         new TransExecutorParameters(), variablizedStepMeta.getSubStep(), getPrefetchCount() );
+      prepareAhead = "Y".equalsIgnoreCase( getVariable( Const.KETTLE_STREAMING_PREPARE_AHEAD, "N" ) )
+        ? getParallelism() : 0;
 
     } catch ( KettleException e ) {
       log.logError( e.getLocalizedMessage(), e );
@@ -111,6 +120,11 @@ public class BaseStreamStep extends BaseStep {
     Preconditions.checkNotNull( window );
 
     try {
+      // Keep a sub-transformation prepared for every parallel batch.
+      if ( prepareAhead > 0 && !subtransExecutor.setPrepareAhead( prepareAhead ) ) {
+        logBasic( BaseMessages.getString( PKG, "BaseStreamStep.Log.PrepareAheadNotPossible" ) );
+      }
+      lastStatisticsTime = System.currentTimeMillis();
       source.open();
 
       bufferStream().forEach( result -> {
@@ -119,16 +133,54 @@ public class BaseStreamStep extends BaseStep {
         }
 
         putRows( result.getRows() );
+
+        if ( log.isDetailed() && System.currentTimeMillis() - lastStatisticsTime >= STATISTICS_INTERVAL_MILLIS ) {
+          lastStatisticsTime = System.currentTimeMillis();
+          logStatistics( true );
+        }
       } );
       super.setOutputDone();
 
     } finally {
       // Needed for when an Abort Step is used.
       source.close();
+      if ( subtransExecutor != null ) {
+        subtransExecutor.discardPreparedSubtrans();
+        logStatistics( false );
+      }
     }
     return false;
   }
 
+  /**
+   * Log the batches, rows and batch times of every lane, and how long receiving messages was held back because the
+   * sub-transformations didn't keep up.
+   */
+  private void logStatistics( boolean detailed ) {
+    List<String> messages = new ArrayList<>();
+    for ( SubtransExecutor.LaneStatistics lane : subtransExecutor.getLaneStatistics() ) {
+      messages.add( BaseMessages.getString( PKG, "BaseStreamStep.Log.LaneStatistics",
+        String.valueOf( lane.getLane() ), String.valueOf( lane.getBatches() ), String.valueOf( lane.getRows() ),
+        String.valueOf( lane.getAverageMillis() ), String.valueOf( lane.getMaxMillis() ),
+        String.valueOf( lane.getRowsPerSecond() ) ) );
+    }
+    if ( source instanceof BlockingQueueStreamSource ) {
+      BlockingQueueStreamSource<?> queueSource = (BlockingQueueStreamSource<?>) source;
+      if ( queueSource.getBackpressureCount() > 0 ) {
+        messages.add( BaseMessages.getString( PKG, "BaseStreamStep.Log.Backpressure",
+          String.valueOf( queueSource.getBackpressureCount() ), String.valueOf( queueSource.getBackpressureMillis() ),
+          String.valueOf( subtransExecutor.getPrefetchCount() ) ) );
+      }
+    }
+    for ( String message : messages ) {
+      if ( detailed ) {
+        logDetailed( message );
+      } else {
+        logBasic( message );
+      }
+    }
+  }
+
   private Iterable<Result> bufferStream() {
     return window.buffer( source.flowable() );
   }
@@ -19,6 +19,7 @@ import io.reactivex.Flowable;
 import io.reactivex.processors.PublishProcessor;
 import org.pentaho.di.core.logging.LogChannel;
 import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.trans.SubtransExecutor;
 import org.pentaho.di.trans.streaming.api.StreamSource;
 
 import java.nio.charset.StandardCharsets;
@@ -26,6 +27,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.pentaho.di.i18n.BaseMessages.getString;
 
@@ -42,6 +44,9 @@ public abstract class BlockingQueueStreamSource<T> implements StreamSource<T> {
 
   private static final Class<?> PKG = BlockingQueueStreamSource.class;
 
+  // how often a paused source checks whether the sub-transformations caught up
+  static final long BACKPRESSURE_POLL_MILLIS = 10L;
+
 
   private final AtomicBoolean paused = new AtomicBoolean( false );
 
@@ -52,6 +57,10 @@ public abstract class BlockingQueueStreamSource<T> implements StreamSource<T> {
   @VisibleForTesting Semaphore acceptingRowsSemaphore = new Semaphore( 1 );
   @VisibleForTesting LogChannel logChannel = new LogChannel( this );
 
+  // how often and how long receiving was paused for the sub-transformations to catch up
+  private final AtomicLong backpressureCount = new AtomicLong();
+  private final AtomicLong backpressureNanos = new AtomicLong();
+
   protected BlockingQueueStreamSource( BaseStreamStep streamStep ) {
     this.streamStep = streamStep;
   }
@@ -95,13 +104,24 @@ public abstract class BlockingQueueStreamSource<T> implements StreamSource<T> {
    * <p>
    * Implementations should implement the open() function to pass external row events to the acceptRows method.
    * <p>
+   * When the prefetch limit is reached the thread delivering the messages is paused, see {@link #waitForCapacity()}.
+   * That thread stops taking messages from the broker meanwhile, so the broker holds on to them instead of this step
+   * buffering them. For push based clients like MQTT that is the callback blocking, the client stops reading messages
+   * from its connection.
    */
   protected void acceptRows( List<T> rows ) {
     try {
       acceptingRowsSemaphore.acquire();
       waitForSubscribers();
+      waitForCapacity();
+      SubtransExecutor subtransExecutor = streamStep.getSubtransExecutor();
       for ( T row : rows ) {
-        streamStep.getSubtransExecutor().acquireBufferPermit();
+        if ( !subtransExecutor.tryAcquireBufferPermit() ) {
+          long start = System.nanoTime();
+          subtransExecutor.acquireBufferPermit();
+          backpressureCount.incrementAndGet();
+          backpressureNanos.addAndGet( System.nanoTime() - start );
+        }
         streamStep.incrementLinesInput();
         publishProcessor.onNext( row );
       }
@@ -121,6 +141,9 @@ public abstract class BlockingQueueStreamSource<T> implements StreamSource<T> {
    * @throws InterruptedException
    */
   private void waitForSubscribers() throws InterruptedException {
+    if ( publishProcessor.hasSubscribers() ) {
+      return;
+    }
     logChannel.logDebug( getString( PKG, "BlockingQueueStream.WaitForSubscribers" ) );
     while ( !publishProcessor.hasSubscribers() ) {
       Thread.sleep( 100 );
@@ -128,6 +151,43 @@ public abstract class BlockingQueueStreamSource<T> implements StreamSource<T> {
     logChannel.logDebug( getString( PKG, "BlockingQueueStream.HasSubscribers" ) );
   }
 
+  /**
+   * Pauses receiving once the rows waiting for the sub-transformations reach the prefetch limit, until they are down to
+   * half of it or no batch is running anymore. Sources that pull messages call this before taking the next message,
+   * so no message is held by this step while paused.
+   *
+   * @throws InterruptedException
+   */
+  protected void waitForCapacity() throws InterruptedException {
+    SubtransExecutor subtransExecutor = streamStep.getSubtransExecutor();
+    int prefetchCount = subtransExecutor.getPrefetchCount();
+    if ( subtransExecutor.getBufferedRowCount() < prefetchCount ) {
+      return;
+    }
+    long start = System.nanoTime();
+    // a batch that isn't full waits for more rows, it can't be waited for
+    while ( subtransExecutor.getBufferedRowCount() > prefetchCount / 2 && subtransExecutor.hasRunningBatches()
+      && !streamStep.isStopped() ) {
+      Thread.sleep( BACKPRESSURE_POLL_MILLIS );
+    }
+    backpressureCount.incrementAndGet();
+    backpressureNanos.addAndGet( System.nanoTime() - start );
+  }
+
+  /**
+   * @return the number of times receiving was paused because the prefetch limit was reached
+   */
+  public long getBackpressureCount() {
+    return backpressureCount.get();
+  }
+
+  /**
+   * @return the total time receiving was paused because the prefetch limit was reached
+   */
+  public long getBackpressureMillis() {
+    return backpressureNanos.get() / 1000000L;
+  }
+
   /**
    * Child implementations of this class can call .error() when an unexpected event occurs while passing rows to the
    * acceptRows() method.  For example, if an implementation includes a poll loop which retrieves data from a message
@@ -0,0 +1,108 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.compress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class ReadAheadInputStreamTest {
+
+  private static byte[] randomBytes( int size ) {
+    byte[] bytes = new byte[ size ];
+    new Random( 7 ).nextBytes( bytes );
+    return bytes;
+  }
+
+  @Test
+  public void testReadsAllBytesInOrder() throws Exception {
+    byte[] content = randomBytes( 100000 );
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try ( GZIPOutputStream out = new GZIPOutputStream( compressed ) ) {
+      out.write( content );
+    }
+
+    try ( InputStream in = new ReadAheadInputStream(
+      new GZIPInputStream( new ByteArrayInputStream( compressed.toByteArray() ) ), 1000, 3 ) ) {
+      assertArrayEquals( content, IOUtils.toByteArray( in ) );
+      assertEquals( -1, in.read() );
+    }
+  }
+
+  @Test
+  public void testSingleBytesAndSkip() throws Exception {
+    byte[] content = randomBytes( 5000 );
+    try ( InputStream in = new ReadAheadInputStream( new ByteArrayInputStream( content ), 100, 2 ) ) {
+      assertEquals( content[ 0 ] & 0xFF, in.read() );
+      assertEquals( 2500, in.skip( 2500 ) );
+      assertEquals( content[ 2501 ] & 0xFF, in.read() );
+      assertEquals( 5000 - 2502, in.skip( 10000 ) );
+      assertEquals( -1, in.read() );
+    }
+  }
+
+  @Test
+  public void testErrorIsPassedToReader() throws Exception {
+    InputStream failing = new InputStream() {
+      private int count;
+
+      @Override
+      public int read() throws IOException {
+        if ( count++ >= 250 ) {
+          throw new IOException( "Corrupt input" );
+        }
+        return 'x';
+      }
+    };
+    try ( InputStream in = new ReadAheadInputStream( failing, 100, 2 ) ) {
+      IOUtils.toByteArray( in );
+      fail( "The error of the background thread should be thrown" );
+    } catch ( IOException e ) {
+      assertEquals( "Corrupt input", e.getMessage() );
+    }
+  }
+
+  @Test
+  public void testCloseStopsReadingAhead() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    InputStream endless = new InputStream() {
+      @Override
+      public int read() {
+        return 'x';
+      }
+
+      @Override
+      public void close() {
+        closed.set( true );
+      }
+    };
+    InputStream in = new ReadAheadInputStream( endless, 10, 2 );
+    assertEquals( 'x', in.read() );
+    in.close();
+    assertTrue( closed.get() );
+  }
+}
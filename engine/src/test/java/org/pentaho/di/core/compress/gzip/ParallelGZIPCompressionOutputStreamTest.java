@@ -0,0 +1,52 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.core.compress.gzip;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class ParallelGZIPCompressionOutputStreamTest {
+
+  @Test
+  public void testMembersAreReadAsOneStream() throws Exception {
+    Random random = new Random( 3 );
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    GZIPCompressionProvider provider = new GZIPCompressionProvider();
+    try ( ParallelGZIPCompressionOutputStream out =
+            new ParallelGZIPCompressionOutputStream( compressed, provider, 1000, 3 ) ) {
+      for ( int i = 0; i < 2000; i++ ) {
+        byte[] line = ( "line " + i + ";" + random.nextInt() + "\n" ).getBytes();
+        expected.write( line );
+        out.write( line );
+        if ( i % 500 == 0 ) {
+          out.flush();
+        }
+      }
+      out.write( 'x' );
+      expected.write( 'x' );
+    }
+
+    try ( GZIPInputStream in = new GZIPInputStream( new ByteArrayInputStream( compressed.toByteArray() ) ) ) {
+      assertArrayEquals( expected.toByteArray(), IOUtils.toByteArray( in ) );
+    }
+  }
+}
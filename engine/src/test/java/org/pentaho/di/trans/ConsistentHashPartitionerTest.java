@@ -0,0 +1,134 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.CheckResultInterface;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepPartitioningMeta;
+import org.pentaho.di.trans.steps.dummytrans.DummyTransMeta;
+import org.pentaho.di.trans.steps.memgroupby.MemoryGroupByMeta;
+
+public class ConsistentHashPartitionerTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  private static RowMetaInterface rowMeta() {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+    return rowMeta;
+  }
+
+  private static <T extends ConsistentHashPartitioner> T partitioner( T partitioner, int nrPartitions ) {
+    partitioner.setFieldName( "id" );
+    partitioner.setNrPartitions( nrPartitions );
+    return partitioner;
+  }
+
+  @Test
+  public void testSerialization() throws KettleException {
+    List<String> attributes = Arrays.asList( "FieldName" );
+    new LoadSaveTester<ConsistentHashPartitioner>( ConsistentHashPartitioner.class, attributes ).testSerialization();
+    new LoadSaveTester<SkewAwareHashPartitioner>( SkewAwareHashPartitioner.class, attributes ).testSerialization();
+  }
+
+  @Test
+  public void testKeysAreSpreadEvenlyAndFewMove() throws KettleException {
+    RowMetaInterface rowMeta = rowMeta();
+    ConsistentHashPartitioner eight = partitioner( new ConsistentHashPartitioner(), 8 );
+    ConsistentHashPartitioner nine = partitioner( new ConsistentHashPartitioner(), 9 );
+    int[] counts = new int[8];
+    int moved = 0;
+    for ( long key = 0; key < 80000; key++ ) {
+      Object[] row = new Object[] { key * 8 };
+      int partition = eight.getPartition( rowMeta, row );
+      counts[partition]++;
+      int newPartition = nine.getPartition( rowMeta, row );
+      if ( newPartition != partition ) {
+        // a key only moves to the new partition
+        assertEquals( 8, newPartition );
+        moved++;
+      }
+    }
+    for ( int count : counts ) {
+      assertTrue( Arrays.toString( counts ), count > 9000 && count < 11000 );
+    }
+    assertTrue( String.valueOf( moved ), moved > 7000 && moved < 10000 );
+  }
+
+  @Test
+  public void testHeavyKeysAreSpread() throws KettleException {
+    RowMetaInterface rowMeta = rowMeta();
+    ConsistentHashPartitioner hash = partitioner( new ConsistentHashPartitioner(), 4 );
+    SkewAwareHashPartitioner skewAware = partitioner( new SkewAwareHashPartitioner(), 4 );
+    Set<Integer> heavyPartitions = new HashSet<>();
+    int[] counts = new int[4];
+    for ( long i = 0; i < 20000; i++ ) {
+      Object[] row = new Object[] { i % 2 == 0 ? 42L : i };
+      int partition = skewAware.getPartition( rowMeta, row );
+      counts[partition]++;
+      if ( i % 2 == 0 ) {
+        heavyPartitions.add( partition );
+      } else {
+        // the other keys go where the consistent hash puts them
+        assertEquals( hash.getPartition( rowMeta, row ), partition );
+      }
+    }
+    assertEquals( 4, heavyPartitions.size() );
+    for ( int count : counts ) {
+      assertTrue( Arrays.toString( counts ), count < 7000 );
+    }
+  }
+
+  private static List<CheckResultInterface> check( Partitioner partitioner, StepMeta stepMeta ) {
+    StepPartitioningMeta partitioningMeta = new StepPartitioningMeta();
+    partitioningMeta.setPartitioner( partitioner );
+    List<CheckResultInterface> remarks = new ArrayList<>();
+    partitioningMeta.check( remarks, stepMeta );
+    return remarks;
+  }
+
+  @Test
+  public void testCheckWarnsWhenTheCopiesCantCombineTheirResults() {
+    MemoryGroupByMeta groupBy = new MemoryGroupByMeta();
+    groupBy.setAggregateType( new int[] { MemoryGroupByMeta.TYPE_GROUP_SUM, MemoryGroupByMeta.TYPE_GROUP_MAX } );
+    StepMeta groupByStep = new StepMeta( "group by", groupBy );
+    StepMeta dummyStep = new StepMeta( "dummy", new DummyTransMeta() );
+
+    assertTrue( check( new SkewAwareHashPartitioner(), groupByStep ).isEmpty() );
+    assertTrue( check( new ConsistentHashPartitioner(), dummyStep ).isEmpty() );
+
+    List<CheckResultInterface> remarks = check( new SkewAwareHashPartitioner(), dummyStep );
+    assertEquals( 1, remarks.size() );
+    assertEquals( CheckResultInterface.TYPE_RESULT_WARNING, remarks.get( 0 ).getType() );
+
+    // an average of averages is not the average
+    groupBy.setAggregateType( new int[] { MemoryGroupByMeta.TYPE_GROUP_SUM, MemoryGroupByMeta.TYPE_GROUP_AVERAGE } );
+    assertEquals( 1, check( new SkewAwareHashPartitioner(), groupByStep ).size() );
+  }
+}
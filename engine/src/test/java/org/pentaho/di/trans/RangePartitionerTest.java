@@ -0,0 +1,98 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+
+public class RangePartitionerTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  @Test
+  public void testSerialization() throws KettleException {
+    List<String> attributes = Arrays.asList( "FieldName", "Boundaries" );
+    LoadSaveTester<RangePartitioner> tester =
+      new LoadSaveTester<RangePartitioner>( RangePartitioner.class, attributes );
+
+    tester.testSerialization();
+  }
+
+  @Test
+  public void testGetPartition() throws KettleException {
+    RangePartitioner partitioner = new RangePartitioner();
+    partitioner.setFieldName( "id" );
+    partitioner.setBoundaries( new String[] { "10", "20" } );
+    partitioner.setNrPartitions( 3 );
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+
+    assertEquals( 0, partitioner.getPartition( rowMeta, new Object[] { null } ) );
+    assertEquals( 0, partitioner.getPartition( rowMeta, new Object[] { -5L } ) );
+    assertEquals( 0, partitioner.getPartition( rowMeta, new Object[] { 9L } ) );
+    assertEquals( 1, partitioner.getPartition( rowMeta, new Object[] { 10L } ) );
+    assertEquals( 1, partitioner.getPartition( rowMeta, new Object[] { 19L } ) );
+    assertEquals( 2, partitioner.getPartition( rowMeta, new Object[] { 20L } ) );
+    assertEquals( 2, partitioner.getPartition( rowMeta, new Object[] { 1000L } ) );
+
+    // more boundaries than partitions: the last partition gets the rest
+    partitioner.setNrPartitions( 2 );
+    assertEquals( 1, partitioner.getPartition( rowMeta, new Object[] { 1000L } ) );
+  }
+
+  @Test
+  public void testGetPartitionFromSeveralThreads() throws Exception {
+    RangePartitioner partitioner = new RangePartitioner();
+    partitioner.setFieldName( "id" );
+    partitioner.setBoundaries( new String[] { "100", "200", "300" } );
+    partitioner.setNrPartitions( 4 );
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+
+    // the copies of a step share the partitioner, the first rows convert the boundaries concurrently
+    ExecutorService executor = Executors.newFixedThreadPool( 4 );
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for ( int t = 0; t < 4; t++ ) {
+        results.add( executor.submit( (Callable<Boolean>) () -> {
+          for ( long id = 0; id < 400; id++ ) {
+            if ( partitioner.getPartition( rowMeta, new Object[] { id } ) != id / 100 ) {
+              return false;
+            }
+          }
+          return true;
+        } ) );
+      }
+      for ( Future<Boolean> result : results ) {
+        assertEquals( Boolean.TRUE, result.get() );
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
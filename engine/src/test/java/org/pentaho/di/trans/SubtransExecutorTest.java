@@ -37,7 +37,10 @@ import org.pentaho.di.core.plugins.StepPluginType;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.variables.Variables;
 import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaInterface;
 import org.pentaho.di.trans.step.StepStatus;
+import org.pentaho.di.trans.steps.tableoutput.TableOutputMeta;
 import org.pentaho.di.trans.steps.transexecutor.TransExecutorParameters;
 
 import java.util.ArrayList;
@@ -202,6 +205,84 @@ public class SubtransExecutorTest {
       );
   }
 
+  @Test
+  public void runsPreparedTrans() throws Exception {
+    TransMeta parentMeta =
+      new TransMeta( this.getClass().getResource( "subtrans-executor-parent.ktr" ).getPath(), new Variables() );
+    TransMeta subMeta =
+      new TransMeta( this.getClass().getResource( "subtrans-executor-sub.ktr" ).getPath(), new Variables() );
+    LoggingObjectInterface loggingObject = new LoggingObject( "anything" );
+    Trans parentTrans = new Trans( parentMeta, loggingObject );
+    SubtransExecutor subtransExecutor =
+      new SubtransExecutor( "subtransname", parentTrans, subMeta, true, new TransExecutorParameters(), "Group By",
+        1001 );
+    RowMetaInterface rowMeta = parentMeta.getStepFields( "Data Grid" );
+    List<RowMetaAndData> rows = Arrays.asList(
+      new RowMetaAndData( rowMeta, "Pentaho", 1L ),
+      new RowMetaAndData( rowMeta, "Pentaho", 2L ),
+      new RowMetaAndData( rowMeta, "Pentaho", 3L ),
+      new RowMetaAndData( rowMeta, "Pentaho", 4L ) );
+
+    assertTrue( subtransExecutor.setPrepareAhead( 1 ) );
+    waitForPreparedSubtrans( subtransExecutor, 1 );
+    assertEquals( 1, subtransExecutor.execute( rows ).orElseThrow( AssertionError::new ).getRows().size() );
+
+    // a new sub-transformation is prepared for the next batch
+    waitForPreparedSubtrans( subtransExecutor, 1 );
+    assertEquals( 1, subtransExecutor.execute( rows ).orElseThrow( AssertionError::new ).getRows().size() );
+
+    List<SubtransExecutor.LaneStatistics> lanes = subtransExecutor.getLaneStatistics();
+    assertEquals( 1, lanes.size() );
+    assertEquals( 2, lanes.get( 0 ).getBatches() );
+    assertEquals( 8, lanes.get( 0 ).getRows() );
+
+    subtransExecutor.stop();
+    waitForPreparedSubtrans( subtransExecutor, 0 );
+  }
+
+  @Test
+  public void doesNotPrepareAheadWithFieldParameters() throws KettleException {
+    TransMeta subMeta =
+      new TransMeta( this.getClass().getResource( "subtrans-executor-sub.ktr" ).getPath(), new Variables() );
+    TransExecutorParameters parameters = new TransExecutorParameters();
+    parameters.setVariable( new String[] { "NAME" } );
+    parameters.setField( new String[] { "name" } );
+    parameters.setInput( new String[] { "" } );
+    SubtransExecutor subtransExecutor =
+      new SubtransExecutor( "subtransname", null, subMeta, true, parameters, "", 1001 );
+
+    assertFalse( subtransExecutor.setPrepareAhead( 1 ) );
+    assertEquals( 0, subtransExecutor.getPreparedSubtransCount() );
+  }
+
+  @Test
+  public void doesNotPrepareAheadWhenATableIsTruncated() throws KettleException {
+    TransMeta subMeta =
+      new TransMeta( this.getClass().getResource( "subtrans-executor-sub.ktr" ).getPath(), new Variables() );
+    TableOutputMeta tableOutputMeta = new TableOutputMeta();
+    tableOutputMeta.setDefault();
+    subMeta.addStep( new StepMeta( "Table output", tableOutputMeta ) );
+    SubtransExecutor subtransExecutor =
+      new SubtransExecutor( "subtransname", null, subMeta, true, new TransExecutorParameters(), "", 1001 );
+
+    // the truncate would run when the sub-transformation is prepared, before the previous batch is done
+    tableOutputMeta.setTruncateTable( true );
+    assertFalse( subtransExecutor.setPrepareAhead( 1 ) );
+    assertEquals( 0, subtransExecutor.getPreparedSubtransCount() );
+  }
+
+  @Test
+  public void doesNotPrepareAheadWithAStepThatIsNotDeclaredSafe() throws KettleException {
+    TransMeta subMeta =
+      new TransMeta( this.getClass().getResource( "subtrans-executor-sub.ktr" ).getPath(), new Variables() );
+    subMeta.addStep( new StepMeta( "Plugin step", Mockito.mock( StepMetaInterface.class ) ) );
+    SubtransExecutor subtransExecutor =
+      new SubtransExecutor( "subtransname", null, subMeta, true, new TransExecutorParameters(), "", 1001 );
+
+    assertFalse( subtransExecutor.setPrepareAhead( 1 ) );
+    assertEquals( 0, subtransExecutor.getPreparedSubtransCount() );
+  }
+
   /**
    * When we acquire the last permit, the thread should block until we timeout the test
    */
@@ -284,4 +365,12 @@ public class SubtransExecutorTest {
     }
     return true;
   }
+
+  private void waitForPreparedSubtrans( SubtransExecutor subtransExecutor, int count ) throws InterruptedException {
+    long end = System.currentTimeMillis() + 10000;
+    while ( subtransExecutor.getPreparedSubtransCount() != count && System.currentTimeMillis() < end ) {
+      Thread.sleep( 10 );
+    }
+    assertEquals( count, subtransExecutor.getPreparedSubtransCount() );
+  }
 }
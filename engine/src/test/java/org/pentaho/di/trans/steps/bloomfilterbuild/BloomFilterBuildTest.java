@@ -0,0 +1,145 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterbuild;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.logging.LoggingObjectInterface;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.BloomFilter;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.steps.mock.StepMockHelper;
+
+public class BloomFilterBuildTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  private StepMockHelper<BloomFilterBuildMeta, BloomFilterBuildData> smh;
+
+  private RowMeta inputRowMeta;
+
+  @BeforeClass
+  public static void beforeClass() throws KettleException {
+    KettleEnvironment.init();
+  }
+
+  @Before
+  public void setUp() {
+    smh = new StepMockHelper<>( "Bloom filter build", BloomFilterBuildMeta.class, BloomFilterBuildData.class );
+    when( smh.logChannelInterfaceFactory.create( any(), any( LoggingObjectInterface.class ) ) ).thenReturn(
+      smh.logChannelInterface );
+    when( smh.trans.isRunning() ).thenReturn( true );
+
+    inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( new ValueMetaString( "name" ) );
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+  }
+
+  @After
+  public void tearDown() {
+    smh.cleanUp();
+  }
+
+  private BloomFilterBuildMeta createMeta() {
+    BloomFilterBuildMeta meta = new BloomFilterBuildMeta();
+    meta.setDefault();
+    meta.setExpectedKeys( "1000" );
+    meta.setKeyFields( new String[] { "id" } );
+    return meta;
+  }
+
+  private RowSet build( BloomFilterBuildMeta meta, List<Object[]> rows ) throws KettleException {
+    BloomFilterBuildData data = new BloomFilterBuildData();
+    BloomFilterBuild step = new BloomFilterBuild( smh.stepMeta, data, 0, smh.transMeta, smh.trans );
+    step.initializeVariablesFrom( null );
+    assertTrue( step.init( meta, data ) );
+
+    RowSet input = smh.getMockInputRowSet( rows );
+    doReturn( inputRowMeta ).when( input ).getRowMeta();
+    step.addRowSetToInputRowSets( input );
+    RowSet output = new QueueRowSet();
+    step.addRowSetToOutputRowSets( output );
+
+    while ( step.processRow( meta, data ) ) {
+      // keep adding keys
+    }
+    return output;
+  }
+
+  @Test
+  public void testOutputsOneFilterWithTheKeys() throws KettleException {
+    List<Object[]> rows = new ArrayList<>();
+    for ( long i = 0; i < 1000; i++ ) {
+      rows.add( new Object[] { "name-" + i, i * 2 } );
+    }
+    RowSet output = build( createMeta(), rows );
+
+    Object[] row = output.getRow();
+    assertNull( output.getRow() );
+    assertEquals( 1, output.getRowMeta().size() );
+    assertEquals( BloomFilterBuildMeta.DEFAULT_FILTER_FIELD, output.getRowMeta().getValueMeta( 0 ).getName() );
+
+    BloomFilter filter = BloomFilter.fromBytes( (byte[]) row[ 0 ] );
+    int[] keynrs = { 1 };
+    int falsePositives = 0;
+    for ( long i = 0; i < 2000; i++ ) {
+      boolean present = filter.mightContain( BloomFilter.hashKey( inputRowMeta, new Object[] { null, i }, keynrs ) );
+      if ( i % 2 == 0 ) {
+        assertTrue( present );
+      } else if ( present ) {
+        falsePositives++;
+      }
+    }
+    assertTrue( "False positives " + falsePositives, falsePositives < 30 );
+  }
+
+  @Test
+  public void testOutputsAnEmptyFilterWithoutInput() throws KettleException {
+    RowSet output = build( createMeta(), new ArrayList<Object[]>() );
+
+    BloomFilter filter = BloomFilter.fromBytes( (byte[]) output.getRow()[ 0 ] );
+    assertNull( output.getRow() );
+    assertFalse( filter.mightContain( BloomFilter.hashKey( inputRowMeta, new Object[] { "name", 1L }, new int[] {
+      1 } ) ) );
+  }
+
+  @Test
+  public void testInitFailsWithAnInvalidFalsePositiveRate() {
+    BloomFilterBuildMeta meta = createMeta();
+    meta.setFalsePositiveRate( "1.5" );
+    BloomFilterBuildData data = new BloomFilterBuildData();
+    BloomFilterBuild step = new BloomFilterBuild( smh.stepMeta, data, 0, smh.transMeta, smh.trans );
+    step.initializeVariablesFrom( null );
+    assertFalse( step.init( meta, data ) );
+  }
+}
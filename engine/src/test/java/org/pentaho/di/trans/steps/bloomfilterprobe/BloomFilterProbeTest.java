@@ -0,0 +1,187 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.bloomfilterprobe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.logging.LoggingObjectInterface;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaBinary;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.BloomFilter;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.steps.mock.StepMockHelper;
+
+public class BloomFilterProbeTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  private static final String STEP_NAME = "Bloom filter probe";
+
+  private static final String FILTER_STEP_NAME = "Bloom filter build";
+
+  private StepMockHelper<BloomFilterProbeMeta, BloomFilterProbeData> smh;
+
+  private RowMeta inputRowMeta;
+
+  @BeforeClass
+  public static void beforeClass() throws KettleException {
+    KettleEnvironment.init();
+  }
+
+  @Before
+  public void setUp() {
+    smh = new StepMockHelper<>( STEP_NAME, BloomFilterProbeMeta.class, BloomFilterProbeData.class );
+    when( smh.logChannelInterfaceFactory.create( any(), any( LoggingObjectInterface.class ) ) ).thenReturn(
+      smh.logChannelInterface );
+    when( smh.trans.isRunning() ).thenReturn( true );
+
+    inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( new ValueMetaString( "name" ) );
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+  }
+
+  @After
+  public void tearDown() {
+    smh.cleanUp();
+  }
+
+  private BloomFilterProbeMeta createMeta( String resultField ) {
+    BloomFilterProbeMeta meta = new BloomFilterProbeMeta();
+    meta.setDefault();
+    meta.setKeyFields( new String[] { "id" } );
+    meta.setResultField( resultField );
+
+    StepMeta filterStepMeta = mock( StepMeta.class );
+    when( filterStepMeta.getName() ).thenReturn( FILTER_STEP_NAME );
+    when( smh.transMeta.findStep( FILTER_STEP_NAME ) ).thenReturn( filterStepMeta );
+    meta.getStepIOMeta().getInfoStreams().get( 0 ).setStepMeta( filterStepMeta );
+    return meta;
+  }
+
+  /**
+   * Two filters as built by two copies of the build step, the first with the even ids below 100, the second with the
+   * even ids from 100 to 200.
+   */
+  private RowSet createFilterRowSet() throws KettleException {
+    List<Object[]> filterRows = new ArrayList<>();
+    for ( int part = 0; part < 2; part++ ) {
+      BloomFilter filter = new BloomFilter( 1000, 0.01 );
+      for ( long i = part * 100; i < ( part + 1 ) * 100; i += 2 ) {
+        filter.add( BloomFilter.hashKey( inputRowMeta, new Object[] { null, i }, new int[] { 1 } ) );
+      }
+      filterRows.add( new Object[] { filter.toBytes() } );
+    }
+
+    RowSet rowSet = smh.getMockInputRowSet( filterRows );
+    doReturn( FILTER_STEP_NAME ).when( rowSet ).getOriginStepName();
+    doReturn( STEP_NAME ).when( rowSet ).getDestinationStepName();
+    RowMeta filterRowMeta = new RowMeta();
+    filterRowMeta.addValueMeta( new ValueMetaBinary( "bloom_filter" ) );
+    doReturn( filterRowMeta ).when( rowSet ).getRowMeta();
+    return rowSet;
+  }
+
+  private RowSet probe( BloomFilterProbeMeta meta, RowSet filterRowSet ) throws KettleException {
+    BloomFilterProbeData data = new BloomFilterProbeData();
+    BloomFilterProbe step = new BloomFilterProbe( smh.stepMeta, data, 0, smh.transMeta, smh.trans );
+    step.initializeVariablesFrom( null );
+    assertTrue( step.init( meta, data ) );
+
+    List<Object[]> rows = new ArrayList<>();
+    for ( long i = 0; i < 200; i++ ) {
+      rows.add( new Object[] { "name-" + i, i } );
+    }
+    RowSet input = smh.getMockInputRowSet( rows );
+    doReturn( inputRowMeta ).when( input ).getRowMeta();
+
+    step.addRowSetToInputRowSets( filterRowSet );
+    step.addRowSetToInputRowSets( input );
+    RowSet output = new QueueRowSet();
+    step.addRowSetToOutputRowSets( output );
+
+    while ( step.processRow( meta, data ) ) {
+      // keep probing
+    }
+    return output;
+  }
+
+  @Test
+  public void testRowsNotInTheFiltersAreRemoved() throws KettleException {
+    RowSet output = probe( createMeta( null ), createFilterRowSet() );
+
+    List<Long> ids = new ArrayList<>();
+    Object[] row;
+    while ( ( row = output.getRow() ) != null ) {
+      assertEquals( 2, output.getRowMeta().size() );
+      ids.add( (Long) row[ 1 ] );
+    }
+    // all the keys of both filters are kept, and only a few others
+    for ( long i = 0; i < 200; i += 2 ) {
+      assertTrue( ids.contains( i ) );
+    }
+    assertTrue( "Rows kept " + ids.size(), ids.size() < 110 );
+  }
+
+  @Test
+  public void testResultFieldFlagsTheRows() throws KettleException {
+    RowSet output = probe( createMeta( "found" ), createFilterRowSet() );
+
+    int rows = 0;
+    Object[] row;
+    while ( ( row = output.getRow() ) != null ) {
+      assertEquals( "found", output.getRowMeta().getValueMeta( 2 ).getName() );
+      if ( (Long) row[ 1 ] % 2 == 0 ) {
+        assertEquals( Boolean.TRUE, row[ 2 ] );
+      }
+      rows++;
+    }
+    assertEquals( 200, rows );
+  }
+
+  @Test
+  public void testNoKeyIsPresentWithoutFilter() throws KettleException {
+    RowSet filterRowSet = smh.getMockInputRowSet( new ArrayList<Object[]>() );
+    doReturn( FILTER_STEP_NAME ).when( filterRowSet ).getOriginStepName();
+    doReturn( STEP_NAME ).when( filterRowSet ).getDestinationStepName();
+
+    RowSet output = probe( createMeta( "found" ), filterRowSet );
+
+    int rows = 0;
+    Object[] row;
+    while ( ( row = output.getRow() ) != null ) {
+      assertEquals( Boolean.FALSE, row[ 2 ] );
+      rows++;
+    }
+    assertEquals( 200, rows );
+  }
+}
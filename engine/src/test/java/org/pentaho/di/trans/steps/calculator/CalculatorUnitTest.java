@@ -1058,6 +1058,77 @@ public class CalculatorUnitTest {
     }
   }
 
+  @Test
+  public void testFastCalculationsMatchValueDataUtil() throws KettleException {
+    ValueMetaInterface intMeta = new ValueMetaInteger( "int" );
+    ValueMetaInterface numMeta = new ValueMetaNumber( "num" );
+    int[] calcTypes = { CalculatorMetaFunction.CALC_ADD, CalculatorMetaFunction.CALC_SUBTRACT,
+      CalculatorMetaFunction.CALC_MULTIPLY };
+    for ( int calcType : calcTypes ) {
+      Calculator.FastCalculation ints = Calculator.getFastCalculation( calcType, intMeta, intMeta, intMeta );
+      Calculator.FastCalculation nums = Calculator.getFastCalculation( calcType, numMeta, numMeta, numMeta );
+      Assert.assertNotNull( ints );
+      Assert.assertNotNull( nums );
+      Assert.assertNull( ints.calculate( null, 3L ) );
+      Assert.assertNull( nums.calculate( 2.5, null ) );
+    }
+    Assert.assertEquals( 10L, Calculator.getFastCalculation( CalculatorMetaFunction.CALC_ADD, intMeta, intMeta,
+      intMeta ).calculate( 7L, 3L ) );
+    Assert.assertEquals( 4L, Calculator.getFastCalculation( CalculatorMetaFunction.CALC_SUBTRACT, intMeta, intMeta,
+      intMeta ).calculate( 7L, 3L ) );
+    Assert.assertEquals( 21L, Calculator.getFastCalculation( CalculatorMetaFunction.CALC_MULTIPLY, intMeta,
+      intMeta, intMeta ).calculate( 7L, 3L ) );
+    Assert.assertEquals( 3.75, Calculator.getFastCalculation( CalculatorMetaFunction.CALC_MULTIPLY, numMeta,
+      numMeta, numMeta ).calculate( 2.5, 1.5 ) );
+
+    // Mixed types and type conversions of the result are left to ValueDataUtil
+    Assert.assertNull( Calculator.getFastCalculation( CalculatorMetaFunction.CALC_ADD, intMeta, numMeta, intMeta ) );
+    Assert.assertNull( Calculator.getFastCalculation( CalculatorMetaFunction.CALC_ADD, intMeta, intMeta, numMeta ) );
+    Assert.assertNull( Calculator.getFastCalculation( CalculatorMetaFunction.CALC_DIVIDE, numMeta, numMeta,
+      numMeta ) );
+  }
+
+  @Test
+  public void testUnusedTemporaryFieldsAreNotCalculated() throws KettleException {
+    RowMeta inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "a" ) );
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "b" ) );
+
+    RowSet inputRowSet = smh.getMockInputRowSet( new Object[] { 2L, 3L } );
+    inputRowSet.setRowMeta( inputRowMeta );
+
+    Calculator calculator = new Calculator( smh.stepMeta, smh.stepDataInterface, 0, smh.transMeta, smh.trans );
+    calculator.addRowSetToInputRowSets( inputRowSet );
+    calculator.setInputRowMeta( inputRowMeta );
+    calculator.init( smh.initStepMetaInterface, smh.initStepDataInterface );
+
+    CalculatorMeta meta = new CalculatorMeta();
+    meta.setCalculation( new CalculatorMetaFunction[] {
+      new CalculatorMetaFunction( "sum", CalculatorMetaFunction.CALC_ADD, "a", "b", null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, true, "", "", "", "" ),
+      new CalculatorMetaFunction( "unused", CalculatorMetaFunction.CALC_MULTIPLY, "a", "b", null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, true, "", "", "", "" ),
+      new CalculatorMetaFunction( "square", CalculatorMetaFunction.CALC_MULTIPLY, "sum", "sum", null,
+        ValueMetaInterface.TYPE_INTEGER, 0, 0, false, "", "", "", "" ) } );
+
+    List<Object[]> written = new ArrayList<>();
+    calculator.addRowListener( new RowAdapter() {
+      @Override
+      public void rowWrittenEvent( RowMetaInterface rowMeta, Object[] row ) {
+        written.add( row );
+      }
+    } );
+
+    CalculatorData data = new CalculatorData();
+    calculator.processRow( meta, data );
+
+    Assert.assertFalse( data.getUnusedTemporaries()[ 0 ] );
+    Assert.assertTrue( data.getUnusedTemporaries()[ 1 ] );
+    Assert.assertFalse( data.getUnusedTemporaries()[ 2 ] );
+    Assert.assertEquals( 1, written.size() );
+    Assert.assertEquals( 25L, written.get( 0 )[ 2 ] );
+  }
+
   @Test
   public void testGetCalcTypesAction() {
 
@@ -0,0 +1,73 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.csvinput;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class CsvByteScannerTest {
+
+  private static int naiveIndexOf( byte[] buffer, int from, int to, byte... targets ) {
+    for ( int i = from; i < to; i++ ) {
+      for ( byte target : targets ) {
+        if ( buffer[ i ] == target ) {
+          return i;
+        }
+      }
+    }
+    return to;
+  }
+
+  @Test
+  public void testFindsFirstTarget() {
+    byte[] line = "abcdefghijklmnop;qrs\"tu\r\n".getBytes( StandardCharsets.UTF_8 );
+    CsvByteScanner scanner = new CsvByteScanner( (byte) ';', (byte) '"', (byte) '\r', (byte) '\n' );
+
+    assertEquals( 16, scanner.indexOf( line, 0, line.length ) );
+    assertEquals( 20, scanner.indexOf( line, 17, line.length ) );
+    assertEquals( 23, scanner.indexOf( line, 21, line.length ) );
+    assertEquals( 15, scanner.indexOf( line, 3, 15 ) );
+    assertEquals( 5, scanner.indexOf( line, 5, 5 ) );
+  }
+
+  @Test
+  public void testHighBytes() {
+    byte[] buffer = new byte[] { (byte) 0xC3, (byte) 0xA9, (byte) 0xFE, (byte) 0x80, 1, 2, 3, 4, (byte) 0xFF, 5 };
+    assertEquals( 8, new CsvByteScanner( (byte) 0xFF ).indexOf( buffer, 0, buffer.length ) );
+    assertEquals( 3, new CsvByteScanner( (byte) 0x80 ).indexOf( buffer, 0, buffer.length ) );
+    assertEquals( buffer.length, new CsvByteScanner( (byte) 0 ).indexOf( buffer, 0, buffer.length ) );
+  }
+
+  @Test
+  public void testSameResultAsByteByByte() {
+    Random random = new Random( 42 );
+    byte[] alphabet = "ab;\"\r\n\u00e9".getBytes( StandardCharsets.UTF_8 );
+    byte[] targets = { ';', '"', '\r', '\n' };
+    CsvByteScanner scanner = new CsvByteScanner( targets );
+    for ( int n = 0; n < 2000; n++ ) {
+      byte[] buffer = new byte[ random.nextInt( 40 ) ];
+      for ( int i = 0; i < buffer.length; i++ ) {
+        // mostly plain bytes so that matches are far apart
+        buffer[ i ] = random.nextInt( 10 ) == 0 ? alphabet[ random.nextInt( alphabet.length ) ] : (byte) 'x';
+      }
+      int from = buffer.length == 0 ? 0 : random.nextInt( buffer.length );
+      assertEquals( naiveIndexOf( buffer, from, buffer.length, targets ),
+        scanner.indexOf( buffer, from, buffer.length ) );
+    }
+  }
+}
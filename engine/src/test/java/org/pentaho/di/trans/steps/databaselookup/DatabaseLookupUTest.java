@@ -24,6 +24,8 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.database.Database;
 import org.pentaho.di.core.database.DatabaseMeta;
@@ -629,6 +631,59 @@ public class DatabaseLookupUTest {
     return rowMetaOutput;
   }
 
+  @Test
+  public void keysNotInTheBloomFilterAreNotLookedUp() throws Exception {
+    Database db = mock( Database.class );
+    RowMeta countMeta = new RowMeta();
+    countMeta.addValueMeta( new ValueMetaInteger( "count" ) );
+    when( db.getOneRow( anyString() ) ).thenReturn( new RowMetaAndData( countMeta, 3L ) );
+    RowMeta keyMeta = new RowMeta();
+    keyMeta.addValueMeta( new ValueMetaString( "CODE" ) );
+    ResultSet keys = mock( ResultSet.class );
+    when( db.openQuery( anyString() ) ).thenReturn( keys );
+    when( db.getRow( keys ) )
+      .thenReturn( new Object[] { "Alpha " }, new Object[] { "b\u00eata" }, new Object[] { null }, null );
+    when( db.getReturnRowMeta() ).thenReturn( keyMeta );
+
+    DatabaseLookupMeta meta = new DatabaseLookupMeta();
+    meta.setDatabaseMeta( mock( DatabaseMeta.class ) );
+    meta.allocate( 1, 0 );
+    meta.setStreamKeyField1( new String[] { "code" } );
+    meta.setTableKeyField( new String[] { "CODE" } );
+    meta.setKeyCondition( new String[] { "=" } );
+    meta.setUsingBloomFilter( true );
+    DatabaseLookupData data = new DatabaseLookupData();
+
+    DatabaseLookup step = spyLookup( mockHelper, db, meta.getDatabaseMeta() );
+    doNothing().when( step ).determineFieldsTypesQueryingDb();
+    assertTrue( step.init( meta, data ) );
+    data.keytypes = new int[] { ValueMetaInterface.TYPE_STRING };
+
+    RowMeta inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( new ValueMetaString( "code" ) );
+    RowSet input = mockHelper.getMockInputRowSet( new Object[] { "ALPHA" }, new Object[] { "Beta  " },
+      new Object[] { "gamma" }, new Object[] { null } );
+    doReturn( inputRowMeta ).when( input ).getRowMeta();
+    step.getInputRowSets().clear();
+    step.addRowSetToInputRowSets( input );
+    step.getOutputRowSets().clear();
+    RowSet output = new QueueRowSet();
+    step.addRowSetToOutputRowSets( output );
+
+    while ( step.processRow( meta, data ) ) {
+      // look up all the rows
+    }
+
+    // only the keys in the table, up to the case, the accents and the trailing spaces, are looked up
+    assertNotNull( data.keyFilter );
+    verify( db, times( 2 ) ).setValuesLookup( any( RowMetaInterface.class ), any( Object[].class ) );
+    int rows = 0;
+    while ( output.getRow() != null ) {
+      rows++;
+    }
+    assertEquals( 4, rows );
+  }
+
   public class MockDatabaseLookup extends DatabaseLookup {
     public MockDatabaseLookup( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta, Trans trans ) {
       super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
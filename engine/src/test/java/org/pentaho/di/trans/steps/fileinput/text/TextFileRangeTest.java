@@ -0,0 +1,140 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.fileinput.text;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TextFileRangeTest {
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private List<String> split( String content, int copies, int enclosure, int escape, int headerLines )
+    throws Exception {
+    File file = tempFolder.newFile();
+    Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    List<String> parts = new ArrayList<>();
+    long previousEnd = 0;
+    for ( int copy = 0; copy < copies; copy++ ) {
+      try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ) {
+        long[] range = TextFileRange.findRange( channel, channel.size(), copy, copies, enclosure, escape,
+          headerLines );
+        assertEquals( "ranges follow each other", previousEnd, range[ 0 ] );
+        previousEnd = range[ 1 ];
+        byte[] bytes =
+          IOUtils.toByteArray( new TextFileRange.MappedInputStream( channel, range[ 0 ], range[ 1 ] ) );
+        parts.add( new String( bytes, StandardCharsets.UTF_8 ) );
+      }
+    }
+    assertEquals( content.length(), previousEnd );
+    assertEquals( content, String.join( "", parts ) );
+    return parts;
+  }
+
+  @Test
+  public void testRangesEndAtLineFeeds() throws Exception {
+    StringBuilder content = new StringBuilder();
+    for ( int i = 0; i < 100; i++ ) {
+      content.append( "line" ).append( i ).append( ";value\r\n" );
+    }
+    for ( int copies = 1; copies <= 9; copies++ ) {
+      for ( String part : split( content.toString(), copies, '"', -1, 0 ) ) {
+        assertTrue( part.isEmpty() || part.endsWith( "\n" ) );
+        assertTrue( part.isEmpty() || part.startsWith( "line" ) );
+      }
+    }
+  }
+
+  @Test
+  public void testRangesWithoutEnclosureEndAtLineFeeds() throws Exception {
+    StringBuilder content = new StringBuilder( "header;value\n" );
+    for ( int i = 0; i < 100; i++ ) {
+      content.append( "line" ).append( i ).append( ";\"value\n" );
+    }
+    for ( int copies = 1; copies <= 9; copies++ ) {
+      List<String> parts = split( content.toString(), copies, -1, -1, 1 );
+      assertTrue( parts.get( 0 ).startsWith( "header;value\n" ) );
+      for ( String part : parts.subList( 1, parts.size() ) ) {
+        assertTrue( part.isEmpty() || part.endsWith( "\n" ) );
+        assertTrue( part.isEmpty() || part.startsWith( "line" ) );
+      }
+    }
+  }
+
+  @Test
+  public void testEnclosedLineFeedsAreNotCut() throws Exception {
+    String record = "1;\"a\nb\nc\nd\";x\n";
+    StringBuilder content = new StringBuilder();
+    for ( int i = 0; i < 50; i++ ) {
+      content.append( record );
+    }
+    for ( int copies = 2; copies <= 7; copies++ ) {
+      for ( String part : split( content.toString(), copies, '"', -1, 0 ) ) {
+        assertEquals( 0, part.length() % record.length() );
+      }
+    }
+  }
+
+  @Test
+  public void testEscapedEnclosures() throws Exception {
+    // the escaped enclosure doesn't close the field, an escaped escape character doesn't escape the enclosure
+    String record = "1;\"a\\\"\nb\";\"c\\\\\"\n";
+    StringBuilder content = new StringBuilder();
+    for ( int i = 0; i < 50; i++ ) {
+      content.append( record );
+    }
+    for ( int copies = 2; copies <= 7; copies++ ) {
+      for ( String part : split( content.toString(), copies, '"', '\\', 0 ) ) {
+        assertEquals( 0, part.length() % record.length() );
+      }
+    }
+  }
+
+  @Test
+  public void testHeaderBelongsToFirstCopy() throws Exception {
+    String content = "h1\nh2\nh3\nd1\nd2\n";
+    List<String> parts = split( content, 4, -1, -1, 3 );
+    assertTrue( parts.get( 0 ).startsWith( "h1\nh2\nh3\n" ) );
+    for ( String part : parts.subList( 1, parts.size() ) ) {
+      assertFalse( part.contains( "h" ) );
+    }
+  }
+
+  @Test
+  public void testSplittableEncodings() {
+    assertTrue( TextFileRange.isSplittable( "UTF-8" ) );
+    assertTrue( TextFileRange.isSplittable( "ISO-8859-1" ) );
+    assertFalse( TextFileRange.isSplittable( "UTF-16LE" ) );
+
+    assertEquals( -1, TextFileRange.getSingleByte( "", "UTF-8" ) );
+    assertEquals( '"', TextFileRange.getSingleByte( "\"", "UTF-8" ) );
+    assertEquals( -2, TextFileRange.getSingleByte( "\"\"", "UTF-8" ) );
+    assertEquals( -2, TextFileRange.getSingleByte( "\u00e9", "UTF-8" ) );
+  }
+}
@@ -0,0 +1,133 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.groupby;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.RowMetaAndData;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaBinary;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.HyperLogLog;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.TransTestFactory;
+
+public class GroupByDistinctSketchTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  private static final String STEP_NAME = "Group By";
+
+  @BeforeClass
+  public static void before() throws KettleException {
+    KettleEnvironment.init( false );
+  }
+
+  private static GroupByMeta createMeta( String subject ) {
+    GroupByMeta meta = new GroupByMeta();
+    meta.setDefault();
+    meta.allocate( 1, 2 );
+    meta.setGroupField( new String[] { "group" } );
+    meta.setSubjectField( new String[] { subject, subject } );
+    meta.setAggregateField( new String[] { "approx", "sketch" } );
+    meta.setAggregateType(
+      new int[] { GroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX, GroupByMeta.TYPE_GROUP_DISTINCT_SKETCH } );
+    meta.setValueField( new String[] { "", "" } );
+    return meta;
+  }
+
+  private static List<RowMetaAndData> execute( GroupByMeta meta, RowMetaInterface inputRowMeta,
+    List<RowMetaAndData> input ) throws KettleException {
+    TransMeta transMeta = TransTestFactory.generateTestTransformation( null, meta, STEP_NAME, inputRowMeta );
+    return TransTestFactory.executeTestTransformation( transMeta, STEP_NAME, input );
+  }
+
+  @Test
+  public void testEstimatesTheDistinctValuesOfEveryGroup() throws KettleException {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaString( "group" ) );
+    rowMeta.addValueMeta( new ValueMetaInteger( "value" ) );
+    List<RowMetaAndData> input = new ArrayList<>();
+    for ( long i = 0; i < 20000; i++ ) {
+      // every value twice
+      input.add( new RowMetaAndData( rowMeta, "a", i % 10000 ) );
+    }
+    for ( long i = 0; i < 100; i++ ) {
+      input.add( new RowMetaAndData( rowMeta, "b", i ) );
+    }
+
+    List<RowMetaAndData> output = execute( createMeta( "value" ), rowMeta, input );
+
+    assertEquals( 2, output.size() );
+    assertEquals( "a", output.get( 0 ).getString( "group", null ) );
+    long estimate = output.get( 0 ).getInteger( "approx", -1 );
+    assertTrue( "Estimate " + estimate, Math.abs( estimate - 10000 ) <= 300 );
+    assertEquals( estimate, HyperLogLog.fromBytes( output.get( 0 ).getBinary( "sketch", null ) ).estimate() );
+
+    assertEquals( "b", output.get( 1 ).getString( "group", null ) );
+    estimate = output.get( 1 ).getInteger( "approx", -1 );
+    assertTrue( "Estimate " + estimate, Math.abs( estimate - 100 ) <= 2 );
+  }
+
+  @Test
+  public void testMergesTheSketchesOfEveryGroup() throws KettleException {
+    ValueMetaInterface valueMeta = new ValueMetaInteger( "value" );
+    HyperLogLog first = new HyperLogLog( HyperLogLog.DEFAULT_PRECISION );
+    HyperLogLog second = new HyperLogLog( HyperLogLog.DEFAULT_PRECISION );
+    HyperLogLog all = new HyperLogLog( HyperLogLog.DEFAULT_PRECISION );
+    for ( long i = 0; i < 10000; i++ ) {
+      // the two sketches overlap on 4000-5999
+      if ( i < 6000 ) {
+        first.add( valueMeta, i );
+      }
+      if ( i >= 4000 ) {
+        second.add( valueMeta, i );
+      }
+      all.add( valueMeta, i );
+    }
+    HyperLogLog other = new HyperLogLog( HyperLogLog.DEFAULT_PRECISION );
+    for ( long i = 0; i < 100; i++ ) {
+      other.add( valueMeta, i );
+    }
+
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaString( "group" ) );
+    rowMeta.addValueMeta( new ValueMetaBinary( "partial" ) );
+    List<RowMetaAndData> input = new ArrayList<>();
+    input.add( new RowMetaAndData( rowMeta, "a", first.toBytes() ) );
+    input.add( new RowMetaAndData( rowMeta, "a", second.toBytes() ) );
+    input.add( new RowMetaAndData( rowMeta, "b", other.toBytes() ) );
+
+    List<RowMetaAndData> output = execute( createMeta( "partial" ), rowMeta, input );
+
+    assertEquals( 2, output.size() );
+    assertEquals( all.estimate(), output.get( 0 ).getInteger( "approx", -1 ) );
+    assertArrayEquals( all.toBytes(), output.get( 0 ).getBinary( "sketch", null ) );
+    assertEquals( other.estimate(), output.get( 1 ).getInteger( "approx", -1 ) );
+    assertArrayEquals( other.toBytes(), output.get( 1 ).getBinary( "sketch", null ) );
+  }
+}
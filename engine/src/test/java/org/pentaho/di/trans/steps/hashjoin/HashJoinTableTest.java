@@ -0,0 +1,79 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.hashjoin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.text.Collator;
+import java.util.Locale;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaString;
+
+public class HashJoinTableTest {
+
+  private static final int[] KEY_NRS = { 0 };
+
+  private static HashJoinTable table( ValueMetaInterface keyMeta, String key ) throws KettleValueException {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( keyMeta );
+    HashJoinTable table = new HashJoinTable( HashJoinTable.getKeyMetas( rowMeta, KEY_NRS ) );
+    table.add( table.getKey( rowMeta, KEY_NRS, new Object[] { key } ), new Object[] { key } );
+    return table;
+  }
+
+  private static HashJoinTable.Key key( HashJoinTable table, String key ) throws KettleValueException {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaString( "key" ) );
+    return table.getKey( rowMeta, KEY_NRS, new Object[] { key } );
+  }
+
+  @Test
+  public void testCaseInsensitiveKeysMatchLikeCompareToIgnoreCase() throws KettleValueException {
+    ValueMetaString keyMeta = new ValueMetaString( "key" );
+    keyMeta.setCaseInsensitive( true );
+    // the dotted capital I lowercases to two characters, but compares equal to a plain i ignoring the case
+    HashJoinTable table = table( keyMeta, "\u0130stanbul" );
+
+    assertEquals( 0, keyMeta.compare( "\u0130stanbul", "istanbul" ) );
+    assertNotNull( table.match( key( table, "istanbul" ) ) );
+    assertNotNull( table.match( key( table, "ISTANBUL" ) ) );
+    assertNull( table.match( key( table, "ankara" ) ) );
+  }
+
+  @Test
+  public void testCollatedKeysMatchLikeTheCollator() throws KettleValueException {
+    ValueMetaString keyMeta = new ValueMetaString( "key" );
+    keyMeta.setCollatorDisabled( false );
+    keyMeta.setCollatorLocale( Locale.FRENCH );
+    keyMeta.setCollatorStrength( Collator.PRIMARY );
+    HashJoinTable table = table( keyMeta, "r\u00e9sum\u00e9" );
+
+    assertEquals( 0, keyMeta.compare( "r\u00e9sum\u00e9", "Resume" ) );
+    assertNotNull( table.match( key( table, "Resume" ) ) );
+    assertNull( table.match( key( table, "resumes" ) ) );
+  }
+
+  @Test
+  public void testFoldCase() {
+    assertEquals( "istanbul", HashJoinTable.foldCase( "\u0130STANBUL" ) );
+    assertEquals( "stra\u00dfe", HashJoinTable.foldCase( "STRA\u00dfE" ) );
+  }
+}
@@ -0,0 +1,195 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.hashjoin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pentaho.di.core.KettleClientEnvironment;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.logging.LoggingObjectInterface;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.steps.mock.StepMockHelper;
+
+public class HashJoinTest {
+
+  @ClassRule
+  public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private StepMockHelper<HashJoinMeta, HashJoinData> mockHelper;
+
+  private static class HashJoinHandler extends HashJoin {
+    private final Map<String, RowSet> rowSets = new HashMap<>();
+    private final List<String> outputRows = new ArrayList<>();
+
+    HashJoinHandler( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta,
+      Trans trans ) {
+      super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
+    }
+
+    @Override
+    public RowSet findInputRowSet( String sourceStep ) {
+      return rowSets.get( sourceStep );
+    }
+
+    @Override
+    public void putRow( RowMetaInterface rowMeta, Object[] row ) {
+      outputRows.add( Arrays.toString( Arrays.copyOf( row, rowMeta.size() ) ) );
+    }
+  }
+
+  @BeforeClass
+  public static void init() throws KettleException {
+    KettleClientEnvironment.init();
+  }
+
+  @Before
+  public void setUp() {
+    mockHelper = new StepMockHelper<>( "HashJoinTest", HashJoinMeta.class, HashJoinData.class );
+    when( mockHelper.logChannelInterfaceFactory.create( any(), any( LoggingObjectInterface.class ) ) ).thenReturn(
+      mockHelper.logChannelInterface );
+    when( mockHelper.trans.isRunning() ).thenReturn( true );
+  }
+
+  @After
+  public void tearDown() {
+    mockHelper.cleanUp();
+  }
+
+  private static RowMetaInterface rowMeta( String key, String value ) {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( key ) );
+    rowMeta.addValueMeta( new ValueMetaString( value ) );
+    return rowMeta;
+  }
+
+  private List<String> join( String joinType, String rowsInMemory, List<Object[]> ones, List<Object[]> twos )
+    throws KettleException {
+    HashJoinMeta meta = new HashJoinMeta();
+    meta.setDefault();
+    meta.setJoinType( joinType );
+    meta.setRowsInMemory( rowsInMemory );
+    meta.setDirectory( tempFolder.getRoot().getAbsolutePath() );
+    meta.setKeyFields1( new String[] { "id" } );
+    meta.setKeyFields2( new String[] { "key" } );
+    StepMeta one = new StepMeta();
+    one.setName( "one" );
+    StepMeta two = new StepMeta();
+    two.setName( "two" );
+    meta.getStepIOMeta().getInfoStreams().get( 0 ).setStepMeta( one );
+    meta.getStepIOMeta().getInfoStreams().get( 1 ).setStepMeta( two );
+
+    HashJoinHandler step = new HashJoinHandler( mockHelper.stepMeta, mockHelper.stepDataInterface, 0,
+      mockHelper.transMeta, mockHelper.trans );
+    RowSet oneRowSet = mockHelper.getMockInputRowSet( ones );
+    when( oneRowSet.getRowMeta() ).thenReturn( rowMeta( "id", "name" ) );
+    RowSet twoRowSet = mockHelper.getMockInputRowSet( twos );
+    when( twoRowSet.getRowMeta() ).thenReturn( rowMeta( "key", "value" ) );
+    step.rowSets.put( "one", oneRowSet );
+    step.rowSets.put( "two", twoRowSet );
+
+    HashJoinData data = new HashJoinData();
+    assertTrue( step.init( meta, data ) );
+    while ( step.processRow( meta, data ) ) {
+      // join all rows
+    }
+    step.dispose( meta, data );
+
+    Collections.sort( step.outputRows );
+    return step.outputRows;
+  }
+
+  private static List<Object[]> ones() {
+    return StepMockHelper.asList(
+      new Object[] { 1L, "a" }, new Object[] { 2L, "b" }, new Object[] { 3L, "c" }, new Object[] { null, "n" } );
+  }
+
+  private static List<Object[]> twos() {
+    return StepMockHelper.asList(
+      new Object[] { 1L, "x" }, new Object[] { 4L, "z" }, new Object[] { 1L, "y" }, new Object[] { null, "m" } );
+  }
+
+  private static List<String> sorted( String... rows ) {
+    List<String> list = new ArrayList<>( Arrays.asList( rows ) );
+    Collections.sort( list );
+    return list;
+  }
+
+  @Test
+  public void testJoinTypes() throws KettleException {
+    List<String> inner = sorted( "[1, a, 1, x]", "[1, a, 1, y]", "[null, n, null, m]" );
+    assertEquals( inner, join( "INNER", "100", ones(), twos() ) );
+
+    List<String> left = sorted( "[1, a, 1, x]", "[1, a, 1, y]", "[null, n, null, m]", "[2, b, null, null]",
+      "[3, c, null, null]" );
+    assertEquals( left, join( "LEFT OUTER", "100", ones(), twos() ) );
+
+    List<String> right = sorted( "[1, a, 1, x]", "[1, a, 1, y]", "[null, n, null, m]", "[null, null, 4, z]" );
+    assertEquals( right, join( "RIGHT OUTER", "100", ones(), twos() ) );
+
+    List<String> full = sorted( "[1, a, 1, x]", "[1, a, 1, y]", "[null, n, null, m]", "[2, b, null, null]",
+      "[3, c, null, null]", "[null, null, 4, z]" );
+    assertEquals( full, join( "FULL OUTER", "100", ones(), twos() ) );
+  }
+
+  @Test
+  public void testSpilledJoinGivesTheSameRows() throws KettleException {
+    for ( String joinType : HashJoinMeta.join_types ) {
+      assertEquals( joinType, join( joinType, "100", ones(), twos() ), join( joinType, "1", ones(), twos() ) );
+    }
+    assertEquals( 0, tempFolder.getRoot().list().length );
+  }
+
+  @Test
+  public void testPartitionsAreSplitAgain() throws KettleException {
+    List<Object[]> ones = new ArrayList<>();
+    List<Object[]> twos = new ArrayList<>();
+    for ( long i = 0; i < 2000; i++ ) {
+      ones.add( new Object[] { i, "one-" + i } );
+      twos.add( new Object[] { i % 1000, "two-" + i } );
+    }
+    List<String> inMemory = join( "FULL OUTER", "10000", ones, twos );
+    assertEquals( 3000, inMemory.size() );
+    assertEquals( inMemory, join( "FULL OUTER", "10", ones, twos ) );
+    assertEquals( 0, tempFolder.getRoot().list().length );
+  }
+}
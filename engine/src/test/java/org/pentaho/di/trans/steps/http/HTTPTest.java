@@ -21,22 +21,43 @@ import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
 import org.junit.Test;
 import org.mockito.MockedStatic;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleValueException;
 import org.pentaho.di.core.logging.LogChannelInterface;
+import org.pentaho.di.core.logging.LoggingObjectInterface;
+import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaDate;
 import org.pentaho.di.core.util.HttpClientManager;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.steps.mock.StepMockHelper;
 
 import java.io.ByteArrayInputStream;
 import java.net.HttpURLConnection;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -47,6 +68,7 @@ import static org.pentaho.test.util.InternalState.setInternalState;
  * @since 14-Aug-2018
  */
 public class HTTPTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
 
   private final LogChannelInterface log = mock( LogChannelInterface.class );
   private final RowMetaInterface rmi = mock( RowMetaInterface.class );
@@ -62,6 +84,11 @@ public class HTTPTest {
     + "&lt;p&gt;é, è, ô, ç, à, ê, â.&lt;/p&gt; They can, of course, come in uppercase as well: &lt;p&gt;É, È Ô, Ç, À,"
     + " Ê, Â&lt;/p&gt;. UTF-8 handles this well.";
 
+  @BeforeClass
+  public static void initKettle() throws KettleException {
+    KettleEnvironment.init();
+  }
+
   @Before
   public void setup() throws Exception {
     HttpClientManager.HttpClientBuilderFacade builder = mock( HttpClientManager.HttpClientBuilderFacade.class );
@@ -120,4 +147,76 @@ public class HTTPTest {
       verify( client, times( 1 ) ).execute( any( HttpGet.class ), any( HttpClientContext.class ) );
     }
   }
+
+  @Test
+  public void pipelineConvertsTheRowOnTheStepThread() throws Exception {
+    List<Thread> conversionThreads = Collections.synchronizedList( new ArrayList<>() );
+    ValueMetaDate dateMeta = new ValueMetaDate( "day" ) {
+      @Override
+      public String getString( Object object ) throws KettleValueException {
+        conversionThreads.add( Thread.currentThread() );
+        return super.getString( object );
+      }
+    };
+    dateMeta.setConversionMask( "yyyy-MM-dd" );
+    RowMeta inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( dateMeta );
+
+    HTTPMeta stepMeta = new HTTPMeta();
+    stepMeta.setDefault();
+    stepMeta.setUrl( "http://pentaho.com/days" );
+    stepMeta.allocate( 1, 1 );
+    stepMeta.getArgumentField()[ 0 ] = "day";
+    stepMeta.getArgumentParameter()[ 0 ] = "day";
+    stepMeta.getHeaderField()[ 0 ] = "day";
+    stepMeta.getHeaderParameter()[ 0 ] = "X-Day";
+
+    List<String> requests = Collections.synchronizedList( new ArrayList<>() );
+    doAnswer( invocation -> {
+      HttpGet get = invocation.getArgument( 0 );
+      requests.add( get.getURI() + " " + get.getFirstHeader( "X-Day" ).getValue() );
+      return mock( CloseableHttpResponse.class );
+    } ).when( client ).execute( any( HttpGet.class ), any( HttpClientContext.class ) );
+
+    StepMockHelper<HTTPMeta, HTTPData> smh = new StepMockHelper<>( "HTTP", HTTPMeta.class, HTTPData.class );
+    try ( MockedStatic<HttpClientManager> httpClientManagerMockedStatic = mockStatic( HttpClientManager.class ) ) {
+      httpClientManagerMockedStatic.when( HttpClientManager::getInstance ).thenReturn( manager );
+      when( smh.logChannelInterfaceFactory.create( any(), any( LoggingObjectInterface.class ) ) )
+        .thenReturn( smh.logChannelInterface );
+      when( smh.trans.isRunning() ).thenReturn( true );
+
+      HTTPData stepData = new HTTPData();
+      HTTP step = spy( new HTTP( smh.stepMeta, stepData, 0, smh.transMeta, smh.trans ) );
+      doReturn( HttpURLConnection.HTTP_OK ).when( step ).requestStatusCode( any( CloseableHttpResponse.class ) );
+      doReturn( new Header[0] ).when( step ).searchForHeaders( any( CloseableHttpResponse.class ) );
+      step.initializeVariablesFrom( null );
+      step.setVariable( Const.KETTLE_HTTP_MAX_IN_FLIGHT, "4" );
+      assertTrue( step.init( stepMeta, stepData ) );
+
+      SimpleDateFormat format = new SimpleDateFormat( "yyyy-MM-dd" );
+      RowSet input = smh.getMockInputRowSet(
+        new Object[] { format.parse( "2024-07-20" ) },
+        new Object[] { format.parse( "2024-07-21" ) },
+        new Object[] { format.parse( "2024-07-22" ) } );
+      doReturn( inputRowMeta ).when( input ).getRowMeta();
+      step.addRowSetToInputRowSets( input );
+      RowSet output = new QueueRowSet();
+      step.addRowSetToOutputRowSets( output );
+
+      while ( step.processRow( stepMeta, stepData ) ) {
+        // keep requesting
+      }
+
+      assertEquals( 3, output.size() );
+      assertEquals( 3, requests.size() );
+      assertTrue( requests.contains( "http://pentaho.com/days?day=2024-07-21 2024-07-21" ) );
+      // the date format of the row isn't thread-safe, so the pipeline threads must not use it
+      assertTrue( conversionThreads.size() >= 6 );
+      for ( Thread thread : conversionThreads ) {
+        assertSame( Thread.currentThread(), thread );
+      }
+    } finally {
+      smh.cleanUp();
+    }
+  }
 }
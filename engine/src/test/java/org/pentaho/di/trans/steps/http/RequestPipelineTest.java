@@ -0,0 +1,95 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+
+public class RequestPipelineTest {
+
+  @Test
+  public void testResultsAreTakenInOrder() throws Exception {
+    RequestPipeline<Integer> pipeline = new RequestPipeline<>( 4, 0, 1 );
+    int taken = 0;
+    for ( int i = 0; i < 20; i++ ) {
+      final int nr = i;
+      pipeline.submit( new Object[] { nr }, () -> {
+        sleep( ( 20 - nr ) % 5 );
+        return nr * 10;
+      } );
+      while ( pipeline.isFull() || pipeline.isOldestDone() ) {
+        RequestPipeline.Result<Integer> result = pipeline.takeOldest();
+        assertEquals( taken, result.getRow()[ 0 ] );
+        assertEquals( taken * 10, result.getValue().intValue() );
+        taken++;
+      }
+    }
+    while ( !pipeline.isEmpty() ) {
+      assertEquals( taken * 10, pipeline.takeOldest().getValue().intValue() );
+      taken++;
+    }
+    assertEquals( 20, taken );
+  }
+
+  @Test
+  public void testIOErrorIsRetried() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    RequestPipeline<String> pipeline = new RequestPipeline<>( 2, 3, 1 );
+    pipeline.submit( new Object[ 0 ], () -> {
+      if ( calls.incrementAndGet() < 3 ) {
+        throw new KettleException( new IOException( "Connection refused" ) );
+      }
+      return "ok";
+    } );
+    RequestPipeline.Result<String> result = pipeline.takeOldest();
+    assertNull( result.getError() );
+    assertEquals( "ok", result.getValue() );
+    assertEquals( 3, calls.get() );
+  }
+
+  @Test
+  public void testOtherErrorIsNotRetried() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    KettleException error = new KettleException( "Unauthorized" );
+    RequestPipeline<String> pipeline = new RequestPipeline<>( 2, 3, 1 );
+    Object[] row = new Object[] { "row" };
+    pipeline.submit( row, () -> {
+      calls.incrementAndGet();
+      throw error;
+    } );
+    RequestPipeline.Result<String> result = pipeline.takeOldest();
+    assertSame( error, result.getError() );
+    assertSame( row, result.getRow() );
+    assertEquals( 1, calls.get() );
+    assertTrue( pipeline.isEmpty() );
+    assertFalse( pipeline.isOldestDone() );
+  }
+
+  private static void sleep( long millis ) {
+    try {
+      Thread.sleep( millis );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.janino;
+
+import org.codehaus.janino.ExpressionEvaluator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JaninoExpressionCacheTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  @Before
+  public void setUp() {
+    JaninoExpressionCache.clear();
+  }
+
+  @After
+  public void tearDown() {
+    JaninoExpressionCache.clear();
+  }
+
+  @Test
+  public void sameExpressionIsCookedOnce() throws Exception {
+    ExpressionEvaluator first = JaninoExpressionCache.getExpressionEvaluator( "a + 1",
+      new String[] { "a" }, new Class<?>[] { Long.class }, Object.class, null );
+    ExpressionEvaluator second = JaninoExpressionCache.getExpressionEvaluator( "a + 1",
+      new String[] { "a" }, new Class<?>[] { Long.class }, Object.class, null );
+
+    assertSame( first, second );
+    assertEquals( 1L, JaninoExpressionCache.size() );
+    assertEquals( 3L, first.evaluate( new Object[] { 2L } ) );
+  }
+
+  @Test
+  public void parameterTypesArePartOfTheKey() throws Exception {
+    ExpressionEvaluator longs = JaninoExpressionCache.getExpressionEvaluator( "a + 1",
+      new String[] { "a" }, new Class<?>[] { Long.class }, Object.class, null );
+    ExpressionEvaluator strings = JaninoExpressionCache.getExpressionEvaluator( "a + 1",
+      new String[] { "a" }, new Class<?>[] { String.class }, Object.class, null );
+
+    assertNotSame( longs, strings );
+    assertEquals( 2L, JaninoExpressionCache.size() );
+    assertEquals( "x1", strings.evaluate( new Object[] { "x" } ) );
+  }
+}
@@ -46,6 +46,7 @@ import org.pentaho.di.core.row.value.ValueMetaDate;
 import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaNumber;
 import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.HyperLogLog;
 import org.pentaho.di.core.variables.Variables;
 import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
 import org.pentaho.di.trans.Trans;
@@ -314,6 +315,28 @@ public class MemoryGroupByAggregationTest {
     assertThat( output.getInteger( "value_count_distinct" ), is( 3L ) );
   }
 
+  @Test
+  public void testApproximateDistinct() throws Exception {
+    addColumn( new ValueMetaInteger( "intg" ), 0L, 1L, 1L, 10L );
+    addColumn( new ValueMetaInteger( "nul" ) );
+    addColumn( new ValueMetaString( "str" ), "A", null, "B", "A" );
+
+    aggregates = ImmutableMap.of(
+      "count_distinct_approx", MemoryGroupByMeta.TYPE_GROUP_COUNT_DISTINCT_APPROX,
+      "distinct_sketch", MemoryGroupByMeta.TYPE_GROUP_DISTINCT_SKETCH );
+
+    RowMetaAndData output = runStep();
+
+    assertThat( output.getInteger( "intg_count_distinct_approx" ), is( 3L ) );
+    assertThat( output.getInteger( "nul_count_distinct_approx" ), is( 0L ) );
+    assertThat( output.getInteger( "str_count_distinct_approx" ), is( 2L ) );
+
+    HyperLogLog sketch = HyperLogLog.fromBytes( output.getBinary( "intg_distinct_sketch", null ) );
+    assertThat( sketch.estimate(), is( 3L ) );
+    sketch.merge( HyperLogLog.fromBytes( output.getBinary( "str_distinct_sketch", null ) ) );
+    assertThat( sketch.estimate(), is( 5L ) );
+  }
+
   private RowMetaAndData runStep() throws KettleException {
     // Allocate meta
     List<String> aggKeys = ImmutableList.copyOf( aggregates.keySet() );
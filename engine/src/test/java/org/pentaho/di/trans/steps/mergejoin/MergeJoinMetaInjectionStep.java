@@ -43,5 +43,10 @@ public class MergeJoinMetaInjectionStep extends BaseMetadataInjectionTest<MergeJ
         return meta.getKeyFields2()[0];
       }
     } );
+    check( "PARALLELISM", new StringGetter() {
+      public String get() {
+        return meta.getParallelism();
+      }
+    } );
   }
 }
@@ -47,7 +47,7 @@ public class MergeJoinMetaTest {
 
   public MergeJoinMetaTest() {
     //SwitchCaseMeta bean-like attributes
-    List<String> attributes = Arrays.asList( "joinType", "keyFields1", "keyFields2" );
+    List<String> attributes = Arrays.asList( "joinType", "keyFields1", "keyFields2", "parallelism" );
 
     Map<String, FieldLoadSaveValidator<?>> attrValidatorMap = new HashMap<String, FieldLoadSaveValidator<?>>();
 
@@ -57,11 +57,13 @@ public class MergeJoinMetaTest {
     getterMap.put( "joinType", "getJoinType" );
     getterMap.put( "keyFields1", "getKeyFields1" );
     getterMap.put( "keyFields2", "getKeyFields2" );
+    getterMap.put( "parallelism", "getParallelism" );
 
     Map<String, String> setterMap = new HashMap<String, String>();
     setterMap.put( "joinType", "setJoinType" );
     setterMap.put( "keyFields1", "setKeyFields1" );
     setterMap.put( "keyFields2", "setKeyFields2" );
+    setterMap.put( "parallelism", "setParallelism" );
 
     this.loadSaveTester = new LoadSaveTester( MergeJoinMeta.class,
       attributes,
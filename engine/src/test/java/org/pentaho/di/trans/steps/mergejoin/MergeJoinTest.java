@@ -1,7 +1,11 @@
 package org.pentaho.di.trans.steps.mergejoin;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -12,18 +16,24 @@ import org.junit.ClassRule;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.pentaho.di.core.KettleClientEnvironment;
+import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
 import org.pentaho.di.core.logging.LoggingObjectInterface;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaString;
 import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.StepDataInterface;
 import org.pentaho.di.trans.step.StepInterface;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.steps.mock.StepMockHelper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.when;
 import static org.pentaho.di.core.util.Assert.assertNotNull;
@@ -51,6 +61,26 @@ public class MergeJoinTest {
       new MergeJoin( mockHelper.stepMeta, mockHelper.stepDataInterface, 0, mockHelper.transMeta, mockHelper.trans ) );
   }
 
+  private static class MergeJoinHandler extends MergeJoin {
+    private final Map<String, RowSet> rowSets = new HashMap<>();
+    private final List<String> outputRows = new ArrayList<>();
+
+    MergeJoinHandler( StepMeta stepMeta, StepDataInterface stepDataInterface, int copyNr, TransMeta transMeta,
+      Trans trans ) {
+      super( stepMeta, stepDataInterface, copyNr, transMeta, trans );
+    }
+
+    @Override
+    public RowSet findInputRowSet( String sourceStep ) {
+      return rowSets.get( sourceStep );
+    }
+
+    @Override
+    public void putRow( RowMetaInterface rowMeta, Object[] row ) {
+      outputRows.add( Arrays.toString( Arrays.copyOf( row, rowMeta.size() ) ) );
+    }
+  }
+
   @After
   public void tearDown() {
     mockHelper.cleanUp();
@@ -103,4 +133,70 @@ public class MergeJoinTest {
     assertEquals( StepInterface.FAILURE_RESPONSE, response.get( StepInterface.ACTION_STATUS ) );
   }
 
+  private static RowMetaInterface rowMeta( String key, String value ) {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( key ) );
+    rowMeta.addValueMeta( new ValueMetaString( value ) );
+    return rowMeta;
+  }
+
+  private List<String> join( String joinType, String parallelism, int chunkSize, List<Object[]> ones,
+    List<Object[]> twos ) throws KettleException {
+    MergeJoinMeta meta = new MergeJoinMeta();
+    meta.setDefault();
+    meta.setJoinType( joinType );
+    meta.setParallelism( parallelism );
+    meta.setKeyFields1( new String[] { "id" } );
+    meta.setKeyFields2( new String[] { "key" } );
+    StepMeta one = new StepMeta();
+    one.setName( "one" );
+    StepMeta two = new StepMeta();
+    two.setName( "two" );
+    meta.getStepIOMeta().getInfoStreams().get( 0 ).setStepMeta( one );
+    meta.getStepIOMeta().getInfoStreams().get( 1 ).setStepMeta( two );
+
+    MergeJoinHandler step = new MergeJoinHandler( mockHelper.stepMeta, mockHelper.stepDataInterface, 0,
+      mockHelper.transMeta, mockHelper.trans );
+    RowSet oneRowSet = mockHelper.getMockInputRowSet( ones );
+    when( oneRowSet.getRowMeta() ).thenReturn( rowMeta( "id", "name" ) );
+    RowSet twoRowSet = mockHelper.getMockInputRowSet( twos );
+    when( twoRowSet.getRowMeta() ).thenReturn( rowMeta( "key", "value" ) );
+    step.rowSets.put( "one", oneRowSet );
+    step.rowSets.put( "two", twoRowSet );
+
+    MergeJoinData data = new MergeJoinData();
+    assertTrue( step.init( meta, data ) );
+    data.chunkSize = chunkSize;
+    while ( step.processRow( meta, data ) ) {
+      // join all rows
+    }
+    step.dispose( meta, data );
+    return step.outputRows;
+  }
+
+  private static List<Object[]> sortedRows( Random random, String prefix, int nrRows ) {
+    long[] keys = new long[ nrRows ];
+    for ( int i = 0; i < nrRows; i++ ) {
+      keys[ i ] = random.nextInt( nrRows / 2 );
+    }
+    Arrays.sort( keys );
+    List<Object[]> rows = new ArrayList<>();
+    for ( int i = 0; i < nrRows; i++ ) {
+      rows.add( new Object[] { keys[ i ], prefix + i } );
+    }
+    return rows;
+  }
+
+  @Test
+  public void testParallelJoinGivesTheSameRowsInTheSameOrder() throws KettleException {
+    Random random = new Random( 42 );
+    List<Object[]> ones = sortedRows( random, "one-", 500 );
+    List<Object[]> twos = sortedRows( random, "two-", 300 );
+    for ( String joinType : MergeJoinMeta.join_types ) {
+      List<String> expected = join( joinType, "1", MergeJoin.CHUNK_SIZE, ones, twos );
+      assertEquals( joinType, expected, join( joinType, "4", 1, ones, twos ) );
+      assertEquals( joinType, expected, join( joinType, "3", 25, ones, twos ) );
+      assertEquals( joinType, expected, join( joinType, "2", MergeJoin.CHUNK_SIZE, ones, twos ) );
+    }
+  }
 }
@@ -0,0 +1,84 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.scriptvalues_mod;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContextFactory;
+import org.mozilla.javascript.EvaluatorException;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ScriptValuesScriptCacheTest {
+  private Context cx;
+
+  @Before
+  public void setUp() {
+    ScriptValuesScriptCache.clear();
+    cx = ContextFactory.getGlobal().enterContext();
+  }
+
+  @After
+  public void tearDown() {
+    Context.exit();
+    ScriptValuesScriptCache.clear();
+  }
+
+  @Test
+  public void sameScriptIsCompiledOnce() {
+    cx.setOptimizationLevel( 9 );
+    Script first = ScriptValuesScriptCache.getScript( cx, "var a = 1 + 1;", "script" );
+    Script second = ScriptValuesScriptCache.getScript( cx, "var a = 1 + 1;", "script" );
+    assertSame( first, second );
+    assertEquals( 1, ScriptValuesScriptCache.size() );
+  }
+
+  @Test
+  public void optimizationLevelIsPartOfTheKey() {
+    cx.setOptimizationLevel( 9 );
+    Script compiled = ScriptValuesScriptCache.getScript( cx, "var a = 1 + 1;", "script" );
+    cx.setOptimizationLevel( -1 );
+    Script interpreted = ScriptValuesScriptCache.getScript( cx, "var a = 1 + 1;", "script" );
+    assertNotSame( compiled, interpreted );
+    assertEquals( 2, ScriptValuesScriptCache.size() );
+  }
+
+  @Test
+  public void cachedScriptRunsInDifferentScopes() {
+    Script script = ScriptValuesScriptCache.getScript( cx, "var b = a * 2;", "script" );
+
+    Scriptable scope1 = cx.initStandardObjects( null, false );
+    scope1.put( "a", scope1, 2 );
+    script.exec( cx, scope1 );
+
+    Scriptable scope2 = ScriptValuesScriptCache.newSharedScope( cx );
+    scope2.put( "a", scope2, 5 );
+    script.exec( cx, scope2 );
+
+    assertEquals( 4.0, Context.toNumber( scope1.get( "b", scope1 ) ), 0.0 );
+    assertEquals( 10.0, Context.toNumber( scope2.get( "b", scope2 ) ), 0.0 );
+  }
+
+  @Test( expected = EvaluatorException.class )
+  public void sharedStandardObjectsAreSealed() {
+    Scriptable scope = ScriptValuesScriptCache.newSharedScope( cx );
+    cx.evaluateString( scope, "String.prototype.shout = function() { return 'x'; };", "script", 1, null );
+  }
+}
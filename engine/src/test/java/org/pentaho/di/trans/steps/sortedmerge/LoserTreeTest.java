@@ -0,0 +1,160 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.sortedmerge;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.trans.step.StepInterface;
+
+public class LoserTreeTest {
+
+  private static class ListSource extends MergeSource {
+    private final List<Object[]> rows;
+    private final SortKeys sortKeys;
+    private int next;
+
+    ListSource( List<Object[]> rows, SortKeys sortKeys ) {
+      this.rows = rows;
+      this.sortKeys = sortKeys;
+    }
+
+    @Override
+    void next() throws KettleException {
+      row = next < rows.size() ? rows.get( next++ ) : null;
+      keys = row == null ? null : sortKeys.getKeys( row );
+    }
+  }
+
+  private static RowMetaInterface rowMeta( boolean descending ) {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaString( "name" ) );
+    rowMeta.addValueMeta( new ValueMetaInteger( "key" ) );
+    rowMeta.getValueMeta( 1 ).setSortedDescending( descending );
+    return rowMeta;
+  }
+
+  private static List<List<Object[]>> sortedInputs( int nrInputs, boolean descending ) {
+    Random random = new Random( 42 );
+    Comparator<Object[]> byKey = Comparator.comparing( row -> (Long) row[ 1 ] );
+    List<List<Object[]>> inputs = new ArrayList<>();
+    for ( int i = 0; i < nrInputs; i++ ) {
+      List<Object[]> rows = new ArrayList<>();
+      int nrRows = i % 5 == 0 ? 0 : random.nextInt( 2000 );
+      for ( int j = 0; j < nrRows; j++ ) {
+        rows.add( new Object[] { "input " + i, (long) random.nextInt( 100 ) } );
+      }
+      rows.sort( descending ? byKey.reversed() : byKey );
+      inputs.add( rows );
+    }
+    return inputs;
+  }
+
+  private static List<Object[]> merge( MergeSource merge ) throws KettleException {
+    List<Object[]> rows = new ArrayList<>();
+    for ( merge.next(); merge.row != null; merge.next() ) {
+      rows.add( merge.row );
+    }
+    return rows;
+  }
+
+  /**
+   * The merged rows are the rows of all inputs in a stable sort: equal keys in the order of the inputs.
+   */
+  private static void assertMerged( List<List<Object[]>> inputs, boolean descending, List<Object[]> merged ) {
+    List<Object[]> expected = new ArrayList<>();
+    inputs.forEach( expected::addAll );
+    Comparator<Object[]> byKey = Comparator.comparing( row -> (Long) row[ 1 ] );
+    expected.sort( descending ? byKey.reversed() : byKey );
+    assertEquals( expected.size(), merged.size() );
+    for ( int i = 0; i < expected.size(); i++ ) {
+      assertSame( expected.get( i ), merged.get( i ) );
+    }
+  }
+
+  private static void testMerge( int nrInputs, boolean descending ) throws KettleException {
+    List<List<Object[]>> inputs = sortedInputs( nrInputs, descending );
+    SortKeys sortKeys = new SortKeys( rowMeta( descending ), new int[] { 1 } );
+    List<MergeSource> sources = new ArrayList<>();
+    for ( List<Object[]> rows : inputs ) {
+      sources.add( new ListSource( rows, sortKeys ) );
+    }
+    assertMerged( inputs, descending, merge( new LoserTree( sources, sortKeys ) ) );
+  }
+
+  @Test
+  public void testMerge() throws KettleException {
+    testMerge( 1, false );
+    testMerge( 2, false );
+    testMerge( 7, false );
+    testMerge( 32, false );
+  }
+
+  @Test
+  public void testMergeDescending() throws KettleException {
+    testMerge( 13, true );
+  }
+
+  @Test
+  public void testNoSources() throws KettleException {
+    LoserTree tree = new LoserTree( new ArrayList<MergeSource>(), null );
+    tree.next();
+    assertNull( tree.row );
+  }
+
+  @Test
+  public void testMergeInGroups() throws KettleException {
+    List<List<Object[]>> inputs = sortedInputs( 32, false );
+    RowMetaInterface rowMeta = rowMeta( false );
+    List<MergeSource> groups = new ArrayList<>();
+    for ( int start = 0; start < inputs.size(); start += 6 ) {
+      SortKeys groupKeys = new SortKeys( rowMeta, new int[] { 1 } );
+      List<MergeSource> sources = new ArrayList<>();
+      for ( List<Object[]> rows : inputs.subList( start, Math.min( start + 6, inputs.size() ) ) ) {
+        sources.add( new ListSource( rows, groupKeys ) );
+      }
+      MergeGroup group = new MergeGroup( mock( StepInterface.class ), sources, groupKeys );
+      new Thread( group ).start();
+      groups.add( group );
+    }
+    assertMerged( inputs, false, merge( new LoserTree( groups, new SortKeys( rowMeta, new int[] { 1 } ) ) ) );
+  }
+
+  @Test( expected = KettleException.class )
+  public void testGroupFailureIsThrownOnTheStepThread() throws KettleException {
+    MergeSource failing = new MergeSource() {
+      @Override
+      void next() throws KettleException {
+        throw new KettleException( "unable to read" );
+      }
+    };
+    MergeGroup group = new MergeGroup( mock( StepInterface.class ), Arrays.asList( failing ), null );
+    new Thread( group ).start();
+    merge( group );
+  }
+}
@@ -156,6 +156,11 @@ public class StreamLookupTest {
   }
 
   private void doTest( boolean memoryPreservationActive, boolean binaryLookupStream, boolean binaryDataStream ) throws KettleException {
+    doTest( memoryPreservationActive, false, binaryLookupStream, binaryDataStream );
+  }
+
+  private void doTest( boolean memoryPreservationActive, boolean usingSortedList, boolean binaryLookupStream,
+    boolean binaryDataStream ) throws KettleException {
     StreamLookup step = new StreamLookup( smh.stepMeta, smh.stepDataInterface, 0, smh.transMeta, smh.trans );
     step.init( smh.initStepMetaInterface, smh.initStepDataInterface );
     step.addRowSetToInputRowSets( mockLookupRowSet( binaryLookupStream ) );
@@ -163,6 +168,7 @@ public class StreamLookupTest {
     step.addRowSetToOutputRowSets( new QueueRowSet() );
 
     StreamLookupMeta meta = mockProcessRowMeta( memoryPreservationActive );
+    doReturn( usingSortedList ).when( meta ).isUsingSortedList();
     StreamLookupData data = new StreamLookupData();
     data.readLookupValues = true;
 
@@ -229,4 +235,14 @@ public class StreamLookupTest {
   public void testMemoryPreservationWithBinaryStreams() throws KettleException {
     doTest( true, false, true );
   }
+
+  @Test
+  public void testSortedListWithNormalStreams() throws KettleException {
+    doTest( true, true, false, false );
+  }
+
+  @Test
+  public void testSortedListWithBinaryStreams() throws KettleException {
+    doTest( true, true, true, true );
+  }
 }
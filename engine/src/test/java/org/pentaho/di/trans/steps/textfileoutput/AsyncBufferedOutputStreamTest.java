@@ -0,0 +1,121 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.textfileoutput;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+import org.pentaho.di.core.compress.CompressionOutputStream;
+
+public class AsyncBufferedOutputStreamTest {
+
+  @Test
+  public void testWritesEverythingInOrder() throws Exception {
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    try ( AsyncBufferedOutputStream out = new AsyncBufferedOutputStream( written, 64 ) ) {
+      for ( int i = 0; i < 1000; i++ ) {
+        byte[] line = ( "row " + i + "\n" ).getBytes();
+        out.write( line );
+        out.write( '.' );
+        expected.write( line );
+        expected.write( '.' );
+      }
+      out.flush();
+      assertArrayEquals( expected.toByteArray(), written.toByteArray() );
+      out.write( new byte[ 200 ], 0, 200 );
+      expected.write( new byte[ 200 ], 0, 200 );
+    }
+    assertArrayEquals( expected.toByteArray(), written.toByteArray() );
+  }
+
+  @Test
+  public void testErrorIsThrownToWriter() throws Exception {
+    OutputStream failing = new OutputStream() {
+      @Override
+      public void write( int b ) throws IOException {
+        throw new IOException( "Disk full" );
+      }
+    };
+    AsyncBufferedOutputStream out = new AsyncBufferedOutputStream( failing, 16 );
+    try {
+      for ( int i = 0; i < 100; i++ ) {
+        out.write( 'x' );
+      }
+      out.flush();
+      fail( "The error of the background thread should be thrown" );
+    } catch ( IOException e ) {
+      assertEquals( "Disk full", e.getMessage() );
+    }
+  }
+
+  @Test
+  public void testCloseWaitsForWrites() throws Exception {
+    boolean[] closed = new boolean[ 1 ];
+    ByteArrayOutputStream written = new ByteArrayOutputStream() {
+      @Override
+      public void close() {
+        assertEquals( 100, size() );
+        closed[ 0 ] = true;
+      }
+    };
+    AsyncBufferedOutputStream out = new AsyncBufferedOutputStream( written, 30 );
+    out.write( new byte[ 100 ] );
+    out.close();
+    assertTrue( closed[ 0 ] );
+  }
+
+  @Test
+  public void testFileStreamClosesAfterFailedWrite() throws Exception {
+    boolean[] closed = new boolean[ 2 ];
+    OutputStream file = new ByteArrayOutputStream() {
+      @Override
+      public void close() {
+        closed[ 1 ] = true;
+      }
+    };
+    CompressionOutputStream compressed = new CompressionOutputStream( file, null ) {
+      @Override
+      public void write( byte[] b, int off, int len ) throws IOException {
+        throw new IOException( "Disk full" );
+      }
+
+      @Override
+      public void close() throws IOException {
+        closed[ 0 ] = true;
+        super.close();
+      }
+    };
+    AsyncBufferedOutputStream buffered = new AsyncBufferedOutputStream( compressed, 16 );
+    TextFileOutputData.FileStream fileStream = new TextFileOutputData().new FileStream( file, compressed, buffered );
+    buffered.write( new byte[ 10 ] );
+    try {
+      fileStream.close();
+      fail( "The error of the background thread should be thrown" );
+    } catch ( IOException e ) {
+      assertEquals( "Disk full", e.getMessage() );
+    }
+    assertTrue( closed[ 0 ] );
+    assertTrue( closed[ 1 ] );
+    assertFalse( fileStream.isOpen() );
+  }
+}
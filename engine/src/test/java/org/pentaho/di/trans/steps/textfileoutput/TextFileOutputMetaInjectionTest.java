@@ -97,6 +97,11 @@ public class TextFileOutputMetaInjectionTest extends BaseMetadataInjectionTest<T
         return meta.getSplitEvery();
       }
     } );
+    check( "SPLIT_EVERY_BYTES", new StringGetter() {
+      public String get() {
+        return meta.getSplitEveryBytes();
+      }
+    } );
     check( "APPEND", new BooleanGetter() {
       public boolean get() {
         return meta.isFileAppended();
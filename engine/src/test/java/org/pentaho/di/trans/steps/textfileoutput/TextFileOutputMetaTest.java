@@ -34,6 +34,7 @@ import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TextFileOutputMetaTest {
   @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
@@ -48,7 +49,7 @@ public class TextFileOutputMetaTest {
       "format", "compression", "encoding", "endedLine", "fileNameInField", "fileNameField",
       "create_parent_folder", "fileName", "servlet_output", "do_not_open_new_file_init",
       "extention", "append", "split", "haspartno", "add_date", "add_time", "SpecifyFormat", "date_time_format",
-      "add_to_result_filenames", "pad", "fast_dump", "splitevery", "OutputFields" );
+      "add_to_result_filenames", "pad", "fast_dump", "splitevery", "splitevery_bytes", "OutputFields" );
   }
 
   public static Map<String, String> getGetterMap() {
@@ -81,6 +82,7 @@ public class TextFileOutputMetaTest {
     getterMap.put( "pad", "isPadded" );
     getterMap.put( "fast_dump", "isFastDump" );
     getterMap.put( "splitevery", "getSplitEvery" );
+    getterMap.put( "splitevery_bytes", "getSplitEveryBytes" );
     getterMap.put( "OutputFields", "getOutputFields" );
     return getterMap;
   }
@@ -115,6 +117,7 @@ public class TextFileOutputMetaTest {
     setterMap.put( "pad", "setPadded" );
     setterMap.put( "fast_dump", "setFastDump" );
     setterMap.put( "splitevery", "setSplitEvery" );
+    setterMap.put( "splitevery_bytes", "setSplitEveryBytes" );
     setterMap.put( "OutputFields", "setOutputFields" );
     return setterMap;
   }
@@ -155,6 +158,33 @@ public class TextFileOutputMetaTest {
     assertEquals( "foo_5.txt2", fileName );
   }
 
+  @Test
+  public void testVarReplaceSplitBytes() {
+    TextFileOutputMeta meta = new TextFileOutputMeta();
+    meta.setDefault();
+    meta.setSplitEveryBytes( "${splitBytesVar}" );
+    VariableSpace varSpace = new Variables();
+    assertEquals( 0, meta.getSplitEveryBytes( varSpace ) );
+    varSpace.setVariable( "splitBytesVar", "5000000000" );
+    assertEquals( 5000000000L, meta.getSplitEveryBytes( varSpace ) );
+  }
+
+  @Test
+  public void testSplitBytesNumbersTheFiles() {
+    TextFileOutputMeta meta = new TextFileOutputMeta();
+    meta.setDefault();
+    meta.setSplitEveryBytes( "1000" );
+    VariableSpace varSpace = new Variables();
+    assertTrue( meta.isSplitting( varSpace ) );
+    assertEquals( "foo_2.txt", meta.buildFilename( "foo", "txt", varSpace, 0, null, 2, false, meta ) );
+
+    meta.setFileName( "foo" );
+    meta.setExtension( "txt" );
+    String[] files = meta.getFiles( varSpace );
+    assertEquals( "foo_0.txt", files[ 0 ] );
+    assertEquals( "foo_1.txt", files[ 1 ] );
+  }
+
   public static class TextFileFieldLoadSaveValidator implements FieldLoadSaveValidator<TextFileField> {
     Random rand = new Random();
 
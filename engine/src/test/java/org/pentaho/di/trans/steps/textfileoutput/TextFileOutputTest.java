@@ -376,7 +376,13 @@ public class TextFileOutputTest {
     TextFileOutputTestHandler textFileOutput =
       new TextFileOutputTestHandler( stepMockHelper.stepMeta, textFileOutputData, 0, stepMockHelper.transMeta,
         stepMockHelper.trans );
+    return doOutput( textFileOutput, textFileOutputData, textFileField, rows, pathToFile, endedLine, isHeaderEnabled,
+      isDoNotOpenNewFileInit, append );
+  }
 
+  private List<Throwable> doOutput( TextFileOutputTestHandler textFileOutput, TextFileOutputData textFileOutputData,
+      TextFileField[] textFileField, List<Object[]> rows, String pathToFile, String endedLine, Boolean isHeaderEnabled,
+      Boolean isDoNotOpenNewFileInit, Boolean append ) throws KettleException {
     // init step meta and process step meta should be the same in this case
     when( stepMockHelper.processRowsStepMetaInterface.isDoNotOpenNewFileInit() ).thenReturn( isDoNotOpenNewFileInit );
     when( stepMockHelper.processRowsStepMetaInterface.isFileAppended() ).thenReturn( append );
@@ -464,6 +470,60 @@ public class TextFileOutputTest {
     assertEquals( "this is the end", baos.toString( StandardCharsets.UTF_8.name() ) );
   }
 
+  @Test
+  public void testSplitOnSizeWritesNumberedFilesWithHeaders() throws Exception {
+    Path dir = Files.createTempDirectory( "textFileOutputSplit" );
+    try {
+      TextFileOutputMeta namingMeta = new TextFileOutputMeta();
+      namingMeta.setDefault();
+      namingMeta.setSplitEveryBytes( "100" );
+      TextFileOutputData textFileOutputData = new TextFileOutputData();
+      TextFileOutputTestHandler textFileOutput =
+        new TextFileOutputTestHandler( stepMockHelper.stepMeta, textFileOutputData, 0, stepMockHelper.transMeta,
+          stepMockHelper.trans ) {
+          @Override public String buildFilename( String filename, boolean ziparchive ) {
+            return namingMeta.buildFilename( filename, "txt", this, getCopy(), null, textFileOutputData.splitnr,
+              ziparchive, namingMeta );
+          }
+        };
+      when( stepMockHelper.processRowsStepMetaInterface.getSplitEveryBytes( any( VariableSpace.class ) ) )
+        .thenReturn( 100L );
+
+      List<Object[]> manyRows = new ArrayList<>();
+      for ( int i = 0; i < 20; i++ ) {
+        manyRows.add( new Object[] { "name" + i, "surname" + i } );
+      }
+      String pathToFile = dir.resolve( "split" ).toString();
+      List<Throwable> errors =
+        doOutput( textFileOutput, textFileOutputData, textFileFields, manyRows, pathToFile, null, true, true, false );
+      assertTrue( errors.isEmpty() );
+
+      // no file without a split number, one numbered file per 100 bytes, each starting with the header
+      assertFalse( Files.exists( dir.resolve( "split.txt" ) ) );
+      String header = null;
+      int dataLines = 0;
+      int files = 0;
+      while ( Files.exists( dir.resolve( "split_" + files + ".txt" ) ) ) {
+        List<String> lines = Files.readAllLines( dir.resolve( "split_" + files + ".txt" ), StandardCharsets.UTF_8 );
+        assertTrue( lines.size() > 1 );
+        if ( header == null ) {
+          header = lines.get( 0 );
+          assertTrue( header.contains( "Name" ) && header.contains( "Surname" ) );
+        }
+        assertEquals( header, lines.get( 0 ) );
+        for ( String line : lines.subList( 1, lines.size() ) ) {
+          assertFalse( line.equals( header ) );
+          dataLines++;
+        }
+        files++;
+      }
+      assertTrue( files >= 3 );
+      assertEquals( manyRows.size(), dataLines );
+    } finally {
+      FileUtils.deleteQuietly( dir.toFile() );
+    }
+  }
+
   private void assertNotInvokedTwice( TextFileField field ) {
     TextFileOutput step =
         new TextFileOutput( stepMockHelper.stepMeta, stepMockHelper.stepDataInterface, 1, stepMockHelper.transMeta,
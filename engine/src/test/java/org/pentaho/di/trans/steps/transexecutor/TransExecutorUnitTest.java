@@ -25,6 +25,7 @@ import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.KettleEnvironment;
 import org.pentaho.di.core.QueueRowSet;
 import org.pentaho.di.core.Result;
@@ -50,17 +51,22 @@ import org.pentaho.di.trans.step.StepInterface;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.step.StepMetaInterface;
 import org.pentaho.di.trans.steps.StepMockUtil;
+import org.pentaho.di.trans.steps.filesfromresult.FilesFromResultData;
+import org.pentaho.di.trans.steps.filesfromresult.FilesFromResultMeta;
+import org.pentaho.di.trans.steps.tableoutput.TableOutputMeta;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -93,6 +99,7 @@ public class TransExecutorUnitTest {
     executor = spy( executor );
 
     TransMeta internalTransMeta = mock( TransMeta.class );
+    doReturn( true ).when( internalTransMeta ).isSafeToInitializeAhead();
     doReturn( internalTransMeta ).when( executor ).loadExecutorTransMeta();
 
     internalTrans = spy( new Trans() );
@@ -103,6 +110,7 @@ public class TransExecutorUnitTest {
     doNothing().when( executor ).discardLogLines( any( TransExecutorData.class ) );
 
     doReturn( internalTrans ).when( executor ).createInternalTrans();
+    doReturn( internalTrans ).when( executor ).createInternalTrans( nullable( TransMeta.class ) );
     internalResult = new Result();
     doReturn( internalResult ).when( internalTrans ).getResult();
 
@@ -341,6 +349,96 @@ public class TransExecutorUnitTest {
     assertEquals( 0, data.groupBuffer.size() );
   }
 
+  @Test
+  public void preparesNextTransformationWhileGroupIsRunning() throws KettleException {
+    prepareMultipleRowsForExecutor();
+
+    meta.setGroupSize( "5" );
+    executor.setVariable( Const.KETTLE_TRANS_EXECUTOR_PREPARE_AHEAD, "Y" );
+    executor.init( meta, data );
+    assertTrue( data.prepareAhead );
+
+    Trans parent = new Trans();
+    Mockito.when( executor.getTrans() ).thenReturn( parent );
+
+    for ( int i = 0; i < 5; i++ ) {
+      executor.processRow( meta, data );
+    }
+    // the first group was executed and the transformation for the second one is being prepared
+    assertNotNull( data.getPreparedTrans() );
+
+    executor.processRow( meta, data ); // 6th row
+    executor.processRow( meta, data ); // 7th row
+    executor.processRow( meta, data ); // end of file
+    assertEquals( 0, data.groupBuffer.size() );
+
+    // the last group used the prepared transformation and nothing is prepared after it
+    assertNull( data.getPreparedTrans() );
+    verify( executor ).createInternalTrans();
+    verify( executor ).createInternalTrans( nullable( TransMeta.class ) );
+    verify( internalTrans, times( 2 ) ).prepareExecution( nullable( String[].class ) );
+    verify( internalTrans, times( 2 ) ).startThreads();
+  }
+
+  @Test
+  public void preparedTransformationHasThePreviousResultInInit() throws KettleException {
+    TransMeta filesTransMeta = new TransMeta();
+    filesTransMeta.addStep( new StepMeta( "Get files from result", new FilesFromResultMeta() ) );
+    doReturn( filesTransMeta ).when( executor ).loadExecutorTransMeta();
+    executor.setVariable( Const.KETTLE_TRANS_EXECUTOR_PREPARE_AHEAD, "Y" );
+    executor.init( meta, data );
+    assertTrue( data.prepareAhead );
+
+    Trans parent = new Trans();
+    Mockito.when( executor.getTrans() ).thenReturn( parent );
+    doReturn( LogLevel.BASIC ).when( executor ).getLogLevel();
+    doCallRealMethod().when( executor ).createInternalTrans( nullable( TransMeta.class ) );
+
+    executor.prepareNextTrans();
+    Trans preparedTrans = executor.takePreparedTrans();
+    assertNotNull( preparedTrans );
+    try {
+      // the step read the previous result in init, before the rows of the group were known
+      assertNotNull( preparedTrans.getPreviousResult() );
+      FilesFromResultData filesData = (FilesFromResultData) preparedTrans.getSteps().get( 0 ).data;
+      assertNotNull( filesData.resultFilesList );
+
+      // the transformation was prepared on a copy of the metadata
+      assertNotSame( filesTransMeta, preparedTrans.getTransMeta() );
+    } finally {
+      preparedTrans.cleanup();
+    }
+  }
+
+  @Test
+  public void doesNotPrepareAheadWhenParametersUseFields() throws KettleException {
+    meta.getParameters().setVariable( new String[] { "param" } );
+    meta.getParameters().setInput( new String[] { null } );
+    meta.getParameters().setField( new String[] { "field" } );
+    executor.setVariable( Const.KETTLE_TRANS_EXECUTOR_PREPARE_AHEAD, "Y" );
+
+    executor.init( meta, data );
+    assertFalse( data.prepareAhead );
+  }
+
+  @Test
+  public void doesNotPrepareAheadWhenATableIsTruncated() throws KettleException {
+    TableOutputMeta tableOutputMeta = new TableOutputMeta();
+    tableOutputMeta.setDefault();
+    tableOutputMeta.setTruncateTable( true );
+    TransMeta tableTransMeta = new TransMeta();
+    tableTransMeta.addStep( new StepMeta( "Table output", tableOutputMeta ) );
+    doReturn( tableTransMeta ).when( executor ).loadExecutorTransMeta();
+    executor.setVariable( Const.KETTLE_TRANS_EXECUTOR_PREPARE_AHEAD, "Y" );
+
+    // the truncate would run when the next transformation is prepared, while the current group is writing
+    executor.init( meta, data );
+    assertFalse( data.prepareAhead );
+
+    tableOutputMeta.setTruncateTable( false );
+    assertTrue( executor.isPrepareAheadPossible( tableTransMeta ) );
+  }
+
   @Test
   public void testCollectTransResultsDisabledHop() throws KettleException {
     StepMeta outputRowsSourceStepMeta = mock( StepMeta.class );
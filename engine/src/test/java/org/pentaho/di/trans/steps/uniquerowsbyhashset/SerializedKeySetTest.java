@@ -0,0 +1,75 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.pentaho.di.core.util.HashUtil;
+
+public class SerializedKeySetTest {
+
+  private static boolean add( SerializedKeySet set, String key ) {
+    byte[] bytes = key.getBytes( StandardCharsets.UTF_8 );
+    return set.add( HashUtil.hash64( bytes, bytes.length ), bytes, bytes.length );
+  }
+
+  @Test
+  public void testAddsEveryKeyOnce() {
+    SerializedKeySet set = new SerializedKeySet( true );
+    for ( int i = 0; i < 100000; i++ ) {
+      assertTrue( add( set, "event-" + i ) );
+    }
+    for ( int i = 0; i < 100000; i += 7 ) {
+      assertFalse( add( set, "event-" + i ) );
+    }
+    assertEquals( 100000, set.size() );
+    assertTrue( set.getMemoryUsage() >= SerializedKeySet.PAGE_SIZE );
+
+    set.clear();
+    assertEquals( 0, set.size() );
+    assertTrue( add( set, "event-0" ) );
+  }
+
+  @Test
+  public void testKeysWithTheSameHashAreCompared() {
+    SerializedKeySet set = new SerializedKeySet( true );
+    byte[] one = { 1 };
+    byte[] two = { 2 };
+    assertTrue( set.add( 42L, one, 1 ) );
+    assertTrue( set.add( 42L, two, 1 ) );
+    assertFalse( set.add( 42L, two, 1 ) );
+    assertTrue( set.contains( 42L, one, 1 ) );
+    assertFalse( set.contains( 42L, new byte[] { 3 }, 1 ) );
+
+    // without the values only the hashes are compared
+    SerializedKeySet hashes = new SerializedKeySet( false );
+    assertTrue( hashes.add( 42L, one, 1 ) );
+    assertFalse( hashes.add( 42L, two, 1 ) );
+  }
+
+  @Test
+  public void testLargeKey() {
+    SerializedKeySet set = new SerializedKeySet( true );
+    byte[] large = new byte[ SerializedKeySet.PAGE_SIZE + 10 ];
+    large[ large.length - 1 ] = 1;
+    long hash = HashUtil.hash64( large, large.length );
+    assertTrue( set.add( hash, large, large.length ) );
+    assertFalse( set.add( hash, large.clone(), large.length ) );
+  }
+}
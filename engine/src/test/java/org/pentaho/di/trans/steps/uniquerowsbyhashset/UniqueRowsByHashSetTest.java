@@ -0,0 +1,114 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.uniquerowsbyhashset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.logging.LoggingObjectInterface;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.junit.rules.RestorePDIEngineEnvironment;
+import org.pentaho.di.trans.steps.mock.StepMockHelper;
+
+public class UniqueRowsByHashSetTest {
+  @ClassRule public static RestorePDIEngineEnvironment env = new RestorePDIEngineEnvironment();
+
+  private StepMockHelper<UniqueRowsByHashSetMeta, UniqueRowsByHashSetData> smh;
+
+  @BeforeClass
+  public static void beforeClass() throws KettleException {
+    KettleEnvironment.init();
+  }
+
+  @Before
+  public void setUp() {
+    smh = new StepMockHelper<>( "Unique rows (HashSet)", UniqueRowsByHashSetMeta.class,
+      UniqueRowsByHashSetData.class );
+    when( smh.logChannelInterfaceFactory.create( any(), any( LoggingObjectInterface.class ) ) ).thenReturn(
+      smh.logChannelInterface );
+    when( smh.trans.isRunning() ).thenReturn( true );
+  }
+
+  @After
+  public void tearDown() {
+    smh.cleanUp();
+  }
+
+  @Test
+  public void testSpilledRowsAreDeduplicated() throws KettleException {
+    UniqueRowsByHashSetMeta meta = new UniqueRowsByHashSetMeta();
+    meta.setDefault();
+    meta.setCompareFields( new String[] { "key" } );
+    meta.setStoreValues( true );
+    UniqueRowsByHashSetData data = new UniqueRowsByHashSetData();
+
+    UniqueRowsByHashSet step = new UniqueRowsByHashSet( smh.stepMeta, data, 0, smh.transMeta, smh.trans );
+    step.initializeVariablesFrom( null );
+    // the first page of keys already takes the whole megabyte, the step spills right away
+    step.setVariable( Const.KETTLE_UNIQUE_ROWS_HASH_SET_MEMORY_MB, "1" );
+    assertTrue( step.init( meta, data ) );
+
+    RowMeta inputRowMeta = new RowMeta();
+    inputRowMeta.addValueMeta( new ValueMetaString( "key" ) );
+    inputRowMeta.addValueMeta( new ValueMetaInteger( "value" ) );
+    step.setInputRowMeta( inputRowMeta );
+
+    List<Object[]> rows = new ArrayList<>();
+    for ( long i = 0; i < 3000; i++ ) {
+      rows.add( new Object[] { "key-" + ( i % 1000 ), i } );
+    }
+    step.addRowSetToInputRowSets( smh.getMockInputRowSet( rows ) );
+    RowSet output = new QueueRowSet();
+    step.addRowSetToOutputRowSets( output );
+
+    boolean spilled = false;
+    while ( step.processRow( meta, data ) ) {
+      spilled |= data.spillOutputs != null;
+    }
+    assertTrue( spilled );
+    assertNull( data.spillFiles );
+
+    Map<String, Long> unique = new HashMap<>();
+    Object[] row;
+    while ( ( row = output.getRow() ) != null ) {
+      // every key once, with the values of its first row
+      assertNull( unique.put( (String) row[ 0 ], (Long) row[ 1 ] ) );
+    }
+    assertEquals( 1000, unique.size() );
+    for ( long i = 0; i < 1000; i++ ) {
+      assertEquals( Long.valueOf( i ), unique.get( "key-" + i ) );
+    }
+    assertEquals( 2000, step.getLinesRejected() );
+  }
+}
@@ -86,6 +86,23 @@ public class BlockingQueueStreamSourceTest {
     verify( logChannel ).logError( any() );
   }
 
+  @Test
+  public void receivingPausesAtThePrefetchLimitTillHalfOfItIsLeft() throws InterruptedException {
+    when( subtransExecutor.getPrefetchCount() ).thenReturn( 10 );
+    when( subtransExecutor.getBufferedRowCount() ).thenReturn( 10, 10, 8, 5 );
+    when( subtransExecutor.hasRunningBatches() ).thenReturn( true );
+
+    streamSource.waitForCapacity();
+
+    verify( subtransExecutor, times( 4 ) ).getBufferedRowCount();
+    assertThat( streamSource.getBackpressureCount(), equalTo( 1L ) );
+
+    // below the limit receiving goes on
+    streamSource.waitForCapacity();
+    verify( subtransExecutor, times( 5 ) ).getBufferedRowCount();
+    assertThat( streamSource.getBackpressureCount(), equalTo( 1L ) );
+  }
+
   @Test
   public void rowIterableBlocksTillRowReceived() {
     streamSource.open();
@@ -0,0 +1,133 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+package org.pentaho.di.trans.steps.avro.input;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableInput;
+import org.apache.avro.io.DatumReader;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.RandomAccessContent;
+import org.apache.commons.vfs2.util.RandomAccessMode;
+
+/**
+ * Reads the blocks of an Avro container file that start in a byte range of the file.
+ * <p>
+ * The blocks of a container file are separated by a sync marker. A block belongs to the range its preceding sync marker
+ * ends in, the same way Hadoop splits Avro files. When the ranges of several readers cover the file without overlapping
+ * every record is read exactly once, no matter where the ranges are cut.
+ *
+ * @param <D>
+ *          the type of the records
+ */
+public class AvroBlockRangeReader<D> extends DataFileReader<D> {
+
+  private final long end;
+
+  /**
+   * @param in
+   *          the seekable file to read
+   * @param datumReader
+   *          the reader of the records
+   * @param start
+   *          the first byte of the range
+   * @param end
+   *          the first byte after the range
+   * @throws IOException
+   *           in case the header of the file can't be read
+   */
+  public AvroBlockRangeReader( SeekableInput in, DatumReader<D> datumReader, long start, long end )
+    throws IOException {
+    super( in, datumReader );
+    this.end = end;
+    sync( start );
+  }
+
+  /**
+   * Get the part of a file that a step copy reads when the file is shared by several copies.
+   *
+   * @param length
+   *          the length of the file
+   * @param copyNr
+   *          the number of the copy, starting at 0
+   * @param copies
+   *          the number of copies sharing the file
+   * @return the start and end of the byte range of the copy
+   */
+  public static long[] getRange( long length, int copyNr, int copies ) {
+    long start = length * copyNr / copies;
+    long end = length * ( copyNr + 1 ) / copies;
+    return new long[] { start, end };
+  }
+
+  @Override
+  public boolean hasNext() {
+    // Reading the next block first moves the block start past the sync marker we need to check
+    //
+    try {
+      return super.hasNext() && !pastSync( end );
+    } catch ( IOException e ) {
+      throw new RuntimeException( e );
+    }
+  }
+
+  /**
+   * Random access to a VFS file for the Avro readers.
+   */
+  public static class VfsSeekableInput implements SeekableInput {
+    private final RandomAccessContent content;
+    private final long length;
+
+    public VfsSeekableInput( FileObject fileObject ) throws IOException {
+      this.content = fileObject.getContent().getRandomAccessContent( RandomAccessMode.READ );
+      this.length = content.length();
+    }
+
+    @Override
+    public void seek( long p ) throws IOException {
+      content.seek( p );
+    }
+
+    @Override
+    public long tell() throws IOException {
+      return content.getFilePointer();
+    }
+
+    @Override
+    public long length() {
+      return length;
+    }
+
+    @Override
+    public int read( byte[] b, int off, int len ) throws IOException {
+      long remaining = length - content.getFilePointer();
+      if ( remaining <= 0 ) {
+        return -1;
+      }
+      int n = (int) Math.min( len, remaining );
+      try {
+        content.readFully( b, off, n );
+      } catch ( EOFException e ) {
+        return -1;
+      }
+      return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+      content.close();
+    }
+  }
+}
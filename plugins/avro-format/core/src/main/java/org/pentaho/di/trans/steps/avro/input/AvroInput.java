@@ -13,6 +13,7 @@
 
 package org.pentaho.di.trans.steps.avro.input;
 
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMeta;
@@ -20,6 +21,7 @@ import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.variables.VariableSpace;
+import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
 import org.pentaho.di.trans.TransMeta;
 import org.pentaho.di.trans.step.BaseStep;
@@ -38,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 
 public class AvroInput extends BaseStep {
+  private static final Class<?> PKG = AvroInputMeta.class;
 
   public class IndexedLookupField extends AvroLookupField {
     int index = -1;
@@ -237,6 +240,10 @@ public class AvroInput extends BaseStep {
     if ( inputFileName != null ) {
       data.input.setInputFile( inputFileName );
       data.input.setInputStreamFieldName( null );
+      if ( !isDatum && isSplittingBlocks() ) {
+        ( (PentahoAvroInputFormat) data.input )
+          .setBlockShare( getUniqueStepNrAcrossSlaves(), getUniqueStepCountAcrossSlaves() );
+      }
     } else if ( meta.getDataLocationType() == AvroInputMetaBase.LocationDescriptor.FIELD_NAME ) {
       data.input.setInputStreamFieldName( meta.getDataLocation() );
       data.input.setUseFieldAsInputStream( true );
@@ -259,6 +266,21 @@ public class AvroInput extends BaseStep {
   }
 
 
+  /**
+   * @return true if the copies of this step read different blocks of the Avro file
+   */
+  private boolean isSplittingBlocks() {
+    if ( getUniqueStepCountAcrossSlaves() <= 1
+      || !"Y".equalsIgnoreCase( getVariable( Const.KETTLE_AVRO_INPUT_SPLIT_BLOCKS, "N" ) ) ) {
+      return false;
+    }
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "AvroInput.Log.SplittingBlocks", getUniqueStepNrAcrossSlaves() + 1,
+        getUniqueStepCountAcrossSlaves() ) );
+    }
+    return true;
+  }
+
   public void checkForLegacyFieldNames( String schemaFileName, String avroFileName ) {
     // This routine will detect any field names in the schema that use the "_delimiter_" hack introduced in 8.0, find
     // the truncated avro field names in the field list and rename them to what the avro file actually has.
@@ -42,6 +42,8 @@ public class AvroNestedRecordReader implements IPentahoInputFormat.IPentahoRecor
   private RowMetaInterface outputRowMeta;
   private boolean isDatum;
   private int nextCallCounter = 0;
+  private RowMetaInterface rowMetaWithIncoming;
+  private RowMetaInterface rowMetaWithoutIncoming;
 
   public AvroNestedRecordReader( DataFileStream<Object> nativeAvroRecordReader,
                                  Schema avroSchema, List<? extends IAvroInputField> fields, VariableSpace avroInputStep,
@@ -194,25 +196,47 @@ public class AvroNestedRecordReader implements IPentahoInputFormat.IPentahoRecor
   }
 
   private RowMetaAndData objectToRowMetaAndData( Object[] row ) {
-    RowMetaAndData rowMetaAndData = new RowMetaAndData();
-    int index = 0;
-
-    int incomingFieldsCount = outputRowMeta.size() - fields.size();
+    int incomingFieldsCount = 0;
+    RowMetaInterface rowMeta;
     if ( outputRowMeta != null && incomingFields != null ) {
-      for ( index = 0; index < incomingFieldsCount; index++ ) {
-        rowMetaAndData.addValue( outputRowMeta.getValueMeta( index ), incomingFields[ index ] );
+      incomingFieldsCount = Math.max( 0, outputRowMeta.size() - fields.size() );
+      if ( rowMetaWithIncoming == null ) {
+        rowMetaWithIncoming = createRowMeta( incomingFieldsCount );
+      }
+      rowMeta = rowMetaWithIncoming;
+    } else {
+      if ( rowMetaWithoutIncoming == null ) {
+        rowMetaWithoutIncoming = createRowMeta( 0 );
       }
+      rowMeta = rowMetaWithoutIncoming;
     }
 
+    // The Avro values follow the incoming fields in the expanded row
+    //
+    Object[] data = new Object[ rowMeta.size() ];
+    if ( incomingFieldsCount > 0 ) {
+      System.arraycopy( incomingFields, 0, data, 0, incomingFieldsCount );
+    }
+    System.arraycopy( row, incomingFieldsCount, data, incomingFieldsCount, fields.size() );
+    return new RowMetaAndData( rowMeta, data );
+  }
+
+  /**
+   * The layout of the rows is the same for every record so the row metadata is only created once, instead of creating
+   * the value metadata of every field for every row.
+   */
+  private RowMetaInterface createRowMeta( int incomingFieldsCount ) {
+    RowMetaAndData rowMetaAndData = new RowMetaAndData();
+    for ( int index = 0; index < incomingFieldsCount; index++ ) {
+      rowMetaAndData.addValue( outputRowMeta.getValueMeta( index ), null );
+    }
     for ( IAvroInputField metaField : fields ) {
-      rowMetaAndData.addValue( metaField.getPentahoFieldName(), metaField.getPentahoType(), row[ index ] );
+      rowMetaAndData.addValue( metaField.getPentahoFieldName(), metaField.getPentahoType(), null );
       String stringFormat = metaField.getStringFormat();
       if ( ( stringFormat != null ) && ( stringFormat.trim().length() > 0 ) ) {
         rowMetaAndData.getValueMeta( rowMetaAndData.size() - 1 ).setConversionMask( stringFormat );
       }
-      index++;
     }
-
-    return rowMetaAndData;
+    return rowMetaAndData.getRowMeta();
   }
 }
@@ -48,6 +48,8 @@ public class PentahoAvroInputFormat implements IPentahoAvroInputFormat {
   private Object[] incomingFields = null;
   private boolean isDatum;
   private String schemaFieldName;
+  private int blockShareCopyNr = 0;
+  private int blockShareCopies = 1;
 
   private RowMetaInterface incomingRowMeta;
   private RowMetaInterface outputRowMeta;
@@ -151,6 +153,19 @@ public class PentahoAvroInputFormat implements IPentahoAvroInputFormat {
     //do nothing 
   }
 
+  /**
+   * Have this reader only read its share of the blocks of the Avro file, when the file is read by several step copies.
+   *
+   * @param copyNr
+   *          the number of the step copy, starting at 0
+   * @param copies
+   *          the number of copies sharing the file
+   */
+  public void setBlockShare( int copyNr, int copies ) {
+    this.blockShareCopyNr = copyNr;
+    this.blockShareCopies = copies;
+  }
+
   private DataFileStream<GenericRecord> createDataFileStream() throws Exception {
     DatumReader<GenericRecord> datumReader;
     if ( useFieldAsInputStream ) {
@@ -192,17 +207,20 @@ public class PentahoAvroInputFormat implements IPentahoAvroInputFormat {
       datumReader = new GenericDatumReader<Object>();
     }
     FileObject fileObject = KettleVFS.getFileObject( fileName, variableSpace );
-    if ( fileObject.isFile() ) {
-      this.inputStream = fileObject.getContent().getInputStream();
-      return new DataFileStream<>( inputStream, datumReader );
-    } else {
+    if ( !fileObject.isFile() ) {
       FileObject[] avroFiles = fileObject.findFiles( new FileExtensionSelector("com/pentaho/di/trans/steps/avro") );
-      if ( !Utils.isEmpty( avroFiles ) ) {
-        this.inputStream = avroFiles[ 0 ].getContent().getInputStream();
-        return new DataFileStream<>( inputStream, datumReader );
+      if ( Utils.isEmpty( avroFiles ) ) {
+        return null;
       }
-      return null;
+      fileObject = avroFiles[ 0 ];
+    }
+    if ( blockShareCopies > 1 ) {
+      AvroBlockRangeReader.VfsSeekableInput seekableInput = new AvroBlockRangeReader.VfsSeekableInput( fileObject );
+      long[] range = AvroBlockRangeReader.getRange( seekableInput.length(), blockShareCopyNr, blockShareCopies );
+      return new AvroBlockRangeReader<>( seekableInput, datumReader, range[ 0 ], range[ 1 ] );
     }
+    this.inputStream = fileObject.getContent().getInputStream();
+    return new DataFileStream<>( inputStream, datumReader );
   }
 
   public List<? extends IAvroInputField> getDefaultFields() throws Exception {
@@ -0,0 +1,103 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.avro.input;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pentaho.di.core.vfs.KettleVFS;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AvroBlockRangeReaderTest {
+  private static final int RECORDS = 1000;
+
+  @Rule
+  public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private Schema schema;
+  private File avroFile;
+
+  @Before
+  public void setUp() throws Exception {
+    schema = SchemaBuilder.record( "test" ).fields().requiredInt( "id" ).requiredString( "name" ).endRecord();
+    avroFile = tempFolder.newFile( "test.avro" );
+    try ( DataFileWriter<GenericRecord> writer = new DataFileWriter<>( new GenericDatumWriter<>( schema ) ) ) {
+      // small blocks so that the file has many sync markers
+      writer.setSyncInterval( 64 );
+      writer.create( schema, avroFile );
+      for ( int i = 0; i < RECORDS; i++ ) {
+        GenericRecord record = new GenericData.Record( schema );
+        record.put( "id", i );
+        record.put( "name", "name" + i );
+        writer.append( record );
+      }
+    }
+  }
+
+  @Test
+  public void testGetRange() {
+    assertArrayEquals( new long[] { 0, 33 }, AvroBlockRangeReader.getRange( 100, 0, 3 ) );
+    assertArrayEquals( new long[] { 33, 66 }, AvroBlockRangeReader.getRange( 100, 1, 3 ) );
+    assertArrayEquals( new long[] { 66, 100 }, AvroBlockRangeReader.getRange( 100, 2, 3 ) );
+  }
+
+  @Test
+  public void testCopiesReadEveryRecordOnce() throws Exception {
+    for ( int copies = 1; copies <= 7; copies++ ) {
+      List<Integer> ids = new ArrayList<>();
+      for ( int copyNr = 0; copyNr < copies; copyNr++ ) {
+        List<Integer> copyIds = readIds( copyNr, copies );
+        if ( copies < 5 ) {
+          assertTrue( "every copy gets blocks", !copyIds.isEmpty() );
+        }
+        ids.addAll( copyIds );
+      }
+      assertEquals( RECORDS, ids.size() );
+      for ( int i = 0; i < RECORDS; i++ ) {
+        assertEquals( i, ids.get( i ).intValue() );
+      }
+    }
+  }
+
+  private List<Integer> readIds( int copyNr, int copies ) throws Exception {
+    List<Integer> ids = new ArrayList<>();
+    AvroBlockRangeReader.VfsSeekableInput in =
+      new AvroBlockRangeReader.VfsSeekableInput( KettleVFS.getFileObject( avroFile.getAbsolutePath() ) );
+    long[] range = AvroBlockRangeReader.getRange( in.length(), copyNr, copies );
+    try ( AvroBlockRangeReader<GenericRecord> reader =
+            new AvroBlockRangeReader<>( in, new GenericDatumReader<>( schema ), range[ 0 ], range[ 1 ] ) ) {
+      GenericRecord record = null;
+      while ( reader.hasNext() ) {
+        record = reader.next( record );
+        ids.add( (Integer) record.get( "id" ) );
+      }
+    }
+    return ids;
+  }
+}
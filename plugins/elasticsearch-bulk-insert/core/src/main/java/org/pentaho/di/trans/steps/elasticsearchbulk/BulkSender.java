@@ -0,0 +1,363 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.elasticsearchbulk;
+
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.rest.RestStatus;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.i18n.BaseMessages;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Sends the index requests of the step in bulk requests, a number of them at the same time. A bulk is sent once it has
+ * the batch size in rows or in bytes, or once its first row waited for the flush interval. Adding a row blocks while
+ * the maximum number of bulks is in flight. The documents a node rejects because its bulk queue is full are sent again
+ * after a pause that doubles every time. The bulks are handed back to the step thread in the order they were sent, with
+ * the outcome of every row.
+ * <p>
+ * When stopping on errors, no bulk is sent anymore once one got failed rows. With a single bulk in flight, the next
+ * bulk only gets its slot once the one before it is done, so no bulk is sent after a failed one.
+ */
+class BulkSender {
+  private static Class<?> PKG = ElasticSearchBulkMeta.class; // for i18n
+
+  /** The pause before the first retry of rejected documents */
+  static final long RETRY_DELAY_MS = 100;
+
+  /** The number of times rejected documents are sent again */
+  static final int MAX_RETRIES = 8;
+
+  private final BiConsumer<BulkRequest, ActionListener<BulkResponse>> client;
+  private final int batchSize;
+  private final long batchBytes;
+  private final long flushInterval;
+  private final long timeout;
+  private final int concurrentRequests;
+  private final boolean stopOnError;
+
+  private final Semaphore inFlight;
+
+  // runs the timed flushes, the retries and the timeouts
+  private final ScheduledExecutorService scheduler;
+
+  // the bulks that were sent, in the order they were sent
+  private final Deque<Bulk> sent = new ArrayDeque<>();
+  private Bulk current;
+
+  // set once a bulk is done with failed rows
+  private volatile boolean failed;
+
+  /**
+   * @param client             executes a bulk request, the transport client or a stub in tests
+   * @param batchSize          the number of rows after which a bulk is sent
+   * @param batchBytes         the size of the documents after which a bulk is sent, 0 for no limit
+   * @param flushInterval      the milliseconds after which a bulk is sent whatever its size, 0 for no limit
+   * @param timeout            the milliseconds after which the rows of a bulk without response fail, 0 to wait
+   * @param concurrentRequests the number of bulks in flight at the same time
+   */
+  BulkSender( BiConsumer<BulkRequest, ActionListener<BulkResponse>> client, int batchSize, long batchBytes,
+              long flushInterval, long timeout, int concurrentRequests ) {
+    this( client, batchSize, batchBytes, flushInterval, timeout, concurrentRequests, false );
+  }
+
+  /**
+   * @param stopOnError true to send no bulk anymore once a bulk got failed rows
+   */
+  BulkSender( BiConsumer<BulkRequest, ActionListener<BulkResponse>> client, int batchSize, long batchBytes,
+              long flushInterval, long timeout, int concurrentRequests, boolean stopOnError ) {
+    this.client = client;
+    this.batchSize = Math.max( 1, batchSize );
+    this.batchBytes = batchBytes;
+    this.flushInterval = flushInterval;
+    this.timeout = timeout;
+    this.concurrentRequests = Math.max( 1, concurrentRequests );
+    this.stopOnError = stopOnError;
+    inFlight = new Semaphore( this.concurrentRequests );
+    scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+      Thread thread = new Thread( runnable, "Elasticsearch bulk sender" );
+      thread.setDaemon( true );
+      return thread;
+    } );
+    if ( flushInterval > 0 ) {
+      scheduler.scheduleWithFixedDelay( this::flushIfDue, flushInterval, flushInterval, TimeUnit.MILLISECONDS );
+    }
+  }
+
+  /**
+   * Adds the index request of a row, sending the bulk once it is full.
+   */
+  void add( IndexRequest request, Object[] row ) throws KettleException {
+    Bulk full;
+    synchronized ( this ) {
+      if ( current == null ) {
+        current = new Bulk();
+      }
+      current.requests.add( request );
+      current.rows.add( row );
+      current.bytes += request.source() != null ? request.source().length() : 0;
+      if ( current.rows.size() < batchSize && ( batchBytes <= 0 || current.bytes < batchBytes ) ) {
+        return;
+      }
+      full = current;
+      current = null;
+      sent.add( full );
+    }
+    // wait for a free slot without holding the lock, the scheduler needs it for the timed flushes
+    acquire( 1 );
+    executeUnlessFailed( full );
+  }
+
+  /**
+   * Sends the rows added since the last bulk.
+   */
+  void flush() throws KettleException {
+    Bulk bulk;
+    synchronized ( this ) {
+      if ( current == null ) {
+        return;
+      }
+      bulk = current;
+      current = null;
+      sent.add( bulk );
+    }
+    acquire( 1 );
+    executeUnlessFailed( bulk );
+  }
+
+  /**
+   * Sends the last rows and waits for the responses of all bulks.
+   */
+  void close() throws KettleException {
+    flush();
+    acquire( concurrentRequests );
+    inFlight.release( concurrentRequests );
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Stops the timed flushes and retries, the bulks in flight are not waited for.
+   */
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * @return the bulks that got their responses, up to the first one still in flight
+   */
+  synchronized List<Bulk> takeDone() {
+    List<Bulk> done = new ArrayList<>();
+    while ( !sent.isEmpty() && sent.peek().done ) {
+      done.add( sent.poll() );
+    }
+    return done;
+  }
+
+  private void flushIfDue() {
+    Bulk bulk;
+    synchronized ( this ) {
+      if ( current == null || System.currentTimeMillis() - current.created < flushInterval
+        || !inFlight.tryAcquire() ) {
+        return;
+      }
+      bulk = current;
+      current = null;
+      sent.add( bulk );
+    }
+    executeUnlessFailed( bulk );
+  }
+
+  private void acquire( int permits ) throws KettleException {
+    try {
+      inFlight.acquire( permits );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    }
+  }
+
+  /**
+   * Sends the bulk in the slot taken for it, unless stopping on errors and a bulk already got failed rows. Such a bulk
+   * is dropped, it is never handed back.
+   */
+  private void executeUnlessFailed( Bulk bulk ) {
+    if ( stopOnError && failed ) {
+      synchronized ( this ) {
+        sent.remove( bulk );
+      }
+      inFlight.release();
+      return;
+    }
+    execute( bulk );
+  }
+
+  private void execute( Bulk bulk ) {
+    int size = bulk.rows.size();
+    bulk.ids = new String[ size ];
+    bulk.failures = new String[ size ];
+    int[] positions = new int[ size ];
+    for ( int i = 0; i < size; i++ ) {
+      positions[ i ] = i;
+    }
+    bulk.sentNanos = System.nanoTime();
+    if ( timeout > 0 ) {
+      try {
+        bulk.timeoutTask = scheduler.schedule( () -> fail( bulk, BaseMessages.getString( PKG,
+          "ElasticSearchBulk.Error.Timeout" ) ), timeout, TimeUnit.MILLISECONDS );
+      } catch ( RejectedExecutionException e ) {
+        // shut down, the bulk is not waited for
+      }
+    }
+    send( bulk, positions, 0 );
+  }
+
+  private void send( Bulk bulk, int[] positions, int attempt ) {
+    BulkRequest request = new BulkRequest();
+    for ( int position : positions ) {
+      request.add( bulk.requests.get( position ) );
+    }
+    try {
+      client.accept( request, new ActionListener<BulkResponse>() {
+        @Override
+        public void onResponse( BulkResponse response ) {
+          handleResponse( bulk, positions, attempt, response );
+        }
+
+        @Override
+        public void onFailure( Exception e ) {
+          handleFailure( bulk, positions, attempt, e );
+        }
+      } );
+    } catch ( Exception e ) {
+      handleFailure( bulk, positions, attempt, e );
+    }
+  }
+
+  private void handleResponse( Bulk bulk, int[] positions, int attempt, BulkResponse response ) {
+    List<Integer> rejected = new ArrayList<>();
+    synchronized ( bulk ) {
+      if ( bulk.done ) {
+        return;
+      }
+      for ( BulkItemResponse item : response.getItems() ) {
+        int position = positions[ item.getItemId() ];
+        if ( !item.isFailed() ) {
+          bulk.ids[ position ] = item.getId();
+        } else if ( attempt < MAX_RETRIES && item.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS ) {
+          rejected.add( position );
+        } else {
+          bulk.failures[ position ] = item.getFailureMessage();
+        }
+      }
+      bulk.rejections += rejected.size();
+    }
+    if ( rejected.isEmpty() ) {
+      complete( bulk );
+    } else {
+      retry( bulk, rejected.stream().mapToInt( Integer::intValue ).toArray(), attempt + 1 );
+    }
+  }
+
+  private void handleFailure( Bulk bulk, int[] positions, int attempt, Exception e ) {
+    if ( attempt < MAX_RETRIES && ExceptionsHelper.unwrapCause( e ) instanceof EsRejectedExecutionException ) {
+      synchronized ( bulk ) {
+        bulk.rejections += positions.length;
+      }
+      retry( bulk, positions, attempt + 1 );
+    } else {
+      fail( bulk, BaseMessages.getString( PKG, "ElasticSearchBulk.Error.BatchExecuteFail", e.getLocalizedMessage() ) );
+    }
+  }
+
+  private void retry( Bulk bulk, int[] positions, int attempt ) {
+    try {
+      scheduler.schedule( () -> send( bulk, positions, attempt ), RETRY_DELAY_MS << ( attempt - 1 ),
+        TimeUnit.MILLISECONDS );
+    } catch ( RejectedExecutionException e ) {
+      fail( bulk, BaseMessages.getString( PKG, "ElasticSearchBulk.Error.BatchExecuteFail", e.getLocalizedMessage() ) );
+    }
+  }
+
+  /**
+   * Fails the rows of the bulk that have no outcome yet.
+   */
+  private void fail( Bulk bulk, String message ) {
+    synchronized ( bulk ) {
+      if ( bulk.done ) {
+        return;
+      }
+      for ( int i = 0; i < bulk.failures.length; i++ ) {
+        if ( bulk.ids[ i ] == null && bulk.failures[ i ] == null ) {
+          bulk.failures[ i ] = message;
+        }
+      }
+    }
+    complete( bulk );
+  }
+
+  private void complete( Bulk bulk ) {
+    synchronized ( bulk ) {
+      if ( bulk.done ) {
+        return;
+      }
+      bulk.millis = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - bulk.sentNanos );
+      for ( String failure : bulk.failures ) {
+        if ( failure != null ) {
+          // before the slot is released, the next bulk waiting for it sees the failure
+          failed = true;
+          break;
+        }
+      }
+      bulk.done = true;
+    }
+    if ( bulk.timeoutTask != null ) {
+      bulk.timeoutTask.cancel( false );
+    }
+    inFlight.release();
+  }
+
+  /**
+   * The rows of one bulk request. Once done, every row has either the id of its document or a failure message.
+   */
+  static class Bulk {
+    final long created = System.currentTimeMillis();
+    final List<IndexRequest> requests = new ArrayList<>();
+    final List<Object[]> rows = new ArrayList<>();
+    long bytes;
+
+    String[] ids;
+    String[] failures;
+    int rejections;
+    long sentNanos;
+    long millis;
+    volatile boolean done;
+    volatile ScheduledFuture<?> timeoutTask;
+  }
+}
@@ -14,13 +14,7 @@
 package org.pentaho.di.trans.steps.elasticsearchbulk;
 
 import org.apache.commons.lang.StringUtils;
-import org.elasticsearch.ElasticsearchException;
-import org.elasticsearch.ElasticsearchTimeoutException;
-import org.elasticsearch.action.ActionFuture;
 import org.elasticsearch.action.DocWriteRequest.OpType;
-import org.elasticsearch.action.bulk.BulkItemResponse;
-import org.elasticsearch.action.bulk.BulkRequestBuilder;
-import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.client.Client;
@@ -50,9 +44,7 @@ import org.pentaho.di.trans.steps.elasticsearchbulk.ElasticSearchBulkMeta.Server
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -75,9 +67,10 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
   private String index;
   private String type;
 
-  BulkRequestBuilder currentRequest;
-
   private int batchSize = 2;
+  private long batchBytes;
+  private long flushInterval;
+  private int concurrentRequests = 1;
 
   private boolean isJsonInsert = false;
   private int jsonFieldIdx = 0;
@@ -91,7 +84,12 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
   // private long duration = 0L;
   private int numberOfErrors = 0;
 
-  private List<IndexRequestBuilder> requestsBuffer;
+  // bulk statistics
+  private long bulksDone;
+  private long rowsDone;
+  private long bytesDone;
+  private long bulkMillis;
+  private long startMillis;
 
   private boolean stopOnError = true;
   private boolean useOutput = true;
@@ -110,9 +108,11 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
 
     Object[] rowData = getRow();
     if ( rowData == null ) {
-      if ( currentRequest != null && currentRequest.numberOfActions() > 0 ) {
-        // didn't fill a whole batch
-        processBatch( false );
+      if ( data.sender != null ) {
+        // send what didn't fill a whole batch and wait for the bulks in flight
+        data.sender.close();
+        handleDoneBulks();
+        logStatistics();
       }
       setOutputDone();
       return false;
@@ -121,18 +121,20 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
     if ( first ) {
       first = false;
       setupData();
-      currentRequest = client.prepareBulk();
-      requestsBuffer = new ArrayList<IndexRequestBuilder>( this.batchSize );
+      data.sender = new BulkSender( client::bulk, batchSize, batchBytes, flushInterval,
+        timeout != null && timeoutUnit != null ? timeoutUnit.toMillis( timeout ) : 0L, concurrentRequests,
+        stopOnError );
+      startMillis = System.currentTimeMillis();
       initFieldIndexes();
     }
 
     try {
-      data.inputRowBuffer[data.nextBufferRowIdx++] = rowData;
-      return indexRow( data.inputRowMeta, rowData ) || !stopOnError;
+      indexRow( data.inputRowMeta, rowData );
+      return handleDoneBulks() || !stopOnError;
     } catch ( KettleStepException e ) {
       throw e;
     } catch ( Exception e ) {
-      rejectAllRows( e.getLocalizedMessage() );
+      rejectRow( rowData, e.getLocalizedMessage() );
       String msg = BaseMessages.getString( PKG, "ElasticSearchBulk.Log.Exception", e.getLocalizedMessage() );
       logError( msg );
       throw new KettleStepException( msg, e );
@@ -145,9 +147,7 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
    * @throws KettleStepException
    */
   private void setupData() throws KettleStepException {
-    data.nextBufferRowIdx = 0;
     data.inputRowMeta = getInputRowMeta().clone(); // only available after first getRow();
-    data.inputRowBuffer = new Object[batchSize][];
     data.outputRowMeta = data.inputRowMeta.clone();
     meta.getFields( data.outputRowMeta, getStepname(), null, null, this, repository, metaStore );
   }
@@ -193,7 +193,7 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
    * @param row     The data for the row to be indexed
    */
 
-  private boolean indexRow( RowMetaInterface rowMeta, Object[] row ) throws KettleStepException {
+  private void indexRow( RowMetaInterface rowMeta, Object[] row ) throws KettleStepException {
     try {
 
       IndexRequestBuilder requestBuilder = client.prepareIndex( index, type );
@@ -209,14 +209,7 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
         addSourceFromRowFields( requestBuilder, rowMeta, row );
       }
 
-      currentRequest.add( requestBuilder );
-      requestsBuffer.add( requestBuilder );
-
-      if ( currentRequest.numberOfActions() >= batchSize ) {
-        return processBatch( true );
-      } else {
-        return true;
-      }
+      data.sender.add( requestBuilder.request(), row );
 
     } catch ( KettleStepException e ) {
       throw e;
@@ -303,6 +296,9 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
     index = environmentSubstitute( meta.getIndex() );
     type = environmentSubstitute( meta.getType() );
     batchSize = meta.getBatchSizeInt( this );
+    batchBytes = meta.getBatchSizeBytes( this );
+    flushInterval = meta.getFlushIntervalLong( this );
+    concurrentRequests = meta.getConcurrentRequestsInt( this );
     try {
       timeout = Long.parseLong( environmentSubstitute( meta.getTimeOut() ) );
     } catch ( NumberFormatException e ) {
@@ -321,84 +317,56 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
 
   }
 
-  private boolean processBatch( boolean makeNew ) throws KettleStepException {
-
-
-    ActionFuture<BulkResponse> actionFuture = currentRequest.execute();
-    boolean responseOk = false;
-
-    BulkResponse response = null;
-    try {
-      if ( timeout != null && timeoutUnit != null ) {
-        response = actionFuture.actionGet( timeout, timeoutUnit );
-      } else {
-        response = actionFuture.actionGet();
-      }
-    } catch ( ElasticsearchException e ) {
-      String msg = BaseMessages.getString( PKG, "ElasticSearchBulk.Error.BatchExecuteFail", e.getLocalizedMessage() );
-      if ( e instanceof ElasticsearchTimeoutException ) {
-        msg = BaseMessages.getString( PKG, "ElasticSearchBulk.Error.Timeout" );
-      }
-      logError( msg );
-      rejectAllRows( msg );
-    }
-
-    if ( response != null ) {
-      responseOk = handleResponse( response );
-      requestsBuffer.clear();
-    } else { // have to assume all failed
-      numberOfErrors += currentRequest.numberOfActions();
-      setErrors( numberOfErrors );
-    }
-    // duration += response.getTookInMillis(); //just in trunk..
-
-    if ( makeNew ) {
-      currentRequest = client.prepareBulk();
-      data.nextBufferRowIdx = 0;
-      data.inputRowBuffer = new Object[batchSize][];
-    } else {
-      currentRequest = null;
-      data.inputRowBuffer = null;
+  /**
+   * Passes on the rows of the bulks that got their responses.
+   *
+   * @return <code>true</code> if no errors
+   */
+  private boolean handleDoneBulks() {
+    boolean ok = true;
+    for ( BulkSender.Bulk bulk : data.sender.takeDone() ) {
+      ok &= handleBulk( bulk );
     }
-
-    return responseOk;
+    return ok;
   }
 
   /**
-   * @param response
+   * @param bulk
    * @return <code>true</code> if no errors
    */
-  private boolean handleResponse( BulkResponse response ) {
-
-    boolean hasErrors = response.hasFailures();
-
-    if ( hasErrors ) {
-      logError( response.buildFailureMessage() );
-    }
+  private boolean handleBulk( BulkSender.Bulk bulk ) {
 
     int errorsInBatch = 0;
-
-    if ( hasErrors || useOutput ) {
-      for ( BulkItemResponse item : response ) {
-        if ( item.isFailed() ) {
-          // log
-          logDetailed( item.getFailureMessage() );
-          errorsInBatch++;
-          if ( getStepMeta().isDoingErrorHandling() ) {
-            rejectRow( item.getItemId(), item.getFailureMessage() );
-          }
-        } else if ( useOutput ) {
-          if ( idOutFieldName != null ) {
-            addIdToRow( item.getId(), item.getItemId() );
-          }
-          echoRow( item.getItemId() );
+    String firstFailure = null;
+
+    for ( int i = 0; i < bulk.rows.size(); i++ ) {
+      Object[] row = bulk.rows.get( i );
+      if ( bulk.failures[i] != null ) {
+        // log
+        logDetailed( bulk.failures[i] );
+        errorsInBatch++;
+        if ( firstFailure == null ) {
+          firstFailure = bulk.failures[i];
+        }
+        if ( getStepMeta().isDoingErrorHandling() ) {
+          rejectRow( row, bulk.failures[i] );
         }
+      } else if ( useOutput ) {
+        if ( idOutFieldName != null ) {
+          row = addIdToRow( row, bulk.ids[i] );
+        }
+        echoRow( row );
       }
     }
 
+    if ( errorsInBatch > 0 ) {
+      logError( BaseMessages.getString( PKG, "ElasticSearchBulk.Error.BulkFailures", String.valueOf( errorsInBatch ),
+              String.valueOf( bulk.rows.size() ), firstFailure ) );
+    }
+
     numberOfErrors += errorsInBatch;
     setErrors( numberOfErrors );
-    int linesOK = currentRequest.numberOfActions() - errorsInBatch;
+    int linesOK = bulk.rows.size() - errorsInBatch;
 
     if ( useOutput ) {
       setLinesOutput( getLinesOutput() + linesOK );
@@ -406,55 +374,64 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
       setLinesWritten( getLinesWritten() + linesOK );
     }
 
-    return !hasErrors;
+    bulksDone++;
+    rowsDone += bulk.rows.size();
+    bytesDone += bulk.bytes;
+    bulkMillis += bulk.millis;
+    if ( log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "ElasticSearchBulk.Log.BulkDone", String.valueOf( bulk.rows.size() ),
+              String.valueOf( bulk.bytes ), String.valueOf( bulk.millis ), String.valueOf( bulk.rejections ) ) );
+    }
+
+    return errorsInBatch == 0;
   }
 
-  private void addIdToRow( String id, int rowIndex ) {
+  private void logStatistics() {
+    if ( bulksDone == 0 || !log.isBasic() ) {
+      return;
+    }
+    long millis = Math.max( 1L, System.currentTimeMillis() - startMillis );
+    logBasic( BaseMessages.getString( PKG, "ElasticSearchBulk.Log.Statistics", String.valueOf( bulksDone ), String
+            .valueOf( rowsDone ), String.valueOf( bytesDone / 1024 ), String.valueOf( millis ), String.valueOf(
+            rowsDone * 1000 / millis ), String.valueOf( bulkMillis / bulksDone ) ) );
+  }
+
+  private Object[] addIdToRow( Object[] row, String id ) {
 
-    data.inputRowBuffer[rowIndex] =
-            RowDataUtil.resizeArray( data.inputRowBuffer[rowIndex], getInputRowMeta().size() + 1 );
-    data.inputRowBuffer[rowIndex][getInputRowMeta().size()] = id;
+    Object[] outputRow = RowDataUtil.resizeArray( row, data.inputRowMeta.size() + 1 );
+    outputRow[data.inputRowMeta.size()] = id;
+    return outputRow;
 
   }
 
   /**
    * Send input row to output
    *
-   * @param rowIndex
+   * @param row
    */
-  private void echoRow( int rowIndex ) {
+  private void echoRow( Object[] row ) {
     try {
 
-      putRow( data.outputRowMeta, data.inputRowBuffer[rowIndex] );
+      putRow( data.outputRowMeta, row );
 
     } catch ( KettleStepException e ) {
       logError( e.getLocalizedMessage() );
-    } catch ( ArrayIndexOutOfBoundsException e ) {
-      logError( e.getLocalizedMessage() );
     }
   }
 
   /**
    * Send input row to error.
    *
-   * @param index
+   * @param row
    * @param errorMsg
    */
-  private void rejectRow( int index, String errorMsg ) {
+  private void rejectRow( Object[] row, String errorMsg ) {
     try {
 
-      putError( getInputRowMeta(), data.inputRowBuffer[index], 1, errorMsg, null, INSERT_ERROR_CODE );
+      putError( getInputRowMeta(), row, 1, errorMsg, null, INSERT_ERROR_CODE );
 
     } catch ( KettleStepException e ) {
       logError( e.getLocalizedMessage() );
-    } catch ( ArrayIndexOutOfBoundsException e ) {
-      logError( e.getLocalizedMessage() );
-    }
-  }
-
-  private void rejectAllRows( String errorMsg ) {
-    for ( int i = 0; i < data.nextBufferRowIdx; i++ ) {
-      rejectRow( i, errorMsg );
     }
   }
 
@@ -496,6 +473,9 @@ public class ElasticSearchBulk extends BaseStep implements StepInterface {
   public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
     meta = (ElasticSearchBulkMeta) smi;
     data = (ElasticSearchBulkData) sdi;
+    if ( data.sender != null ) {
+      data.sender.shutdown();
+    }
     try {
       disposeClient();
     } catch ( Exception e ) {
@@ -25,14 +25,10 @@ public class ElasticSearchBulkData extends BaseStepData implements StepDataInter
   public RowMetaInterface inputRowMeta;
   public RowMetaInterface outputRowMeta;
 
-  public int nextBufferRowIdx;
-
-  public Object[][] inputRowBuffer;
+  BulkSender sender;
 
   public ElasticSearchBulkData() {
     super();
-
-    nextBufferRowIdx = 0;
   }
 
 }
@@ -80,6 +80,9 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
     static final String TAG_TIMEOUT = "timeout";
     static final String TAG_TIMEOUT_UNIT = "timeoutUnit";
     static final String TAG_BATCH_SIZE = "batchSize";
+    static final String TAG_BATCH_SIZE_MB = "batchSizeMB";
+    static final String TAG_FLUSH_INTERVAL = "flushInterval";
+    static final String TAG_CONCURRENT_REQUESTS = "concurrentRequests";
 
     static final String TAG_FIELDS = "fields";
     static final String TAG_FIELD = "field";
@@ -101,6 +104,8 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
   }
 
   public static final int DEFAULT_BATCH_SIZE = 50000;
+  public static final int DEFAULT_BATCH_SIZE_MB = 5;
+  public static final int DEFAULT_CONCURRENT_REQUESTS = 1;
   public static final Long DEFAULT_TIMEOUT = 10L;
   public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.SECONDS;
   public static final int DEFAULT_PORT = 9300;
@@ -135,6 +140,12 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
   private String timeout;
   @Injection( name = "TIMEOUT_UNIT" )
   private TimeUnit timeoutUnit;
+  @Injection( name = "BATCH_SIZE_MB" )
+  private String batchSizeMb;
+  @Injection( name = "FLUSH_INTERVAL" )
+  private String flushInterval;
+  @Injection( name = "CONCURRENT_REQUESTS" )
+  private String concurrentRequests;
 
   @InjectionDeep( prefix = "SERVER" )
   List<Server> servers = new ArrayList<>();
@@ -321,6 +332,51 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
     return Const.toInt( vars.environmentSubstitute( this.batchSize ), DEFAULT_BATCH_SIZE );
   }
 
+  /**
+   * @return the size in MB of the documents after which a batch is sent, empty or 0 for no limit
+   */
+  public String getBatchSizeMb() {
+    return batchSizeMb;
+  }
+
+  public void setBatchSizeMb( String batchSizeMb ) {
+    this.batchSizeMb = batchSizeMb;
+  }
+
+  public long getBatchSizeBytes( VariableSpace vars ) {
+    return Const.toLong( vars.environmentSubstitute( batchSizeMb ), 0L ) * 1024 * 1024;
+  }
+
+  /**
+   * @return the milliseconds after which a batch is sent however small it is, empty or 0 to wait for a full batch
+   */
+  public String getFlushInterval() {
+    return flushInterval;
+  }
+
+  public void setFlushInterval( String flushInterval ) {
+    this.flushInterval = flushInterval;
+  }
+
+  public long getFlushIntervalLong( VariableSpace vars ) {
+    return Const.toLong( vars.environmentSubstitute( flushInterval ), 0L );
+  }
+
+  /**
+   * @return the number of batches that can be sent and waiting for their response at the same time
+   */
+  public String getConcurrentRequests() {
+    return concurrentRequests;
+  }
+
+  public void setConcurrentRequests( String concurrentRequests ) {
+    this.concurrentRequests = concurrentRequests;
+  }
+
+  public int getConcurrentRequestsInt( VariableSpace vars ) {
+    return Math.max( 1, Const.toInt( vars.environmentSubstitute( concurrentRequests ), DEFAULT_CONCURRENT_REQUESTS ) );
+  }
+
   /**
    * @return Returns the TimeOut.
    */
@@ -360,6 +416,9 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
   public void setDefault() {
     batchSize = "" + DEFAULT_BATCH_SIZE;
     timeoutUnit = DEFAULT_TIMEOUT_UNIT;
+    batchSizeMb = "" + DEFAULT_BATCH_SIZE_MB;
+    flushInterval = null;
+    concurrentRequests = "" + DEFAULT_CONCURRENT_REQUESTS;
     index = "twitter";
     type = "tweet";
 
@@ -396,6 +455,9 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
       } catch ( Exception e ) {
         timeoutUnit = DEFAULT_TIMEOUT_UNIT;
       }
+      batchSizeMb = XMLHandler.getTagValue( general, Dom.TAG_BATCH_SIZE_MB );
+      flushInterval = XMLHandler.getTagValue( general, Dom.TAG_FLUSH_INTERVAL );
+      concurrentRequests = XMLHandler.getTagValue( general, Dom.TAG_CONCURRENT_REQUESTS );
 
       setIndex( XMLHandler.getTagValue( general, Dom.TAG_INDEX ) );
       setType( XMLHandler.getTagValue( general, Dom.TAG_TYPE ) );
@@ -479,6 +541,10 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
     retval.append( indent.toString() + XMLHandler.addTagValue( Dom.TAG_BATCH_SIZE, batchSize ) );
     retval.append( indent.toString() + XMLHandler.addTagValue( Dom.TAG_TIMEOUT, timeout ) );
     retval.append( indent.toString() ).append( XMLHandler.addTagValue( Dom.TAG_TIMEOUT_UNIT, timeoutUnit.toString() ) );
+    retval.append( indent.toString() ).append( XMLHandler.addTagValue( Dom.TAG_BATCH_SIZE_MB, batchSizeMb ) );
+    retval.append( indent.toString() ).append( XMLHandler.addTagValue( Dom.TAG_FLUSH_INTERVAL, flushInterval ) );
+    retval.append( indent.toString() ).append( XMLHandler.addTagValue( Dom.TAG_CONCURRENT_REQUESTS,
+      concurrentRequests ) );
 
     retval.append( indent.toString() + XMLHandler.addTagValue( Dom.TAG_IS_JSON, isJsonInsert() ) );
     if ( getJsonField() != null ) {
@@ -589,6 +655,11 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
       } catch ( Exception e ) {
         timeoutUnit = DEFAULT_TIMEOUT_UNIT;
       }
+      setBatchSizeMb( rep.getStepAttributeString( id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_BATCH_SIZE_MB ) ) );
+      setFlushInterval( rep.getStepAttributeString( id_step, joinRepAttr( Dom.TAG_GENERAL,
+              Dom.TAG_FLUSH_INTERVAL ) ) );
+      setConcurrentRequests( rep.getStepAttributeString( id_step, joinRepAttr( Dom.TAG_GENERAL,
+              Dom.TAG_CONCURRENT_REQUESTS ) ) );
 
       setJsonInsert( rep.getStepAttributeBoolean( id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_IS_JSON ) ) );
       setJsonField( ( rep.getStepAttributeString( id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_JSON_FIELD ) ) ) );
@@ -648,6 +719,12 @@ public class ElasticSearchBulkMeta extends BaseStepMeta implements StepMetaInter
               getTimeOut() );
       rep.saveStepAttribute( id_transformation, id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_TIMEOUT_UNIT ),
               getTimeoutUnit().toString() );
+      rep.saveStepAttribute( id_transformation, id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_BATCH_SIZE_MB ),
+              batchSizeMb );
+      rep.saveStepAttribute( id_transformation, id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_FLUSH_INTERVAL ),
+              flushInterval );
+      rep.saveStepAttribute( id_transformation, id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_CONCURRENT_REQUESTS ),
+              concurrentRequests );
 
       rep.saveStepAttribute( id_transformation, id_step, joinRepAttr( Dom.TAG_GENERAL, Dom.TAG_IS_JSON ),
               isJsonInsert() );
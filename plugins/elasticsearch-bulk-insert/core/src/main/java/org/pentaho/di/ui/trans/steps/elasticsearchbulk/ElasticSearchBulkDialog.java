@@ -124,6 +124,12 @@ public class ElasticSearchBulkDialog extends BaseStepDialog implements StepDialo
 
   private LabelTimeComposite wTimeOut;
 
+  private LabelTextVar wBatchSizeMb;
+
+  private LabelTextVar wFlushInterval;
+
+  private LabelTextVar wConcurrentRequests;
+
   private Label wlStopOnError;
 
   private Button wStopOnError;
@@ -548,6 +554,27 @@ public class ElasticSearchBulkDialog extends BaseStepDialog implements StepDialo
     props.setLook( wBatchSize );
     wBatchSize.addModifyListener( lsMod );
 
+    // Batch size in MB
+    wBatchSizeMb =
+            new LabelTextVar( transMeta, wSettingsGroup, BaseMessages.getString( PKG,
+                    "ElasticSearchBulkDialog.BatchSizeMB.Label" ), BaseMessages.getString( PKG,
+                    "ElasticSearchBulkDialog.BatchSizeMB.Tooltip" ) );
+    wBatchSizeMb.addModifyListener( lsMod );
+
+    // Flush interval
+    wFlushInterval =
+            new LabelTextVar( transMeta, wSettingsGroup, BaseMessages.getString( PKG,
+                    "ElasticSearchBulkDialog.FlushInterval.Label" ), BaseMessages.getString( PKG,
+                    "ElasticSearchBulkDialog.FlushInterval.Tooltip" ) );
+    wFlushInterval.addModifyListener( lsMod );
+
+    // Concurrent batches
+    wConcurrentRequests =
+            new LabelTextVar( transMeta, wSettingsGroup, BaseMessages.getString( PKG,
+                    "ElasticSearchBulkDialog.ConcurrentRequests.Label" ), BaseMessages.getString( PKG,
+                    "ElasticSearchBulkDialog.ConcurrentRequests.Tooltip" ) );
+    wConcurrentRequests.addModifyListener( lsMod );
+
     // Stop on error
     wlStopOnError = new Label( wSettingsGroup, SWT.RIGHT );
     wlStopOnError.setText( BaseMessages.getString( PKG, "ElasticSearchBulkDialog.StopOnError.Label" ) );
@@ -670,8 +697,8 @@ public class ElasticSearchBulkDialog extends BaseStepDialog implements StepDialo
     getPreviousFields( wJsonField );
     wJsonField.setEnabled( wIsJson.getSelection() );
 
-    Control[] settingsControls = new Control[]{wlBatchSize, wBatchSize, wlStopOnError, wStopOnError, wTimeOut,
-      wIdInField, wlIsOverwrite, wIsOverwrite, wlUseOutput, wUseOutput, wIdOutField, wlIsJson, wIsJson,
+    Control[] settingsControls = new Control[]{wlBatchSize, wBatchSize, wBatchSizeMb, wFlushInterval,
+      wConcurrentRequests, wlStopOnError, wStopOnError, wTimeOut, wIdInField, wlIsOverwrite, wIsOverwrite, wlUseOutput, wUseOutput, wIdOutField, wlIsJson, wIsJson,
       wJsonField};
     placeControls( wSettingsGroup, settingsControls );
 
@@ -765,6 +792,10 @@ public class ElasticSearchBulkDialog extends BaseStepDialog implements StepDialo
     wType.setText( Const.NVL( in.getType(), "" ) );
 
     wBatchSize.setText( Const.NVL( in.getBatchSize(), "" + ElasticSearchBulkMeta.DEFAULT_BATCH_SIZE ) );
+    wBatchSizeMb.setText( Const.NVL( in.getBatchSizeMb(), "" ) );
+    wFlushInterval.setText( Const.NVL( in.getFlushInterval(), "" ) );
+    wConcurrentRequests.setText( Const.NVL( in.getConcurrentRequests(), ""
+            + ElasticSearchBulkMeta.DEFAULT_CONCURRENT_REQUESTS ) );
 
     wStopOnError.setSelection( in.isStopOnError() );
 
@@ -833,6 +864,9 @@ public class ElasticSearchBulkDialog extends BaseStepDialog implements StepDialo
     in.setIndex( wIndex.getText() );
 
     in.setBatchSize( wBatchSize.getText() );
+    in.setBatchSizeMb( wBatchSizeMb.getText() );
+    in.setFlushInterval( wFlushInterval.getText() );
+    in.setConcurrentRequests( wConcurrentRequests.getText() );
     in.setTimeOut( Const.NVL( wTimeOut.getText(), null ) );
     in.setTimeoutUnit( wTimeOut.getTimeUnit() );
 
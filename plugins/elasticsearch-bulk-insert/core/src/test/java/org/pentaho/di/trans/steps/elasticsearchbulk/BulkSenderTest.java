@@ -0,0 +1,218 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.elasticsearchbulk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+
+public class BulkSenderTest {
+
+  private static IndexRequest request( int i ) {
+    return new IndexRequest( "index", "doc", "id" + i ).source( "{\"value\":" + i + "}", XContentType.JSON );
+  }
+
+  private static String id( BulkRequest request, int itemId ) {
+    return ( (IndexRequest) request.requests().get( itemId ) ).id();
+  }
+
+  private static BulkItemResponse ok( int itemId, String id ) {
+    BulkItemResponse item = mock( BulkItemResponse.class );
+    when( item.getItemId() ).thenReturn( itemId );
+    when( item.getId() ).thenReturn( id );
+    return item;
+  }
+
+  private static BulkItemResponse rejected( int itemId, String id ) {
+    BulkItemResponse item = mock( BulkItemResponse.class );
+    when( item.getItemId() ).thenReturn( itemId );
+    when( item.getId() ).thenReturn( id );
+    when( item.isFailed() ).thenReturn( true );
+    when( item.getFailure() ).thenReturn(
+      new BulkItemResponse.Failure( "index", "doc", id, new EsRejectedExecutionException( "queue full" ) ) );
+    when( item.getFailureMessage() ).thenReturn( "queue full" );
+    return item;
+  }
+
+  private static BulkResponse success( BulkRequest request ) {
+    BulkItemResponse[] items = new BulkItemResponse[ request.numberOfActions() ];
+    for ( int i = 0; i < items.length; i++ ) {
+      items[ i ] = ok( i, id( request, i ) );
+    }
+    return new BulkResponse( items, 1L );
+  }
+
+  private static List<BulkSender.Bulk> sendAll( BulkSender sender, int nrRows ) throws KettleException {
+    for ( int i = 0; i < nrRows; i++ ) {
+      sender.add( request( i ), new Object[] { i } );
+    }
+    sender.close();
+    return sender.takeDone();
+  }
+
+  @Test
+  public void testBulksOfTheBatchSize() throws KettleException {
+    BulkSender sender = new BulkSender( ( request, listener ) -> listener.onResponse( success( request ) ), 3, 0, 0, 0,
+      1 );
+    List<BulkSender.Bulk> bulks = sendAll( sender, 7 );
+
+    assertEquals( 3, bulks.size() );
+    assertEquals( 3, bulks.get( 0 ).rows.size() );
+    assertEquals( 3, bulks.get( 1 ).rows.size() );
+    assertEquals( 1, bulks.get( 2 ).rows.size() );
+    assertEquals( 6, bulks.get( 2 ).rows.get( 0 )[ 0 ] );
+    assertEquals( "id6", bulks.get( 2 ).ids[ 0 ] );
+    assertNull( bulks.get( 2 ).failures[ 0 ] );
+  }
+
+  @Test
+  public void testBulksOfTheBatchBytes() throws KettleException {
+    long documentSize = request( 0 ).source().length();
+    BulkSender sender = new BulkSender( ( request, listener ) -> listener.onResponse( success( request ) ), 1000,
+      2 * documentSize, 0, 0, 1 );
+    List<BulkSender.Bulk> bulks = sendAll( sender, 5 );
+
+    assertEquals( 3, bulks.size() );
+    assertEquals( 2, bulks.get( 0 ).rows.size() );
+    assertEquals( 2 * documentSize, bulks.get( 0 ).bytes );
+  }
+
+  @Test
+  public void testFlushInterval() throws Exception {
+    BulkSender sender = new BulkSender( ( request, listener ) -> listener.onResponse( success( request ) ), 1000, 0,
+      20, 0, 1 );
+    sender.add( request( 0 ), new Object[] { 0 } );
+    sender.add( request( 1 ), new Object[] { 1 } );
+
+    List<BulkSender.Bulk> bulks = new ArrayList<>();
+    for ( int wait = 0; bulks.isEmpty() && wait < 500; wait++ ) {
+      Thread.sleep( 10 );
+      bulks.addAll( sender.takeDone() );
+    }
+    sender.close();
+
+    assertEquals( 1, bulks.size() );
+    assertEquals( 2, bulks.get( 0 ).rows.size() );
+  }
+
+  @Test
+  public void testRejectedDocumentsAreSentAgain() throws KettleException {
+    AtomicInteger calls = new AtomicInteger();
+    AtomicInteger retried = new AtomicInteger();
+    BulkSender sender = new BulkSender( ( request, listener ) -> {
+      if ( calls.incrementAndGet() == 1 ) {
+        // the second document of the first request is rejected
+        listener.onResponse( new BulkResponse( new BulkItemResponse[] { ok( 0, id( request, 0 ) ),
+          rejected( 1, id( request, 1 ) ), ok( 2, id( request, 2 ) ) }, 1L ) );
+      } else {
+        retried.set( request.numberOfActions() );
+        listener.onResponse( success( request ) );
+      }
+    }, 3, 0, 0, 0, 1 );
+    List<BulkSender.Bulk> bulks = sendAll( sender, 3 );
+
+    assertEquals( 2, calls.get() );
+    assertEquals( 1, retried.get() );
+    assertEquals( 1, bulks.size() );
+    assertEquals( 1, bulks.get( 0 ).rejections );
+    for ( int i = 0; i < 3; i++ ) {
+      assertEquals( "id" + i, bulks.get( 0 ).ids[ i ] );
+      assertNull( bulks.get( 0 ).failures[ i ] );
+    }
+  }
+
+  @Test
+  public void testConcurrentBulksAreHandedBackInOrder() throws KettleException {
+    // the stub answers once three bulks are in flight, the last one first
+    List<BulkRequest> requests = new ArrayList<>();
+    List<ActionListener<BulkResponse>> listeners = new ArrayList<>();
+    BulkSender sender = new BulkSender( ( request, listener ) -> {
+      requests.add( request );
+      listeners.add( listener );
+      if ( requests.size() == 3 ) {
+        for ( int i = 2; i >= 0; i-- ) {
+          listeners.get( i ).onResponse( success( requests.get( i ) ) );
+        }
+        requests.clear();
+        listeners.clear();
+      }
+    }, 2, 0, 0, 0, 3 );
+    List<BulkSender.Bulk> bulks = sendAll( sender, 12 );
+
+    assertEquals( 6, bulks.size() );
+    for ( int i = 0; i < bulks.size(); i++ ) {
+      assertEquals( 2 * i, bulks.get( i ).rows.get( 0 )[ 0 ] );
+      assertEquals( "id" + ( 2 * i + 1 ), bulks.get( i ).ids[ 1 ] );
+    }
+  }
+
+  @Test
+  public void testFailedRequestFailsAllRows() throws KettleException {
+    BulkSender sender = new BulkSender( ( request, listener ) -> listener.onFailure( new RuntimeException( "down" ) ),
+      2, 0, 0, 0, 1 );
+    List<BulkSender.Bulk> bulks = sendAll( sender, 3 );
+
+    assertEquals( 2, bulks.size() );
+    for ( BulkSender.Bulk bulk : bulks ) {
+      for ( String failure : bulk.failures ) {
+        assertNotNull( failure );
+        assertTrue( failure.contains( "down" ) );
+      }
+    }
+  }
+
+  @Test
+  public void testTimeout() throws KettleException {
+    BulkSender sender = new BulkSender( ( request, listener ) -> {
+      // never answers
+    }, 2, 0, 0, 20, 1 );
+    List<BulkSender.Bulk> bulks = sendAll( sender, 2 );
+
+    assertEquals( 1, bulks.size() );
+    assertNotNull( bulks.get( 0 ).failures[ 0 ] );
+    assertNull( bulks.get( 0 ).ids[ 0 ] );
+  }
+
+  @Test
+  public void testNoBulkIsSentAfterAFailureWhenStoppingOnErrors() throws KettleException {
+    AtomicInteger requests = new AtomicInteger();
+    BulkSender sender = new BulkSender( ( request, listener ) -> {
+      requests.incrementAndGet();
+      listener.onFailure( new RuntimeException( "down" ) );
+    }, 2, 0, 0, 0, 1, true );
+    List<BulkSender.Bulk> bulks = sendAll( sender, 6 );
+
+    // the second and third bulk are dropped, only the failed one is handed back
+    assertEquals( 1, requests.get() );
+    assertEquals( 1, bulks.size() );
+    assertNotNull( bulks.get( 0 ).failures[ 0 ] );
+  }
+}
@@ -91,6 +91,21 @@ public class ElasticSearchBulkMetaInjectionTest extends BaseMetadataInjectionTes
         return meta.getTimeoutUnit();
       }
     }, TimeUnit.class );
+    check( "BATCH_SIZE_MB", new StringGetter() {
+      public String get() {
+        return meta.getBatchSizeMb();
+      }
+    } );
+    check( "FLUSH_INTERVAL", new StringGetter() {
+      public String get() {
+        return meta.getFlushInterval();
+      }
+    } );
+    check( "CONCURRENT_REQUESTS", new StringGetter() {
+      public String get() {
+        return meta.getConcurrentRequests();
+      }
+    } );
     check( "SERVER.ADDRESS", new StringGetter() {
       public String get() {
         return meta.servers.get( 0 ).address;
@@ -32,6 +32,7 @@ import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleValueException;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.variables.VariableSpace;
+import org.pentaho.di.core.variables.Variables;
 import org.pentaho.di.trans.step.StepDataInterface;
 import org.pentaho.di.trans.steps.loadsave.LoadSaveTester;
 import org.pentaho.di.trans.steps.loadsave.validator.FieldLoadSaveValidator;
@@ -44,7 +45,8 @@ public class ElasticSearchBulkMetaTest {
   public void testRoundTrip() throws KettleException {
     List<String> attributes =
         Arrays.asList( "index", "type", "batchSize", "timeout", "timeoutUnit", "isJson", "jsonField", "idOutputField",
-            "idField", "overwriteIfExists", "useOutput", "stopOnError", "fields", "servers", "settings" );
+            "idField", "overwriteIfExists", "useOutput", "stopOnError", "fields", "servers", "settings", "batchSizeMB",
+            "flushInterval", "concurrentRequests" );
 
     Map<String, String> getterMap = new HashMap<String, String>();
     getterMap.put( "index", "getIndex" );
@@ -62,6 +64,9 @@ public class ElasticSearchBulkMetaTest {
     getterMap.put( "fields", "getFieldsMap" );
     getterMap.put( "servers", "getServers" );
     getterMap.put( "settings", "getSettingsMap" );
+    getterMap.put( "batchSizeMB", "getBatchSizeMb" );
+    getterMap.put( "flushInterval", "getFlushInterval" );
+    getterMap.put( "concurrentRequests", "getConcurrentRequests" );
 
     Map<String, String> setterMap = new HashMap<String, String>();
     setterMap.put( "index", "setIndex" );
@@ -79,6 +84,9 @@ public class ElasticSearchBulkMetaTest {
     setterMap.put( "fields", "setFieldsMap" );
     setterMap.put( "servers", "setServers" );
     setterMap.put( "settings", "setSettingsMap" );
+    setterMap.put( "batchSizeMB", "setBatchSizeMb" );
+    setterMap.put( "flushInterval", "setFlushInterval" );
+    setterMap.put( "concurrentRequests", "setConcurrentRequests" );
 
     Map<String, FieldLoadSaveValidator<?>> fieldLoadSaveValidatorAttributeMap =
         new HashMap<String, FieldLoadSaveValidator<?>>();
@@ -124,6 +132,20 @@ public class ElasticSearchBulkMetaTest {
     assertEquals( batchSize, ElasticSearchBulkMeta.DEFAULT_BATCH_SIZE );
   }
 
+  @Test
+  public void testBulkOptionDefaults() {
+    ElasticSearchBulkMeta esbm = new ElasticSearchBulkMeta();
+    VariableSpace space = new Variables();
+    assertEquals( 0L, esbm.getBatchSizeBytes( space ) );
+    assertEquals( 0L, esbm.getFlushIntervalLong( space ) );
+    assertEquals( ElasticSearchBulkMeta.DEFAULT_CONCURRENT_REQUESTS, esbm.getConcurrentRequestsInt( space ) );
+
+    esbm.setDefault();
+    assertEquals( ElasticSearchBulkMeta.DEFAULT_BATCH_SIZE_MB * 1024L * 1024L, esbm.getBatchSizeBytes( space ) );
+    esbm.setConcurrentRequests( "0" );
+    assertEquals( 1, esbm.getConcurrentRequestsInt( space ) );
+  }
+
   @Test
   public void testClone() {
     ElasticSearchBulkMeta esbm = new ElasticSearchBulkMeta();
@@ -56,6 +56,7 @@ import org.pentaho.di.trans.step.errorhandling.CompositeFileErrorHandler;
 import org.pentaho.di.trans.step.errorhandling.FileErrorHandler;
 import org.pentaho.di.trans.step.errorhandling.FileErrorHandlerContentLineNumber;
 import org.pentaho.di.trans.step.errorhandling.FileErrorHandlerMissingFiles;
+import org.pentaho.di.trans.steps.excelinput.staxpoi.StaxPoiWorkbook;
 import org.pentaho.di.trans.steps.utils.CommonExcelUtils;
 import org.springframework.util.CollectionUtils;
 
@@ -548,6 +549,9 @@ public class ExcelInput extends BaseStep implements StepInterface {
         }
 
         data.workbook = WorkbookFactory.getWorkbook( meta.getSpreadSheetType(), data.filename, meta.getEncoding(), meta.getPassword() );
+        if ( data.readAhead && data.workbook instanceof StaxPoiWorkbook ) {
+          ( (StaxPoiWorkbook) data.workbook ).setReadAhead( true );
+        }
 
         data.errorHandler.handleFile( data.file );
         // Start at the first sheet again...
@@ -575,7 +579,8 @@ public class ExcelInput extends BaseStep implements StepInterface {
       }
 
       String sheetName = data.sheetNames[data.sheetnr];
-      KSheet sheet = data.workbook.getSheet( sheetName );
+      // the sheets of the other copies are skipped without opening them
+      KSheet sheet = isSheetOfOtherCopy() ? null : data.workbook.getSheet( sheetName );
       if ( sheet != null ) {
         // at what row do we continue reading?
         if ( data.rownr < 0 ) {
@@ -644,6 +649,7 @@ public class ExcelInput extends BaseStep implements StepInterface {
       if ( nextsheet ) {
         // Go to the next sheet
         data.sheetnr++;
+        data.sheetsPassed++;
 
         // Reset the start-row:
         data.rownr = -1;
@@ -669,6 +675,30 @@ public class ExcelInput extends BaseStep implements StepInterface {
     return retval;
   }
 
+  private boolean isSheetOfOtherCopy() {
+    return data.parallelSheets && data.sheetsPassed % data.totalNumberOfSteps != data.stepNumber;
+  }
+
+  /**
+   * The copies of the step can only divide the sheets when every sheet can be read without knowing the rows read by
+   * the other copies.
+   *
+   * @return the option that prevents reading in parallel, or null if the step can read in parallel
+   */
+  String getParallelNotPossibleReason( ExcelInputMeta meta ) {
+    if ( meta.isAcceptingFilenames() ) {
+      return BaseMessages.getString( PKG, "ExcelInput.ParallelNotPossible.AcceptingFilenames" );
+    }
+    if ( meta.getRowLimit() > 0 ) {
+      return BaseMessages.getString( PKG, "ExcelInput.ParallelNotPossible.RowLimit" );
+    }
+    if ( meta.getLineNumberFilesDestinationDirectory() != null || meta.getErrorFilesDestinationDirectory() != null
+      || data.filePlayList != FilePlayListAll.INSTANCE ) {
+      return BaseMessages.getString( PKG, "ExcelInput.ParallelNotPossible.LineNumberFiles" );
+    }
+    return null;
+  }
+
   private boolean isLineEmpty( KCell[] line ) {
     if ( line.length == 0 ) {
       return true;
@@ -742,6 +772,22 @@ public class ExcelInput extends BaseStep implements StepInterface {
       initErrorHandling();
       initReplayFactory();
       data.files = meta.getFileList( this );
+
+      data.readAhead = "Y".equalsIgnoreCase( getVariable( Const.KETTLE_COMPRESSED_INPUT_READ_AHEAD, "N" ) );
+      data.stepNumber = getUniqueStepNrAcrossSlaves();
+      data.totalNumberOfSteps = getUniqueStepCountAcrossSlaves();
+      data.parallelSheets = data.totalNumberOfSteps > 1
+        && "Y".equalsIgnoreCase( getVariable( Const.KETTLE_EXCEL_INPUT_PARALLEL_SHEETS, "N" ) );
+      if ( data.parallelSheets ) {
+        String reason = getParallelNotPossibleReason( meta );
+        if ( reason != null ) {
+          data.parallelSheets = false;
+          logBasic( BaseMessages.getString( PKG, "ExcelInput.Log.ParallelNotPossible", reason ) );
+        } else if ( log.isDetailed() ) {
+          logDetailed( BaseMessages.getString( PKG, "ExcelInput.Log.ParallelSheets", data.stepNumber + 1,
+            data.totalNumberOfSteps ) );
+        }
+      }
       if ( data.files.nrOfFiles() == 0 && data.files.nrOfMissingFiles() > 0 && !meta.isAcceptingFilenames() ) {
 
         logError( BaseMessages.getString( PKG, "ExcelInput.Error.NoFileSpecified" ) );
@@ -121,6 +121,25 @@ public class ExcelInputData extends BaseStepData implements StepDataInterface {
   public String rootUriName;
   public long size;
 
+  /**
+   * The copies of the step read different sheets of the files
+   */
+  public boolean parallelSheets;
+
+  public int stepNumber;
+
+  public int totalNumberOfSteps;
+
+  /**
+   * The number of sheets passed so far in all the files, to divide them between the copies
+   */
+  public int sheetsPassed;
+
+  /**
+   * Decompress the sheets of streamed XLSX files on a background thread
+   */
+  public boolean readAhead;
+
   public ExcelInputData() {
     super();
     workbook = null;
@@ -0,0 +1,101 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.excelinput.staxpoi;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.pentaho.di.core.xml.XMLParserFactoryProducer;
+
+/**
+ * Reads the shared strings table of a workbook into plain strings.<br>
+ * The table is parsed as a stream, without building the XML objects of every item, and looked up by index while the
+ * sheets are read.
+ */
+public class StaxPoiSharedStrings {
+
+  private static final String TAG_SI = "si";
+  private static final String TAG_T = "t";
+  private static final String TAG_RPH = "rPh";
+
+  private StaxPoiSharedStrings() {
+  }
+
+  /**
+   * @param in
+   *          the sharedStrings.xml part of the workbook
+   * @return the text of every item, in the order of the table
+   */
+  public static String[] read( InputStream in ) throws XMLStreamException {
+    List<String> strings = new ArrayList<>();
+    XMLStreamReader reader = XMLParserFactoryProducer.createSecureXMLInputFactory().createXMLStreamReader( in );
+    try {
+      StringBuilder text = new StringBuilder();
+      boolean inText = false;
+      boolean inPhonetic = false;
+      while ( reader.hasNext() ) {
+        int event = reader.next();
+        if ( event == XMLStreamConstants.START_ELEMENT ) {
+          String name = reader.getLocalName();
+          if ( name.equals( TAG_SI ) ) {
+            text.setLength( 0 );
+          } else if ( name.equals( TAG_RPH ) ) {
+            // phonetic runs are not part of the cell value
+            inPhonetic = true;
+          } else if ( name.equals( TAG_T ) ) {
+            inText = !inPhonetic;
+          }
+        } else if ( event == XMLStreamConstants.END_ELEMENT ) {
+          String name = reader.getLocalName();
+          if ( name.equals( TAG_SI ) ) {
+            strings.add( new XSSFRichTextString( text.toString() ).toString() );
+          } else if ( name.equals( TAG_RPH ) ) {
+            inPhonetic = false;
+          } else if ( name.equals( TAG_T ) ) {
+            inText = false;
+          }
+        } else if ( inText && ( event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+          || event == XMLStreamConstants.SPACE ) ) {
+          text.append( reader.getText() );
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return strings.toArray( new String[ strings.size() ] );
+  }
+
+  /**
+   * @param sst
+   *          a shared strings table, can be null
+   * @return the text of every item, in the order of the table
+   */
+  public static String[] of( SharedStrings sst ) {
+    if ( sst == null || sst.getCount() <= 0 ) {
+      return new String[ 0 ];
+    }
+    String[] strings = new String[ sst.getUniqueCount() ];
+    for ( int i = 0; i < strings.length; i++ ) {
+      strings[ i ] = new XSSFRichTextString( sst.getItemAt( i ).getString() ).toString();
+    }
+    return strings;
+  }
+}
@@ -33,10 +33,10 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
-import org.apache.poi.xssf.model.SharedStrings;
 import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+import org.pentaho.di.core.compress.ReadAheadInputStream;
 import org.pentaho.di.core.spreadsheet.KCell;
 import org.pentaho.di.core.spreadsheet.KCellType;
 import org.pentaho.di.core.spreadsheet.KSheet;
@@ -64,6 +64,7 @@ public class StaxPoiSheet implements KSheet {
   private final String sheetId;
 
   private final XSSFReader xssfReader;
+  private final boolean readAhead;
   private InputStream sheetStream;
   private XMLStreamReader sheetReader;
 
@@ -78,18 +79,33 @@ public class StaxPoiSheet implements KSheet {
   private KCell[] currentRowCells;
 
   // full shared strings table
-  private SharedStrings sst;
+  private String[] sharedStrings;
   // custom styles
   private StylesTable styles;
 
   public StaxPoiSheet( XSSFReader reader, String sheetName, String sheetID )
       throws InvalidFormatException, IOException, XMLStreamException {
+    this( reader, sheetName, sheetID, StaxPoiSharedStrings.of( reader.getSharedStringsTable() ),
+      reader.getStylesTable(), false );
+  }
+
+  /**
+   * @param sharedStrings
+   *          the shared strings of the workbook, read once for all its sheets
+   * @param styles
+   *          the styles of the workbook
+   * @param readAhead
+   *          decompress the sheet on a background thread while the rows are parsed
+   */
+  public StaxPoiSheet( XSSFReader reader, String sheetName, String sheetID, String[] sharedStrings,
+      StylesTable styles, boolean readAhead ) throws InvalidFormatException, IOException, XMLStreamException {
     this.sheetName = sheetName;
     xssfReader = reader;
     sheetId = sheetID;
-    sst = reader.getSharedStringsTable();
-    styles = reader.getStylesTable();
-    sheetStream = reader.getSheet( sheetID );
+    this.sharedStrings = sharedStrings;
+    this.styles = styles;
+    this.readAhead = readAhead;
+    sheetStream = openSheetStream();
     XMLInputFactory factory = XMLParserFactoryProducer.createSecureXMLInputFactory();
     sheetReader = factory.createXMLStreamReader( sheetStream );
     headerRow = new ArrayList<>();
@@ -128,9 +144,8 @@ public class StaxPoiSheet implements KSheet {
                     event = sheetReader.next();
                     if ( event == XMLStreamConstants.START_ELEMENT && sheetReader.getLocalName().equals( TAG_V ) ) {
                       int idx = Integer.parseInt( sheetReader.getElementText() );
-                      if (sst != null && sst.getCount() > 0) {
-                        String content = new XSSFRichTextString(sst.getItemAt(idx).getString()).toString();
-                        headerRow.add( content );
+                      if ( sharedStrings.length > 0 ) {
+                        headerRow.add( sharedStrings[ idx ] );
                       }
                       break;
                     }
@@ -280,8 +295,8 @@ public class StaxPoiSheet implements KSheet {
             // read content as string
             if ( cellType != null && cellType.equals( "s" ) ) {
               int idx = Integer.parseInt( sheetReader.getElementText() );
-              if (sst != null && sst.getCount() > 0) {
-                content = new XSSFRichTextString(sst.getItemAt(idx).getString()).toString();
+              if ( sharedStrings.length > 0 ) {
+                content = sharedStrings[ idx ];
               }
             } else {
               content = sheetReader.getElementText();
@@ -427,11 +442,16 @@ public class StaxPoiSheet implements KSheet {
   private void resetSheetReader() throws IOException, XMLStreamException, InvalidFormatException {
     sheetReader.close();
     sheetStream.close();
-    sheetStream = xssfReader.getSheet( sheetId );
+    sheetStream = openSheetStream();
     XMLInputFactory factory = XMLParserFactoryProducer.createSecureXMLInputFactory();
     sheetReader = factory.createXMLStreamReader( sheetStream );
   }
 
+  private InputStream openSheetStream() throws IOException, InvalidFormatException {
+    InputStream stream = xssfReader.getSheet( sheetId );
+    return readAhead ? new ReadAheadInputStream( stream ) : stream;
+  }
+
   public void close() throws IOException, XMLStreamException {
     sheetReader.close();
     sheetStream.close();
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.stream.XMLInputFactory;
@@ -29,7 +30,10 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
 import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.logging.KettleLogStore;
 import org.pentaho.di.core.logging.LogChannelInterface;
@@ -59,6 +63,12 @@ public class StaxPoiWorkbook implements KWorkbook {
 
   private OPCPackage opcpkg;
 
+  // shared by all the sheets, read when the first sheet is opened
+  private String[] sharedStrings;
+  private StylesTable styles;
+
+  private boolean readAhead;
+
   protected StaxPoiWorkbook() {
     openSheetsMap = new HashMap<String, StaxPoiSheet>();
     this.log = KettleLogStore.getLogChannelInterfaceFactory().create( this );
@@ -138,7 +148,8 @@ public class StaxPoiWorkbook implements KWorkbook {
     StaxPoiSheet sheet = openSheetsMap.get( sheetID );
     if ( sheet == null ) {
       try {
-        sheet = new StaxPoiSheet( reader, sheetName, sheetID );
+        readSharedParts();
+        sheet = new StaxPoiSheet( reader, sheetName, sheetID, sharedStrings, styles, readAhead );
         openSheetsMap.put( sheetID, sheet );
       } catch ( Exception e ) {
         log.logError( sheetName, e );
@@ -147,6 +158,35 @@ public class StaxPoiWorkbook implements KWorkbook {
     return sheet;
   }
 
+  /**
+   * Reads the shared strings and the styles once for all the sheets of the workbook.
+   */
+  private void readSharedParts() throws Exception {
+    if ( sharedStrings == null && opcpkg == null ) {
+      sharedStrings = StaxPoiSharedStrings.of( reader.getSharedStringsTable() );
+    } else if ( sharedStrings == null ) {
+      List<PackagePart> parts = opcpkg.getPartsByContentType( XSSFRelation.SHARED_STRINGS.getContentType() );
+      if ( parts.isEmpty() ) {
+        sharedStrings = new String[ 0 ];
+      } else {
+        try ( InputStream in = parts.get( 0 ).getInputStream() ) {
+          sharedStrings = StaxPoiSharedStrings.read( in );
+        }
+      }
+    }
+    if ( styles == null ) {
+      styles = reader.getStylesTable();
+    }
+  }
+
+  /**
+   * @param readAhead
+   *          decompress the sheets on a background thread while their rows are parsed
+   */
+  public void setReadAhead( boolean readAhead ) {
+    this.readAhead = readAhead;
+  }
+
   @Override
   public String[] getSheetNames() {
     String[] sheets = new String[sheetNameIDMap.size()];
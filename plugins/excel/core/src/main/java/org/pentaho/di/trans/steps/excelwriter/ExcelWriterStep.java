@@ -39,6 +39,7 @@ import org.apache.poi.ss.usermodel.ClientAnchor;
 import org.apache.poi.ss.usermodel.Comment;
 import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.DataValidation;
 import org.apache.poi.ss.usermodel.DataValidationHelper;
 import org.apache.poi.ss.usermodel.Drawing;
@@ -84,6 +85,8 @@ public class ExcelWriterStep extends BaseStep implements StepInterface {
   public static final String STREAMER_FORCE_RECALC_PROP_NAME = "KETTLE_EXCEL_WRITER_STREAMER_FORCE_RECALCULATE";
   public static final String XLSX = "xlsx";
   private static final int STREAMING_WINDOW_SIZE = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+  /** the number of rows the column widths of a streaming sheet are taken from */
+  private static final int AUTOSIZE_SAMPLE_ROWS = 1000;
 
   private ExcelWriterStepData data;
   private ExcelWriterStepMeta meta;
@@ -259,7 +262,10 @@ public class ExcelWriterStep extends BaseStep implements StepInterface {
         writeHeader();
       }
       // handle auto size for columns
-      if ( meta.isAutoSizeColums() ) {
+      if ( meta.isAutoSizeColums() && data.sheet instanceof SXSSFSheet && data.sampledColumnWidths != null ) {
+        // the rows written to disk can't be measured anymore, use the widths of the first rows
+        setSampledColumnWidths();
+      } else if ( meta.isAutoSizeColums() ) {
 
         // track all columns for autosizing if using streaming worksheet
         if ( data.sheet instanceof SXSSFSheet ) {
@@ -303,6 +309,25 @@ public class ExcelWriterStep extends BaseStep implements StepInterface {
     }
   }
 
+  private void setSampledColumnWidths() {
+    for ( int col = 0; col < data.sampledColumnWidths.length; col++ ) {
+      if ( data.sampledColumnWidths[ col ] > 0 ) {
+        // the width is in 1/256th of a character, with room for the margins
+        data.sheet.setColumnWidth( col, Math.min( 255, data.sampledColumnWidths[ col ] + 2 ) * 256 );
+      }
+    }
+  }
+
+  private void sampleColumnWidth( int col, String text ) {
+    if ( text == null ) {
+      return;
+    }
+    if ( col >= data.sampledColumnWidths.length ) {
+      data.sampledColumnWidths = Arrays.copyOf( data.sampledColumnWidths, col + 1 );
+    }
+    data.sampledColumnWidths[ col ] = Math.max( data.sampledColumnWidths[ col ], text.length() );
+  }
+
   private void extendDataValidationRanges() {
     DataValidationHelper helper = data.sheet.getDataValidationHelper();
     for ( DataValidation validation : data.sheet.getDataValidations() ) {
@@ -381,6 +406,7 @@ public class ExcelWriterStep extends BaseStep implements StepInterface {
       // go to the next line
       data.posX = data.startingCol;
       data.posY++;
+      data.sampledRows++;
     } catch ( Exception e ) {
       logError( "Error writing line :" + e.toString() );
       throw new KettleException( e );
@@ -587,6 +613,12 @@ public class ExcelWriterStep extends BaseStep implements StepInterface {
             break;
         }
       }
+
+      if ( data.sampledColumnWidths != null && data.sampledRows < AUTOSIZE_SAMPLE_ROWS && v != null
+          && !( !isTitle && excelField != null && excelField.isFormula() ) ) {
+        // measure the value as Excel shows it, with the cell's format rather than the field's format mask
+        sampleColumnWidth( posX, data.cellFormatter.formatCellValue( cell ) );
+      }
     } catch ( Exception e ) {
       logError( "Error writing field (" + data.posX + "," + data.posY + ") : " + e.toString() );
       logError( Const.getStackTracker( e ) );
@@ -662,6 +694,14 @@ public class ExcelWriterStep extends BaseStep implements StepInterface {
       }
       data.clearStyleCache( numOfFields );
 
+      // a streaming sheet only keeps the last rows in memory, the column widths are measured while writing
+      data.sampledColumnWidths = meta.isAutoSizeColums() && meta.isStreamingData()
+          && XLSX.equalsIgnoreCase( meta.getExtension() ) ? new int[ 0 ] : null;
+      data.sampledRows = 0;
+      if ( data.sampledColumnWidths != null && data.cellFormatter == null ) {
+        data.cellFormatter = new DataFormatter();
+      }
+
       // build new filename
       String buildFilename = buildFilename( data.splitnr );
 
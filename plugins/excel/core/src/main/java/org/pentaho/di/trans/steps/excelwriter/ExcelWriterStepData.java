@@ -15,6 +15,7 @@ package org.pentaho.di.trans.steps.excelwriter;
 
 import org.apache.commons.vfs2.FileObject;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -52,6 +53,11 @@ public class ExcelWriterStepData extends BaseStepData implements StepDataInterfa
   public String realPassword;
   public String realProtectedBy;
   public int[] linkfieldnrs;
+  /** the widest value in characters per column of the first rows, to size the columns of a streaming sheet */
+  public int[] sampledColumnWidths;
+  public int sampledRows;
+  /** formats the sampled cells the way Excel displays them */
+  public DataFormatter cellFormatter;
   private CellStyle[] cellStyleCache;
   private CellStyle[] cellLinkStyleCache;
 
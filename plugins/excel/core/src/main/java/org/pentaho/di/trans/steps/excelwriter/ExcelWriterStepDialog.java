@@ -817,6 +817,7 @@ public class ExcelWriterStepDialog extends BaseStepDialog implements StepDialogI
     Label wlStreamData = createLabel( fileGroup, "ExcelWriterDialog.StreamData.Label" );
     wStreamData = new Button( fileGroup, SWT.CHECK );
     wStreamData.addSelectionListener( lsSel );
+    wStreamData.setToolTipText( BaseMessages.getString( PKG, "ExcelWriterDialog.StreamData.Tooltip" ) );
     lastWidget = layoutLabelControlPair( wlStreamData, wStreamData, lastWidget );
 
     // split every x rows
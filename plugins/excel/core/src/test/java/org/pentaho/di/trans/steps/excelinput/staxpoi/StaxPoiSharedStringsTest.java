@@ -0,0 +1,49 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.excelinput.staxpoi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.junit.Test;
+
+public class StaxPoiSharedStringsTest {
+
+  private static final String SHARED_STRINGS = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+    + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"5\" uniqueCount=\"5\">"
+    + "<si><t>Plain</t></si>"
+    + "<si><r><rPr><b/></rPr><t>Rich </t></r><r><t xml:space=\"preserve\">text </t></r></si>"
+    + "<si><t>\u6f22\u5b57</t><rPh sb=\"0\" eb=\"2\"><t>\u304b\u3093\u3058</t></rPh></si>"
+    + "<si><t>Line_x000D_break</t></si>"
+    + "<si><t/></si>"
+    + "</sst>";
+
+  @Test
+  public void testReadItems() throws Exception {
+    String[] strings = StaxPoiSharedStrings.read( IOUtils.toInputStream( SHARED_STRINGS, "UTF-8" ) );
+    assertArrayEquals( new String[] { "Plain", "Rich text ", "\u6f22\u5b57", "Line\rbreak", "" }, strings );
+  }
+
+  @Test
+  public void testOfTable() {
+    SharedStringsTable sst = new SharedStringsTable();
+    sst.addSharedStringItem( new XSSFRichTextString( "One" ) );
+    sst.addSharedStringItem( new XSSFRichTextString( "Two" ) );
+    assertArrayEquals( new String[] { "One", "Two" }, StaxPoiSharedStrings.of( sst ) );
+    assertEquals( 0, StaxPoiSharedStrings.of( null ).length );
+  }
+}
@@ -17,7 +17,9 @@ import org.apache.commons.vfs2.FileObject;
 import org.apache.poi.hssf.usermodel.HSSFSheet;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -197,6 +199,54 @@ public class ExcelWriterStepTest {
     verify( dataMock.sheet ).getRow( 1 );
   }
 
+  @Test
+  public void testStreamingAutoSizeUsesTheFirstRowsAndTheCellFormat() throws Exception {
+    assertTrue( step.init( metaMock, dataMock ) );
+    String path = Files.createTempDirectory( "" ).toFile().getAbsolutePath() + File.separator + "autosize.xlsx";
+
+    dataMock.fieldnrs = new int[] { 0, 1 };
+    dataMock.linkfieldnrs = new int[] { -1, -1 };
+    dataMock.commentfieldnrs = new int[] { -1, -1 };
+    dataMock.createNewFile = true;
+    dataMock.realSheetname = SHEET_NAME;
+    dataMock.inputRowMeta = mock( RowMetaInterface.class );
+
+    ValueMetaInterface amountMeta = new ValueMetaNumber( "amount" );
+    // the PDI mask would give 1234568, the cell shows 1234567.89
+    amountMeta.setConversionMask( "#" );
+    ExcelWriterStepField nameField = new ExcelWriterStepField();
+    ExcelWriterStepField amountField = new ExcelWriterStepField();
+    amountField.setFormat( "0.00" );
+
+    doReturn( path ).when( step ).buildFilename( 0 );
+    doReturn( false ).when( metaMock ).isTemplateEnabled();
+    doReturn( true ).when( metaMock ).isStreamingData();
+    doReturn( true ).when( metaMock ).isAutoSizeColums();
+    doReturn( false ).when( metaMock ).isHeaderEnabled();
+    doReturn( XLSX ).when( metaMock ).getExtension();
+    doReturn( new ExcelWriterStepField[] { nameField, amountField } ).when( metaMock ).getOutputFields();
+
+    doReturn( 2 ).when( dataMock.inputRowMeta ).size();
+    doReturn( new ValueMetaString( "name" ) ).when( dataMock.inputRowMeta ).getValueMeta( 0 );
+    doReturn( amountMeta ).when( dataMock.inputRowMeta ).getValueMeta( 1 );
+
+    step.prepareNextOutputFile();
+    dataMock.posY = 0;
+    for ( int i = 0; i < 1500; i++ ) {
+      // a value past the sampled rows doesn't widen the column
+      String name = i == 1200 ? "a name that is much longer than all the sampled ones" : "short";
+      step.writeNextLine( new Object[] { name, 1234567.891 } );
+    }
+    assertTrue( step.afterFinishProcessing( metaMock, dataMock ) );
+
+    try ( Workbook written = WorkbookFactory.create( new File( path ) ) ) {
+      Sheet sheet = written.getSheet( SHEET_NAME );
+      assertEquals( 1500, sheet.getPhysicalNumberOfRows() );
+      assertEquals( ( "short".length() + 2 ) * 256, sheet.getColumnWidth( 0 ) );
+      assertEquals( ( "1234567.89".length() + 2 ) * 256, sheet.getColumnWidth( 1 ) );
+    }
+  }
+
   @Test
   public void testValueBigNumber() throws Exception {
 
@@ -221,4 +221,9 @@ public class InfobrightLoaderMeta extends TableOutputMeta implements StepMetaInt
   public Charset getCharset() {
     return charset;
   }
+
+  @Override
+  public boolean isSafeToInitializeAhead() {
+    return false;
+  }
 }
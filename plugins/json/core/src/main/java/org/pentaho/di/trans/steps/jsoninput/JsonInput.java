@@ -31,6 +31,7 @@ import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.QueueRowSet;
 import org.pentaho.di.core.ResultFile;
 import org.pentaho.di.core.bowl.DefaultBowl;
@@ -58,6 +59,7 @@ import org.pentaho.di.trans.steps.jsoninput.json.node.ValueNode;
 import org.pentaho.di.trans.steps.jsoninput.reader.FastJsonReader;
 import org.pentaho.di.trans.steps.jsoninput.reader.InputsReader;
 import org.pentaho.di.trans.steps.jsoninput.reader.RowOutputConverter;
+import org.pentaho.di.trans.steps.jsoninput.reader.StreamingJsonReader;
 
 /**
  * Read Json files, parse them and convert them to rows and writes these to one or more output streams.
@@ -93,10 +95,24 @@ public class JsonInput extends BaseFileInputStep<JsonInputMeta, JsonInputData> i
       }
     }
     try {
-      // Init a new JSON reader
-      data.reader =
-        new FastJsonReader( this, meta.getInputFields(), meta.isDefaultPathLeafToNull(), meta.isIgnoreMissingPath(),
-          meta.isIncludeNulls(), log );
+      // Init a new JSON reader, reading the documents as a stream if requested and possible for these paths
+      data.reader = null;
+      if ( "Y".equalsIgnoreCase( getVariable( Const.KETTLE_JSON_INPUT_STREAMING, "N" ) ) ) {
+        StreamingJsonReader streamingReader =
+          new StreamingJsonReader( this, meta.getInputFields(), meta.isDefaultPathLeafToNull(),
+            meta.isIgnoreMissingPath(), meta.isIncludeNulls(), log );
+        if ( streamingReader.isSupported() ) {
+          logDetailed( BaseMessages.getString( PKG, "JsonInput.Log.Streaming" ) );
+          data.reader = streamingReader;
+        } else {
+          logBasic( BaseMessages.getString( PKG, "JsonInput.Log.StreamingNotSupported" ) );
+        }
+      }
+      if ( data.reader == null ) {
+        data.reader =
+          new FastJsonReader( this, meta.getInputFields(), meta.isDefaultPathLeafToNull(), meta.isIgnoreMissingPath(),
+            meta.isIncludeNulls(), log );
+      }
     } catch ( KettleException e ) {
       logError( e.getMessage() );
       return false;
@@ -379,10 +395,16 @@ public class JsonInput extends BaseFileInputStep<JsonInputMeta, JsonInputData> i
     addFileToResultFilesname( file );
   }
 
+  private boolean isStreaming() {
+    return data.reader instanceof StreamingJsonReader;
+  }
+
   private void parseNextInputToRowSet( InputStream input ) throws KettleException {
     try {
       data.readerRowSet = data.reader.parse( input );
-      input.close();
+      if ( !isStreaming() ) {
+        input.close();
+      }
     } catch ( KettleException ke ) {
       logInputError( ke );
       throw new JsonInputException( ke );
@@ -447,19 +469,24 @@ public class JsonInput extends BaseFileInputStep<JsonInputMeta, JsonInputData> i
       return null;
     }
     Object[] rawReaderRow;
-    while ( ( rawReaderRow = data.readerRowSet.getRow() ) == null ) {
+    while ( ( rawReaderRow = getReaderRow() ) == null ) {
       if ( data.inputs.hasNext() && data.readerRowSet.isDone() ) {
-        try ( InputStream nextIn = data.inputs.next() ) {
+        InputStream nextIn = data.inputs.next();
+        // A streaming reader keeps reading the input while rows are requested and closes it at the end
+        boolean closeInput = true;
+        try {
 
           if ( nextIn != null ) {
             parseNextInputToRowSet( nextIn );
+            closeInput = !isStreaming();
           } else {
             parseNextInputToRowSet( new ByteArrayInputStream( EMPTY_JSON ) );
           }
 
-        } catch ( IOException e ) {
-          logError( BaseMessages.getString( PKG, "JsonInput.Log.UnexpectedError", e.toString() ), e );
-          incrementErrors();
+        } finally {
+          if ( closeInput ) {
+            closeInput( nextIn );
+          }
         }
       } else {
         if ( isDetailed() ) {
@@ -473,6 +500,26 @@ public class JsonInput extends BaseFileInputStep<JsonInputMeta, JsonInputData> i
     return outputRow;
   }
 
+  private Object[] getReaderRow() throws KettleException {
+    try {
+      return data.readerRowSet.getRow();
+    } catch ( StreamingJsonReader.StreamingReadException e ) {
+      logInputError( e.getCause() );
+      throw e.getCause();
+    }
+  }
+
+  private void closeInput( InputStream input ) {
+    if ( input != null ) {
+      try {
+        input.close();
+      } catch ( IOException e ) {
+        logError( BaseMessages.getString( PKG, "JsonInput.Log.UnexpectedError", e.toString() ), e );
+        incrementErrors();
+      }
+    }
+  }
+
   private void sendErrorRow( String errorMsg ) {
     try {
       // same error as before
@@ -605,6 +652,10 @@ public class JsonInput extends BaseFileInputStep<JsonInputMeta, JsonInputData> i
     }
     data.inputs = null;
     data.reader = null;
+    if ( data.readerRowSet != null ) {
+      // releases the input of a document that was being streamed
+      data.readerRowSet.clear();
+    }
     data.readerRowSet = null;
     data.repeatedFields = null;
     super.dispose( smi, sdi );
@@ -0,0 +1,420 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.jsoninput.reader;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import net.minidev.json.JSONArray;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.SingleRowRowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.logging.LogChannelInterface;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.steps.jsoninput.JsonInput;
+import org.pentaho.di.trans.steps.jsoninput.JsonInputField;
+import org.pentaho.di.trans.steps.jsoninput.JsonInputMeta;
+import org.pentaho.di.trans.steps.jsoninput.exception.JsonInputException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads JSON documents of any size by evaluating the paths of the fields on a token stream instead of on a tree of the
+ * whole document.
+ * <p>
+ * Only a subset of JsonPath is supported: all the paths must start with the same plain path to an array followed by
+ * [*], like <code>$.store.book[*]</code>. The part after [*] can be any definite path, it is evaluated with JsonPath on
+ * one array element at a time. Every element of the array produces one row and only one element is in memory at any
+ * time. Use {@link #isSupported()} to find out whether the paths of the fields can be streamed, the
+ * {@link FastJsonReader} has to be used otherwise.
+ * <p>
+ * Unlike the {@link FastJsonReader}, a path that can't be found in an element returns null for that row and a path
+ * that can't be found in the whole document is only reported once all the rows have been read.
+ */
+public class StreamingJsonReader implements IJsonReader {
+  private static Class<?> PKG = JsonInputMeta.class; // for i18n purposes, needed by Translator2!!
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /**
+   * json-smart returns floating point numbers with more digits than this as BigDecimal
+   */
+  private static final int MAX_DOUBLE_LENGTH = 18;
+
+  private final boolean ignoreMissingPath;
+  private final boolean includeNulls;
+  private final LogChannelInterface log;
+  private final Configuration jsonConfiguration;
+
+  private final JsonInputField[] inputFields;
+
+  /**
+   * The names leading to the array of which the elements are rows, null if the paths can't be streamed
+   */
+  private String[] rowPath;
+
+  /**
+   * The paths evaluated on each element, null means the element itself
+   */
+  private JsonPath[] elementPaths;
+
+  public StreamingJsonReader( JsonInput step, JsonInputField[] inputFields, boolean defaultPathLeafToNull,
+                              boolean ignoreMissingPath, boolean includeNulls, LogChannelInterface log ) {
+    this.inputFields = inputFields;
+    this.ignoreMissingPath = ignoreMissingPath;
+    this.includeNulls = includeNulls;
+    this.log = log;
+
+    List<Option> options = new ArrayList<>();
+    options.add( Option.SUPPRESS_EXCEPTIONS );
+    options.add( Option.ALWAYS_RETURN_LIST );
+    if ( defaultPathLeafToNull ) {
+      options.add( Option.DEFAULT_PATH_LEAF_TO_NULL );
+    }
+    this.jsonConfiguration = Configuration.defaultConfiguration().addOptions( options.toArray( new Option[ 0 ] ) );
+
+    compilePaths( step );
+  }
+
+  private void compilePaths( JsonInput step ) {
+    if ( inputFields == null || inputFields.length == 0 ) {
+      return;
+    }
+    elementPaths = new JsonPath[ inputFields.length ];
+    for ( int i = 0; i < inputFields.length; i++ ) {
+      String path;
+      if ( System.getProperty( Const.KETTLE_COMPATIBILITY_JSON_INPUT_LEGACY_MODE, "N" ).equals( "Y" ) ) {
+        path = step.environmentSubstitute( inputFields[ i ].getPath(), false ).trim();
+      } else {
+        path = step.environmentSubstitute( inputFields[ i ].getPath(), true );
+      }
+
+      int elementStart = path == null ? -1 : path.indexOf( "[*]" );
+      if ( elementStart < 0 ) {
+        rowPath = null;
+        return;
+      }
+      String[] names = parseNames( path.substring( 0, elementStart ) );
+      if ( names == null || ( i > 0 && !Arrays.equals( names, rowPath ) ) ) {
+        rowPath = null;
+        return;
+      }
+      rowPath = names;
+
+      String elementPath = path.substring( elementStart + 3 );
+      if ( !elementPath.isEmpty() ) {
+        try {
+          elementPaths[ i ] = JsonPath.compile( "$" + elementPath );
+        } catch ( InvalidPathException e ) {
+          rowPath = null;
+          return;
+        }
+        if ( !elementPaths[ i ].isDefinite() ) {
+          rowPath = null;
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Split a plain path like <code>$.a['b'].c</code> in its names.
+   *
+   * @return the names or null if the path uses anything else than names
+   */
+  static String[] parseNames( String path ) {
+    if ( !path.startsWith( "$" ) ) {
+      return null;
+    }
+    List<String> names = new ArrayList<>();
+    int pos = 1;
+    while ( pos < path.length() ) {
+      char c = path.charAt( pos );
+      if ( c == '.' ) {
+        int end = pos + 1;
+        while ( end < path.length() && path.charAt( end ) != '.' && path.charAt( end ) != '[' ) {
+          end++;
+        }
+        String name = path.substring( pos + 1, end );
+        if ( name.isEmpty() || name.equals( "*" ) ) {
+          return null;
+        }
+        names.add( name );
+        pos = end;
+      } else if ( c == '[' && pos + 1 < path.length()
+        && ( path.charAt( pos + 1 ) == '\'' || path.charAt( pos + 1 ) == '"' ) ) {
+        char quote = path.charAt( pos + 1 );
+        int end = path.indexOf( quote, pos + 2 );
+        if ( end < 0 || end + 1 >= path.length() || path.charAt( end + 1 ) != ']' ) {
+          return null;
+        }
+        names.add( path.substring( pos + 2, end ) );
+        pos = end + 2;
+      } else {
+        return null;
+      }
+    }
+    return names.toArray( new String[ names.size() ] );
+  }
+
+  /**
+   * @return true if the paths of the fields can be evaluated on a token stream
+   */
+  public boolean isSupported() {
+    return rowPath != null;
+  }
+
+  public boolean isIgnoreMissingPath() {
+    return ignoreMissingPath;
+  }
+
+  Configuration getJsonConfiguration() {
+    return jsonConfiguration;
+  }
+
+  /**
+   * Start reading a document. The rows are read from the stream as they are requested from the returned row set, the
+   * stream is closed once all the rows have been read.
+   */
+  @Override
+  public RowSet parse( InputStream in ) throws KettleException {
+    try {
+      JsonParser parser = JSON_FACTORY.createParser( in );
+      return new StreamingRowSet( parser, moveToRows( parser ) );
+    } catch ( IOException e ) {
+      throw new JsonInputException( e );
+    }
+  }
+
+  /**
+   * Move the parser to the start of the array (or object) that holds the rows.
+   *
+   * @return false if the document doesn't contain the path to the rows
+   */
+  private boolean moveToRows( JsonParser parser ) throws IOException {
+    JsonToken token = parser.nextToken();
+    for ( String name : rowPath ) {
+      if ( token != JsonToken.START_OBJECT ) {
+        return false;
+      }
+      token = null;
+      while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+        boolean found = name.equals( parser.getCurrentName() );
+        JsonToken value = parser.nextToken();
+        if ( found ) {
+          token = value;
+          break;
+        }
+        parser.skipChildren();
+      }
+      if ( token == null ) {
+        return false;
+      }
+    }
+    return token == JsonToken.START_ARRAY || token == JsonToken.START_OBJECT;
+  }
+
+  /**
+   * Read the value at the current token the way json-smart, the JsonPath provider, would have parsed it.
+   */
+  static Object readValue( JsonParser parser ) throws IOException {
+    switch ( parser.getCurrentToken() ) {
+      case START_OBJECT:
+        Map<String, Object> object = new LinkedHashMap<>();
+        while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          object.put( name, readValue( parser ) );
+        }
+        return object;
+      case START_ARRAY:
+        JSONArray array = new JSONArray();
+        while ( parser.nextToken() != JsonToken.END_ARRAY ) {
+          array.add( readValue( parser ) );
+        }
+        return array;
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+        return parser.getNumberValue();
+      case VALUE_NUMBER_FLOAT:
+        if ( parser.getTextLength() > MAX_DOUBLE_LENGTH ) {
+          return new BigDecimal( parser.getText() );
+        }
+        return parser.getDoubleValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      default:
+        return null;
+    }
+  }
+
+  private Object[] evaluate( Object element ) {
+    Object[] row = new Object[ elementPaths.length ];
+    for ( int i = 0; i < elementPaths.length; i++ ) {
+      if ( elementPaths[ i ] == null ) {
+        row[ i ] = element;
+      } else {
+        Object result = elementPaths[ i ].read( element, jsonConfiguration );
+        if ( result instanceof List ) {
+          List<?> list = (List<?>) result;
+          row[ i ] = list.isEmpty() ? null : list.get( 0 );
+        } else {
+          row[ i ] = result;
+        }
+      }
+    }
+    return row;
+  }
+
+  /**
+   * Thrown from {@link RowSet#getRow()} when the document can't be read, the cause is a {@link JsonInputException}.
+   */
+  public static class StreamingReadException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    StreamingReadException( JsonInputException cause ) {
+      super( cause );
+    }
+
+    @Override
+    public synchronized JsonInputException getCause() {
+      return (JsonInputException) super.getCause();
+    }
+  }
+
+  private class StreamingRowSet extends SingleRowRowSet {
+    private final JsonParser parser;
+    private final boolean hasRows;
+    private boolean done;
+    private long elementCount;
+    private Object[] pendingNullRow;
+    private final boolean[] found;
+
+    StreamingRowSet( JsonParser parser, boolean hasRows ) {
+      super();
+      this.parser = parser;
+      this.hasRows = hasRows;
+      this.found = new boolean[ elementPaths.length ];
+    }
+
+    @Override
+    public Object[] getRow() {
+      if ( done ) {
+        return null;
+      }
+      try {
+        Object[] row;
+        do {
+          row = nextRow();
+        } while ( row == null && !done );
+        return row;
+      } catch ( IOException e ) {
+        close();
+        throw new StreamingReadException( new JsonInputException( e ) );
+      }
+    }
+
+    /**
+     * @return the next row, null if the element was skipped or at the end of the rows
+     */
+    private Object[] nextRow() throws IOException {
+      if ( !hasRows ) {
+        return finish();
+      }
+      JsonToken token = parser.nextToken();
+      if ( token == JsonToken.FIELD_NAME ) {
+        // [*] on an object iterates over its values
+        token = parser.nextToken();
+      }
+      if ( token == null || token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT ) {
+        return finish();
+      }
+      Object[] row = evaluate( readValue( parser ) );
+      elementCount++;
+
+      boolean allNulls = !includeNulls;
+      for ( int i = 0; i < row.length; i++ ) {
+        if ( row[ i ] != null ) {
+          found[ i ] = true;
+          allNulls = false;
+        }
+      }
+      if ( !allNulls ) {
+        pendingNullRow = null;
+        return row;
+      }
+      // A row without values is only kept if it turns out to be the only row of the document
+      pendingNullRow = elementCount == 1 ? row : null;
+      return null;
+    }
+
+    private Object[] finish() {
+      close();
+      if ( !ignoreMissingPath ) {
+        for ( int i = 0; i < found.length; i++ ) {
+          if ( !found[ i ] ) {
+            throw new StreamingReadException( new JsonInputException(
+              BaseMessages.getString( PKG, "JsonReader.Error.CanNotFindPath", inputFields[ i ].getPath() ) ) );
+          }
+        }
+      }
+      if ( log.isDetailed() ) {
+        log.logDetailed( BaseMessages.getString( PKG, "JsonInput.Log.NrRecords", elementCount ) );
+      }
+      if ( elementCount == 0 ) {
+        return new Object[ elementPaths.length ];
+      }
+      return elementCount == 1 ? pendingNullRow : null;
+    }
+
+    private void close() {
+      done = true;
+      try {
+        parser.close();
+      } catch ( IOException e ) {
+        // Nothing more to read, nothing to report
+      }
+    }
+
+    @Override
+    public int size() {
+      return done ? 0 : 1;
+    }
+
+    @Override
+    public boolean isDone() {
+      return done;
+    }
+
+    @Override
+    public void clear() {
+      close();
+    }
+  }
+}
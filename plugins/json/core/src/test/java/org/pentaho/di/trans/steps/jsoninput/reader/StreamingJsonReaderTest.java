@@ -0,0 +1,130 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.trans.steps.jsoninput.reader;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.logging.LogChannelInterface;
+import org.pentaho.di.trans.steps.jsoninput.JsonInput;
+import org.pentaho.di.trans.steps.jsoninput.JsonInputField;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StreamingJsonReaderTest {
+  private static final String BOOKS = "{ \"store\": { \"name\": \"shop\", \"book\": [ "
+    + "{ \"title\": \"A\", \"price\": 8.95, \"tags\": [ \"x\" ], \"author\": { \"name\": \"Nigel\" } }, "
+    + "{ \"title\": \"B\", \"price\": 12, \"author\": { \"name\": \"Evelyn\" } }, "
+    + "{ \"title\": \"C\", \"price\": 22.99 } ] } }";
+
+  private final LogChannelInterface logMock = mock( LogChannelInterface.class );
+  private JsonInput step;
+
+  @Before
+  public void setUp() {
+    step = mock( JsonInput.class );
+    when( step.environmentSubstitute( anyString(), anyBoolean() ) ).thenAnswer( i -> i.getArguments()[ 0 ] );
+  }
+
+  private StreamingJsonReader createReader( boolean ignoreMissingPath, String... paths ) {
+    JsonInputField[] fields = new JsonInputField[ paths.length ];
+    for ( int i = 0; i < paths.length; i++ ) {
+      fields[ i ] = new JsonInputField( "field" + i );
+      fields[ i ].setPath( paths[ i ] );
+    }
+    return new StreamingJsonReader( step, fields, true, ignoreMissingPath, false, logMock );
+  }
+
+  private static List<Object[]> readAll( StreamingJsonReader reader, String json ) throws Exception {
+    RowSet rowSet = reader.parse( new ByteArrayInputStream( json.getBytes( StandardCharsets.UTF_8 ) ) );
+    List<Object[]> rows = new ArrayList<>();
+    Object[] row;
+    while ( ( row = rowSet.getRow() ) != null ) {
+      rows.add( row );
+    }
+    assertTrue( rowSet.isDone() );
+    return rows;
+  }
+
+  @Test
+  public void testSupportedPaths() {
+    assertTrue( createReader( true, "$.store.book[*].title", "$.store.book[*].author.name" ).isSupported() );
+    assertTrue( createReader( true, "$['store'].book[*]" ).isSupported() );
+    assertTrue( createReader( true, "$[*].id" ).isSupported() );
+
+    assertFalse( createReader( true, "$.store.name" ).isSupported() );
+    assertFalse( createReader( true, "$.store.book[*].title", "$.other[*].title" ).isSupported() );
+    assertFalse( createReader( true, "$..book[*].title" ).isSupported() );
+    assertFalse( createReader( true, "$.store.book[*].tags[*]" ).isSupported() );
+    assertFalse( createReader( true, "$.store.book[?(@.price < 10)].title" ).isSupported() );
+  }
+
+  @Test
+  public void testParseNames() {
+    assertArrayEquals( new String[] { "a", "b c", "d" }, StreamingJsonReader.parseNames( "$.a['b c'].d" ) );
+    assertArrayEquals( new String[ 0 ], StreamingJsonReader.parseNames( "$" ) );
+    assertNull( StreamingJsonReader.parseNames( "$.a[0]" ) );
+    assertNull( StreamingJsonReader.parseNames( "$.*" ) );
+  }
+
+  @Test
+  public void testRowPerElement() throws Exception {
+    StreamingJsonReader reader =
+      createReader( true, "$.store.book[*].title", "$.store.book[*].price", "$.store.book[*].author.name" );
+    List<Object[]> rows = readAll( reader, BOOKS );
+
+    assertEquals( 3, rows.size() );
+    assertArrayEquals( new Object[] { "A", 8.95, "Nigel" }, rows.get( 0 ) );
+    assertArrayEquals( new Object[] { "B", 12, "Evelyn" }, rows.get( 1 ) );
+    assertArrayEquals( new Object[] { "C", 22.99, null }, rows.get( 2 ) );
+  }
+
+  @Test
+  public void testWholeElementIsReturnedAsJson() throws Exception {
+    StreamingJsonReader reader = createReader( true, "$.store.book[*].tags" );
+    List<Object[]> rows = readAll( reader, BOOKS );
+
+    // books without tags are all-null rows and are skipped
+    assertEquals( 1, rows.size() );
+    assertEquals( "[\"x\"]", rows.get( 0 )[ 0 ].toString() );
+  }
+
+  @Test
+  public void testMissingRowsGiveOneEmptyRow() throws Exception {
+    StreamingJsonReader reader = createReader( true, "$.other[*].title" );
+    List<Object[]> rows = readAll( reader, BOOKS );
+
+    assertEquals( 1, rows.size() );
+    assertArrayEquals( new Object[] { null }, rows.get( 0 ) );
+  }
+
+  @Test( expected = StreamingJsonReader.StreamingReadException.class )
+  public void testMissingPathFailsWhenNotIgnored() throws Exception {
+    StreamingJsonReader reader = createReader( false, "$.store.book[*].title", "$.store.book[*].isbn" );
+    readAll( reader, BOOKS );
+  }
+}
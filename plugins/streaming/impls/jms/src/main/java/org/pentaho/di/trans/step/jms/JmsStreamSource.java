@@ -40,11 +40,14 @@ public class JmsStreamSource extends BlockingQueueStreamSource<List<Object>> {
   private final int receiverTimeout;
   private JMSConsumer consumer;
   private AtomicBoolean closed = new AtomicBoolean( false );
+  // only used by the receive loop
+  private final DateFormat timestampFormat = new SimpleDateFormat( "MM-dd-yyyy HH:mm:ss a" );
 
   JmsStreamSource( BaseStreamStep streamStep, JmsDelegate jmsDelegate, int receiverTimeout ) {
     super( streamStep );
     this.jmsDelegate = jmsDelegate;
     this.receiverTimeout = receiverTimeout;
+    timestampFormat.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
   }
 
   @Override public void open() {
@@ -55,21 +58,27 @@ public class JmsStreamSource extends BlockingQueueStreamSource<List<Object>> {
 
   /**
    * Will receive messages from consumer.  If timeout is hit, consumer.receive(timeout)
-   * will return null, and the observable will be completed.
+   * will return null, and the observable will be completed. No message is received while the sub-transformations are
+   * behind, the broker keeps them.
    */
   private void receiveLoop() {
     Message message;
     try {
-      while ( !closed.get() && ( message = consumer.receive( receiverTimeout ) ) != null ) {
-        streamStep.logDebug( message.toString() );
-        Date date = new Date( message.getJMSTimestamp() );
-        DateFormat formatter = new SimpleDateFormat( "MM-dd-yyyy HH:mm:ss a" );
-        formatter.setTimeZone( TimeZone.getTimeZone( "UTC" ) );
-        String jmsTimestamp = formatter.format( date );
+      while ( !closed.get() ) {
+        waitForCapacity();
+        if ( closed.get() || ( message = consumer.receive( receiverTimeout ) ) == null ) {
+          break;
+        }
+        if ( streamStep.isDebug() ) {
+          streamStep.logDebug( message.toString() );
+        }
+        String jmsTimestamp = timestampFormat.format( new Date( message.getJMSTimestamp() ) );
         acceptRows( singletonList( Arrays.asList( message.getBody( Object.class ), jmsDelegate.destinationName, message.getJMSMessageID(), jmsTimestamp, message.getJMSRedelivered() ) ) );
       }
     } catch ( JMSRuntimeException | JMSException jmsException ) {
       error( jmsException );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
     } finally {
       super.close();
       if ( !closed.get() ) {
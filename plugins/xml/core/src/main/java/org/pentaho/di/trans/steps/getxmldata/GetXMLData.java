@@ -982,11 +982,141 @@ public class GetXMLData extends BaseStep implements StepInterface {
         }
       }
 
+      // Derive the prune path from the loop path when streaming is requested and the XPaths allow it
+      if ( data.prunePath == null && !meta.isInFields()
+        && "Y".equalsIgnoreCase( getVariable( Const.KETTLE_XML_INPUT_STREAMING, "N" ) ) ) {
+        data.prunePath = getStreamingPrunePath();
+        if ( data.prunePath == null ) {
+          logBasic( BaseMessages.getString( PKG, "GetXMLData.Log.StreamingMode.NotPossible" ) );
+        } else if ( log.isDetailed() ) {
+          logDetailed( BaseMessages.getString( PKG, "GetXMLData.Log.StreamingMode.PrunePath", data.prunePath ) );
+        }
+      }
+
       return true;
     }
     return false;
   }
 
+  /**
+   * Find out if the document can be processed in streaming mode without a prune path set by the user, i.e. if every row
+   * can be produced while the document is read, with only the current loop element and its ancestors in memory.
+   *
+   * @return the prune path to use or null if the loop path or a field path needs more of the document
+   */
+  private String getStreamingPrunePath() {
+    if ( meta.isNamespaceAware() ) {
+      return null;
+    }
+    String elementPath = getLoopElementPath( data.PathValue );
+    if ( elementPath == null ) {
+      return null;
+    }
+    for ( int i = 0; i < data.nrInputFields; i++ ) {
+      if ( !isStreamableFieldXPath( meta.getInputFields()[i].getResolvedXPath() ) ) {
+        return null;
+      }
+    }
+    return elementPath;
+  }
+
+  /**
+   * Get the element path of a loop XPath made of element names with optional predicates on attributes, like
+   * <code>/catalog/item[@type='book']</code>. The predicates are left out: they are still evaluated on each element.
+   *
+   * @return the element path, /catalog/item in the example, or null if the loop XPath uses anything else
+   */
+  static String getLoopElementPath( String loopXPath ) {
+    if ( loopXPath == null || !loopXPath.startsWith( GetXMLDataMeta.N0DE_SEPARATOR ) ) {
+      return null;
+    }
+    StringBuilder elementPath = new StringBuilder();
+    int pos = 0;
+    while ( pos < loopXPath.length() ) {
+      // a step starts with a separator and an element name
+      if ( loopXPath.charAt( pos ) != '/' ) {
+        return null;
+      }
+      int start = ++pos;
+      while ( pos < loopXPath.length() && isNameChar( loopXPath.charAt( pos ) ) ) {
+        pos++;
+      }
+      if ( pos == start || loopXPath.substring( start, pos ).startsWith( "." ) ) {
+        return null;
+      }
+      elementPath.append( '/' ).append( loopXPath, start, pos );
+
+      // followed by predicates on attributes
+      while ( pos < loopXPath.length() && loopXPath.charAt( pos ) == '[' ) {
+        if ( pos + 1 >= loopXPath.length() || loopXPath.charAt( pos + 1 ) != '@' ) {
+          return null;
+        }
+        pos = skipPredicate( loopXPath, pos );
+        if ( pos < 0 ) {
+          return null;
+        }
+      }
+    }
+    return elementPath.toString();
+  }
+
+  private static boolean isNameChar( char c ) {
+    return Character.isLetterOrDigit( c ) || c == '_' || c == '-' || c == '.';
+  }
+
+  /**
+   * @return the position after the predicate starting at pos, -1 if it doesn't end
+   */
+  private static int skipPredicate( String xpath, int pos ) {
+    char quote = 0;
+    for ( int i = pos + 1; i < xpath.length(); i++ ) {
+      char c = xpath.charAt( i );
+      if ( quote != 0 ) {
+        if ( c == quote ) {
+          quote = 0;
+        }
+      } else if ( c == '\'' || c == '"' ) {
+        quote = c;
+      } else if ( c == '[' ) {
+        return -1;
+      } else if ( c == ']' ) {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * A field XPath can be evaluated in streaming mode if it only looks at the loop element, its descendants and the
+   * attributes of its ancestors: the elements before the loop element are gone and the ones after it aren't read yet.
+   */
+  static boolean isStreamableFieldXPath( String xpath ) {
+    if ( xpath == null ) {
+      return true;
+    }
+    if ( xpath.contains( "::" ) || xpath.contains( "//" ) ) {
+      return false;
+    }
+    // no absolute paths, also not inside functions or predicates
+    for ( int i = 0; i < xpath.length(); i++ ) {
+      if ( xpath.charAt( i ) == '/' && ( i == 0 || "([,|=<>+ ".indexOf( xpath.charAt( i - 1 ) ) >= 0 ) ) {
+        return false;
+      }
+    }
+    if ( xpath.contains( ".." ) ) {
+      // only a chain of parents possibly ending with an attribute: ../../@id
+      String[] steps = xpath.split( GetXMLDataMeta.N0DE_SEPARATOR );
+      for ( int i = 0; i < steps.length; i++ ) {
+        boolean parent = steps[i].equals( ".." );
+        boolean attribute = steps[i].startsWith( GetXMLDataMeta.AT ) && !steps[i].contains( "." );
+        if ( !parent && !( attribute && i == steps.length - 1 ) ) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
   public void dispose( StepMetaInterface smi, StepDataInterface sdi ) {
     meta = (GetXMLDataMeta) smi;
     data = (GetXMLDataData) sdi;
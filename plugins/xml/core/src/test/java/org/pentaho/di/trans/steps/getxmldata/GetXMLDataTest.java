@@ -39,6 +39,9 @@ import org.pentaho.di.trans.steps.dummytrans.DummyTransMeta;
 import org.pentaho.di.trans.steps.injector.InjectorMeta;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -392,6 +395,37 @@ public class GetXMLDataTest {
     checkRows( goldenImageRows, resultRows );
   }
 
+  @Test
+  public void testGetLoopElementPath() {
+    assertEquals( "/catalog/item", GetXMLData.getLoopElementPath( "/catalog/item" ) );
+    assertEquals( "/catalog/item", GetXMLData.getLoopElementPath( "/catalog[@v='1/2']/item[@type=\"book\"][@id]" ) );
+    assertEquals( "/a-b/c_d.e", GetXMLData.getLoopElementPath( "/a-b/c_d.e" ) );
+
+    assertNull( GetXMLData.getLoopElementPath( "catalog/item" ) );
+    assertNull( GetXMLData.getLoopElementPath( "//item" ) );
+    assertNull( GetXMLData.getLoopElementPath( "/catalog/*" ) );
+    assertNull( GetXMLData.getLoopElementPath( "/catalog/item[1]" ) );
+    assertNull( GetXMLData.getLoopElementPath( "/catalog/item[@id='1'" ) );
+    assertNull( GetXMLData.getLoopElementPath( "/catalog/ns:item" ) );
+    assertNull( GetXMLData.getLoopElementPath( "/catalog/item/.." ) );
+  }
+
+  @Test
+  public void testIsStreamableFieldXPath() {
+    assertTrue( GetXMLData.isStreamableFieldXPath( "name" ) );
+    assertTrue( GetXMLData.isStreamableFieldXPath( "@id" ) );
+    assertTrue( GetXMLData.isStreamableFieldXPath( "price/@currency" ) );
+    assertTrue( GetXMLData.isStreamableFieldXPath( "." ) );
+    assertTrue( GetXMLData.isStreamableFieldXPath( "../../@version" ) );
+    assertTrue( GetXMLData.isStreamableFieldXPath( "count(tags/tag)" ) );
+
+    assertFalse( GetXMLData.isStreamableFieldXPath( "/catalog/@version" ) );
+    assertFalse( GetXMLData.isStreamableFieldXPath( "count(/catalog/item)" ) );
+    assertFalse( GetXMLData.isStreamableFieldXPath( "..//name" ) );
+    assertFalse( GetXMLData.isStreamableFieldXPath( "../header/name" ) );
+    assertFalse( GetXMLData.isStreamableFieldXPath( "following-sibling::item/@id" ) );
+  }
+
   @Test
   public void testInit() throws Exception {
 
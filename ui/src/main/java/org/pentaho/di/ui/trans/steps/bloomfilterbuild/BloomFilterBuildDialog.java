@@ -0,0 +1,330 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.ui.trans.steps.bloomfilterbuild;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.ShellAdapter;
+import org.eclipse.swt.events.ShellEvent;
+import org.eclipse.swt.layout.FormAttachment;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.layout.FormLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStepMeta;
+import org.pentaho.di.trans.step.StepDialogInterface;
+import org.pentaho.di.trans.steps.bloomfilterbuild.BloomFilterBuildMeta;
+import org.pentaho.di.ui.core.dialog.ErrorDialog;
+import org.pentaho.di.ui.core.widget.ColumnInfo;
+import org.pentaho.di.ui.core.widget.TableView;
+import org.pentaho.di.ui.core.widget.TextVar;
+import org.pentaho.di.ui.trans.step.BaseStepDialog;
+
+public class BloomFilterBuildDialog extends BaseStepDialog implements StepDialogInterface {
+  private static Class<?> PKG = BloomFilterBuildMeta.class; // for i18n purposes, needed by Translator2!!
+
+  private BloomFilterBuildMeta input;
+
+  private Label wlExpectedKeys;
+  private TextVar wExpectedKeys;
+  private FormData fdlExpectedKeys, fdExpectedKeys;
+
+  private Label wlFalsePositiveRate;
+  private TextVar wFalsePositiveRate;
+  private FormData fdlFalsePositiveRate, fdFalsePositiveRate;
+
+  private Label wlFilterField;
+  private TextVar wFilterField;
+  private FormData fdlFilterField, fdFilterField;
+
+  private Label wlKeys;
+  private TableView wKeys;
+  private FormData fdlKeys, fdKeys;
+
+  public BloomFilterBuildDialog( Shell parent, Object in, TransMeta transMeta, String sname ) {
+    super( parent, (BaseStepMeta) in, transMeta, sname );
+    input = (BloomFilterBuildMeta) in;
+  }
+
+  public String open() {
+    Shell parent = getParent();
+    Display display = parent.getDisplay();
+
+    shell = new Shell( parent, SWT.DIALOG_TRIM | SWT.RESIZE | SWT.MAX | SWT.MIN );
+    props.setLook( shell );
+    setShellImage( shell, input );
+
+    ModifyListener lsMod = new ModifyListener() {
+      public void modifyText( ModifyEvent e ) {
+        input.setChanged();
+      }
+    };
+    changed = input.hasChanged();
+
+    FormLayout formLayout = new FormLayout();
+    formLayout.marginWidth = Const.FORM_MARGIN;
+    formLayout.marginHeight = Const.FORM_MARGIN;
+
+    shell.setLayout( formLayout );
+    shell.setText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.Shell.Label" ) );
+
+    int middle = props.getMiddlePct();
+    int margin = Const.MARGIN;
+
+    // Stepname line
+    wlStepname = new Label( shell, SWT.RIGHT );
+    wlStepname.setText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.Stepname.Label" ) );
+    props.setLook( wlStepname );
+    fdlStepname = new FormData();
+    fdlStepname.left = new FormAttachment( 0, 0 );
+    fdlStepname.right = new FormAttachment( middle, -margin );
+    fdlStepname.top = new FormAttachment( 0, margin );
+    wlStepname.setLayoutData( fdlStepname );
+    wStepname = new Text( shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wStepname.setText( stepname );
+    props.setLook( wStepname );
+    wStepname.addModifyListener( lsMod );
+    fdStepname = new FormData();
+    fdStepname.left = new FormAttachment( middle, 0 );
+    fdStepname.top = new FormAttachment( 0, margin );
+    fdStepname.right = new FormAttachment( 100, 0 );
+    wStepname.setLayoutData( fdStepname );
+
+    // Expected keys line
+    wlExpectedKeys = new Label( shell, SWT.RIGHT );
+    wlExpectedKeys.setText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.ExpectedKeys.Label" ) );
+    props.setLook( wlExpectedKeys );
+    fdlExpectedKeys = new FormData();
+    fdlExpectedKeys.left = new FormAttachment( 0, 0 );
+    fdlExpectedKeys.right = new FormAttachment( middle, -margin );
+    fdlExpectedKeys.top = new FormAttachment( wStepname, margin );
+    wlExpectedKeys.setLayoutData( fdlExpectedKeys );
+    wExpectedKeys = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wExpectedKeys.setToolTipText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.ExpectedKeys.Tooltip" ) );
+    props.setLook( wExpectedKeys );
+    wExpectedKeys.addModifyListener( lsMod );
+    fdExpectedKeys = new FormData();
+    fdExpectedKeys.left = new FormAttachment( middle, 0 );
+    fdExpectedKeys.top = new FormAttachment( wStepname, margin );
+    fdExpectedKeys.right = new FormAttachment( 100, 0 );
+    wExpectedKeys.setLayoutData( fdExpectedKeys );
+
+    // False positive rate line
+    wlFalsePositiveRate = new Label( shell, SWT.RIGHT );
+    wlFalsePositiveRate.setText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.FalsePositiveRate.Label" ) );
+    props.setLook( wlFalsePositiveRate );
+    fdlFalsePositiveRate = new FormData();
+    fdlFalsePositiveRate.left = new FormAttachment( 0, 0 );
+    fdlFalsePositiveRate.right = new FormAttachment( middle, -margin );
+    fdlFalsePositiveRate.top = new FormAttachment( wExpectedKeys, margin );
+    wlFalsePositiveRate.setLayoutData( fdlFalsePositiveRate );
+    wFalsePositiveRate = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wFalsePositiveRate.setToolTipText( BaseMessages.getString(
+      PKG, "BloomFilterBuildDialog.FalsePositiveRate.Tooltip" ) );
+    props.setLook( wFalsePositiveRate );
+    wFalsePositiveRate.addModifyListener( lsMod );
+    fdFalsePositiveRate = new FormData();
+    fdFalsePositiveRate.left = new FormAttachment( middle, 0 );
+    fdFalsePositiveRate.top = new FormAttachment( wExpectedKeys, margin );
+    fdFalsePositiveRate.right = new FormAttachment( 100, 0 );
+    wFalsePositiveRate.setLayoutData( fdFalsePositiveRate );
+
+    // Filter field line
+    wlFilterField = new Label( shell, SWT.RIGHT );
+    wlFilterField.setText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.FilterField.Label" ) );
+    props.setLook( wlFilterField );
+    fdlFilterField = new FormData();
+    fdlFilterField.left = new FormAttachment( 0, 0 );
+    fdlFilterField.right = new FormAttachment( middle, -margin );
+    fdlFilterField.top = new FormAttachment( wFalsePositiveRate, margin );
+    wlFilterField.setLayoutData( fdlFilterField );
+    wFilterField = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wFilterField );
+    wFilterField.addModifyListener( lsMod );
+    fdFilterField = new FormData();
+    fdFilterField.left = new FormAttachment( middle, 0 );
+    fdFilterField.top = new FormAttachment( wFalsePositiveRate, margin );
+    fdFilterField.right = new FormAttachment( 100, 0 );
+    wFilterField.setLayoutData( fdFilterField );
+
+    // Some buttons
+    wOK = new Button( shell, SWT.PUSH );
+    wOK.setText( BaseMessages.getString( PKG, "System.Button.OK" ) );
+    wGet = new Button( shell, SWT.PUSH );
+    wGet.setText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.GetFields.Button" ) );
+    wCancel = new Button( shell, SWT.PUSH );
+    wCancel.setText( BaseMessages.getString( PKG, "System.Button.Cancel" ) );
+
+    setButtonPositions( new Button[] { wOK, wCancel, wGet }, margin, null );
+
+    // The key fields
+    wlKeys = new Label( shell, SWT.NONE );
+    wlKeys.setText( BaseMessages.getString( PKG, "BloomFilterBuildDialog.Keys.Label" ) );
+    props.setLook( wlKeys );
+    fdlKeys = new FormData();
+    fdlKeys.left = new FormAttachment( 0, 0 );
+    fdlKeys.top = new FormAttachment( wFilterField, margin );
+    wlKeys.setLayoutData( fdlKeys );
+
+    int nrKeyRows = ( input.getKeyFields() != null ? input.getKeyFields().length : 1 );
+
+    ColumnInfo[] ciKeys =
+      new ColumnInfo[] { new ColumnInfo(
+        BaseMessages.getString( PKG, "BloomFilterBuildDialog.ColumnInfo.KeyField" ),
+        ColumnInfo.COLUMN_TYPE_TEXT, false ), };
+
+    wKeys =
+      new TableView( transMeta, shell, SWT.BORDER | SWT.FULL_SELECTION | SWT.MULTI | SWT.V_SCROLL | SWT.H_SCROLL,
+        ciKeys, nrKeyRows, lsMod, props );
+
+    fdKeys = new FormData();
+    fdKeys.top = new FormAttachment( wlKeys, margin );
+    fdKeys.left = new FormAttachment( 0, 0 );
+    fdKeys.bottom = new FormAttachment( wOK, -2 * margin );
+    fdKeys.right = new FormAttachment( 100, 0 );
+    wKeys.setLayoutData( fdKeys );
+
+    // Add listeners
+    lsCancel = new Listener() {
+      public void handleEvent( Event e ) {
+        cancel();
+      }
+    };
+    lsGet = new Listener() {
+      public void handleEvent( Event e ) {
+        get();
+      }
+    };
+    lsOK = new Listener() {
+      public void handleEvent( Event e ) {
+        ok();
+      }
+    };
+
+    wCancel.addListener( SWT.Selection, lsCancel );
+    wGet.addListener( SWT.Selection, lsGet );
+    wOK.addListener( SWT.Selection, lsOK );
+
+    lsDef = new SelectionAdapter() {
+      public void widgetDefaultSelected( SelectionEvent e ) {
+        ok();
+      }
+    };
+
+    wStepname.addSelectionListener( lsDef );
+    wExpectedKeys.addSelectionListener( lsDef );
+    wFalsePositiveRate.addSelectionListener( lsDef );
+    wFilterField.addSelectionListener( lsDef );
+
+    // Detect X or ALT-F4 or something that kills this window...
+    shell.addShellListener( new ShellAdapter() {
+      public void shellClosed( ShellEvent e ) {
+        cancel();
+      }
+    } );
+
+    // Set the shell size, based upon previous time...
+    setSize();
+
+    getData();
+    input.setChanged( changed );
+
+    shell.open();
+    while ( !shell.isDisposed() ) {
+      if ( !display.readAndDispatch() ) {
+        display.sleep();
+      }
+    }
+    return stepname;
+  }
+
+  /**
+   * Copy information from the meta-data input to the dialog fields.
+   */
+  public void getData() {
+    wExpectedKeys.setText( Const.NVL( input.getExpectedKeys(), "" ) );
+    wFalsePositiveRate.setText( Const.NVL( input.getFalsePositiveRate(), "" ) );
+    wFilterField.setText( Const.NVL( input.getFilterField(), "" ) );
+
+    if ( input.getKeyFields() != null ) {
+      for ( int i = 0; i < input.getKeyFields().length; i++ ) {
+        TableItem item = wKeys.table.getItem( i );
+        if ( input.getKeyFields()[i] != null ) {
+          item.setText( 1, input.getKeyFields()[i] );
+        }
+      }
+    }
+    wKeys.setRowNums();
+    wKeys.optWidth( true );
+
+    wStepname.selectAll();
+    wStepname.setFocus();
+  }
+
+  private void cancel() {
+    stepname = null;
+    input.setChanged( changed );
+    dispose();
+  }
+
+  private void ok() {
+    if ( Utils.isEmpty( wStepname.getText() ) ) {
+      return;
+    }
+
+    input.setExpectedKeys( wExpectedKeys.getText() );
+    input.setFalsePositiveRate( wFalsePositiveRate.getText() );
+    input.setFilterField( wFilterField.getText() );
+
+    int nrKeys = wKeys.nrNonEmpty();
+    input.allocate( nrKeys );
+    for ( int i = 0; i < nrKeys; i++ ) {
+      TableItem item = wKeys.getNonEmpty( i );
+      //CHECKSTYLE:Indentation:OFF
+      input.getKeyFields()[i] = item.getText( 1 );
+    }
+
+    stepname = wStepname.getText(); // return value
+
+    dispose();
+  }
+
+  private void get() {
+    try {
+      RowMetaInterface r = transMeta.getPrevStepFields( stepname );
+      if ( r != null && !r.isEmpty() ) {
+        BaseStepDialog.getFieldsFromPrevious( r, wKeys, 1, new int[] { 1 }, new int[] {}, -1, -1, null );
+      }
+    } catch ( KettleException ke ) {
+      new ErrorDialog( shell, BaseMessages.getString(
+        PKG, "BloomFilterBuildDialog.ErrorGettingFields.DialogTitle" ), BaseMessages.getString(
+        PKG, "BloomFilterBuildDialog.ErrorGettingFields.DialogMessage" ), ke );
+    }
+  }
+}
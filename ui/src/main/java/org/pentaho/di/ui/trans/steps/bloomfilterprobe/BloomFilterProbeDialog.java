@@ -0,0 +1,340 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2024 by Hitachi Vantara, LLC : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2029-07-20
+ ******************************************************************************/
+
+
+package org.pentaho.di.ui.trans.steps.bloomfilterprobe;
+
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CCombo;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.ShellAdapter;
+import org.eclipse.swt.events.ShellEvent;
+import org.eclipse.swt.layout.FormAttachment;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.layout.FormLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStepMeta;
+import org.pentaho.di.trans.step.StepDialogInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.errorhandling.StreamInterface;
+import org.pentaho.di.trans.steps.bloomfilterprobe.BloomFilterProbeMeta;
+import org.pentaho.di.ui.core.dialog.ErrorDialog;
+import org.pentaho.di.ui.core.widget.ColumnInfo;
+import org.pentaho.di.ui.core.widget.TableView;
+import org.pentaho.di.ui.core.widget.TextVar;
+import org.pentaho.di.ui.trans.step.BaseStepDialog;
+
+public class BloomFilterProbeDialog extends BaseStepDialog implements StepDialogInterface {
+  private static Class<?> PKG = BloomFilterProbeMeta.class; // for i18n purposes, needed by Translator2!!
+
+  private BloomFilterProbeMeta input;
+
+  private Label wlStep;
+  private CCombo wStep;
+  private FormData fdlStep, fdStep;
+
+  private Label wlFilterField;
+  private TextVar wFilterField;
+  private FormData fdlFilterField, fdFilterField;
+
+  private Label wlResultField;
+  private TextVar wResultField;
+  private FormData fdlResultField, fdResultField;
+
+  private Label wlKeys;
+  private TableView wKeys;
+  private FormData fdlKeys, fdKeys;
+
+  public BloomFilterProbeDialog( Shell parent, Object in, TransMeta transMeta, String sname ) {
+    super( parent, (BaseStepMeta) in, transMeta, sname );
+    input = (BloomFilterProbeMeta) in;
+  }
+
+  public String open() {
+    Shell parent = getParent();
+    Display display = parent.getDisplay();
+
+    shell = new Shell( parent, SWT.DIALOG_TRIM | SWT.RESIZE | SWT.MAX | SWT.MIN );
+    props.setLook( shell );
+    setShellImage( shell, input );
+
+    ModifyListener lsMod = new ModifyListener() {
+      public void modifyText( ModifyEvent e ) {
+        input.setChanged();
+      }
+    };
+    changed = input.hasChanged();
+
+    FormLayout formLayout = new FormLayout();
+    formLayout.marginWidth = Const.FORM_MARGIN;
+    formLayout.marginHeight = Const.FORM_MARGIN;
+
+    shell.setLayout( formLayout );
+    shell.setText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.Shell.Label" ) );
+
+    int middle = props.getMiddlePct();
+    int margin = Const.MARGIN;
+
+    // Stepname line
+    wlStepname = new Label( shell, SWT.RIGHT );
+    wlStepname.setText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.Stepname.Label" ) );
+    props.setLook( wlStepname );
+    fdlStepname = new FormData();
+    fdlStepname.left = new FormAttachment( 0, 0 );
+    fdlStepname.right = new FormAttachment( middle, -margin );
+    fdlStepname.top = new FormAttachment( 0, margin );
+    wlStepname.setLayoutData( fdlStepname );
+    wStepname = new Text( shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wStepname.setText( stepname );
+    props.setLook( wStepname );
+    wStepname.addModifyListener( lsMod );
+    fdStepname = new FormData();
+    fdStepname.left = new FormAttachment( middle, 0 );
+    fdStepname.top = new FormAttachment( 0, margin );
+    fdStepname.right = new FormAttachment( 100, 0 );
+    wStepname.setLayoutData( fdStepname );
+
+    // Filter step line
+    wlStep = new Label( shell, SWT.RIGHT );
+    wlStep.setText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.FilterStep.Label" ) );
+    props.setLook( wlStep );
+    fdlStep = new FormData();
+    fdlStep.left = new FormAttachment( 0, 0 );
+    fdlStep.right = new FormAttachment( middle, -margin );
+    fdlStep.top = new FormAttachment( wStepname, margin );
+    wlStep.setLayoutData( fdlStep );
+    wStep = new CCombo( shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wStep );
+
+    List<StepMeta> previousSteps = transMeta.findPreviousSteps( stepMeta, true );
+    for ( StepMeta previousStep : previousSteps ) {
+      wStep.add( previousStep.getName() );
+    }
+
+    wStep.addModifyListener( lsMod );
+    fdStep = new FormData();
+    fdStep.left = new FormAttachment( middle, 0 );
+    fdStep.top = new FormAttachment( wStepname, margin );
+    fdStep.right = new FormAttachment( 100, 0 );
+    wStep.setLayoutData( fdStep );
+
+    // Filter field line
+    wlFilterField = new Label( shell, SWT.RIGHT );
+    wlFilterField.setText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.FilterField.Label" ) );
+    props.setLook( wlFilterField );
+    fdlFilterField = new FormData();
+    fdlFilterField.left = new FormAttachment( 0, 0 );
+    fdlFilterField.right = new FormAttachment( middle, -margin );
+    fdlFilterField.top = new FormAttachment( wStep, margin );
+    wlFilterField.setLayoutData( fdlFilterField );
+    wFilterField = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wFilterField );
+    wFilterField.addModifyListener( lsMod );
+    fdFilterField = new FormData();
+    fdFilterField.left = new FormAttachment( middle, 0 );
+    fdFilterField.top = new FormAttachment( wStep, margin );
+    fdFilterField.right = new FormAttachment( 100, 0 );
+    wFilterField.setLayoutData( fdFilterField );
+
+    // Result field line
+    wlResultField = new Label( shell, SWT.RIGHT );
+    wlResultField.setText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.ResultField.Label" ) );
+    props.setLook( wlResultField );
+    fdlResultField = new FormData();
+    fdlResultField.left = new FormAttachment( 0, 0 );
+    fdlResultField.right = new FormAttachment( middle, -margin );
+    fdlResultField.top = new FormAttachment( wFilterField, margin );
+    wlResultField.setLayoutData( fdlResultField );
+    wResultField = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wResultField.setToolTipText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.ResultField.Tooltip" ) );
+    props.setLook( wResultField );
+    wResultField.addModifyListener( lsMod );
+    fdResultField = new FormData();
+    fdResultField.left = new FormAttachment( middle, 0 );
+    fdResultField.top = new FormAttachment( wFilterField, margin );
+    fdResultField.right = new FormAttachment( 100, 0 );
+    wResultField.setLayoutData( fdResultField );
+
+    // Some buttons
+    wOK = new Button( shell, SWT.PUSH );
+    wOK.setText( BaseMessages.getString( PKG, "System.Button.OK" ) );
+    wGet = new Button( shell, SWT.PUSH );
+    wGet.setText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.GetFields.Button" ) );
+    wCancel = new Button( shell, SWT.PUSH );
+    wCancel.setText( BaseMessages.getString( PKG, "System.Button.Cancel" ) );
+
+    setButtonPositions( new Button[] { wOK, wCancel, wGet }, margin, null );
+
+    // The key fields
+    wlKeys = new Label( shell, SWT.NONE );
+    wlKeys.setText( BaseMessages.getString( PKG, "BloomFilterProbeDialog.Keys.Label" ) );
+    props.setLook( wlKeys );
+    fdlKeys = new FormData();
+    fdlKeys.left = new FormAttachment( 0, 0 );
+    fdlKeys.top = new FormAttachment( wResultField, margin );
+    wlKeys.setLayoutData( fdlKeys );
+
+    int nrKeyRows = ( input.getKeyFields() != null ? input.getKeyFields().length : 1 );
+
+    ColumnInfo[] ciKeys =
+      new ColumnInfo[] { new ColumnInfo(
+        BaseMessages.getString( PKG, "BloomFilterProbeDialog.ColumnInfo.KeyField" ),
+        ColumnInfo.COLUMN_TYPE_TEXT, false ), };
+
+    wKeys =
+      new TableView( transMeta, shell, SWT.BORDER | SWT.FULL_SELECTION | SWT.MULTI | SWT.V_SCROLL | SWT.H_SCROLL,
+        ciKeys, nrKeyRows, lsMod, props );
+
+    fdKeys = new FormData();
+    fdKeys.top = new FormAttachment( wlKeys, margin );
+    fdKeys.left = new FormAttachment( 0, 0 );
+    fdKeys.bottom = new FormAttachment( wOK, -2 * margin );
+    fdKeys.right = new FormAttachment( 100, 0 );
+    wKeys.setLayoutData( fdKeys );
+
+    // Add listeners
+    lsCancel = new Listener() {
+      public void handleEvent( Event e ) {
+        cancel();
+      }
+    };
+    lsGet = new Listener() {
+      public void handleEvent( Event e ) {
+        get();
+      }
+    };
+    lsOK = new Listener() {
+      public void handleEvent( Event e ) {
+        ok();
+      }
+    };
+
+    wCancel.addListener( SWT.Selection, lsCancel );
+    wGet.addListener( SWT.Selection, lsGet );
+    wOK.addListener( SWT.Selection, lsOK );
+
+    lsDef = new SelectionAdapter() {
+      public void widgetDefaultSelected( SelectionEvent e ) {
+        ok();
+      }
+    };
+
+    wStepname.addSelectionListener( lsDef );
+    wFilterField.addSelectionListener( lsDef );
+    wResultField.addSelectionListener( lsDef );
+
+    // Detect X or ALT-F4 or something that kills this window...
+    shell.addShellListener( new ShellAdapter() {
+      public void shellClosed( ShellEvent e ) {
+        cancel();
+      }
+    } );
+
+    // Set the shell size, based upon previous time...
+    setSize();
+
+    getData();
+    input.setChanged( changed );
+
+    shell.open();
+    while ( !shell.isDisposed() ) {
+      if ( !display.readAndDispatch() ) {
+        display.sleep();
+      }
+    }
+    return stepname;
+  }
+
+  /**
+   * Copy information from the meta-data input to the dialog fields.
+   */
+  public void getData() {
+    StreamInterface infoStream = input.getStepIOMeta().getInfoStreams().get( 0 );
+    wStep.setText( Const.NVL( infoStream.getStepname(), "" ) );
+    wFilterField.setText( Const.NVL( input.getFilterField(), "" ) );
+    wResultField.setText( Const.NVL( input.getResultField(), "" ) );
+
+    if ( input.getKeyFields() != null ) {
+      for ( int i = 0; i < input.getKeyFields().length; i++ ) {
+        TableItem item = wKeys.table.getItem( i );
+        if ( input.getKeyFields()[i] != null ) {
+          item.setText( 1, input.getKeyFields()[i] );
+        }
+      }
+    }
+    wKeys.setRowNums();
+    wKeys.optWidth( true );
+
+    wStepname.selectAll();
+    wStepname.setFocus();
+  }
+
+  private void cancel() {
+    stepname = null;
+    input.setChanged( changed );
+    dispose();
+  }
+
+  private void ok() {
+    if ( Utils.isEmpty( wStepname.getText() ) ) {
+      return;
+    }
+
+    StreamInterface infoStream = input.getStepIOMeta().getInfoStreams().get( 0 );
+    infoStream.setStepMeta( transMeta.findStep( wStep.getText() ) );
+    input.setFilterField( wFilterField.getText() );
+    input.setResultField( wResultField.getText() );
+
+    int nrKeys = wKeys.nrNonEmpty();
+    input.allocate( nrKeys );
+    for ( int i = 0; i < nrKeys; i++ ) {
+      TableItem item = wKeys.getNonEmpty( i );
+      //CHECKSTYLE:Indentation:OFF
+      input.getKeyFields()[i] = item.getText( 1 );
+    }
+
+    stepname = wStepname.getText(); // return value
+
+    dispose();
+  }
+
+  private void get() {
+    try {
+      RowMetaInterface r = transMeta.getPrevStepFields( stepname );
+      if ( r != null && !r.isEmpty() ) {
+        BaseStepDialog.getFieldsFromPrevious( r, wKeys, 1, new int[] { 1 }, new int[] {}, -1, -1, null );
+      }
+    } catch ( KettleException ke ) {
+      new ErrorDialog( shell, BaseMessages.getString(
+        PKG, "BloomFilterProbeDialog.ErrorGettingFields.DialogTitle" ), BaseMessages.getString(
+        PKG, "BloomFilterProbeDialog.ErrorGettingFields.DialogMessage" ), ke );
+    }
+  }
+}
@@ -74,6 +74,10 @@ public class DatabaseLookupDialog extends BaseStepDialog implements StepDialogIn
   private Button wCacheLoadAll;
   private FormData fdlCacheLoadAll, fdCacheLoadAll;
 
+  private Label wlBloomFilter;
+  private Button wBloomFilter;
+  private FormData fdlBloomFilter, fdBloomFilter;
+
   private Label wlCachesize;
   private Text wCachesize;
   private FormData fdlCachesize, fdCachesize;
@@ -324,12 +328,34 @@ public class DatabaseLookupDialog extends BaseStepDialog implements StepDialogIn
       }
     } );
 
+    // Bloom filter?
+    wlBloomFilter = new Label( shell, SWT.RIGHT );
+    wlBloomFilter.setText( BaseMessages.getString( PKG, "DatabaseLookupDialog.BloomFilter.Label" ) );
+    props.setLook( wlBloomFilter );
+    fdlBloomFilter = new FormData();
+    fdlBloomFilter.left = new FormAttachment( 0, 0 );
+    fdlBloomFilter.right = new FormAttachment( middle, -margin );
+    fdlBloomFilter.top = new FormAttachment( wCacheLoadAll, margin );
+    wlBloomFilter.setLayoutData( fdlBloomFilter );
+    wBloomFilter = new Button( shell, SWT.CHECK );
+    wBloomFilter.setToolTipText( BaseMessages.getString( PKG, "DatabaseLookupDialog.BloomFilter.Tooltip" ) );
+    props.setLook( wBloomFilter );
+    fdBloomFilter = new FormData();
+    fdBloomFilter.left = new FormAttachment( middle, 0 );
+    fdBloomFilter.top = new FormAttachment( wCacheLoadAll, margin );
+    wBloomFilter.setLayoutData( fdBloomFilter );
+    wBloomFilter.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent e ) {
+        input.setChanged();
+      }
+    } );
+
     wlKey = new Label( shell, SWT.NONE );
     wlKey.setText( BaseMessages.getString( PKG, "DatabaseLookupDialog.Keys.Label" ) );
     props.setLook( wlKey );
     fdlKey = new FormData();
     fdlKey.left = new FormAttachment( 0, 0 );
-    fdlKey.top = new FormAttachment( wCacheLoadAll, margin );
+    fdlKey.top = new FormAttachment( wBloomFilter, margin );
     wlKey.setLayoutData( fdlKey );
 
     int nrKeyCols = 4;
@@ -634,6 +660,8 @@ public class DatabaseLookupDialog extends BaseStepDialog implements StepDialogIn
     wlCachesize.setEnabled( wCache.getSelection() && !wCacheLoadAll.getSelection() );
     wCacheLoadAll.setEnabled( wCache.getSelection() );
     wlCacheLoadAll.setEnabled( wCache.getSelection() );
+    wBloomFilter.setEnabled( !( wCache.getSelection() && wCacheLoadAll.getSelection() ) );
+    wlBloomFilter.setEnabled( !( wCache.getSelection() && wCacheLoadAll.getSelection() ) );
     wFailMultiple.setEnabled( !wCache.getSelection() );
     wlFailMultiple.setEnabled( !wCache.getSelection() );
   }
@@ -647,6 +675,7 @@ public class DatabaseLookupDialog extends BaseStepDialog implements StepDialogIn
     wCache.setSelection( input.isCached() );
     wCachesize.setText( "" + input.getCacheSize() );
     wCacheLoadAll.setSelection( input.isLoadingAllDataInCache() );
+    wBloomFilter.setSelection( input.isUsingBloomFilter() );
 
     if ( input.getStreamKeyField1() != null ) {
       for ( int i = 0; i < input.getStreamKeyField1().length; i++ ) {
@@ -731,6 +760,7 @@ public class DatabaseLookupDialog extends BaseStepDialog implements StepDialogIn
     input.setCached( wCache.getSelection() );
     input.setCacheSize( Const.toInt( wCachesize.getText(), 0 ) );
     input.setLoadingAllDataInCache( wCacheLoadAll.getSelection() );
+    input.setUsingBloomFilter( wBloomFilter.getSelection() );
 
     logDebug( BaseMessages.getString( PKG, "DatabaseLookupDialog.Log.FoundKeys", String.valueOf( nrkeys ) ) );
     //CHECKSTYLE:Indentation:OFF
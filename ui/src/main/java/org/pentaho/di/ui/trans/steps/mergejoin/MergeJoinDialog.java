@@ -51,6 +51,7 @@ import org.pentaho.di.ui.core.dialog.ErrorDialog;
 import org.pentaho.di.ui.core.gui.GUIResource;
 import org.pentaho.di.ui.core.widget.ColumnInfo;
 import org.pentaho.di.ui.core.widget.TableView;
+import org.pentaho.di.ui.core.widget.TextVar;
 import org.pentaho.di.ui.trans.step.BaseStepDialog;
 
 public class MergeJoinDialog extends BaseStepDialog implements StepDialogInterface {
@@ -70,6 +71,10 @@ public class MergeJoinDialog extends BaseStepDialog implements StepDialogInterfa
   private CCombo wType;
   private FormData fdlType, fdType;
 
+  private Label wlParallelism;
+  private TextVar wParallelism;
+  private FormData fdlParallelism, fdParallelism;
+
   private Label wlKeys1;
   private TableView wKeys1;
   private Button wbKeys1;
@@ -201,13 +206,32 @@ public class MergeJoinDialog extends BaseStepDialog implements StepDialogInterfa
     fdType.right = new FormAttachment( 100, 0 );
     wType.setLayoutData( fdType );
 
+    // Number of key ranges joined at the same time
+    wlParallelism = new Label( shell, SWT.RIGHT );
+    wlParallelism.setText( BaseMessages.getString( PKG, "MergeJoinDialog.Parallelism.Label" ) );
+    props.setLook( wlParallelism );
+    fdlParallelism = new FormData();
+    fdlParallelism.left = new FormAttachment( 0, 0 );
+    fdlParallelism.right = new FormAttachment( middle, -margin );
+    fdlParallelism.top = new FormAttachment( wType, margin );
+    wlParallelism.setLayoutData( fdlParallelism );
+    wParallelism = new TextVar( transMeta, shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wParallelism.setToolTipText( BaseMessages.getString( PKG, "MergeJoinDialog.Parallelism.Tooltip" ) );
+    props.setLook( wParallelism );
+    wParallelism.addModifyListener( lsMod );
+    fdParallelism = new FormData();
+    fdParallelism.left = new FormAttachment( middle, 0 );
+    fdParallelism.top = new FormAttachment( wType, margin );
+    fdParallelism.right = new FormAttachment( 100, 0 );
+    wParallelism.setLayoutData( fdParallelism );
+
     // THE KEYS TO MATCH for first step...
     wlKeys1 = new Label( shell, SWT.NONE );
     wlKeys1.setText( BaseMessages.getString( PKG, "MergeJoinDialog.Keys1.Label" ) );
     props.setLook( wlKeys1 );
     fdlKeys1 = new FormData();
     fdlKeys1.left = new FormAttachment( 0, 0 );
-    fdlKeys1.top = new FormAttachment( wType, margin );
+    fdlKeys1.top = new FormAttachment( wParallelism, margin );
     wlKeys1.setLayoutData( fdlKeys1 );
 
     int nrKeyRows1 = ( input.getKeyFields1() != null ? input.getKeyFields1().length : 1 );
@@ -249,7 +273,7 @@ public class MergeJoinDialog extends BaseStepDialog implements StepDialogInterfa
     props.setLook( wlKeys2 );
     fdlKeys2 = new FormData();
     fdlKeys2.left = new FormAttachment( 50, 0 );
-    fdlKeys2.top = new FormAttachment( wType, margin );
+    fdlKeys2.top = new FormAttachment( wParallelism, margin );
     wlKeys2.setLayoutData( fdlKeys2 );
 
     int nrKeyRows2 = ( input.getKeyFields2() != null ? input.getKeyFields2().length : 1 );
@@ -352,6 +376,7 @@ public class MergeJoinDialog extends BaseStepDialog implements StepDialogInterfa
     } else {
       wType.setText( MergeJoinMeta.join_types[0] );
     }
+    wParallelism.setText( Const.NVL( input.getParallelism(), "" ) );
 
     for ( int i = 0; i < input.getKeyFields1().length; i++ ) {
       TableItem item = wKeys1.table.getItem( i );
@@ -382,6 +407,7 @@ public class MergeJoinDialog extends BaseStepDialog implements StepDialogInterfa
     infoStreams.get( 0 ).setStepMeta( transMeta.findStep( wStep1.getText() ) );
     infoStreams.get( 1 ).setStepMeta( transMeta.findStep( wStep2.getText() ) );
     meta.setJoinType( wType.getText() );
+    meta.setParallelism( wParallelism.getText() );
 
     int nrKeys1 = wKeys1.nrNonEmpty();
     int nrKeys2 = wKeys2.nrNonEmpty();
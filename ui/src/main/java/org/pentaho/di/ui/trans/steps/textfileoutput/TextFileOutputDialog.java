@@ -185,6 +185,10 @@ public class TextFileOutputDialog extends BaseStepDialog implements StepDialogIn
   private TextVar wSplitEvery;
   private FormData fdlSplitEvery, fdSplitEvery;
 
+  private Label wlSplitEveryBytes;
+  private TextVar wSplitEveryBytes;
+  private FormData fdlSplitEveryBytes, fdSplitEveryBytes;
+
   private TableView wFields;
   private FormData fdFields;
 
@@ -975,13 +979,31 @@ public class TextFileOutputDialog extends BaseStepDialog implements StepDialogIn
     fdSplitEvery.right = new FormAttachment( 100, 0 );
     wSplitEvery.setLayoutData( fdSplitEvery );
 
+    wlSplitEveryBytes = new Label( wContentComp, SWT.RIGHT );
+    wlSplitEveryBytes.setText( BaseMessages.getString( PKG, "TextFileOutputDialog.SplitEveryBytes.Label" ) );
+    props.setLook( wlSplitEveryBytes );
+    fdlSplitEveryBytes = new FormData();
+    fdlSplitEveryBytes.left = new FormAttachment( 0, 0 );
+    fdlSplitEveryBytes.top = new FormAttachment( wSplitEvery, margin );
+    fdlSplitEveryBytes.right = new FormAttachment( middle, -margin );
+    wlSplitEveryBytes.setLayoutData( fdlSplitEveryBytes );
+    wSplitEveryBytes = new TextVar( transMeta, wContentComp, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    wSplitEveryBytes.setToolTipText( BaseMessages.getString( PKG, "TextFileOutputDialog.SplitEveryBytes.Tooltip" ) );
+    props.setLook( wSplitEveryBytes );
+    wSplitEveryBytes.addModifyListener( lsMod );
+    fdSplitEveryBytes = new FormData();
+    fdSplitEveryBytes.left = new FormAttachment( middle, 0 );
+    fdSplitEveryBytes.top = new FormAttachment( wSplitEvery, margin );
+    fdSplitEveryBytes.right = new FormAttachment( 100, 0 );
+    wSplitEveryBytes.setLayoutData( fdSplitEveryBytes );
+
     // Bruise:
     wlEndedLine = new Label( wContentComp, SWT.RIGHT );
     wlEndedLine.setText( BaseMessages.getString( PKG, "TextFileOutputDialog.EndedLine.Label" ) );
     props.setLook( wlEndedLine );
     fdlEndedLine = new FormData();
     fdlEndedLine.left = new FormAttachment( 0, 0 );
-    fdlEndedLine.top = new FormAttachment( wSplitEvery, margin );
+    fdlEndedLine.top = new FormAttachment( wSplitEveryBytes, margin );
     fdlEndedLine.right = new FormAttachment( middle, -margin );
     wlEndedLine.setLayoutData( fdlEndedLine );
     wEndedLine = new TextVar( transMeta, wContentComp, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
@@ -989,7 +1011,7 @@ public class TextFileOutputDialog extends BaseStepDialog implements StepDialogIn
     wEndedLine.addModifyListener( lsMod );
     fdEndedLine = new FormData();
     fdEndedLine.left = new FormAttachment( middle, 0 );
-    fdEndedLine.top = new FormAttachment( wSplitEvery, margin );
+    fdEndedLine.top = new FormAttachment( wSplitEveryBytes, margin );
     fdEndedLine.right = new FormAttachment( 100, 0 );
     wEndedLine.setLayoutData( fdEndedLine );
 
@@ -1258,6 +1280,8 @@ public class TextFileOutputDialog extends BaseStepDialog implements StepDialogIn
     wExtension.setEnabled( enableFilename );
     wlSplitEvery.setEnabled( enableFilename );
     wSplitEvery.setEnabled( enableFilename );
+    wlSplitEveryBytes.setEnabled( enableFilename );
+    wSplitEveryBytes.setEnabled( enableFilename );
     wlAddDate.setEnabled( enableFilename );
     wAddDate.setEnabled( enableFilename );
     wlAddTime.setEnabled( enableFilename );
@@ -1305,9 +1329,12 @@ public class TextFileOutputDialog extends BaseStepDialog implements StepDialogIn
     wlAddPartnr.setEnabled( !wFileNameInField.getSelection() );
     if ( wFileNameInField.getSelection() ) {
       wSplitEvery.setText( "0" );
+      wSplitEveryBytes.setText( "" );
     }
     wSplitEvery.setEnabled( !wFileNameInField.getSelection() );
     wlSplitEvery.setEnabled( !wFileNameInField.getSelection() );
+    wSplitEveryBytes.setEnabled( !wFileNameInField.getSelection() );
+    wlSplitEveryBytes.setEnabled( !wFileNameInField.getSelection() );
     if ( wFileNameInField.getSelection() ) {
       wEndedLine.setText( "" );
     }
@@ -1429,6 +1456,7 @@ public class TextFileOutputDialog extends BaseStepDialog implements StepDialogIn
     }
 
     wSplitEvery.setText( Const.NVL( input.getSplitEveryRows(), "" ) );
+    wSplitEveryBytes.setText( Const.NVL( input.getSplitEveryBytes(), "" ) );
 
     wEnclForced.setSelection( input.isEnclosureForced() );
     wDisableEnclosureFix.setSelection( input.isEnclosureFixDisabled() );
@@ -1509,6 +1537,7 @@ public class TextFileOutputDialog extends BaseStepDialog implements StepDialogIn
     tfoi.setEnclosure( wEnclosure.getText() );
     tfoi.setExtension( wExtension.getText() );
     tfoi.setSplitEveryRows( wSplitEvery.getText() );
+    tfoi.setSplitEveryBytes( wSplitEveryBytes.getText() );
     tfoi.setEndedLine( wEndedLine.getText() );
 
     tfoi.setFileNameField( wFileNameField.getText() );